@@ -0,0 +1,410 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.azkfw.persistence.entity.Entity;
+
+/**
+ * このクラスは、値をコンパクトなバイナリ形式に変換するコーデッククラスです。
+ * <p>
+ * 以下の型を型タグと可変長整数で表現します。それ以外の {@link Serializable} な値はJava標準のシリアライズで格納します。
+ * </p>
+ * <ul>
+ * <li>プリミティブ型のラッパークラス、{@link String}, <code>byte[]</code>, {@link BigDecimal}, {@link BigInteger}</li>
+ * <li>{@link Date}, {@link java.sql.Date}, {@link java.sql.Timestamp}</li>
+ * <li>{@link List}, {@link Set}, {@link Map}(それぞれ {@link ArrayList}, {@link LinkedHashSet}, {@link LinkedHashMap} として復元)</li>
+ * <li>列挙型</li>
+ * <li>{@link Entity} の実装クラス(引数なしのコンストラクタが必要)</li>
+ * </ul>
+ * <p>
+ * エンティティはフィールド名と値の組で格納するため、フィールドの追加・削除に対応できます。 復元時に存在しないフィールドは無視し、格納されていないフィールドは初期値のままとなります。
+ * </p>
+ * <p>
+ * 書き込みバッファはスレッド毎に再利用します。このクラスはスレッドセーフです。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class BinaryCodec implements Codec {
+
+	/** 形式のバージョン */
+	private static final int VERSION = 1;
+
+	/** 入れ子の最大の深さ */
+	private static final int MAX_DEPTH = 64;
+
+	private static final int NULL = 0;
+	private static final int TRUE = 1;
+	private static final int FALSE = 2;
+	private static final int INTEGER = 3;
+	private static final int LONG = 4;
+	private static final int SHORT = 5;
+	private static final int BYTE = 6;
+	private static final int CHARACTER = 7;
+	private static final int FLOAT = 8;
+	private static final int DOUBLE = 9;
+	private static final int STRING = 10;
+	private static final int BYTES = 11;
+	private static final int BIG_DECIMAL = 12;
+	private static final int BIG_INTEGER = 13;
+	private static final int DATE = 14;
+	private static final int SQL_DATE = 15;
+	private static final int TIMESTAMP = 16;
+	private static final int LIST = 17;
+	private static final int SET = 18;
+	private static final int MAP = 19;
+	private static final int ENUM = 20;
+	private static final int ENTITY = 21;
+	private static final int SERIALIZABLE = 22;
+
+	/** スレッド毎の書き込みバッファ */
+	private static final ThreadLocal<BinaryWriter> WRITERS = new ThreadLocal<BinaryWriter>() {
+		@Override
+		protected BinaryWriter initialValue() {
+			return new BinaryWriter();
+		}
+	};
+
+	/** クラスのキャッシュ */
+	private final ConcurrentHashMap<String, Class<?>> classes;
+
+	/** クラスローダー */
+	private final ClassLoader classLoader;
+
+	/**
+	 * コンストラクタ
+	 */
+	public BinaryCodec() {
+		this(null);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param classLoader エンティティ、列挙型およびシリアライズされた値の読み込みに使用するクラスローダー。<code>null</code> の場合、コンテキストクラスローダー
+	 */
+	public BinaryCodec(final ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		classes = new ConcurrentHashMap<String, Class<?>>();
+	}
+
+	@Override
+	public byte[] encode(final Object value) throws IOException {
+		BinaryWriter writer = WRITERS.get();
+		writer.reset();
+		writer.writeByte(VERSION);
+		write(writer, value, 0);
+		return writer.toByteArray();
+	}
+
+	@Override
+	public Object decode(final byte[] data) throws IOException {
+		BinaryReader reader = new BinaryReader(data);
+		int version = reader.readByte();
+		if (VERSION != version) {
+			throw new IOException("Unsupported codec version.[" + version + "]");
+		}
+		return read(reader, 0);
+	}
+
+	/**
+	 * 値を書き込む。
+	 * 
+	 * @param writer 書き込み先
+	 * @param value 値
+	 * @param depth 入れ子の深さ
+	 * @throws IOException 書き込みに失敗した場合
+	 */
+	private void write(final BinaryWriter writer, final Object value, final int depth) throws IOException {
+		if (depth > MAX_DEPTH) {
+			throw new IOException("Nesting too deep.");
+		}
+		if (null == value) {
+			writer.writeByte(NULL);
+		} else if (value instanceof String) {
+			writer.writeByte(STRING);
+			writer.writeString((String) value);
+		} else if (value instanceof Integer) {
+			writer.writeByte(INTEGER);
+			writer.writeZigZag((Integer) value);
+		} else if (value instanceof Long) {
+			writer.writeByte(LONG);
+			writer.writeZigZag((Long) value);
+		} else if (value instanceof Boolean) {
+			writer.writeByte(((Boolean) value) ? TRUE : FALSE);
+		} else if (value instanceof Double) {
+			writer.writeByte(DOUBLE);
+			writer.writeFixedLong(Double.doubleToLongBits((Double) value));
+		} else if (value instanceof Float) {
+			writer.writeByte(FLOAT);
+			writer.writeVarInt(Float.floatToIntBits((Float) value));
+		} else if (value instanceof Short) {
+			writer.writeByte(SHORT);
+			writer.writeZigZag((Short) value);
+		} else if (value instanceof Byte) {
+			writer.writeByte(BYTE);
+			writer.writeByte((Byte) value);
+		} else if (value instanceof Character) {
+			writer.writeByte(CHARACTER);
+			writer.writeVarInt((Character) value);
+		} else if (value instanceof byte[]) {
+			writer.writeByte(BYTES);
+			writer.writeBytes((byte[]) value);
+		} else if (value instanceof BigDecimal) {
+			writer.writeByte(BIG_DECIMAL);
+			writer.writeString(value.toString());
+		} else if (value instanceof BigInteger) {
+			writer.writeByte(BIG_INTEGER);
+			writer.writeBytes(((BigInteger) value).toByteArray());
+		} else if (value instanceof java.sql.Timestamp) {
+			writer.writeByte(TIMESTAMP);
+			writer.writeZigZag(((java.sql.Timestamp) value).getTime());
+			writer.writeVarInt(((java.sql.Timestamp) value).getNanos());
+		} else if (value instanceof java.sql.Date) {
+			writer.writeByte(SQL_DATE);
+			writer.writeZigZag(((Date) value).getTime());
+		} else if (value instanceof Date) {
+			writer.writeByte(DATE);
+			writer.writeZigZag(((Date) value).getTime());
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			writer.writeByte(MAP);
+			writer.writeVarInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				write(writer, entry.getKey(), depth + 1);
+				write(writer, entry.getValue(), depth + 1);
+			}
+		} else if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			writer.writeByte((value instanceof Set) ? SET : LIST);
+			writer.writeVarInt(collection.size());
+			for (Object element : collection) {
+				write(writer, element, depth + 1);
+			}
+		} else if (value instanceof Enum) {
+			writer.writeByte(ENUM);
+			writer.writeString(((Enum<?>) value).getDeclaringClass().getName());
+			writer.writeString(((Enum<?>) value).name());
+		} else if (value instanceof Entity) {
+			EntityAccessor accessor = EntityAccessor.of(value.getClass());
+			writer.writeByte(ENTITY);
+			writer.writeString(value.getClass().getName());
+			writer.writeVarInt(accessor.size());
+			for (int i = 0; i < accessor.size(); i++) {
+				writer.writeString(accessor.getName(i));
+				write(writer, accessor.get(value, i), depth + 1);
+			}
+		} else if (value instanceof Serializable) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			ObjectOutputStream stream = new ObjectOutputStream(buffer);
+			try {
+				stream.writeObject(value);
+			} finally {
+				stream.close();
+			}
+			writer.writeByte(SERIALIZABLE);
+			writer.writeBytes(buffer.toByteArray());
+		} else {
+			throw new IOException("Unsupported type.[" + value.getClass().getName() + "]");
+		}
+	}
+
+	/**
+	 * 値を読み込む。
+	 * 
+	 * @param reader 読み込み元
+	 * @param depth 入れ子の深さ
+	 * @return 値
+	 * @throws IOException 読み込みに失敗した場合
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object read(final BinaryReader reader, final int depth) throws IOException {
+		if (depth > MAX_DEPTH) {
+			throw new IOException("Nesting too deep.");
+		}
+		int tag = reader.readByte();
+		switch (tag) {
+		case NULL:
+			return null;
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case INTEGER:
+			return (int) reader.readZigZag();
+		case LONG:
+			return reader.readZigZag();
+		case SHORT:
+			return (short) reader.readZigZag();
+		case BYTE:
+			return (byte) reader.readByte();
+		case CHARACTER:
+			return (char) reader.readVarInt();
+		case FLOAT:
+			return Float.intBitsToFloat(reader.readVarInt());
+		case DOUBLE:
+			return Double.longBitsToDouble(reader.readFixedLong());
+		case STRING:
+			return reader.readString();
+		case BYTES:
+			return reader.readBytes();
+		case BIG_DECIMAL:
+			return new BigDecimal(reader.readString());
+		case BIG_INTEGER:
+			return new BigInteger(reader.readBytes());
+		case DATE:
+			return new Date(reader.readZigZag());
+		case SQL_DATE:
+			return new java.sql.Date(reader.readZigZag());
+		case TIMESTAMP: {
+			java.sql.Timestamp timestamp = new java.sql.Timestamp(reader.readZigZag());
+			timestamp.setNanos(reader.readVarInt());
+			return timestamp;
+		}
+		case LIST: {
+			int size = reader.readVarInt();
+			List<Object> list = new ArrayList<Object>(Math.min(size, 1024));
+			for (int i = 0; i < size; i++) {
+				list.add(read(reader, depth + 1));
+			}
+			return list;
+		}
+		case SET: {
+			int size = reader.readVarInt();
+			Set<Object> set = new LinkedHashSet<Object>();
+			for (int i = 0; i < size; i++) {
+				set.add(read(reader, depth + 1));
+			}
+			return set;
+		}
+		case MAP: {
+			int size = reader.readVarInt();
+			Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+			for (int i = 0; i < size; i++) {
+				Object key = read(reader, depth + 1);
+				map.put(key, read(reader, depth + 1));
+			}
+			return map;
+		}
+		case ENUM: {
+			Class<?> type = resolve(reader.readString());
+			String name = reader.readString();
+			if (!type.isEnum()) {
+				throw new IOException("Not a enum type.[" + type.getName() + "]");
+			}
+			try {
+				return Enum.valueOf((Class<? extends Enum>) type, name);
+			} catch (IllegalArgumentException ex) {
+				throw new IOException("Unknown enum constant.[" + type.getName() + "." + name + "]", ex);
+			}
+		}
+		case ENTITY: {
+			Class<?> type = resolve(reader.readString());
+			if (!Entity.class.isAssignableFrom(type)) {
+				throw new IOException("Not a entity type.[" + type.getName() + "]");
+			}
+			EntityAccessor accessor = EntityAccessor.of(type);
+			Object entity;
+			try {
+				entity = accessor.newInstance();
+			} catch (ReflectiveOperationException ex) {
+				throw new IOException("Could not create entity.[" + type.getName() + "]", ex);
+			}
+			int size = reader.readVarInt();
+			for (int i = 0; i < size; i++) {
+				String name = reader.readString();
+				accessor.set(entity, name, read(reader, depth + 1));
+			}
+			return entity;
+		}
+		case SERIALIZABLE: {
+			ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(reader.readBytes())) {
+				@Override
+				protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+					try {
+						return Class.forName(desc.getName(), false, getClassLoader());
+					} catch (ClassNotFoundException ex) {
+						// プリミティブ型など
+						return super.resolveClass(desc);
+					}
+				}
+			};
+			try {
+				return stream.readObject();
+			} catch (ClassNotFoundException ex) {
+				throw new IOException(ex);
+			} finally {
+				stream.close();
+			}
+		}
+		default:
+			throw new IOException("Unknown type tag.[" + tag + "]");
+		}
+	}
+
+	/**
+	 * クラスを取得する。
+	 * 
+	 * @param name クラス名
+	 * @return クラス
+	 * @throws IOException クラスが存在しない場合
+	 */
+	private Class<?> resolve(final String name) throws IOException {
+		Class<?> type = classes.get(name);
+		if (null == type) {
+			try {
+				type = Class.forName(name, false, getClassLoader());
+			} catch (ClassNotFoundException ex) {
+				throw new IOException("Class not found.[" + name + "]", ex);
+			}
+			classes.putIfAbsent(name, type);
+		}
+		return type;
+	}
+
+	/**
+	 * クラスの読み込みに使用するクラスローダーを取得する。
+	 * 
+	 * @return クラスローダー
+	 */
+	private ClassLoader getClassLoader() {
+		ClassLoader loader = (null != classLoader) ? classLoader : Thread.currentThread().getContextClassLoader();
+		return (null != loader) ? loader : BinaryCodec.class.getClassLoader();
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * このクラスは、{@link BinaryWriter} で書き込んだバイト列を読み込むクラスです。
+ * <p>
+ * このクラスはスレッドセーフではありません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class BinaryReader {
+
+	/** UTF-8 */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** バッファ */
+	private final byte[] buffer;
+
+	/** 読み込み位置 */
+	private int position;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param buffer バッファ
+	 */
+	BinaryReader(final byte[] buffer) {
+		this.buffer = buffer;
+	}
+
+	private void require(final int length) throws EOFException {
+		if (length < 0 || position + length > buffer.length) {
+			throw new EOFException("Unexpected end of data.");
+		}
+	}
+
+	int readByte() throws IOException {
+		require(1);
+		return buffer[position++] & 0xFF;
+	}
+
+	byte[] readBytes() throws IOException {
+		int length = readVarInt();
+		require(length);
+		byte[] value = new byte[length];
+		System.arraycopy(buffer, position, value, 0, length);
+		position += length;
+		return value;
+	}
+
+	int readVarInt() throws IOException {
+		return (int) readVarLong();
+	}
+
+	long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (0 == (b & 0x80)) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint.");
+	}
+
+	long readZigZag() throws IOException {
+		long v = readVarLong();
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	long readFixedLong() throws IOException {
+		require(8);
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (buffer[position++] & 0xFF);
+		}
+		return value;
+	}
+
+	String readString() throws IOException {
+		int length = readVarInt();
+		require(length);
+		// ASCIIのみの場合はデコーダーを使用しない
+		char[] chars = null;
+		for (int i = 0; i < length; i++) {
+			byte b = buffer[position + i];
+			if (b < 0) {
+				chars = null;
+				String value = new String(buffer, position, length, UTF8);
+				position += length;
+				return value;
+			}
+			if (null == chars) {
+				chars = new char[length];
+			}
+			chars[i] = (char) b;
+		}
+		position += length;
+		return (null == chars) ? "" : new String(chars);
+	}
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.codec;
+
+import java.util.Arrays;
+
+/**
+ * このクラスは、可変長のバイト列を書き込むバッファクラスです。
+ * <p>
+ * {@link BinaryCodec} がスレッド毎に再利用するため、このクラスはスレッドセーフではありません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class BinaryWriter {
+
+	/** 再利用するバッファの最大サイズ */
+	private static final int MAX_RETAINED = 64 * 1024;
+
+	/** バッファ */
+	private byte[] buffer;
+
+	/** 書き込み位置 */
+	private int position;
+
+	/**
+	 * コンストラクタ
+	 */
+	BinaryWriter() {
+		buffer = new byte[256];
+	}
+
+	/**
+	 * 書き込み位置を先頭に戻す。
+	 * <p>
+	 * 大きなバッファは保持し続けないよう破棄します。
+	 * </p>
+	 */
+	void reset() {
+		if (buffer.length > MAX_RETAINED) {
+			buffer = new byte[256];
+		}
+		position = 0;
+	}
+
+	/**
+	 * 書き込んだバイト列を取得する。
+	 * 
+	 * @return バイト列
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(buffer, position);
+	}
+
+	private void ensure(final int length) {
+		if (position + length > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+		}
+	}
+
+	void writeByte(final int value) {
+		ensure(1);
+		buffer[position++] = (byte) value;
+	}
+
+	void writeBytes(final byte[] value) {
+		writeVarInt(value.length);
+		ensure(value.length);
+		System.arraycopy(value, 0, buffer, position, value.length);
+		position += value.length;
+	}
+
+	void writeVarInt(final int value) {
+		writeVarLong(value & 0xFFFFFFFFL);
+	}
+
+	void writeVarLong(final long value) {
+		ensure(10);
+		long v = value;
+		while (0 != (v & ~0x7FL)) {
+			buffer[position++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		buffer[position++] = (byte) v;
+	}
+
+	void writeZigZag(final long value) {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	void writeFixedLong(final long value) {
+		ensure(8);
+		for (int i = 56; i >= 0; i -= 8) {
+			buffer[position++] = (byte) (value >>> i);
+		}
+	}
+
+	/**
+	 * 文字列をUTF-8で書き込む。
+	 * <p>
+	 * 文字列の長さ(バイト数)を先頭に書き込みます。
+	 * </p>
+	 * 
+	 * @param value 文字列
+	 */
+	void writeString(final String value) {
+		int length = value.length();
+		int bytes = length;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				continue;
+			} else if (c < 0x800) {
+				bytes += 1;
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				bytes += 2;
+				i++;
+			} else {
+				bytes += 2;
+			}
+		}
+		writeVarInt(bytes);
+		ensure(bytes);
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				buffer[position++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[position++] = (byte) (0xC0 | (c >> 6));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				// サロゲートペアは2文字で4バイトとなる
+				int cp = Character.toCodePoint(c, value.charAt(++i));
+				buffer[position++] = (byte) (0xF0 | (cp >> 18));
+				buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+			} else {
+				buffer[position++] = (byte) (0xE0 | (c >> 12));
+				buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.codec;
+
+import java.io.IOException;
+
+/**
+ * このインターフェースは、値とバイト列の相互変換を行うコーデックを定義したインターフェースです。
+ * <p>
+ * 実装クラスはスレッドセーフである必要があります。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface Codec {
+
+	/**
+	 * 値をバイト列に変換する。
+	 * 
+	 * @param value 値
+	 * @return バイト列
+	 * @throws IOException 変換に失敗した場合
+	 */
+	public byte[] encode(final Object value) throws IOException;
+
+	/**
+	 * バイト列から値を復元する。
+	 * 
+	 * @param data バイト列
+	 * @return 値
+	 * @throws IOException 復元に失敗した場合
+	 */
+	public Object decode(final byte[] data) throws IOException;
+}
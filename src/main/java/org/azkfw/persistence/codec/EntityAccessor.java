@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.codec;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、エンティティのフィールドへのアクセスを行うクラスです。
+ * <p>
+ * フィールドの一覧と名前による検索表はクラス毎に1回だけ作成してキャッシュします。 static, transient のフィールドは対象外です。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class EntityAccessor {
+
+	/** クラス毎のキャッシュ */
+	private static final ClassValue<EntityAccessor> CACHE = new ClassValue<EntityAccessor>() {
+		@Override
+		protected EntityAccessor computeValue(final Class<?> type) {
+			return new EntityAccessor(type);
+		}
+	};
+
+	/** エンティティのクラス */
+	private final Class<?> type;
+
+	/** 引数なしのコンストラクタ */
+	private final Constructor<?> constructor;
+
+	/** フィールド */
+	private final Field[] fields;
+
+	/** フィールド名 */
+	private final String[] names;
+
+	/** フィールド名による検索表 */
+	private final Map<String, Field> fieldMap;
+
+	/**
+	 * アクセサーを取得する。
+	 * 
+	 * @param type エンティティのクラス
+	 * @return アクセサー
+	 */
+	static EntityAccessor of(final Class<?> type) {
+		return CACHE.get(type);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param type エンティティのクラス
+	 */
+	private EntityAccessor(final Class<?> type) {
+		this.type = type;
+		Constructor<?> c = null;
+		try {
+			c = type.getDeclaredConstructor();
+			c.setAccessible(true);
+		} catch (NoSuchMethodException ex) {
+			// 復元時にエラーとする
+		}
+		constructor = c;
+
+		List<Field> list = new ArrayList<Field>();
+		fieldMap = new HashMap<String, Field>();
+		for (Class<?> clazz = type; null != clazz && Object.class != clazz; clazz = clazz.getSuperclass()) {
+			for (Field field : clazz.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+					continue;
+				}
+				// サブクラスのフィールドを優先する
+				if (fieldMap.containsKey(field.getName())) {
+					continue;
+				}
+				field.setAccessible(true);
+				list.add(field);
+				fieldMap.put(field.getName(), field);
+			}
+		}
+		fields = list.toArray(new Field[list.size()]);
+		names = new String[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			names[i] = fields[i].getName();
+		}
+	}
+
+	/**
+	 * フィールド数を取得する。
+	 * 
+	 * @return フィールド数
+	 */
+	int size() {
+		return fields.length;
+	}
+
+	/**
+	 * フィールド名を取得する。
+	 * 
+	 * @param index フィールドの位置
+	 * @return フィールド名
+	 */
+	String getName(final int index) {
+		return names[index];
+	}
+
+	/**
+	 * フィールドの値を取得する。
+	 * 
+	 * @param entity エンティティ
+	 * @param index フィールドの位置
+	 * @return 値
+	 */
+	Object get(final Object entity, final int index) {
+		try {
+			return fields[index].get(entity);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @return インスタンス
+	 * @throws ReflectiveOperationException 生成に失敗した場合
+	 */
+	Object newInstance() throws ReflectiveOperationException {
+		if (null == constructor) {
+			throw new NoSuchMethodException("Not found default constructor.[" + type.getName() + "]");
+		}
+		return constructor.newInstance();
+	}
+
+	/**
+	 * フィールドに値を設定する。
+	 * <p>
+	 * 存在しないフィールド、および型が一致しない値は無視します。 数値はフィールドの型に変換します。
+	 * </p>
+	 * 
+	 * @param entity エンティティ
+	 * @param name フィールド名
+	 * @param value 値
+	 * @return 設定した場合、<code>true</code>
+	 */
+	boolean set(final Object entity, final String name, final Object value) {
+		Field field = fieldMap.get(name);
+		if (null == field || Modifier.isFinal(field.getModifiers())) {
+			return false;
+		}
+		Class<?> fieldType = wrap(field.getType());
+		Object v = value;
+		if (null == v) {
+			if (field.getType().isPrimitive()) {
+				return false;
+			}
+		} else if (!fieldType.isInstance(v)) {
+			v = (v instanceof Number) ? convert((Number) v, fieldType) : null;
+			if (null == v) {
+				return false;
+			}
+		}
+		try {
+			field.set(entity, v);
+			return true;
+		} catch (IllegalAccessException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static Object convert(final Number value, final Class<?> type) {
+		if (Long.class == type) {
+			return value.longValue();
+		} else if (Integer.class == type) {
+			return value.intValue();
+		} else if (Double.class == type) {
+			return value.doubleValue();
+		} else if (Float.class == type) {
+			return value.floatValue();
+		} else if (Short.class == type) {
+			return value.shortValue();
+		} else if (Byte.class == type) {
+			return value.byteValue();
+		}
+		return null;
+	}
+
+	private static Class<?> wrap(final Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		} else if (int.class == type) {
+			return Integer.class;
+		} else if (long.class == type) {
+			return Long.class;
+		} else if (boolean.class == type) {
+			return Boolean.class;
+		} else if (double.class == type) {
+			return Double.class;
+		} else if (float.class == type) {
+			return Float.class;
+		} else if (short.class == type) {
+			return Short.class;
+		} else if (byte.class == type) {
+			return Byte.class;
+		}
+		return Character.class;
+	}
+}
@@ -1 +1 @@
-/** * Licensed to the Apache Software Foundation (ASF) under one * or more contributor license agreements.  See the NOTICE file * distributed with this work for additional information * regarding copyright ownership.  The ASF licenses this file * to you under the Apache License, Version 2.0 (the * "License"); you may not use this file except in compliance * with the License.  You may obtain a copy of the License at * *     http://www.apache.org/licenses/LICENSE-2.0 * * Unless required by applicable law or agreed to in writing, software * distributed under the License is distributed on an "AS IS" BASIS, * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. * See the License for the specific language governing permissions and * limitations under the License. */package org.azkfw.persistence.database;import java.sql.Connection;/** * このクラスは、データベースコネクションクラスです。 *  * @since 1.0.0 * @version 1.0.0 12/06/09 * @author Kawakicchi *  */public class DatabaseConnection {	/** Connection */	private Connection connection;	/**	 * コンストラクタ	 * 	 * @param connection Connection	 */	public DatabaseConnection(final Connection connection) {		this.connection = connection;	}	/**	 * コネクションを取得する。	 * 	 * @return Connection	 */	public Connection getConnection() {		return connection;	}}
\ No newline at end of file
+/** * Licensed to the Apache Software Foundation (ASF) under one * or more contributor license agreements.  See the NOTICE file * distributed with this work for additional information * regarding copyright ownership.  The ASF licenses this file * to you under the Apache License, Version 2.0 (the * "License"); you may not use this file except in compliance * with the License.  You may obtain a copy of the License at * *     http://www.apache.org/licenses/LICENSE-2.0 * * Unless required by applicable law or agreed to in writing, software * distributed under the License is distributed on an "AS IS" BASIS, * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. * See the License for the specific language governing permissions and * limitations under the License. */package org.azkfw.persistence.database;import java.sql.Connection;/** * このクラスは、データベースコネクションクラスです。 *  * @since 1.0.0 * @version 1.0.0 12/06/09 * @author Kawakicchi *  */public class DatabaseConnection {	/** Connection */	private Connection connection;	/** プールで管理されているConnection */	private Connection rawConnection;	/**	 * コンストラクタ	 * 	 * @param connection Connection	 */	public DatabaseConnection(final Connection connection) {		this(connection, connection);	}	/**	 * コンストラクタ	 * 	 * @param connection Connection	 * @param rawConnection プールで管理されているConnection	 */	DatabaseConnection(final Connection connection, final Connection rawConnection) {		this.connection = connection;		this.rawConnection = rawConnection;	}	/**	 * コネクションを取得する。	 * 	 * @return Connection	 */	public Connection getConnection() {		return connection;	}	/**	 * プールで管理されているコネクションを取得する。	 * 	 * @return Connection	 */	Connection getRawConnection() {		return rawConnection;	}}
\ No newline at end of file
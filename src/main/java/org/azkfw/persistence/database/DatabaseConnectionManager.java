@@ -18,12 +18,21 @@
 package org.azkfw.persistence.database;
 
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.azkfw.lang.LoggingObject;
 import org.azkfw.persistence.PersistenceServiceException;
+import org.azkfw.persistence.database.statistics.SqlStatistics;
 import org.azkfw.util.StringUtility;
 
 /**
@@ -41,10 +50,15 @@ public final class DatabaseConnectionManager extends LoggingObject {
 	 */
 	private static final DatabaseConnectionManager INSTANCE = new DatabaseConnectionManager();
 
+	/**
+	 * Sources property key
+	 */
+	public static final String SOURCES = "database.sources";
+
 	/**
 	 * Connection map
 	 */
-	private final Map<String, DatabaseSource> connections = new HashMap<String, DatabaseSource>();
+	private final Map<String, DatabaseSource> connections = new LinkedHashMap<String, DatabaseSource>();
 
 	/**
 	 * コンストラクタ
@@ -81,8 +95,25 @@ public final class DatabaseConnectionManager extends LoggingObject {
 		load(StringUtility.EMPTY, driver, uri, user, password);
 	}
 
+	/**
+	 * ロードする。
+	 * <p>
+	 * <code>database.sources</code> に名前をカンマ区切りで指定した場合、<code>database.&lt;名前&gt;.</code>
+	 * をプレフィックスとする複数の接続設定をロードします。<code>database.uri</code> も指定されている場合は、
+	 * 名前なしの接続設定もあわせてロードします。各接続設定のロードと検証は並列に行い、いずれかに失敗した場合は一つも登録しません。
+	 * 検証は <code>&lt;プレフィックス&gt;validate=false</code> で無効にできます。遅延初期化の接続設定は検証しません。
+	 * </p>
+	 * 
+	 * @param p 接続設定プロパティ
+	 * @throws PersistenceServiceException {@link PersistenceServiceException}
+	 * @throws ClassNotFoundException {@link ClassNotFoundException}
+	 */
 	public static void load(final Properties p) throws PersistenceServiceException, ClassNotFoundException {
-		load(StringUtility.EMPTY, p);
+		if (null == p.getProperty(SOURCES)) {
+			load(StringUtility.EMPTY, p);
+		} else {
+			INSTANCE.doLoadAll(p);
+		}
 	}
 
 	public static void load(final String name, final String driver, final String uri, final String user, final String password)
@@ -94,6 +125,15 @@ public final class DatabaseConnectionManager extends LoggingObject {
 		INSTANCE.doLoad(name, p);
 	}
 
+	/**
+	 * 登録されているデータベースソースの名前を取得する。
+	 * 
+	 * @return 名前のリスト(登録順)
+	 */
+	public static List<String> getSourceNames() {
+		return new ArrayList<String>(INSTANCE.connections.keySet());
+	}
+
 	public static DatabaseSource getSource() throws SQLException {
 		return getSource(StringUtility.EMPTY);
 	}
@@ -107,24 +147,156 @@ public final class DatabaseConnectionManager extends LoggingObject {
 			throw new PersistenceServiceException("Duplicate database connection name.[" + name + "]");
 		}
 
-		DatabaseSource connection = new DatabaseSource();
+		DatabaseSource connection = new DatabaseSource(name);
 		connection.load(p);
 
 		connections.put(name, connection);
 	}
 
+	private void doLoadAll(final Properties p) throws PersistenceServiceException, ClassNotFoundException {
+		final Map<String, String> prefixes = new LinkedHashMap<String, String>();
+		if (null != p.getProperty(DatabaseSource.DEFAULT_PREFIX + "uri")) {
+			prefixes.put(StringUtility.EMPTY, DatabaseSource.DEFAULT_PREFIX);
+		}
+		for (String name : p.getProperty(SOURCES).split(",")) {
+			name = name.trim();
+			if (0 == name.length()) {
+				continue;
+			}
+			if (prefixes.containsKey(name) || connections.containsKey(name)) {
+				throw new PersistenceServiceException("Duplicate database connection name.[" + name + "]");
+			}
+			prefixes.put(name, DatabaseSource.DEFAULT_PREFIX + name + ".");
+		}
+		if (prefixes.containsKey(StringUtility.EMPTY) && connections.containsKey(StringUtility.EMPTY)) {
+			throw new PersistenceServiceException("Duplicate database connection name.[]");
+		}
+		if (prefixes.isEmpty()) {
+			return;
+		}
+
+		// 中断後に完了したロードを確実に閉じるため、完了したソースは中断フラグと同じロックで記録する
+		final List<DatabaseSource> loaded = new ArrayList<DatabaseSource>();
+		final AtomicBoolean aborted = new AtomicBoolean();
+		List<FutureTask<DatabaseSource>> futures = new ArrayList<FutureTask<DatabaseSource>>();
+		for (final Map.Entry<String, String> entry : prefixes.entrySet()) {
+			FutureTask<DatabaseSource> future = new FutureTask<DatabaseSource>(new Callable<DatabaseSource>() {
+				@Override
+				public DatabaseSource call() throws Exception {
+					long start = System.currentTimeMillis();
+					String prefix = entry.getValue();
+					DatabaseSource source = new DatabaseSource(entry.getKey());
+					source.load(p, prefix);
+					if (!source.isLazy() && !"false".equalsIgnoreCase(p.getProperty(prefix + "validate"))) {
+						try {
+							source.validate();
+						} catch (SQLException ex) {
+							close(source);
+							throw ex;
+						}
+					}
+					synchronized (loaded) {
+						if (aborted.get()) {
+							close(source);
+							throw new CancellationException("Database source load aborted.[" + entry.getKey() + "]");
+						}
+						loaded.add(source);
+					}
+					info("Loaded database source.[" + entry.getKey() + "] " + (System.currentTimeMillis() - start) + "ms");
+					return source;
+				}
+			});
+			Thread thread = new Thread(future, "DatabaseConnectionManager-loader[" + entry.getKey() + "]");
+			thread.setDaemon(true);
+			thread.start();
+			futures.add(future);
+		}
+
+		List<DatabaseSource> sources = new ArrayList<DatabaseSource>();
+		Throwable error = null;
+		for (Future<DatabaseSource> future : futures) {
+			try {
+				sources.add(future.get());
+			} catch (ExecutionException ex) {
+				error = ex.getCause();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				error = ex;
+			}
+			if (null != error) {
+				break;
+			}
+		}
+
+		if (null != error) {
+			// 完了済みのソースを閉じ、未完了のロードは完了時に閉じられるようにする
+			synchronized (loaded) {
+				aborted.set(true);
+				for (DatabaseSource source : loaded) {
+					close(source);
+				}
+			}
+			for (Future<DatabaseSource> future : futures) {
+				future.cancel(true);
+			}
+			if (error instanceof ClassNotFoundException) {
+				throw (ClassNotFoundException) error;
+			}
+			throw new PersistenceServiceException("Database source load error.", error);
+		}
+
+		for (DatabaseSource source : sources) {
+			connections.put(source.getName(), source);
+		}
+	}
+
+	/**
+	 * データベースソースを閉じる。
+	 * 
+	 * @param source データベースソース
+	 */
+	private void close(final DatabaseSource source) {
+		try {
+			source.close();
+		} catch (SQLException ex) {
+			warn(ex.getMessage());
+		}
+	}
+
 	private void doLoad(final String name, final String driver, final String uri, final String user, final String password)
 			throws PersistenceServiceException, ClassNotFoundException {
 		if (connections.containsKey(name)) {
 			throw new PersistenceServiceException("Duplicate database connection name.[" + name + "]");
 		}
 
-		DatabaseSource connection = new DatabaseSource();
+		DatabaseSource connection = new DatabaseSource(name);
 		connection.load(driver, uri, user, password);
 
 		connections.put(name, connection);
 	}
 
+	/**
+	 * SQL統計情報を取得する。
+	 * 
+	 * @return SQL統計情報。計測が無効の場合、<code>null</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public static SqlStatistics getStatistics() throws SQLException {
+		return getStatistics(StringUtility.EMPTY);
+	}
+
+	/**
+	 * SQL統計情報を取得する。
+	 * 
+	 * @param name 名前
+	 * @return SQL統計情報。ソースが存在しない場合、または計測が無効の場合、<code>null</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public static SqlStatistics getStatistics(final String name) throws SQLException {
+		DatabaseSource source = INSTANCE.doGetSource(name);
+		return (null == source) ? null : source.getStatistics();
+	}
+
 	private DatabaseSource doGetSource(final String name) throws SQLException {
 		DatabaseSource connection = null;
 		if (connections.containsKey(name)) {
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * このインターフェースは、データベース操作を監視するリスナーを定義したインターフェースです。
+ * <p>
+ * リスナーは {@link DatabaseSource#addListener(DatabaseListener)} で登録します。 リスナーはコネクションを使用するスレッドから同期的に呼び出されるため、
+ * 時間のかかる処理を行ってはいけません。 また、リスナーが例外をスローした場合、その例外はデータベース操作の呼び出し元へ伝播します。
+ * </p>
+ * <p>
+ * 全てのメソッドを実装する必要がない場合は {@link DatabaseListenerAdapter} を継承してください。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface DatabaseListener {
+
+	/**
+	 * コネクションが取得された時に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param connection コネクション
+	 */
+	public void connectionBorrowed(final DatabaseSource source, final DatabaseConnection connection);
+
+	/**
+	 * コネクションが返却される直前に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param connection コネクション
+	 */
+	public void connectionReturned(final DatabaseSource source, final DatabaseConnection connection);
+
+	/**
+	 * SQLが実行される直前に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param statement ステートメント
+	 * @param sql SQL
+	 */
+	public void statementExecuting(final DatabaseSource source, final Statement statement, final String sql);
+
+	/**
+	 * SQLが実行された後に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param statement ステートメント
+	 * @param sql SQL
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error 発生した例外。正常に終了した場合、<code>null</code>
+	 */
+	public void statementExecuted(final DatabaseSource source, final Statement statement, final String sql, final long nanos,
+			final Throwable error);
+
+	/**
+	 * コミットされた後に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param connection コネクション
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error 発生した例外。正常に終了した場合、<code>null</code>
+	 */
+	public void committed(final DatabaseSource source, final Connection connection, final long nanos, final Throwable error);
+
+	/**
+	 * ロールバックされた後に呼び出される。
+	 * 
+	 * @param source データベースソース
+	 * @param connection コネクション
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error 発生した例外。正常に終了した場合、<code>null</code>
+	 */
+	public void rolledBack(final DatabaseSource source, final Connection connection, final long nanos, final Throwable error);
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * このクラスは、{@link DatabaseListener} の空実装を提供するアダプタークラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public abstract class DatabaseListenerAdapter implements DatabaseListener {
+
+	@Override
+	public void connectionBorrowed(final DatabaseSource source, final DatabaseConnection connection) {
+
+	}
+
+	@Override
+	public void connectionReturned(final DatabaseSource source, final DatabaseConnection connection) {
+
+	}
+
+	@Override
+	public void statementExecuting(final DatabaseSource source, final Statement statement, final String sql) {
+
+	}
+
+	@Override
+	public void statementExecuted(final DatabaseSource source, final Statement statement, final String sql, final long nanos,
+			final Throwable error) {
+
+	}
+
+	@Override
+	public void committed(final DatabaseSource source, final Connection connection, final long nanos, final Throwable error) {
+
+	}
+
+	@Override
+	public void rolledBack(final DatabaseSource source, final Connection connection, final long nanos, final Throwable error) {
+
+	}
+}
@@ -21,12 +21,15 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.pool.BasePoolableObjectFactory;
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
-import org.apache.commons.pool.impl.StackObjectPool;
+import org.apache.commons.pool.impl.GenericObjectPool;
+import org.azkfw.lang.LoggingObject;
 import org.azkfw.persistence.database.entity.DatabaseConnectionEntity;
+import org.azkfw.persistence.database.statistics.SqlStatistics;
 
 /**
  * このクラスは、データベース接続機能を実装するクラスです。
@@ -36,7 +39,7 @@ import org.azkfw.persistence.database.entity.DatabaseConnectionEntity;
  * @author Kawakicchi
  * 
  */
-public final class DatabaseSource {
+public final class DatabaseSource extends LoggingObject {
 
 	public class SimpleConnectionFactory extends BasePoolableObjectFactory<Connection> {
 		
@@ -68,18 +71,132 @@ public final class DatabaseSource {
 		public Connection makeObject() throws Exception {
 			return DriverManager.getConnection(url, user, password);
 		}
+
+		/**
+		 * java.sql.Connectionオブジェクトを破棄します。
+		 * 
+		 * @param obj 破棄するオブジェクト。
+		 */
+		@Override
+		public void destroyObject(final Connection obj) throws Exception {
+			obj.close();
+		}
+
+		/**
+		 * java.sql.Connectionオブジェクトを検証します。
+		 * 
+		 * @param obj 検証するオブジェクト。
+		 * @return 有効な場合、<code>true</code>
+		 */
+		@Override
+		public boolean validateObject(final Connection obj) {
+			try {
+				return obj.isValid(VALIDATION_TIMEOUT);
+			} catch (SQLException ex) {
+				return false;
+			}
+		}
 	}
 
+	/** Default property prefix */
+	public static final String DEFAULT_PREFIX = "database.";
+
+	/** Validation timeout (seconds) */
+	private static final int VALIDATION_TIMEOUT = 5;
+
+	/** Empty listeners */
+	private static final DatabaseListener[] EMPTY_LISTENERS = new DatabaseListener[0];
+
+	/** Name */
+	private final String name;
 	/** Connection entity */
 	private DatabaseConnectionEntity entity;
 	/** Pool */
-	private ObjectPool<Connection> pool;
+	private volatile ObjectPool<Connection> pool;
+	/** Pool lock */
+	private final Object poolLock = new Object();
+	/** Statistics */
+	private volatile SqlStatistics statistics;
+	/** Listeners */
+	private volatile DatabaseListener[] listeners = EMPTY_LISTENERS;
 
 	/**
 	 * コンストラクタ
 	 */
 	public DatabaseSource() {
-		;
+		this("");
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name 名前
+	 */
+	public DatabaseSource(final String name) {
+		super(DatabaseSource.class);
+		this.name = name;
+	}
+
+	/**
+	 * 名前を取得します。
+	 * 
+	 * @return 名前
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * SQL統計情報を取得します。
+	 * 
+	 * @return SQL統計情報。計測が無効の場合、<code>null</code>
+	 */
+	public SqlStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * SQL統計情報を設定します。
+	 * <p>
+	 * 設定後に取得したコネクションから計測が行われます。<code>null</code> を設定した場合、計測を無効にします。
+	 * </p>
+	 * 
+	 * @param aStatistics SQL統計情報
+	 */
+	public void setStatistics(final SqlStatistics aStatistics) {
+		statistics = aStatistics;
+	}
+
+	/**
+	 * リスナーを追加します。
+	 * <p>
+	 * 追加後に取得したコネクションから通知が行われます。リスナーが登録されていない場合、コネクションのラップは行われません。
+	 * </p>
+	 * 
+	 * @param listener リスナー
+	 */
+	public synchronized void addListener(final DatabaseListener listener) {
+		DatabaseListener[] buf = new DatabaseListener[listeners.length + 1];
+		System.arraycopy(listeners, 0, buf, 0, listeners.length);
+		buf[listeners.length] = listener;
+		listeners = buf;
+	}
+
+	/**
+	 * リスナーを削除します。
+	 * 
+	 * @param listener リスナー
+	 */
+	public synchronized void removeListener(final DatabaseListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				DatabaseListener[] buf = new DatabaseListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, buf, 0, i);
+				System.arraycopy(listeners, i + 1, buf, i, listeners.length - i - 1);
+				listeners = buf;
+				return;
+			}
+		}
 	}
 
 	/**
@@ -107,11 +224,83 @@ public final class DatabaseSource {
 	 * @throws ClassNotFoundException データベース接続ドライバが見つからない場合
 	 */
 	public void load(final Properties p) throws ClassNotFoundException {
+		load(p, DEFAULT_PREFIX);
+	}
+
+	/**
+	 * データベース接続設定をロードします。
+	 * <p>
+	 * 各キーは接続設定プレフィックスに続けて指定します。(例: <code>database.sales.uri</code>)
+	 * <ul>
+	 * <li>driver ドライバ名 (旧キー <code>dirver</code> も読み込みます)</li>
+	 * <li>uri 接続情報</li>
+	 * <li>user ユーザ名</li>
+	 * <li>password パスワード</li>
+	 * <li>pool.maxActive 最大接続数</li>
+	 * <li>pool.maxIdle 最大待機接続数</li>
+	 * <li>pool.minIdle 最小待機接続数</li>
+	 * <li>pool.maxWait 接続の最大待ち時間(ミリ秒)</li>
+	 * <li>pool.testOnBorrow 接続の取得時に検証するか</li>
+	 * <li>pool.initialSize 初期化時に生成する接続数</li>
+	 * <li>lazy 初回の接続取得時に初期化するか</li>
+	 * <li>statistics SQL統計情報を計測するか</li>
+	 * <li>statistics.slowQueryThreshold スロークエリの閾値(ミリ秒)</li>
+	 * </ul>
+	 * </p>
+	 * 
+	 * @param p 接続設定プロパティ
+	 * @param prefix 接続設定プレフィックス
+	 * @throws ClassNotFoundException データベース接続ドライバが見つからない場合
+	 */
+	public void load(final Properties p, final String prefix) throws ClassNotFoundException {
 		DatabaseConnectionEntity e = new DatabaseConnectionEntity();
-		e.setDriver(p.getProperty("database.dirver"));
-		e.setUri(p.getProperty("database.uri"));
-		e.setUser(p.getProperty("database.user"));
-		e.setPassword(p.getProperty("database.password"));
+		String driver = p.getProperty(prefix + "driver");
+		if (null == driver) {
+			driver = p.getProperty(prefix + "dirver");
+		}
+		e.setDriver(driver);
+		e.setUri(p.getProperty(prefix + "uri"));
+		e.setUser(p.getProperty(prefix + "user"));
+		e.setPassword(p.getProperty(prefix + "password"));
+
+		String value = p.getProperty(prefix + "pool.maxActive");
+		if (null != value) {
+			e.setMaxActive(Integer.parseInt(value.trim()));
+		}
+		value = p.getProperty(prefix + "pool.maxIdle");
+		if (null != value) {
+			e.setMaxIdle(Integer.parseInt(value.trim()));
+		}
+		value = p.getProperty(prefix + "pool.minIdle");
+		if (null != value) {
+			e.setMinIdle(Integer.parseInt(value.trim()));
+		}
+		value = p.getProperty(prefix + "pool.maxWait");
+		if (null != value) {
+			e.setMaxWait(Long.parseLong(value.trim()));
+		}
+		value = p.getProperty(prefix + "pool.testOnBorrow");
+		if (null != value) {
+			e.setTestOnBorrow(Boolean.parseBoolean(value.trim()));
+		}
+		value = p.getProperty(prefix + "pool.initialSize");
+		if (null != value) {
+			e.setInitialSize(Integer.parseInt(value.trim()));
+		}
+		value = p.getProperty(prefix + "lazy");
+		if (null != value) {
+			e.setLazy(Boolean.parseBoolean(value.trim()));
+		}
+
+		if (Boolean.parseBoolean(p.getProperty(prefix + "statistics"))) {
+			SqlStatistics s = new SqlStatistics(name);
+			String threshold = p.getProperty(prefix + "statistics.slowQueryThreshold");
+			if (null != threshold) {
+				s.setSlowQueryThreshold(Long.parseLong(threshold.trim()), TimeUnit.MILLISECONDS);
+			}
+			statistics = s;
+		}
+
 		load(e);
 	}
 
@@ -123,19 +312,146 @@ public final class DatabaseSource {
 	 */
 	private void load(final DatabaseConnectionEntity entity) throws ClassNotFoundException {
 		this.entity = entity;
-		pooling();
+		if (!entity.isLazy()) {
+			synchronized (poolLock) {
+				pool = pooling();
+			}
+		}
+	}
+
+	/**
+	 * 遅延初期化を行うか判断します。
+	 * 
+	 * @return 遅延初期化する場合、<code>true</code>
+	 */
+	public boolean isLazy() {
+		return entity.isLazy();
+	}
+
+	/**
+	 * 最大接続数を取得します。
+	 * 
+	 * @return 最大接続数。負数の場合、無制限
+	 */
+	public int getMaxActive() {
+		return entity.getMaxActive();
+	}
+
+	/**
+	 * 初期化済みか判断します。
+	 * 
+	 * @return 初期化済みの場合、<code>true</code>
+	 */
+	public boolean isInitialized() {
+		return null != pool;
+	}
+
+	/**
+	 * プールを取得します。
+	 * <p>
+	 * 遅延初期化の場合、初回の呼び出しでドライバのロードとプールの生成を行います。
+	 * 同時に呼び出された場合も初期化は一度だけ行われ、他のスレッドは完了を待ちます。初期化に失敗した場合、次回の呼び出しで再試行します。
+	 * </p>
+	 * 
+	 * @return プール
+	 * @throws SQLException 初期化に失敗した場合
+	 */
+	private ObjectPool<Connection> getPool() throws SQLException {
+		ObjectPool<Connection> p = pool;
+		if (null == p) {
+			synchronized (poolLock) {
+				p = pool;
+				if (null == p) {
+					try {
+						p = pooling();
+					} catch (ClassNotFoundException ex) {
+						throw new SQLException(ex);
+					}
+					pool = p;
+				}
+			}
+		}
+		return p;
 	}
 
 	/**
 	 * データベース接続をプールします。
 	 * 
+	 * @return プール
 	 * @throws ClassNotFoundException データベース接続ドライバが見つからない場合
 	 */
-	private void pooling() throws ClassNotFoundException {
+	private ObjectPool<Connection> pooling() throws ClassNotFoundException {
 		Class.forName(entity.getDriver());
 
 		PoolableObjectFactory<Connection> factory = new SimpleConnectionFactory(entity.getUri(), entity.getUser(), entity.getPassword());
-		pool = new StackObjectPool<Connection>(factory);
+		GenericObjectPool<Connection> pool = new GenericObjectPool<Connection>(factory);
+		pool.setMaxActive(entity.getMaxActive());
+		pool.setMaxIdle(entity.getMaxIdle());
+		pool.setMinIdle(entity.getMinIdle());
+		pool.setMaxWait(entity.getMaxWait());
+		pool.setTestOnBorrow(entity.isTestOnBorrow());
+
+		for (int i = 0; i < entity.getInitialSize(); i++) {
+			try {
+				pool.addObject();
+			} catch (Exception ex) {
+				// 接続できない場合も初期化は継続し、接続の取得時に改めて接続する
+				break;
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * データベース接続を検証します。
+	 * <p>
+	 * プールからコネクションを取得し、有効であることを確認した上で返却します。
+	 * </p>
+	 * 
+	 * @throws SQLException 接続できない場合、または接続が無効な場合
+	 */
+	public void validate() throws SQLException {
+		ObjectPool<Connection> pool = getPool();
+		Connection con = null;
+		try {
+			con = pool.borrowObject();
+		} catch (Exception ex) {
+			throw new SQLException(ex);
+		}
+
+		boolean valid = false;
+		try {
+			valid = con.isValid(VALIDATION_TIMEOUT);
+		} finally {
+			try {
+				if (valid) {
+					pool.returnObject(con);
+				} else {
+					pool.invalidateObject(con);
+				}
+			} catch (Exception ex) {
+				throw new SQLException(ex);
+			}
+		}
+		if (!valid) {
+			throw new SQLException("Invalid database connection.[" + name + "]");
+		}
+	}
+
+	/**
+	 * プールしているデータベース接続を全て解放します。
+	 * 
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public void close() throws SQLException {
+		ObjectPool<Connection> pool = this.pool;
+		if (null != pool) {
+			try {
+				pool.close();
+			} catch (Exception ex) {
+				throw new SQLException(ex);
+			}
+		}
 	}
 
 	/**
@@ -156,6 +472,7 @@ public final class DatabaseSource {
 	 * @throws SQLException SQL例外が発生した場合
 	 */
 	public DatabaseConnection getConnection(final boolean poolFlag) throws SQLException {
+		ObjectPool<Connection> pool = getPool();
 		Connection con = null;
 		try {
 			if (poolFlag) {
@@ -166,7 +483,22 @@ public final class DatabaseSource {
 		} catch (Exception ex) {
 			throw new SQLException(ex);
 		}
-		return new DatabaseConnection(con);
+
+		SqlStatistics s = statistics;
+		DatabaseListener[] ls = listeners;
+		if (null == s && 0 == ls.length) {
+			return new DatabaseConnection(con);
+		}
+
+		DatabaseConnection connection = new DatabaseConnection(InstrumentedConnection.wrap(this, s, ls, con), con);
+		for (int i = 0; i < ls.length; i++) {
+			try {
+				ls[i].connectionBorrowed(this, connection);
+			} catch (RuntimeException ex) {
+				error(String.format("Database listener failed.[name=%s, listener=%s, cause=%s]", name, ls[i], ex));
+			}
+		}
+		return connection;
 	}
 
 	/**
@@ -187,11 +519,13 @@ public final class DatabaseSource {
 	 * @throws SQLException SQL例外が発生した場合
 	 */
 	public void returnConnection(final DatabaseConnection connection, final boolean poolFlag) throws SQLException {
-		Connection con = connection.getConnection();
+		fireConnectionReturned(connection);
+
+		Connection con = connection.getRawConnection();
 		try {
 			if (null != con) {
 				if (poolFlag) {
-					pool.returnObject(con);
+					getPool().returnObject(con);
 				} else {
 					con.close();
 				}
@@ -200,4 +534,48 @@ public final class DatabaseSource {
 			throw new SQLException(ex);
 		}
 	}
+
+	/**
+	 * コネクションを破棄します。
+	 * <p>
+	 * 障害が発生したコネクションをプールへ返却せずに破棄する場合に使用します。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public void invalidateConnection(final DatabaseConnection connection) throws SQLException {
+		fireConnectionReturned(connection);
+
+		Connection con = connection.getRawConnection();
+		try {
+			if (null != con) {
+				getPool().invalidateObject(con);
+			}
+		} catch (Exception ex) {
+			throw new SQLException(ex);
+		}
+	}
+
+	/**
+	 * コネクションの返却をリスナーへ通知します。
+	 * <p>
+	 * リスナーで発生した例外はログに出力し、コネクションの返却を継続します。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 */
+	private void fireConnectionReturned(final DatabaseConnection connection) {
+		if (connection.getConnection() == connection.getRawConnection()) {
+			return;
+		}
+		DatabaseListener[] ls = listeners;
+		for (int i = 0; i < ls.length; i++) {
+			try {
+				ls[i].connectionReturned(this, connection);
+			} catch (RuntimeException ex) {
+				error(String.format("Database listener failed.[name=%s, listener=%s, cause=%s]", name, ls[i], ex));
+			}
+		}
+	}
 }
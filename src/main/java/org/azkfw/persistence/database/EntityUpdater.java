@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.azkfw.persistence.entity.TrackedEntity;
+
+/**
+ * このクラスは、エンティティの変更されたフィールドのみを更新するクラスです。
+ * <p>
+ * 変更されたフィールドに対応する列のみを <code>SET</code> 句に含めた <code>UPDATE</code> 文を実行します。
+ * 変更されたフィールドがない場合、データベースへアクセスしません。キーの列は <code>WHERE</code> 句に使用し、更新しません。
+ * キーのフィールドは変更されていても現在の値で行を特定するため、このクラスでキーの値を変更(主キーを更新)することはできません。
+ * 変更の組み合わせ毎のSQLはキャッシュして再利用します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class EntityUpdater {
+
+	/** テーブル名 */
+	private final String table;
+
+	/** キーの列名 */
+	private final String[] keyColumns;
+
+	/** エンティティのクラス毎のキーのフィールド番号 */
+	private final ConcurrentMap<Class<?>, int[]> keyFields;
+
+	/** エンティティのクラスと変更されたフィールド毎のSQL */
+	private final ConcurrentMap<Class<?>, ConcurrentMap<BitSet, String>> statements;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param table テーブル名
+	 * @param keyColumns キーの列名
+	 * @throws IllegalArgumentException キーの列名が指定されていない場合
+	 */
+	public EntityUpdater(final String table, final String... keyColumns) {
+		if (0 == keyColumns.length) {
+			throw new IllegalArgumentException("Key column is required.[" + table + "]");
+		}
+		this.table = table;
+		this.keyColumns = keyColumns.clone();
+		this.keyFields = new ConcurrentHashMap<Class<?>, int[]>();
+		this.statements = new ConcurrentHashMap<Class<?>, ConcurrentMap<BitSet, String>>();
+	}
+
+	/**
+	 * エンティティの変更を更新する。
+	 * <p>
+	 * 1件以上更新した場合、エンティティの変更の記録を消去します。 対象の行が存在せず更新件数が0の場合は、変更の記録を残します。
+	 * キーのフィールドのみが変更されている場合は、更新する列がないためデータベースへアクセスせずに変更の記録を消去します。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @param entity エンティティ
+	 * @return 更新件数。変更されたフィールドがない場合、<code>0</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public int update(final DatabaseConnection connection, final TrackedEntity entity) throws SQLException {
+		if (!entity.isModified()) {
+			return 0;
+		}
+
+		int[] keys = getKeyFields(entity);
+		BitSet modified = entity.getModifiedFields();
+		for (int key : keys) {
+			modified.clear(key);
+		}
+		if (modified.isEmpty()) {
+			// キーは行の特定に使用するのみのため、更新する変更はない
+			entity.clearModifiedFields();
+			return 0;
+		}
+
+		PreparedStatement ps = connection.getConnection().prepareStatement(getSql(entity, modified, keys));
+		int count;
+		try {
+			int index = 1;
+			for (int field = modified.nextSetBit(0); 0 <= field; field = modified.nextSetBit(field + 1)) {
+				ps.setObject(index++, entity.getFieldValue(field));
+			}
+			for (int key : keys) {
+				ps.setObject(index++, entity.getFieldValue(key));
+			}
+			count = ps.executeUpdate();
+		} finally {
+			ps.close();
+		}
+		if (0 < count) {
+			entity.clearModifiedFields();
+		}
+		return count;
+	}
+
+	/**
+	 * UPDATE文を取得する。
+	 * 
+	 * @param entity エンティティ
+	 * @param modified 変更されたフィールド(キーを除く)
+	 * @param keys キーのフィールド番号
+	 * @return SQL
+	 */
+	private String getSql(final TrackedEntity entity, final BitSet modified, final int[] keys) {
+		ConcurrentMap<BitSet, String> cache = statements.get(entity.getClass());
+		if (null == cache) {
+			cache = new ConcurrentHashMap<BitSet, String>();
+			ConcurrentMap<BitSet, String> other = statements.putIfAbsent(entity.getClass(), cache);
+			if (null != other) {
+				cache = other;
+			}
+		}
+
+		String sql = cache.get(modified);
+		if (null == sql) {
+			StringBuilder s = new StringBuilder(64);
+			s.append("UPDATE ").append(table).append(" SET ");
+			boolean first = true;
+			for (int field = modified.nextSetBit(0); 0 <= field; field = modified.nextSetBit(field + 1)) {
+				if (!first) {
+					s.append(", ");
+				}
+				s.append(entity.getColumnName(field)).append(" = ?");
+				first = false;
+			}
+			s.append(" WHERE ");
+			for (int i = 0; i < keys.length; i++) {
+				if (0 < i) {
+					s.append(" AND ");
+				}
+				s.append(keyColumns[i]).append(" = ?");
+			}
+			sql = s.toString();
+			// 呼び出し元が変更しないようにキーは複製する
+			cache.putIfAbsent((BitSet) modified.clone(), sql);
+		}
+		return sql;
+	}
+
+	/**
+	 * キーのフィールド番号を取得する。
+	 * 
+	 * @param entity エンティティ
+	 * @return キーのフィールド番号
+	 * @throws SQLException キーの列に対応するフィールドが存在しない場合
+	 */
+	private int[] getKeyFields(final TrackedEntity entity) throws SQLException {
+		int[] keys = keyFields.get(entity.getClass());
+		if (null == keys) {
+			keys = new int[keyColumns.length];
+			for (int i = 0; i < keyColumns.length; i++) {
+				keys[i] = -1;
+				for (int field = 0; field < entity.getFieldCount(); field++) {
+					if (keyColumns[i].equalsIgnoreCase(entity.getColumnName(field))) {
+						keys[i] = field;
+						break;
+					}
+				}
+				if (-1 == keys[i]) {
+					throw new SQLException("Key column not found.[" + table + "." + keyColumns[i] + "]");
+				}
+			}
+			keyFields.putIfAbsent(entity.getClass(), keys);
+		}
+		return keys;
+	}
+}
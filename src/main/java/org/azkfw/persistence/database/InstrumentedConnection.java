@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.azkfw.persistence.database.statistics.SqlStatistics;
+
+/**
+ * このクラスは、計測用にコネクションをラップするクラスです。
+ * <p>
+ * コネクションから生成されたステートメントは {@link InstrumentedStatement} でラップされます。 また、コミットおよびロールバックを
+ * {@link DatabaseListener} へ通知します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class InstrumentedConnection implements InvocationHandler {
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** 統計情報 */
+	private final SqlStatistics statistics;
+
+	/** リスナー */
+	private final DatabaseListener[] listeners;
+
+	/** コネクション */
+	private final Connection connection;
+
+	/** プロキシ */
+	private Connection proxy;
+
+	/**
+	 * コネクションをラップする。
+	 * 
+	 * @param source データベースソース
+	 * @param statistics 統計情報(計測しない場合、<code>null</code>)
+	 * @param listeners リスナー
+	 * @param connection コネクション
+	 * @return ラップしたコネクション
+	 */
+	public static Connection wrap(final DatabaseSource source, final SqlStatistics statistics, final DatabaseListener[] listeners,
+			final Connection connection) {
+		InstrumentedConnection handler = new InstrumentedConnection(source, statistics, listeners, connection);
+		handler.proxy = (Connection) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, handler);
+		return handler.proxy;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param statistics 統計情報
+	 * @param listeners リスナー
+	 * @param connection コネクション
+	 */
+	private InstrumentedConnection(final DatabaseSource source, final SqlStatistics statistics, final DatabaseListener[] listeners,
+			final Connection connection) {
+		this.source = source;
+		this.statistics = statistics;
+		this.listeners = listeners;
+		this.connection = connection;
+	}
+
+	@Override
+	public Object invoke(final Object aProxy, final Method method, final Object[] args) throws Throwable {
+		String name = method.getName();
+		if ("equals".equals(name) && null != args && 1 == args.length) {
+			return aProxy == args[0];
+		} else if ("hashCode".equals(name) && null == args) {
+			return System.identityHashCode(aProxy);
+		} else if (0 < listeners.length && ("commit".equals(name) || "rollback".equals(name))) {
+			return complete("commit".equals(name), method, args);
+		}
+
+		Object result = invokeTarget(connection, method, args);
+		if (result instanceof Statement) {
+			String sql = null;
+			if (null != args && 0 < args.length && args[0] instanceof String) {
+				// prepareStatement, prepareCall
+				sql = (String) args[0];
+			}
+			result = InstrumentedStatement.wrap(source, statistics, listeners, proxy, (Statement) result, sql);
+		}
+		return result;
+	}
+
+	/**
+	 * コミットまたはロールバックを実行する。
+	 * 
+	 * @param commit コミットの場合、<code>true</code>
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 結果
+	 * @throws Throwable 対象のメソッドが例外をスローした場合
+	 */
+	private Object complete(final boolean commit, final Method method, final Object[] args) throws Throwable {
+		long start = System.nanoTime();
+		Throwable error = null;
+		try {
+			return invokeTarget(connection, method, args);
+		} catch (Throwable ex) {
+			error = ex;
+			throw ex;
+		} finally {
+			long nanos = System.nanoTime() - start;
+			for (int i = 0; i < listeners.length; i++) {
+				if (commit) {
+					listeners[i].committed(source, proxy, nanos, error);
+				} else {
+					listeners[i].rolledBack(source, proxy, nanos, error);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 対象のメソッドを呼び出す。
+	 * 
+	 * @param target 対象
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 結果
+	 * @throws Throwable 対象のメソッドが例外をスローした場合
+	 */
+	static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.azkfw.persistence.database.statistics.StatementStatistics;
+
+/**
+ * このクラスは、計測用に結果セットをラップするクラスです。
+ * <p>
+ * 取得した行数を数え、結果セットのクローズ時に統計情報へ記録します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class InstrumentedResultSet implements InvocationHandler {
+
+	/** 統計情報 */
+	private final StatementStatistics statistics;
+
+	/** ステートメント */
+	private Statement statement;
+
+	/** 結果セット */
+	private ResultSet resultSet;
+
+	/** 取得行数 */
+	private long rows;
+
+	/** 記録済みフラグ */
+	private boolean flushed;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param statistics 統計情報
+	 */
+	public InstrumentedResultSet(final StatementStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * 結果セットをラップする。
+	 * 
+	 * @param aStatement ステートメント
+	 * @param aResultSet 結果セット
+	 * @return ラップした結果セット
+	 */
+	public ResultSet wrap(final Statement aStatement, final ResultSet aResultSet) {
+		statement = aStatement;
+		resultSet = aResultSet;
+		return (ResultSet) Proxy.newProxyInstance(InstrumentedResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, this);
+	}
+
+	/**
+	 * 取得行数を記録する。
+	 */
+	public void flush() {
+		if (!flushed) {
+			flushed = true;
+			statistics.recordRows(rows);
+		}
+	}
+
+	@Override
+	public Object invoke(final Object aProxy, final Method method, final Object[] args) throws Throwable {
+		String name = method.getName();
+		if ("next".equals(name)) {
+			Object result = InstrumentedConnection.invokeTarget(resultSet, method, args);
+			if (Boolean.TRUE.equals(result)) {
+				rows++;
+			}
+			return result;
+		} else if ("close".equals(name)) {
+			flush();
+		} else if ("getStatement".equals(name)) {
+			return statement;
+		} else if ("equals".equals(name) && null != args && 1 == args.length) {
+			return aProxy == args[0];
+		} else if ("hashCode".equals(name) && null == args) {
+			return System.identityHashCode(aProxy);
+		}
+		return InstrumentedConnection.invokeTarget(resultSet, method, args);
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.azkfw.persistence.database.statistics.SqlStatistics;
+import org.azkfw.persistence.database.statistics.StatementStatistics;
+
+/**
+ * このクラスは、計測用にステートメントをラップするクラスです。
+ * <p>
+ * <code>execute</code> で始まるメソッドの実行時間を計測し、取得した結果セットの行数を記録します。 また、SQLの実行を {@link DatabaseListener}
+ * へ通知します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class InstrumentedStatement implements InvocationHandler {
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** 統計情報 */
+	private final SqlStatistics statistics;
+
+	/** リスナー */
+	private final DatabaseListener[] listeners;
+
+	/** コネクション */
+	private final Connection connection;
+
+	/** ステートメント */
+	private final Statement statement;
+
+	/** プリペアドSQL */
+	private final String sql;
+
+	/** バッチSQL */
+	private String batchSql;
+
+	/** 直前に実行したSQLの統計情報 */
+	private StatementStatistics current;
+
+	/** 直前に取得した結果セット */
+	private InstrumentedResultSet resultSet;
+
+	/** プロキシ */
+	private Statement proxy;
+
+	/**
+	 * ステートメントをラップする。
+	 * 
+	 * @param source データベースソース
+	 * @param statistics 統計情報(計測しない場合、<code>null</code>)
+	 * @param listeners リスナー
+	 * @param connection コネクション
+	 * @param statement ステートメント
+	 * @param sql プリペアドSQL
+	 * @return ラップしたステートメント
+	 */
+	public static Statement wrap(final DatabaseSource source, final SqlStatistics statistics, final DatabaseListener[] listeners,
+			final Connection connection, final Statement statement, final String sql) {
+		Class<?> type = Statement.class;
+		if (statement instanceof CallableStatement) {
+			type = CallableStatement.class;
+		} else if (statement instanceof PreparedStatement) {
+			type = PreparedStatement.class;
+		}
+
+		InstrumentedStatement handler = new InstrumentedStatement(source, statistics, listeners, connection, statement, sql);
+		handler.proxy = (Statement) Proxy.newProxyInstance(InstrumentedStatement.class.getClassLoader(),
+				new Class<?>[] { type }, handler);
+		return handler.proxy;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param statistics 統計情報
+	 * @param listeners リスナー
+	 * @param connection コネクション
+	 * @param statement ステートメント
+	 * @param sql プリペアドSQL
+	 */
+	private InstrumentedStatement(final DatabaseSource source, final SqlStatistics statistics, final DatabaseListener[] listeners,
+			final Connection connection, final Statement statement, final String sql) {
+		this.source = source;
+		this.statistics = statistics;
+		this.listeners = listeners;
+		this.connection = connection;
+		this.statement = statement;
+		this.sql = sql;
+	}
+
+	@Override
+	public Object invoke(final Object aProxy, final Method method, final Object[] args) throws Throwable {
+		String name = method.getName();
+		if (name.startsWith("execute")) {
+			return execute(method, args);
+		} else if ("getResultSet".equals(name)) {
+			return wrapResultSet(InstrumentedConnection.invokeTarget(statement, method, args));
+		} else if ("getConnection".equals(name)) {
+			return connection;
+		} else if ("addBatch".equals(name)) {
+			if (null == batchSql && null != args && 1 == args.length && args[0] instanceof String) {
+				batchSql = (String) args[0];
+			}
+		} else if ("clearBatch".equals(name)) {
+			batchSql = null;
+		} else if ("close".equals(name)) {
+			flushRows();
+		} else if ("equals".equals(name) && null != args && 1 == args.length) {
+			return aProxy == args[0];
+		} else if ("hashCode".equals(name) && null == args) {
+			return System.identityHashCode(aProxy);
+		}
+		return InstrumentedConnection.invokeTarget(statement, method, args);
+	}
+
+	/**
+	 * SQLを実行する。
+	 * 
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 結果
+	 * @throws Throwable 対象のメソッドが例外をスローした場合
+	 */
+	private Object execute(final Method method, final Object[] args) throws Throwable {
+		flushRows();
+
+		String executeSql = sql;
+		if (null != args && 0 < args.length && args[0] instanceof String) {
+			executeSql = (String) args[0];
+		} else if (null == executeSql) {
+			executeSql = batchSql;
+		}
+
+		for (int i = 0; i < listeners.length; i++) {
+			listeners[i].statementExecuting(source, proxy, executeSql);
+		}
+
+		long start = System.nanoTime();
+		Object result = null;
+		try {
+			result = InstrumentedConnection.invokeTarget(statement, method, args);
+		} catch (Throwable ex) {
+			executed(executeSql, System.nanoTime() - start, ex);
+			throw ex;
+		}
+		executed(executeSql, System.nanoTime() - start, null);
+		if ("executeBatch".equals(method.getName())) {
+			batchSql = null;
+		}
+		return wrapResultSet(result);
+	}
+
+	/**
+	 * SQLの実行を記録する。
+	 * 
+	 * @param executeSql SQL
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error 発生した例外
+	 */
+	private void executed(final String executeSql, final long nanos, final Throwable error) {
+		if (null != statistics) {
+			current = statistics.record(executeSql, nanos, null != error);
+		}
+		for (int i = 0; i < listeners.length; i++) {
+			listeners[i].statementExecuted(source, proxy, executeSql, nanos, error);
+		}
+	}
+
+	/**
+	 * 結果セットをラップする。
+	 * 
+	 * @param result 結果
+	 * @return ラップした結果
+	 */
+	private Object wrapResultSet(final Object result) {
+		if (result instanceof ResultSet && null != current) {
+			flushRows();
+			resultSet = new InstrumentedResultSet(current);
+			return resultSet.wrap(proxy, (ResultSet) result);
+		}
+		return result;
+	}
+
+	/**
+	 * 直前に取得した結果セットの行数を記録する。
+	 */
+	private void flushRows() {
+		if (null != resultSet) {
+			resultSet.flush();
+			resultSet = null;
+		}
+	}
+}
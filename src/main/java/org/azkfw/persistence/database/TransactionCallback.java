@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database;
+
+import java.sql.SQLException;
+
+/**
+ * このインターフェースは、トランザクション内で実行する処理を定義したインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <T> 処理結果の型
+ */
+public interface TransactionCallback<T> {
+
+	/**
+	 * トランザクション内で処理を実行する。
+	 * <p>
+	 * コミットおよびロールバックは呼び出し元で行うため、このメソッド内で行ってはいけません。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @return 処理結果
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public T doInTransaction(final DatabaseConnection connection) throws SQLException;
+}
@@ -0,0 +1,343 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.ResultSetHandler;
+import org.azkfw.persistence.database.TransactionCallback;
+
+/**
+ * このクラスは、データベースソースに対する処理を非同期に実行するクラスです。
+ * <p>
+ * 処理はデータベースソース毎のスレッドプールで実行します。スレッド数は既定でプールの最大接続数に合わせ、
+ * 待ち行列が上限に達した場合は {@link RejectedExecutionException} をスローして呼び出し元へ過負荷を伝えます。
+ * </p>
+ * <p>
+ * {@link QueryFuture#cancel(boolean)} に <code>true</code> を指定してキャンセルした場合、{@link #query(String, Object[], ResultSetHandler)} および
+ * {@link #update(String, Object...)} で実行中のステートメントを {@link Statement#cancel()} で中断します。 ステートメントは処理結果へ直接記録するため、データベースソースのリスナーは使用しません。
+ * {@link #execute(TransactionCallback)} の処理はスレッドへの割り込みのみで中断します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class AsyncExecutor extends LoggingObject {
+
+	/** 最大接続数が無制限の場合のスレッド数 */
+	private static final int DEFAULT_THREADS = 8;
+
+	/** スレッドあたりの待ち行列の長さ */
+	private static final int DEFAULT_QUEUE_FACTOR = 16;
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** 実行スレッドプール */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * スレッド数はデータベースソースの最大接続数とします。
+	 * </p>
+	 * 
+	 * @param source データベースソース
+	 */
+	public AsyncExecutor(final DatabaseSource source) {
+		this(source, (0 < source.getMaxActive()) ? source.getMaxActive() : DEFAULT_THREADS);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param threads スレッド数
+	 */
+	public AsyncExecutor(final DatabaseSource source, final int threads) {
+		this(source, threads, threads * DEFAULT_QUEUE_FACTOR);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param threads スレッド数
+	 * @param queueSize 待ち行列の長さ
+	 */
+	public AsyncExecutor(final DatabaseSource source, final int threads, final int queueSize) {
+		super(AsyncExecutor.class);
+		this.source = source;
+
+		final String prefix = "AsyncExecutor-" + source.getName() + "-";
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * データベースソースを取得する。
+	 * 
+	 * @return データベースソース
+	 */
+	public DatabaseSource getSource() {
+		return source;
+	}
+
+	/**
+	 * 待ち行列に積まれている処理数を取得する。
+	 * 
+	 * @return 処理数
+	 */
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * 実行中の処理数を取得する。
+	 * 
+	 * @return 処理数
+	 */
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * 検索を非同期に実行する。
+	 * 
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @param handler 検索結果の変換処理
+	 * @return 処理結果
+	 * @throws RejectedExecutionException 待ち行列が上限に達している場合、または停止済みの場合
+	 */
+	public <T> QueryFuture<T> query(final String sql, final Object[] params, final ResultSetHandler<T> handler) {
+		return submit(new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return query(source, sql, params, handler);
+			}
+		});
+	}
+
+	/**
+	 * 更新を非同期に実行する。
+	 * <p>
+	 * 自動コミットで実行します。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @return 更新件数
+	 * @throws RejectedExecutionException 待ち行列が上限に達している場合、または停止済みの場合
+	 */
+	public QueryFuture<Integer> update(final String sql, final Object... params) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				DatabaseConnection connection = source.getConnection();
+				try {
+					PreparedStatement ps = prepare(connection.getConnection(), sql, params);
+					try {
+						return Integer.valueOf(ps.executeUpdate());
+					} finally {
+						close(ps);
+					}
+				} finally {
+					source.returnConnection(connection);
+				}
+			}
+		});
+	}
+
+	/**
+	 * トランザクションを非同期に実行する。
+	 * <p>
+	 * 処理が正常に終了した場合はコミットし、例外が発生した場合はロールバックします。
+	 * </p>
+	 * 
+	 * @param callback トランザクション処理
+	 * @return 処理結果
+	 * @throws RejectedExecutionException 待ち行列が上限に達している場合、または停止済みの場合
+	 */
+	public <T> QueryFuture<T> execute(final TransactionCallback<T> callback) {
+		return submit(new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				DatabaseConnection connection = source.getConnection();
+				Connection con = connection.getConnection();
+				boolean success = false;
+				try {
+					if (con.getAutoCommit()) {
+						con.setAutoCommit(false);
+					}
+					T result = callback.doInTransaction(connection);
+					con.commit();
+					success = true;
+					return result;
+				} finally {
+					if (!success) {
+						try {
+							con.rollback();
+						} catch (SQLException ex) {
+							// 元の例外を優先する
+						}
+					}
+					try {
+						con.setAutoCommit(true);
+					} finally {
+						source.returnConnection(connection);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * 処理を登録する。
+	 * 
+	 * @param callable 処理
+	 * @return 処理結果
+	 */
+	private <T> QueryFuture<T> submit(final Callable<T> callable) {
+		QueryFuture<T> future = new QueryFuture<T>(callable);
+		executor.execute(future);
+		return future;
+	}
+
+	/**
+	 * 停止する。
+	 * <p>
+	 * 登録済みの処理は実行し、新たな処理は受け付けません。
+	 * </p>
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * 停止を待機する。
+	 * 
+	 * @param timeout 待機時間
+	 * @param unit 待機時間の単位
+	 * @return 停止した場合、<code>true</code>
+	 * @throws InterruptedException 割り込みが発生した場合
+	 */
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * 検索を実行する。
+	 * 
+	 * @param source データベースソース
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @param handler 検索結果の変換処理
+	 * @return 変換結果
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	static <T> T query(final DatabaseSource source, final String sql, final Object[] params, final ResultSetHandler<T> handler)
+			throws SQLException {
+		DatabaseConnection connection = source.getConnection();
+		try {
+			PreparedStatement ps = prepare(connection.getConnection(), sql, params);
+			try {
+				ResultSet rs = ps.executeQuery();
+				try {
+					return handler.handle(rs);
+				} finally {
+					rs.close();
+				}
+			} finally {
+				close(ps);
+			}
+		} finally {
+			source.returnConnection(connection);
+		}
+	}
+
+	/**
+	 * パラメータを設定したステートメントを生成する。
+	 * <p>
+	 * 非同期処理のスレッドで呼び出された場合、キャンセル時に中断できるよう生成したステートメントを処理結果へ記録します。
+	 * </p>
+	 * 
+	 * @param con コネクション
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @return ステートメント
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private static PreparedStatement prepare(final Connection con, final String sql, final Object[] params) throws SQLException {
+		PreparedStatement ps = con.prepareStatement(sql);
+		if (null != params) {
+			try {
+				for (int i = 0; i < params.length; i++) {
+					ps.setObject(i + 1, params[i]);
+				}
+			} catch (SQLException ex) {
+				ps.close();
+				throw ex;
+			}
+		}
+		QueryFuture<?> future = QueryFuture.current();
+		if (null != future) {
+			future.executing(ps);
+		}
+		return ps;
+	}
+
+	/**
+	 * ステートメントの記録を解除して閉じる。
+	 * 
+	 * @param ps ステートメント
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private static void close(final PreparedStatement ps) throws SQLException {
+		QueryFuture<?> future = QueryFuture.current();
+		if (null != future) {
+			future.executed(ps);
+		}
+		ps.close();
+	}
+}
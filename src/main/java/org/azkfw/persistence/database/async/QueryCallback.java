@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+/**
+ * このインターフェースは、非同期処理の完了通知を受け取るためのインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <T> 処理結果の型
+ */
+public interface QueryCallback<T> {
+
+	/**
+	 * 処理が正常に完了した場合に呼び出される。
+	 * 
+	 * @param result 処理結果
+	 */
+	public void onSuccess(final T result);
+
+	/**
+	 * 処理が失敗、またはキャンセルされた場合に呼び出される。
+	 * <p>
+	 * キャンセルされた場合、{@link java.util.concurrent.CancellationException} が渡されます。
+	 * </p>
+	 * 
+	 * @param error 例外
+	 */
+	public void onFailure(final Throwable error);
+}
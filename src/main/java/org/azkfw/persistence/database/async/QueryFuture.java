@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * このクラスは、非同期に実行されるデータベース処理の結果を表すクラスです。
+ * <p>
+ * 完了時に登録されたコールバックを呼び出します。{@link #cancel(boolean)} に <code>true</code> を指定してキャンセルされた場合、 実行中のステートメントを
+ * {@link Statement#cancel()} で中断します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <T> 処理結果の型
+ */
+public final class QueryFuture<T> extends FutureTask<T> {
+
+	/** 実行中の処理 */
+	private static final ThreadLocal<QueryFuture<?>> CURRENT = new ThreadLocal<QueryFuture<?>>();
+
+	/** コールバック */
+	private List<QueryCallback<? super T>> callbacks;
+
+	/** 完了フラグ */
+	private boolean completed;
+
+	/** 実行中のステートメント */
+	private volatile Statement statement;
+
+	/** 中断フラグ */
+	private volatile boolean interrupting;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param callable 処理
+	 */
+	QueryFuture(final Callable<T> callable) {
+		super(callable);
+	}
+
+	/**
+	 * 現在のスレッドで実行中の処理を取得する。
+	 * 
+	 * @return 処理。実行中でない場合、<code>null</code>
+	 */
+	static QueryFuture<?> current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * コールバックを追加する。
+	 * <p>
+	 * 既に完了している場合、呼び出し元のスレッドで直ちに呼び出します。
+	 * </p>
+	 * 
+	 * @param callback コールバック
+	 * @return このオブジェクト
+	 */
+	public QueryFuture<T> addCallback(final QueryCallback<? super T> callback) {
+		synchronized (this) {
+			if (!completed) {
+				if (null == callbacks) {
+					callbacks = new ArrayList<QueryCallback<? super T>>(2);
+				}
+				callbacks.add(callback);
+				return this;
+			}
+		}
+		dispatch(callback);
+		return this;
+	}
+
+	@Override
+	public void run() {
+		CURRENT.set(this);
+		try {
+			super.run();
+		} finally {
+			CURRENT.remove();
+			statement = null;
+		}
+	}
+
+	/**
+	 * 処理をキャンセルする。
+	 * <p>
+	 * <code>mayInterruptIfRunning</code> が <code>true</code> の場合、実行中のステートメントを {@link Statement#cancel()} で中断します。
+	 * <code>false</code> の場合は {@link java.util.concurrent.Future#cancel(boolean)} の規約どおり、実行中の処理を完了させます。
+	 * </p>
+	 * 
+	 * @param mayInterruptIfRunning 実行中の処理を中断する場合、<code>true</code>
+	 * @return キャンセルできた場合、<code>true</code>
+	 */
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		if (!mayInterruptIfRunning) {
+			return super.cancel(false);
+		}
+		// キャンセル後に実行を開始したステートメントも中断されるよう、キャンセル前にフラグを設定する
+		interrupting = true;
+		// 割り込みにより実行スレッドが記録を解除する前に、実行中のステートメントを取得する
+		Statement current = statement;
+		boolean result = super.cancel(true);
+		if (result) {
+			cancelStatement(current);
+		}
+		return result;
+	}
+
+	@Override
+	protected void done() {
+		List<QueryCallback<? super T>> list;
+		synchronized (this) {
+			completed = true;
+			list = callbacks;
+			callbacks = null;
+		}
+		if (null != list) {
+			for (QueryCallback<? super T> callback : list) {
+				dispatch(callback);
+			}
+		}
+	}
+
+	/**
+	 * ステートメントの実行開始を記録する。
+	 * 
+	 * @param aStatement ステートメント
+	 */
+	void executing(final Statement aStatement) {
+		statement = aStatement;
+		if (interrupting && isCancelled()) {
+			cancelStatement(aStatement);
+		}
+	}
+
+	/**
+	 * ステートメントの実行終了を記録する。
+	 * 
+	 * @param aStatement ステートメント
+	 */
+	void executed(final Statement aStatement) {
+		if (statement == aStatement) {
+			statement = null;
+		}
+	}
+
+	/**
+	 * ステートメントの実行を中断する。
+	 * 
+	 * @param aStatement ステートメント
+	 */
+	private static void cancelStatement(final Statement aStatement) {
+		if (null != aStatement) {
+			try {
+				aStatement.cancel();
+			} catch (SQLException ex) {
+				// 中断できない場合は実行完了を待つ
+			}
+		}
+	}
+
+	/**
+	 * コールバックを呼び出す。
+	 * 
+	 * @param callback コールバック
+	 */
+	private void dispatch(final QueryCallback<? super T> callback) {
+		T result;
+		try {
+			result = get();
+		} catch (CancellationException ex) {
+			callback.onFailure(ex);
+			return;
+		} catch (ExecutionException ex) {
+			callback.onFailure(ex.getCause());
+			return;
+		} catch (InterruptedException ex) {
+			// 完了済みのため発生しない
+			Thread.currentThread().interrupt();
+			callback.onFailure(ex);
+			return;
+		}
+		callback.onSuccess(result);
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+/**
+ * このインターフェースは、複数のデータベースソースに対する処理の途中結果を受け取るためのインターフェースです。
+ * <p>
+ * 各メソッドは呼び出し元のスレッドで、処理が完了した順に呼び出されます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <T> 処理結果の型
+ */
+public interface ScatterCallback<T> {
+
+	/**
+	 * データベースソースの処理が正常に完了した場合に呼び出される。
+	 * 
+	 * @param name データベースソース名
+	 * @param result 処理結果
+	 */
+	public void onResult(final String name, final T result);
+
+	/**
+	 * データベースソースの処理が失敗した場合に呼び出される。
+	 * 
+	 * @param name データベースソース名
+	 * @param error 例外
+	 */
+	public void onFailure(final String name, final Throwable error);
+}
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnectionManager;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.ResultSetHandler;
+
+/**
+ * このクラスは、同じ検索を複数のデータベースソースへ並列に実行し、結果をまとめるクラスです。
+ * <p>
+ * 同時に実行する検索数はスレッド数で制限します。完了した結果は {@link ScatterCallback} へ順次通知し、
+ * 全体のタイムアウトを過ぎても完了しない検索はキャンセルして、実行中のステートメントを中断します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class ScatterGatherExecutor extends LoggingObject {
+
+	/** 実行スレッドプール */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param concurrency 同時に実行する検索数
+	 */
+	public ScatterGatherExecutor(final int concurrency) {
+		super(ScatterGatherExecutor.class);
+		executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, "ScatterGatherExecutor-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 登録されている全てのデータベースソースへ検索を実行する。
+	 * 
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @param handler 検索結果の変換処理
+	 * @param timeout タイムアウト
+	 * @param unit タイムアウトの単位
+	 * @return 処理結果
+	 * @throws SQLException データベースソースが存在しない場合
+	 * @throws InterruptedException 割り込みが発生した場合
+	 * @see DatabaseConnectionManager#getSourceNames()
+	 */
+	public <T> ScatterGatherResult<T> queryAll(final String sql, final Object[] params, final ResultSetHandler<T> handler,
+			final long timeout, final TimeUnit unit) throws SQLException, InterruptedException {
+		return query(DatabaseConnectionManager.getSourceNames(), sql, params, handler, timeout, unit, null);
+	}
+
+	/**
+	 * 指定したデータベースソースへ検索を実行する。
+	 * 
+	 * @param names データベースソース名
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @param handler 検索結果の変換処理
+	 * @param timeout タイムアウト
+	 * @param unit タイムアウトの単位
+	 * @return 処理結果
+	 * @throws SQLException データベースソースが存在しない場合
+	 * @throws InterruptedException 割り込みが発生した場合
+	 */
+	public <T> ScatterGatherResult<T> query(final Collection<String> names, final String sql, final Object[] params,
+			final ResultSetHandler<T> handler, final long timeout, final TimeUnit unit) throws SQLException, InterruptedException {
+		return query(names, sql, params, handler, timeout, unit, null);
+	}
+
+	/**
+	 * 指定したデータベースソースへ検索を実行する。
+	 * <p>
+	 * 完了した検索の結果は、呼び出し元のスレッドで完了した順にコールバックへ通知します。
+	 * 割り込みが発生した場合は、未完了の検索を全てキャンセルします。
+	 * </p>
+	 * 
+	 * @param names データベースソース名
+	 * @param sql SQL
+	 * @param params パラメータ
+	 * @param handler 検索結果の変換処理
+	 * @param timeout タイムアウト
+	 * @param unit タイムアウトの単位
+	 * @param callback コールバック。通知が不要な場合、<code>null</code>
+	 * @return 処理結果
+	 * @throws SQLException データベースソースが存在しない場合
+	 * @throws InterruptedException 割り込みが発生した場合
+	 */
+	public <T> ScatterGatherResult<T> query(final Collection<String> names, final String sql, final Object[] params,
+			final ResultSetHandler<T> handler, final long timeout, final TimeUnit unit, final ScatterCallback<T> callback)
+			throws SQLException, InterruptedException {
+		List<DatabaseSource> targets = new ArrayList<DatabaseSource>(names.size());
+		for (String name : names) {
+			DatabaseSource source = DatabaseConnectionManager.getSource(name);
+			if (null == source) {
+				throw new SQLException("Database source not found.[" + name + "]");
+			}
+			targets.add(source);
+		}
+
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		final BlockingQueue<Task<T>> completed = new LinkedBlockingQueue<Task<T>>();
+		Map<String, Task<T>> tasks = new LinkedHashMap<String, Task<T>>();
+		try {
+			for (final DatabaseSource source : targets) {
+				final Task<T> task = new Task<T>(source.getName(), new Callable<T>() {
+					@Override
+					public T call() throws SQLException {
+						return AsyncExecutor.query(source, sql, params, handler);
+					}
+				});
+				task.future.addCallback(new QueryCallback<T>() {
+					@Override
+					public void onSuccess(final T result) {
+						completed.add(task);
+					}
+
+					@Override
+					public void onFailure(final Throwable error) {
+						completed.add(task);
+					}
+				});
+				tasks.put(source.getName(), task);
+				executor.execute(task.future);
+			}
+
+			for (int remaining = tasks.size(); 0 < remaining; remaining--) {
+				long wait = deadline - System.nanoTime();
+				Task<T> task = (0 < wait) ? completed.poll(wait, TimeUnit.NANOSECONDS) : completed.poll();
+				if (null == task) {
+					break;
+				}
+				if (task.future.isCancelled()) {
+					continue;
+				}
+				if (null != callback) {
+					try {
+						callback.onResult(task.name, task.future.get());
+					} catch (ExecutionException ex) {
+						callback.onFailure(task.name, ex.getCause());
+					}
+				}
+			}
+		} finally {
+			for (Task<T> task : tasks.values()) {
+				if (!task.future.isDone()) {
+					task.future.cancel(true);
+				}
+			}
+		}
+
+		Map<String, T> results = new LinkedHashMap<String, T>();
+		Map<String, Throwable> errors = new LinkedHashMap<String, Throwable>();
+		List<String> timeouts = new ArrayList<String>();
+		for (Task<T> task : tasks.values()) {
+			try {
+				results.put(task.name, task.future.get());
+			} catch (CancellationException ex) {
+				timeouts.add(task.name);
+			} catch (ExecutionException ex) {
+				errors.put(task.name, ex.getCause());
+			}
+		}
+		if (!timeouts.isEmpty()) {
+			warn("Scatter-gather query timed out." + timeouts);
+		}
+		return new ScatterGatherResult<T>(results, errors, timeouts);
+	}
+
+	/**
+	 * 停止する。
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * このクラスは、データベースソース毎の検索を保持するクラスです。
+	 * 
+	 * @param <T> 処理結果の型
+	 */
+	private static final class Task<T> {
+
+		/** データベースソース名 */
+		private final String name;
+
+		/** 処理結果 */
+		private final QueryFuture<T> future;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param name データベースソース名
+		 * @param callable 処理
+		 */
+		private Task(final String name, final Callable<T> callable) {
+			this.name = name;
+			this.future = new QueryFuture<T>(callable);
+		}
+	}
+}
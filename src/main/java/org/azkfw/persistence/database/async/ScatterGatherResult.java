@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * このクラスは、複数のデータベースソースに対する処理の結果を保持するクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <T> 処理結果の型
+ */
+public final class ScatterGatherResult<T> {
+
+	/** 処理結果 */
+	private final Map<String, T> results;
+
+	/** 例外 */
+	private final Map<String, Throwable> errors;
+
+	/** タイムアウトしたデータベースソース名 */
+	private final List<String> timeouts;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param results 処理結果
+	 * @param errors 例外
+	 * @param timeouts タイムアウトしたデータベースソース名
+	 */
+	ScatterGatherResult(final Map<String, T> results, final Map<String, Throwable> errors, final List<String> timeouts) {
+		this.results = Collections.unmodifiableMap(results);
+		this.errors = Collections.unmodifiableMap(errors);
+		this.timeouts = Collections.unmodifiableList(timeouts);
+	}
+
+	/**
+	 * 全てのデータベースソースの処理が正常に完了したか判断する。
+	 * 
+	 * @return 正常に完了した場合、<code>true</code>
+	 */
+	public boolean isComplete() {
+		return errors.isEmpty() && timeouts.isEmpty();
+	}
+
+	/**
+	 * データベースソースの処理結果を取得する。
+	 * 
+	 * @param name データベースソース名
+	 * @return 処理結果。正常に完了していない場合、<code>null</code>
+	 */
+	public T getResult(final String name) {
+		return results.get(name);
+	}
+
+	/**
+	 * 正常に完了した処理結果を取得する。
+	 * 
+	 * @return データベースソース名と処理結果のマップ(指定したデータベースソースの順)
+	 */
+	public Map<String, T> getResults() {
+		return results;
+	}
+
+	/**
+	 * 失敗した処理の例外を取得する。
+	 * 
+	 * @return データベースソース名と例外のマップ(指定したデータベースソースの順)
+	 */
+	public Map<String, Throwable> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * タイムアウトしたデータベースソース名を取得する。
+	 * 
+	 * @return データベースソース名のリスト(指定したデータベースソースの順)
+	 */
+	public List<String> getTimeouts() {
+		return timeouts;
+	}
+
+	/**
+	 * 正常に完了した処理結果を集計する。
+	 * <p>
+	 * 処理結果は指定したデータベースソースの順に集計します。
+	 * </p>
+	 * 
+	 * @param initial 集計結果の初期値
+	 * @param aggregator 集計処理
+	 * @return 集計結果
+	 */
+	public <A> A aggregate(final A initial, final Aggregator<? super T, A> aggregator) {
+		A accumulated = initial;
+		for (Map.Entry<String, T> entry : results.entrySet()) {
+			accumulated = aggregator.aggregate(accumulated, entry.getKey(), entry.getValue());
+		}
+		return accumulated;
+	}
+
+	/**
+	 * 整列済みのリストを順序を保ってマージする。
+	 * <p>
+	 * 各データベースソースで <code>ORDER BY</code> した結果を、全体で整列した一つのリストにまとめる場合に使用します。
+	 * 比較結果が等しい要素は、先に指定したリストの要素を先に並べます。
+	 * </p>
+	 * 
+	 * @param lists 整列済みのリスト
+	 * @param comparator 比較処理
+	 * @return マージしたリスト
+	 */
+	public static <E> List<E> merge(final Collection<? extends List<? extends E>> lists, final Comparator<? super E> comparator) {
+		int size = 0;
+		PriorityQueue<Cursor<E>> queue = new PriorityQueue<Cursor<E>>(Math.max(1, lists.size()), new Comparator<Cursor<E>>() {
+			@Override
+			public int compare(final Cursor<E> o1, final Cursor<E> o2) {
+				int result = comparator.compare(o1.current, o2.current);
+				if (0 == result) {
+					result = (o1.index < o2.index) ? -1 : ((o1.index == o2.index) ? 0 : 1);
+				}
+				return result;
+			}
+		});
+		int index = 0;
+		for (List<? extends E> list : lists) {
+			size += list.size();
+			Cursor<E> cursor = new Cursor<E>(index++, list.iterator());
+			if (cursor.next()) {
+				queue.add(cursor);
+			}
+		}
+
+		List<E> merged = new ArrayList<E>(size);
+		while (!queue.isEmpty()) {
+			Cursor<E> cursor = queue.poll();
+			merged.add(cursor.current);
+			if (cursor.next()) {
+				queue.add(cursor);
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * このクラスは、マージ中のリストの読み込み位置を保持するクラスです。
+	 * 
+	 * @param <E> 要素の型
+	 */
+	private static final class Cursor<E> {
+
+		/** リストの順番 */
+		private final int index;
+
+		/** イテレータ */
+		private final Iterator<? extends E> iterator;
+
+		/** 現在の要素 */
+		private E current;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param index リストの順番
+		 * @param iterator イテレータ
+		 */
+		private Cursor(final int index, final Iterator<? extends E> iterator) {
+			this.index = index;
+			this.iterator = iterator;
+		}
+
+		/**
+		 * 次の要素へ進む。
+		 * 
+		 * @return 要素が存在する場合、<code>true</code>
+		 */
+		private boolean next() {
+			if (iterator.hasNext()) {
+				current = iterator.next();
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -47,6 +47,41 @@ public class DatabaseConnectionEntity {
 	 */
 	private String password;
 
+	/**
+	 * Max active
+	 */
+	private int maxActive = -1;
+
+	/**
+	 * Max idle
+	 */
+	private int maxIdle = 8;
+
+	/**
+	 * Min idle
+	 */
+	private int minIdle = 0;
+
+	/**
+	 * Max wait
+	 */
+	private long maxWait = -1;
+
+	/**
+	 * Test on borrow
+	 */
+	private boolean testOnBorrow = false;
+
+	/**
+	 * Initial size
+	 */
+	private int initialSize = 0;
+
+	/**
+	 * Lazy
+	 */
+	private boolean lazy = false;
+
 	/**
 	 * ドライバ名を取得します。
 	 * 
@@ -118,4 +153,130 @@ public class DatabaseConnectionEntity {
 	public void setPassword(final String aPassword) {
 		password = aPassword;
 	}
+
+	/**
+	 * 最大接続数を取得します。
+	 * 
+	 * @return 最大接続数。負数の場合、無制限
+	 */
+	public int getMaxActive() {
+		return maxActive;
+	}
+
+	/**
+	 * 最大待機接続数を取得します。
+	 * 
+	 * @return 最大待機接続数。負数の場合、無制限
+	 */
+	public int getMaxIdle() {
+		return maxIdle;
+	}
+
+	/**
+	 * 最小待機接続数を取得します。
+	 * 
+	 * @return 最小待機接続数
+	 */
+	public int getMinIdle() {
+		return minIdle;
+	}
+
+	/**
+	 * 接続の最大待ち時間を取得します。
+	 * 
+	 * @return 最大待ち時間(ミリ秒)。負数の場合、無制限
+	 */
+	public long getMaxWait() {
+		return maxWait;
+	}
+
+	/**
+	 * 接続の取得時に検証するか判断します。
+	 * 
+	 * @return 検証する場合、<code>true</code>
+	 */
+	public boolean isTestOnBorrow() {
+		return testOnBorrow;
+	}
+
+	/**
+	 * 初期化時に生成する接続数を取得します。
+	 * 
+	 * @return 初期接続数
+	 */
+	public int getInitialSize() {
+		return initialSize;
+	}
+
+	/**
+	 * 初回の接続取得時に初期化するか判断します。
+	 * 
+	 * @return 遅延初期化する場合、<code>true</code>
+	 */
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * 最大接続数を設定します。
+	 * 
+	 * @param aMaxActive 最大接続数。負数の場合、無制限
+	 */
+	public void setMaxActive(final int aMaxActive) {
+		maxActive = aMaxActive;
+	}
+
+	/**
+	 * 最大待機接続数を設定します。
+	 * 
+	 * @param aMaxIdle 最大待機接続数。負数の場合、無制限
+	 */
+	public void setMaxIdle(final int aMaxIdle) {
+		maxIdle = aMaxIdle;
+	}
+
+	/**
+	 * 最小待機接続数を設定します。
+	 * 
+	 * @param aMinIdle 最小待機接続数
+	 */
+	public void setMinIdle(final int aMinIdle) {
+		minIdle = aMinIdle;
+	}
+
+	/**
+	 * 接続の最大待ち時間を設定します。
+	 * 
+	 * @param aMaxWait 最大待ち時間(ミリ秒)。負数の場合、無制限
+	 */
+	public void setMaxWait(final long aMaxWait) {
+		maxWait = aMaxWait;
+	}
+
+	/**
+	 * 接続の取得時に検証するか設定します。
+	 * 
+	 * @param aTestOnBorrow 検証する場合、<code>true</code>
+	 */
+	public void setTestOnBorrow(final boolean aTestOnBorrow) {
+		testOnBorrow = aTestOnBorrow;
+	}
+
+	/**
+	 * 初期化時に生成する接続数を設定します。
+	 * 
+	 * @param aInitialSize 初期接続数
+	 */
+	public void setInitialSize(final int aInitialSize) {
+		initialSize = aInitialSize;
+	}
+
+	/**
+	 * 初回の接続取得時に初期化するか設定します。
+	 * 
+	 * @param aLazy 遅延初期化する場合、<code>true</code>
+	 */
+	public void setLazy(final boolean aLazy) {
+		lazy = aLazy;
+	}
 }
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.id;
+
+import java.sql.SQLException;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このインターフェースは、IDのブロックを予約する処理を定義したインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface BlockAllocator {
+
+	/**
+	 * ブロックのサイズを取得する。
+	 * 
+	 * @return サイズ
+	 */
+	public int getBlockSize();
+
+	/**
+	 * ブロックを予約する。
+	 * <p>
+	 * トランザクション内で呼び出されます。コミットは呼び出し元で行うため、このメソッド内で行ってはいけません。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @return ブロックの先頭のID。ブロックは先頭から {@link #getBlockSize()} 個のIDで構成されます
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public long allocate(final DatabaseConnection connection) throws SQLException;
+}
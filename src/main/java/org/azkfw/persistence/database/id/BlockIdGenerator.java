@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.id;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.TransactionCallback;
+import org.azkfw.persistence.database.retry.RetryExecutor;
+import org.azkfw.persistence.database.retry.RetryPolicy;
+
+/**
+ * このクラスは、予約したIDのブロックからIDを払い出す採番クラスです。
+ * <p>
+ * IDはメモリ上のブロックからロックを取得せずに払い出し、データベースへのアクセスはブロックの予約時のみ行います。
+ * ブロックの残りが閾値を下回った時点で、次のブロックをバックグラウンドで予約します。
+ * </p>
+ * <p>
+ * 払い出したIDは一意ですが、連番になるとは限りません。アプリケーションの停止時に未使用のIDは破棄されます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class BlockIdGenerator extends LoggingObject implements IdGenerator {
+
+	/** 既定の先読みの閾値(ブロックのサイズに対する割合) */
+	private static final double DEFAULT_PREFETCH_RATIO = 0.25;
+
+	/** 予約処理 */
+	private final BlockAllocator allocator;
+
+	/** リトライ実行 */
+	private final RetryExecutor executor;
+
+	/** 先読みスレッド */
+	private final ThreadPoolExecutor prefetcher;
+
+	/** 先読みの閾値(ブロックのサイズに対する割合) */
+	private volatile double prefetchRatio;
+
+	/** 払い出し中のブロック */
+	private volatile Block current;
+
+	/** 先読み中のブロック */
+	private Future<Block> prefetched;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param allocator 予約処理
+	 */
+	public BlockIdGenerator(final DatabaseSource source, final BlockAllocator allocator) {
+		super(BlockIdGenerator.class);
+		this.allocator = allocator;
+		RetryPolicy policy = new RetryPolicy();
+		// 同じ行の同時登録による一意制約違反は、再実行すると更新になるため一時的な障害として扱う
+		policy.getClassifier().addTransientSQLState("23");
+		this.executor = new RetryExecutor(source, policy);
+		this.prefetchRatio = DEFAULT_PREFETCH_RATIO;
+		this.current = Block.EMPTY;
+
+		prefetcher = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "BlockIdGenerator-" + source.getName());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		prefetcher.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 先読みの閾値を設定する。
+	 * <p>
+	 * ブロックの残りがサイズに対してこの割合を下回った時点で、次のブロックを予約します。0 の場合、先読みを行いません。
+	 * </p>
+	 * 
+	 * @param aPrefetchRatio 先読みの閾値(0 から 1)
+	 */
+	public void setPrefetchRatio(final double aPrefetchRatio) {
+		prefetchRatio = aPrefetchRatio;
+	}
+
+	@Override
+	public long next() throws SQLException {
+		for (;;) {
+			Block block = current;
+			long id = block.next.getAndIncrement();
+			if (id < block.end) {
+				if (id == block.threshold) {
+					prefetch();
+				}
+				return id;
+			}
+			renew(block);
+		}
+	}
+
+	/**
+	 * 停止する。
+	 */
+	public void shutdown() {
+		prefetcher.shutdown();
+	}
+
+	/**
+	 * 払い出し中のブロックを次のブロックへ切り替える。
+	 * 
+	 * @param exhausted 使い切ったブロック
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private synchronized void renew(final Block exhausted) throws SQLException {
+		if (current != exhausted) {
+			// 他のスレッドが切り替え済み
+			return;
+		}
+
+		Block block = null;
+		Future<Block> future = prefetched;
+		prefetched = null;
+		if (null != future) {
+			try {
+				block = future.get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for id block.", ex);
+			} catch (ExecutionException ex) {
+				warn("Id block prefetch failed.[" + ex.getCause().getMessage() + "]");
+			}
+		}
+		if (null == block) {
+			block = allocate();
+		}
+		current = block;
+	}
+
+	/**
+	 * 次のブロックの予約をバックグラウンドで開始する。
+	 */
+	private synchronized void prefetch() {
+		if (null != prefetched || prefetcher.isShutdown()) {
+			return;
+		}
+		FutureTask<Block> future = new FutureTask<Block>(new Callable<Block>() {
+			@Override
+			public Block call() throws SQLException {
+				return allocate();
+			}
+		});
+		prefetched = future;
+		prefetcher.execute(future);
+	}
+
+	/**
+	 * ブロックを予約する。
+	 * 
+	 * @return ブロック
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private Block allocate() throws SQLException {
+		// 予約したブロックが使われなくてもIDが欠番になるだけのため、冪等な処理として扱う
+		long start = executor.execute(new TransactionCallback<Long>() {
+			@Override
+			public Long doInTransaction(final DatabaseConnection connection) throws SQLException {
+				return Long.valueOf(allocator.allocate(connection));
+			}
+		}, true).longValue();
+
+		int size = allocator.getBlockSize();
+		double ratio = prefetchRatio;
+		long threshold = (0 < ratio) ? start + size - Math.max(1, (long) (size * ratio)) : Long.MIN_VALUE;
+		debug("Id block allocated.[start=" + start + ", size=" + size + "]");
+		return new Block(start, start + size, threshold);
+	}
+
+	/**
+	 * このクラスは、予約したIDのブロックを表すクラスです。
+	 */
+	private static final class Block {
+
+		/** 空のブロック */
+		private static final Block EMPTY = new Block(0, 0, Long.MIN_VALUE);
+
+		/** 次に払い出すID */
+		private final AtomicLong next;
+
+		/** ブロックの終端(この値を含まない) */
+		private final long end;
+
+		/** 先読みを開始するID */
+		private final long threshold;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param start ブロックの先頭
+		 * @param end ブロックの終端(この値を含まない)
+		 * @param threshold 先読みを開始するID
+		 */
+		private Block(final long start, final long end, final long threshold) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+			this.threshold = threshold;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.id;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、シーケンスを使用してIDのブロックを予約するクラスです。
+ * <p>
+ * 次の2つの方式をサポートします。
+ * <ul>
+ * <li>プール方式 シーケンスの増分をブロックのサイズに設定し、取得した値をブロックの先頭とします。
+ * 他のアプリケーションがシーケンスから直接採番しても重複しません。 増分の設定誤りによるIDの重複を防ぐため、最初のブロックを払い出す前にシーケンス値を2回取得して
+ * 差がブロックのサイズの倍数であることを確認し、一致しない場合は {@link SQLException} をスローします。</li>
+ * <li>hi/lo方式 増分1のシーケンスから取得した値にブロックのサイズを掛けた値をブロックの先頭とします。</li>
+ * </ul>
+ * シーケンス値を取得するSQLはデータベース毎に異なるため、コンストラクタで指定します。
+ * (例: <code>SELECT SEQ_ORDER.NEXTVAL FROM DUAL</code>、<code>SELECT nextval('seq_order')</code>)
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class SequenceBlockAllocator implements BlockAllocator {
+
+	/** シーケンス値を取得するSQL */
+	private final String sql;
+
+	/** ブロックのサイズ */
+	private final int blockSize;
+
+	/** hi/lo方式 */
+	private final boolean hiLo;
+
+	/** 増分を確認済みの場合、<code>true</code> */
+	private volatile boolean verified;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param sql シーケンス値を取得するSQL
+	 * @param blockSize ブロックのサイズ(プール方式の場合、シーケンスの増分と一致させる)
+	 * @param hiLo hi/lo方式の場合、<code>true</code>。プール方式の場合、<code>false</code>
+	 */
+	public SequenceBlockAllocator(final String sql, final int blockSize, final boolean hiLo) {
+		this.sql = sql;
+		this.blockSize = blockSize;
+		this.hiLo = hiLo;
+	}
+
+	@Override
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	@Override
+	public long allocate(final DatabaseConnection connection) throws SQLException {
+		long value = nextValue(connection);
+		if (hiLo) {
+			return value * blockSize;
+		}
+		if (!verified) {
+			// 増分を確認するまでブロックを払い出さない。確認に使用した値のブロックは欠番になる
+			verify(value, nextValue(connection));
+		}
+		return value;
+	}
+
+	/**
+	 * シーケンス値を取得する。
+	 * 
+	 * @param connection コネクション
+	 * @return シーケンス値
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private long nextValue(final DatabaseConnection connection) throws SQLException {
+		PreparedStatement ps = connection.getConnection().prepareStatement(sql);
+		try {
+			ResultSet rs = ps.executeQuery();
+			try {
+				if (!rs.next()) {
+					throw new SQLException("Sequence value not found.[" + sql + "]");
+				}
+				return rs.getLong(1);
+			} finally {
+				rs.close();
+			}
+		} finally {
+			ps.close();
+		}
+	}
+
+	/**
+	 * プール方式でシーケンスの増分がブロックのサイズと一致しているか確認する。
+	 * <p>
+	 * 他のノードや並行する予約によって値が飛ぶ場合があるため、連続して取得した値の差がブロックのサイズの倍数であることを確認します。
+	 * </p>
+	 * 
+	 * @param value シーケンス値
+	 * @param nextValue 続けて取得したシーケンス値
+	 * @throws SQLException 増分がブロックのサイズと一致しない場合
+	 */
+	private void verify(final long value, final long nextValue) throws SQLException {
+		long delta = nextValue - value;
+		if (0 >= delta || 0 != delta % blockSize) {
+			throw new SQLException("Sequence increment does not match block size.[sql=" + sql + ", blockSize=" + blockSize
+					+ ", delta=" + delta + "]");
+		}
+		verified = true;
+	}
+}
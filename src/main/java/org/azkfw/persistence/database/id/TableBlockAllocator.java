@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.id;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、テーブルを使用してIDのブロックを予約するクラスです。
+ * <p>
+ * シーケンスをサポートしないデータベースで使用します。テーブルは名前毎に次に払い出すIDを保持します。
+ * 行の更新で排他を取得するため、複数のノードから同時に予約しても重複しません。
+ * 行の同時登録による一意制約違反でトランザクションが中断された場合は、{@link BlockIdGenerator} が再実行します。
+ * </p>
+ * 
+ * <pre>
+ * CREATE TABLE ID_SEQUENCE (
+ *   NAME       VARCHAR(64) NOT NULL PRIMARY KEY,
+ *   NEXT_VALUE BIGINT      NOT NULL
+ * )
+ * </pre>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class TableBlockAllocator implements BlockAllocator {
+
+	/** 既定のテーブル名 */
+	public static final String DEFAULT_TABLE = "ID_SEQUENCE";
+
+	/** 名前 */
+	private final String name;
+
+	/** ブロックのサイズ */
+	private final int blockSize;
+
+	/** 初期値 */
+	private long initialValue;
+
+	/** 更新SQL */
+	private String updateSql;
+
+	/** 検索SQL */
+	private String selectSql;
+
+	/** 登録SQL */
+	private String insertSql;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name 名前
+	 * @param blockSize ブロックのサイズ
+	 */
+	public TableBlockAllocator(final String name, final int blockSize) {
+		this.name = name;
+		this.blockSize = blockSize;
+		this.initialValue = 1;
+		setTable(DEFAULT_TABLE);
+	}
+
+	/**
+	 * テーブル名を設定する。
+	 * 
+	 * @param table テーブル名
+	 */
+	public void setTable(final String table) {
+		updateSql = "UPDATE " + table + " SET NEXT_VALUE = NEXT_VALUE + ? WHERE NAME = ?";
+		selectSql = "SELECT NEXT_VALUE FROM " + table + " WHERE NAME = ?";
+		insertSql = "INSERT INTO " + table + " (NAME, NEXT_VALUE) VALUES (?, ?)";
+	}
+
+	/**
+	 * 行が存在しない場合の初期値を設定する。
+	 * 
+	 * @param aInitialValue 初期値
+	 */
+	public void setInitialValue(final long aInitialValue) {
+		initialValue = aInitialValue;
+	}
+
+	@Override
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	@Override
+	public long allocate(final DatabaseConnection connection) throws SQLException {
+		if (0 == update(connection)) {
+			try {
+				insert(connection);
+				return initialValue;
+			} catch (SQLException ex) {
+				// 他のノードが同時に登録した場合は更新する
+				try {
+					if (0 == update(connection)) {
+						throw ex;
+					}
+				} catch (SQLException ex2) {
+					// 失敗した文でトランザクションが中断されるデータベースの場合は、一意制約違反の例外をスローして呼び出し元で再試行する
+					if (ex2 != ex) {
+						ex.setNextException(ex2);
+					}
+					throw ex;
+				}
+			}
+		}
+
+		PreparedStatement ps = connection.getConnection().prepareStatement(selectSql);
+		try {
+			ps.setString(1, name);
+			ResultSet rs = ps.executeQuery();
+			try {
+				if (!rs.next()) {
+					throw new SQLException("Id sequence not found.[" + name + "]");
+				}
+				return rs.getLong(1) - blockSize;
+			} finally {
+				rs.close();
+			}
+		} finally {
+			ps.close();
+		}
+	}
+
+	/**
+	 * 次に払い出すIDをブロックのサイズ分進める。
+	 * 
+	 * @param connection コネクション
+	 * @return 更新件数
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private int update(final DatabaseConnection connection) throws SQLException {
+		PreparedStatement ps = connection.getConnection().prepareStatement(updateSql);
+		try {
+			ps.setLong(1, blockSize);
+			ps.setString(2, name);
+			return ps.executeUpdate();
+		} finally {
+			ps.close();
+		}
+	}
+
+	/**
+	 * 行を登録する。
+	 * 
+	 * @param connection コネクション
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private void insert(final DatabaseConnection connection) throws SQLException {
+		PreparedStatement ps = connection.getConnection().prepareStatement(insertSql);
+		try {
+			ps.setString(1, name);
+			ps.setLong(2, initialValue + blockSize);
+			ps.executeUpdate();
+		} finally {
+			ps.close();
+		}
+	}
+}
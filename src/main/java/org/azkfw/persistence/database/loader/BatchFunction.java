@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.loader;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このインターフェースは、複数のキーに対応する値を一括で読み込む処理を定義したインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <K> キーの型
+ * @param <V> 値の型
+ */
+public interface BatchFunction<K, V> {
+
+	/**
+	 * キーに対応する値を一括で読み込む。
+	 * 
+	 * @param connection コネクション
+	 * @param keys キー(重複なし)
+	 * @return キーと値のマップ。値が存在しないキーは含めなくてよい
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public Map<K, V> load(final DatabaseConnection connection, final List<K> keys) throws SQLException;
+}
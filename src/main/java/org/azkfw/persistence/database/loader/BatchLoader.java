@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.loader;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+
+/**
+ * このクラスは、単一キーの読み込みをまとめて一括で読み込むクラスです。
+ * <p>
+ * 次の2つの方法で読み込みをまとめます。
+ * <ul>
+ * <li>{@link #load(Object)} 複数のスレッドから一定時間内に要求されたキーをまとめます。最初に要求したスレッドが待機時間の経過後、
+ * または最大件数に達した時点で一括読み込みを行い、他のスレッドへ結果を配布します。</li>
+ * <li>{@link #openScope()} リクエストなどの単位でスコープを作成し、スコープ内で要求されたキーをまとめます。
+ * 読み込んだ値はスコープ内でキャッシュします。</li>
+ * </ul>
+ * 一括読み込みは最大件数毎に分割して行います。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <K> キーの型
+ * @param <V> 値の型
+ */
+public final class BatchLoader<K, V> extends LoggingObject {
+
+	/** 既定の最大件数 */
+	private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	/** 既定の待機時間(ミリ秒) */
+	private static final long DEFAULT_WINDOW = 2;
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** 一括読み込み処理 */
+	private final BatchFunction<K, V> function;
+
+	/** 最大件数 */
+	private volatile int maxBatchSize;
+
+	/** 待機時間(ミリ秒) */
+	private volatile long window;
+
+	/** ロック */
+	private final Object lock = new Object();
+
+	/** 待機中のキー */
+	private Map<K, LoadFuture<V>> pending;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param function 一括読み込み処理
+	 */
+	public BatchLoader(final DatabaseSource source, final BatchFunction<K, V> function) {
+		super(BatchLoader.class);
+		this.source = source;
+		this.function = function;
+		this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+		this.window = DEFAULT_WINDOW;
+	}
+
+	/**
+	 * 一括読み込みの最大件数を設定する。
+	 * 
+	 * @param aMaxBatchSize 最大件数
+	 */
+	public void setMaxBatchSize(final int aMaxBatchSize) {
+		maxBatchSize = aMaxBatchSize;
+	}
+
+	/**
+	 * 読み込みをまとめる待機時間を設定する。
+	 * 
+	 * @param aWindow 待機時間(ミリ秒)
+	 */
+	public void setWindow(final long aWindow) {
+		window = aWindow;
+	}
+
+	/**
+	 * 読み込みスコープを作成する。
+	 * 
+	 * @return 読み込みスコープ
+	 */
+	public LoadScope<K, V> openScope() {
+		return new LoadScope<K, V>(this);
+	}
+
+	/**
+	 * キーに対応する値を読み込む。
+	 * <p>
+	 * 待機時間内に他のスレッドから要求されたキーとまとめて読み込みます。
+	 * </p>
+	 * 
+	 * @param key キー
+	 * @return 値。存在しない場合、<code>null</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public V load(final K key) throws SQLException {
+		Map<K, LoadFuture<V>> batch;
+		LoadFuture<V> future;
+		boolean leader = false;
+		synchronized (lock) {
+			if (null == pending) {
+				pending = new LinkedHashMap<K, LoadFuture<V>>();
+				leader = true;
+			}
+			batch = pending;
+			future = batch.get(key);
+			if (null == future) {
+				future = new LoadFuture<V>(null);
+				batch.put(key, future);
+			}
+			if (batch.size() >= maxBatchSize) {
+				pending = null;
+				lock.notifyAll();
+			}
+
+			if (leader) {
+				long deadline = System.currentTimeMillis() + window;
+				try {
+					while (batch == pending) {
+						long remaining = deadline - System.currentTimeMillis();
+						if (0 >= remaining) {
+							pending = null;
+							break;
+						}
+						lock.wait(remaining);
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					if (batch == pending) {
+						pending = null;
+					}
+				}
+			}
+		}
+
+		if (leader) {
+			dispatch(batch);
+		}
+		return await(future);
+	}
+
+	/**
+	 * 待機中のキーを一括で読み込み、結果を配布する。
+	 * <p>
+	 * {@link Error} などで読み込みが中断した場合も、待機中のスレッドが待ち続けないよう未完了の値を全て失敗とします。
+	 * </p>
+	 * 
+	 * @param batch 待機中のキー
+	 */
+	void dispatch(final Map<K, LoadFuture<V>> batch) {
+		try {
+			int size = maxBatchSize;
+			List<K> keys = new ArrayList<K>(Math.min(size, batch.size()));
+			for (K key : batch.keySet()) {
+				keys.add(key);
+				if (keys.size() >= size) {
+					dispatch(keys, batch);
+					keys.clear();
+				}
+			}
+			if (!keys.isEmpty()) {
+				dispatch(keys, batch);
+			}
+		} catch (Throwable ex) {
+			for (LoadFuture<V> future : batch.values()) {
+				if (!future.isDone()) {
+					future.fail(ex);
+				}
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * キーを一括で読み込み、結果を配布する。
+	 * 
+	 * @param keys キー
+	 * @param batch 待機中のキー
+	 */
+	private void dispatch(final List<K> keys, final Map<K, LoadFuture<V>> batch) {
+		Map<K, V> values;
+		try {
+			DatabaseConnection connection = source.getConnection();
+			try {
+				values = function.load(connection, keys);
+			} finally {
+				source.returnConnection(connection);
+			}
+		} catch (SQLException | RuntimeException ex) {
+			for (K key : keys) {
+				batch.get(key).fail(ex);
+			}
+			return;
+		}
+		for (K key : keys) {
+			batch.get(key).set(values.get(key));
+		}
+	}
+
+	/**
+	 * 読み込みの完了を待機する。
+	 * 
+	 * @param future 値
+	 * @return 値
+	 * @throws SQLException 読み込みに失敗した場合、または割り込みが発生した場合
+	 */
+	static <V> V await(final Future<V> future) throws SQLException {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for batch load.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new SQLException(cause);
+		}
+	}
+}
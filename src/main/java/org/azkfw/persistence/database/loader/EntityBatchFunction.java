@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.loader;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.entity.Entity;
+
+/**
+ * このクラスは、キーの列に対する <code>IN (...)</code> 検索でエンティティを一括で読み込む抽象クラスです。
+ * <p>
+ * キーの数毎に異なるSQLとならないよう、パラメータ数は2のべき乗に切り上げ、不足分は最後のキーで埋めます。 データベースのステートメントキャッシュには件数によらず数種類のSQLのみが登録されます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <K> キーの型
+ * @param <E> エンティティの型
+ */
+public abstract class EntityBatchFunction<K, E extends Entity> implements BatchFunction<K, E> {
+
+	/** 検索SQL(WHERE句を含まない) */
+	private final String select;
+
+	/** キーの列名 */
+	private final String keyColumn;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param select 検索SQL(WHERE句を含まない。例: <code>SELECT * FROM USER</code>)
+	 * @param keyColumn キーの列名
+	 */
+	public EntityBatchFunction(final String select, final String keyColumn) {
+		this.select = select;
+		this.keyColumn = keyColumn;
+	}
+
+	@Override
+	public Map<K, E> load(final DatabaseConnection connection, final List<K> keys) throws SQLException {
+		Map<K, E> result = new HashMap<K, E>(keys.size() * 2);
+		if (keys.isEmpty()) {
+			return result;
+		}
+		int size = Integer.highestOneBit(keys.size());
+		if (size < keys.size()) {
+			size <<= 1;
+		}
+
+		StringBuilder sql = new StringBuilder(select.length() + keyColumn.length() + 16 + size * 2);
+		sql.append(select).append(" WHERE ").append(keyColumn).append(" IN (");
+		for (int i = 0; i < size; i++) {
+			sql.append((0 == i) ? "?" : ",?");
+		}
+		sql.append(")");
+
+		PreparedStatement ps = connection.getConnection().prepareStatement(sql.toString());
+		try {
+			int last = keys.size() - 1;
+			for (int i = 0; i < size; i++) {
+				ps.setObject(i + 1, keys.get(Math.min(i, last)));
+			}
+			ResultSet rs = ps.executeQuery();
+			try {
+				while (rs.next()) {
+					result.put(getKey(rs), toEntity(rs));
+				}
+			} finally {
+				rs.close();
+			}
+		} finally {
+			ps.close();
+		}
+		return result;
+	}
+
+	/**
+	 * 現在の行からキーを取得する。
+	 * 
+	 * @param rs 結果セット
+	 * @return キー
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	protected abstract K getKey(final ResultSet rs) throws SQLException;
+
+	/**
+	 * 現在の行からエンティティを生成する。
+	 * 
+	 * @param rs 結果セット
+	 * @return エンティティ
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	protected abstract E toEntity(final ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.loader;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * このクラスは、一括読み込みを待っている値を表すクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <V> 値の型
+ */
+final class LoadFuture<V> implements Future<V> {
+
+	/** 読み込みスコープ */
+	private final LoadScope<?, V> scope;
+
+	/** 完了フラグ */
+	private boolean done;
+
+	/** 値 */
+	private V value;
+
+	/** 例外 */
+	private Throwable error;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param scope 読み込みスコープ。スコープ外の場合、<code>null</code>
+	 */
+	LoadFuture(final LoadScope<?, V> scope) {
+		this.scope = scope;
+	}
+
+	/**
+	 * 値を設定する。
+	 * 
+	 * @param aValue 値
+	 */
+	synchronized void set(final V aValue) {
+		value = aValue;
+		done = true;
+		notifyAll();
+	}
+
+	/**
+	 * 例外を設定する。
+	 * 
+	 * @param aError 例外
+	 */
+	synchronized void fail(final Throwable aError) {
+		error = aError;
+		done = true;
+		notifyAll();
+	}
+
+	/**
+	 * 失敗したか判断する。
+	 * 
+	 * @return 失敗した場合、<code>true</code>
+	 */
+	synchronized boolean isFailed() {
+		return null != error;
+	}
+
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		return false;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return false;
+	}
+
+	@Override
+	public synchronized boolean isDone() {
+		return done;
+	}
+
+	/**
+	 * 値を取得する。
+	 * <p>
+	 * 読み込みスコープの値で未読み込みの場合、スコープの待機中のキーを一括で読み込みます。
+	 * </p>
+	 */
+	@Override
+	public V get() throws InterruptedException, ExecutionException {
+		if (null != scope && !isDone()) {
+			scope.dispatch();
+		}
+		synchronized (this) {
+			while (!done) {
+				wait();
+			}
+			return result();
+		}
+	}
+
+	@Override
+	public V get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (null != scope && !isDone()) {
+			scope.dispatch();
+		}
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this) {
+			while (!done) {
+				long remaining = deadline - System.nanoTime();
+				if (0 >= remaining) {
+					throw new TimeoutException();
+				}
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			return result();
+		}
+	}
+
+	/**
+	 * 結果を取得する。
+	 * 
+	 * @return 値
+	 * @throws ExecutionException 読み込みに失敗した場合
+	 */
+	private V result() throws ExecutionException {
+		if (null != error) {
+			throw new ExecutionException(error);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.loader;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * このクラスは、リクエストなどの単位で読み込みをまとめるスコープクラスです。
+ * <p>
+ * {@link #load(Object)} で要求したキーは、{@link #dispatch()} を呼び出すか、いずれかの値を取得した時点でまとめて読み込みます。
+ * 読み込んだ値はスコープ内でキャッシュし、同じキーは再度読み込みません。読み込みに失敗したキーはキャッシュしません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * 
+ * @param <K> キーの型
+ * @param <V> 値の型
+ */
+public final class LoadScope<K, V> {
+
+	/** ローダー */
+	private final BatchLoader<K, V> loader;
+
+	/** キャッシュ */
+	private final Map<K, LoadFuture<V>> cache;
+
+	/** 待機中のキー */
+	private Map<K, LoadFuture<V>> pending;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param loader ローダー
+	 */
+	LoadScope(final BatchLoader<K, V> loader) {
+		this.loader = loader;
+		this.cache = new HashMap<K, LoadFuture<V>>();
+		this.pending = new LinkedHashMap<K, LoadFuture<V>>();
+	}
+
+	/**
+	 * キーの読み込みを要求する。
+	 * 
+	 * @param key キー
+	 * @return 値
+	 */
+	public synchronized Future<V> load(final K key) {
+		LoadFuture<V> future = cache.get(key);
+		if (null == future) {
+			future = new LoadFuture<V>(this);
+			cache.put(key, future);
+			pending.put(key, future);
+		}
+		return future;
+	}
+
+	/**
+	 * キーに対応する値を取得する。
+	 * 
+	 * @param key キー
+	 * @return 値。存在しない場合、<code>null</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public V get(final K key) throws SQLException {
+		return BatchLoader.await(load(key));
+	}
+
+	/**
+	 * キーに対応する値を取得する。
+	 * 
+	 * @param keys キー
+	 * @return キーと値のマップ。値が存在しないキーは含みません
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public Map<K, V> getAll(final Collection<K> keys) throws SQLException {
+		Map<K, Future<V>> futures = new LinkedHashMap<K, Future<V>>();
+		for (K key : keys) {
+			futures.put(key, load(key));
+		}
+		dispatch();
+
+		Map<K, V> values = new LinkedHashMap<K, V>();
+		for (Map.Entry<K, Future<V>> entry : futures.entrySet()) {
+			V value = BatchLoader.await(entry.getValue());
+			if (null != value) {
+				values.put(entry.getKey(), value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * 待機中のキーを一括で読み込む。
+	 */
+	public void dispatch() {
+		Map<K, LoadFuture<V>> batch;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			pending = new LinkedHashMap<K, LoadFuture<V>>();
+		}
+
+		loader.dispatch(batch);
+
+		synchronized (this) {
+			for (Map.Entry<K, LoadFuture<V>> entry : batch.entrySet()) {
+				if (entry.getValue().isFailed() && cache.get(entry.getKey()) == entry.getValue()) {
+					cache.remove(entry.getKey());
+				}
+			}
+		}
+	}
+
+	/**
+	 * キーのキャッシュを削除する。
+	 * 
+	 * @param key キー
+	 */
+	public synchronized void clear(final K key) {
+		cache.remove(key);
+	}
+
+	/**
+	 * 全てのキャッシュを削除する。
+	 */
+	public synchronized void clearAll() {
+		cache.clear();
+	}
+}
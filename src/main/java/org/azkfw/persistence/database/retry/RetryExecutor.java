@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.retry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.TransactionCallback;
+
+/**
+ * このクラスは、一時的な障害で失敗したトランザクションを再実行するクラスです。
+ * <p>
+ * トランザクションは試行毎に新しいコネクションを取得して実行します。コネクション障害が発生したコネクションはプールへ返却せずに破棄します。
+ * </p>
+ * <p>
+ * コミット中にコネクション障害が発生した場合はトランザクションの結果が不明となるため、冪等な処理として実行された場合のみ再実行します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class RetryExecutor extends LoggingObject {
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** リトライ方針 */
+	private final RetryPolicy policy;
+
+	/** 統計情報 */
+	private final RetryStatistics statistics;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 */
+	public RetryExecutor(final DatabaseSource source) {
+		this(source, new RetryPolicy());
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param policy リトライ方針
+	 */
+	public RetryExecutor(final DatabaseSource source, final RetryPolicy policy) {
+		super(RetryExecutor.class);
+		this.source = source;
+		this.policy = policy;
+		this.statistics = new RetryStatistics();
+	}
+
+	/**
+	 * リトライ方針を取得する。
+	 * 
+	 * @return リトライ方針
+	 */
+	public RetryPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * 統計情報を取得する。
+	 * 
+	 * @return 統計情報
+	 */
+	public RetryStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * トランザクションを実行する。
+	 * <p>
+	 * 処理は冪等でないものとして扱います。
+	 * </p>
+	 * 
+	 * @param callback トランザクション処理
+	 * @return 処理結果
+	 * @throws SQLException リトライ不可能な例外が発生した場合、またはリトライ上限に達した場合
+	 */
+	public <T> T execute(final TransactionCallback<T> callback) throws SQLException {
+		return execute(callback, false);
+	}
+
+	/**
+	 * トランザクションを実行する。
+	 * 
+	 * @param callback トランザクション処理
+	 * @param idempotent 冪等な処理の場合、<code>true</code>
+	 * @return 処理結果
+	 * @throws SQLException リトライ不可能な例外が発生した場合、またはリトライ上限に達した場合
+	 */
+	public <T> T execute(final TransactionCallback<T> callback, final boolean idempotent) throws SQLException {
+		statistics.executed();
+
+		TransientExceptionClassifier classifier = policy.getClassifier();
+		for (int attempt = 1;; attempt++) {
+			statistics.attempted();
+
+			DatabaseConnection connection = null;
+			boolean committing = false;
+			boolean success = false;
+			SQLException error = null;
+			try {
+				connection = source.getConnection();
+				T result = doInTransaction(connection, callback);
+				committing = true;
+				connection.getConnection().commit();
+				success = true;
+				if (1 < attempt) {
+					statistics.recovered();
+				}
+				return result;
+			} catch (SQLException ex) {
+				error = ex;
+			} catch (RuntimeException | Error ex) {
+				statistics.failed();
+				throw ex;
+			} finally {
+				if (null != connection) {
+					// 自動コミットへ戻す際に途中までの更新がコミットされないよう、成功以外は必ずロールバックする
+					if (!success) {
+						rollback(connection);
+					}
+					release(connection, null != error && classifier.isConnectionFailure(error));
+				}
+			}
+
+			if (!classifier.isTransient(error)) {
+				statistics.failed();
+				throw error;
+			}
+			if (committing && !idempotent && !classifier.isRolledBack(error)) {
+				// コミット結果が不明
+				statistics.failed();
+				throw error;
+			}
+			if (attempt >= policy.getMaxAttempts()) {
+				statistics.exhausted();
+				throw error;
+			}
+
+			statistics.retried();
+			long delay = policy.getDelay(attempt);
+			warn(String.format("Transient database failure, retrying.[attempt=%d, delay=%dms, state=%s, code=%d, message=%s]", attempt,
+					delay, error.getSQLState(), error.getErrorCode(), error.getMessage()));
+			sleep(delay, error);
+		}
+	}
+
+	/**
+	 * 自動コミットを無効にしてトランザクション処理を実行する。
+	 * 
+	 * @param connection コネクション
+	 * @param callback トランザクション処理
+	 * @return 処理結果
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private <T> T doInTransaction(final DatabaseConnection connection, final TransactionCallback<T> callback) throws SQLException {
+		Connection con = connection.getConnection();
+		if (con.getAutoCommit()) {
+			con.setAutoCommit(false);
+		}
+		return callback.doInTransaction(connection);
+	}
+
+	/**
+	 * ロールバックする。
+	 * 
+	 * @param connection コネクション
+	 */
+	private void rollback(final DatabaseConnection connection) {
+		try {
+			connection.getConnection().rollback();
+		} catch (SQLException ex) {
+			// 元の例外を優先する
+		}
+	}
+
+	/**
+	 * コネクションを解放する。
+	 * 
+	 * @param connection コネクション
+	 * @param broken コネクション障害の場合、<code>true</code>
+	 */
+	private void release(final DatabaseConnection connection, final boolean broken) {
+		try {
+			if (broken) {
+				source.invalidateConnection(connection);
+			} else {
+				connection.getConnection().setAutoCommit(true);
+				source.returnConnection(connection);
+			}
+		} catch (SQLException ex) {
+			try {
+				source.invalidateConnection(connection);
+			} catch (SQLException ex2) {
+				// 元の例外を優先する
+			}
+		}
+	}
+
+	/**
+	 * 待機する。
+	 * 
+	 * @param millis 待機時間(ミリ秒)
+	 * @param error 直前の例外
+	 * @throws SQLException 割り込みが発生した場合
+	 */
+	private static void sleep(final long millis, final SQLException error) throws SQLException {
+		if (0 >= millis) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			SQLException interrupted = new SQLException("Interrupted while waiting to retry.", ex);
+			interrupted.setNextException(error);
+			throw interrupted;
+		}
+	}
+}
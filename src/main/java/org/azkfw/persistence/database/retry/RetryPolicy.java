@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * このクラスは、リトライの方針を保持するクラスです。
+ * <p>
+ * リトライ間隔は指数関数的に増加し、同時に失敗した処理が一斉に再実行されないようジッターを加えます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class RetryPolicy {
+
+	/** 最大試行回数 */
+	private int maxAttempts;
+
+	/** 初回リトライ間隔(ミリ秒) */
+	private long initialInterval;
+
+	/** 最大リトライ間隔(ミリ秒) */
+	private long maxInterval;
+
+	/** リトライ間隔の倍率 */
+	private double multiplier;
+
+	/** ジッター(0.0～1.0) */
+	private double jitter;
+
+	/** 例外判定 */
+	private TransientExceptionClassifier classifier;
+
+	/**
+	 * コンストラクタ
+	 */
+	public RetryPolicy() {
+		maxAttempts = 3;
+		initialInterval = 50;
+		maxInterval = 2000;
+		multiplier = 2.0;
+		jitter = 0.5;
+		classifier = new TransientExceptionClassifier();
+	}
+
+	/**
+	 * 最大試行回数を取得する。
+	 * 
+	 * @return 最大試行回数
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * 最大試行回数を設定する。
+	 * 
+	 * @param aMaxAttempts 最大試行回数(初回実行を含む)
+	 */
+	public void setMaxAttempts(final int aMaxAttempts) {
+		if (1 > aMaxAttempts) {
+			throw new IllegalArgumentException("maxAttempts must be greater than 0.[" + aMaxAttempts + "]");
+		}
+		maxAttempts = aMaxAttempts;
+	}
+
+	/**
+	 * 初回リトライ間隔を取得する。
+	 * 
+	 * @return 初回リトライ間隔(ミリ秒)
+	 */
+	public long getInitialInterval() {
+		return initialInterval;
+	}
+
+	/**
+	 * 初回リトライ間隔を設定する。
+	 * 
+	 * @param aInitialInterval 初回リトライ間隔(ミリ秒)
+	 */
+	public void setInitialInterval(final long aInitialInterval) {
+		initialInterval = aInitialInterval;
+	}
+
+	/**
+	 * 最大リトライ間隔を取得する。
+	 * 
+	 * @return 最大リトライ間隔(ミリ秒)
+	 */
+	public long getMaxInterval() {
+		return maxInterval;
+	}
+
+	/**
+	 * 最大リトライ間隔を設定する。
+	 * 
+	 * @param aMaxInterval 最大リトライ間隔(ミリ秒)
+	 */
+	public void setMaxInterval(final long aMaxInterval) {
+		maxInterval = aMaxInterval;
+	}
+
+	/**
+	 * リトライ間隔の倍率を取得する。
+	 * 
+	 * @return 倍率
+	 */
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * リトライ間隔の倍率を設定する。
+	 * 
+	 * @param aMultiplier 倍率
+	 */
+	public void setMultiplier(final double aMultiplier) {
+		multiplier = aMultiplier;
+	}
+
+	/**
+	 * ジッターを取得する。
+	 * 
+	 * @return ジッター
+	 */
+	public double getJitter() {
+		return jitter;
+	}
+
+	/**
+	 * ジッターを設定する。
+	 * <p>
+	 * リトライ間隔は <code>間隔 * (1.0 - jitter)</code> から <code>間隔</code> の範囲でランダムに決定されます。
+	 * </p>
+	 * 
+	 * @param aJitter ジッター(0.0～1.0)
+	 */
+	public void setJitter(final double aJitter) {
+		if (0.0 > aJitter || 1.0 < aJitter) {
+			throw new IllegalArgumentException("jitter must be between 0.0 and 1.0.[" + aJitter + "]");
+		}
+		jitter = aJitter;
+	}
+
+	/**
+	 * 例外判定を取得する。
+	 * 
+	 * @return 例外判定
+	 */
+	public TransientExceptionClassifier getClassifier() {
+		return classifier;
+	}
+
+	/**
+	 * 例外判定を設定する。
+	 * 
+	 * @param aClassifier 例外判定
+	 */
+	public void setClassifier(final TransientExceptionClassifier aClassifier) {
+		classifier = aClassifier;
+	}
+
+	/**
+	 * リトライまでの待機時間を取得する。
+	 * 
+	 * @param retry リトライ回数(1～)
+	 * @return 待機時間(ミリ秒)
+	 */
+	public long getDelay(final int retry) {
+		double interval = initialInterval * Math.pow(multiplier, retry - 1);
+		if (interval > maxInterval) {
+			interval = maxInterval;
+		}
+		if (0.0 < jitter) {
+			interval -= interval * jitter * ThreadLocalRandom.current().nextDouble();
+		}
+		return Math.max(0L, (long) interval);
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * このクラスは、リトライ処理の統計情報を保持するクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class RetryStatistics {
+
+	/** 実行回数 */
+	private final AtomicLong executions = new AtomicLong();
+
+	/** 試行回数 */
+	private final AtomicLong attempts = new AtomicLong();
+
+	/** リトライ回数 */
+	private final AtomicLong retries = new AtomicLong();
+
+	/** リトライにより成功した回数 */
+	private final AtomicLong recoveries = new AtomicLong();
+
+	/** リトライ上限に達した回数 */
+	private final AtomicLong exhaustions = new AtomicLong();
+
+	/** リトライ不可能な例外で失敗した回数 */
+	private final AtomicLong failures = new AtomicLong();
+
+	/**
+	 * 実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getExecutionCount() {
+		return executions.get();
+	}
+
+	/**
+	 * 試行回数を取得する。
+	 * 
+	 * @return 試行回数
+	 */
+	public long getAttemptCount() {
+		return attempts.get();
+	}
+
+	/**
+	 * リトライ回数を取得する。
+	 * 
+	 * @return リトライ回数
+	 */
+	public long getRetryCount() {
+		return retries.get();
+	}
+
+	/**
+	 * リトライにより成功した回数を取得する。
+	 * 
+	 * @return 成功回数
+	 */
+	public long getRecoveryCount() {
+		return recoveries.get();
+	}
+
+	/**
+	 * リトライ上限に達して失敗した回数を取得する。
+	 * 
+	 * @return 失敗回数
+	 */
+	public long getExhaustionCount() {
+		return exhaustions.get();
+	}
+
+	/**
+	 * リトライ不可能な例外で失敗した回数を取得する。
+	 * 
+	 * @return 失敗回数
+	 */
+	public long getFailureCount() {
+		return failures.get();
+	}
+
+	/**
+	 * 統計情報をリセットする。
+	 */
+	public void reset() {
+		executions.set(0);
+		attempts.set(0);
+		retries.set(0);
+		recoveries.set(0);
+		exhaustions.set(0);
+		failures.set(0);
+	}
+
+	void executed() {
+		executions.incrementAndGet();
+	}
+
+	void attempted() {
+		attempts.incrementAndGet();
+	}
+
+	void retried() {
+		retries.incrementAndGet();
+	}
+
+	void recovered() {
+		recoveries.incrementAndGet();
+	}
+
+	void exhausted() {
+		exhaustions.incrementAndGet();
+	}
+
+	void failed() {
+		failures.incrementAndGet();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("executions=%d, attempts=%d, retries=%d, recoveries=%d, exhaustions=%d, failures=%d", executions.get(),
+				attempts.get(), retries.get(), recoveries.get(), exhaustions.get(), failures.get());
+	}
+}
@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.retry;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * このクラスは、SQL例外が一時的な障害であるかを判定するクラスです。
+ * <p>
+ * デッドロック、シリアライズ失敗、フェイルオーバー等による例外を一時的な障害として判定します。 判定には例外の型、SQLStateおよびベンダーエラーコードを使用し、原因例外および
+ * {@link SQLException#getNextException()} も辿って判定します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class TransientExceptionClassifier {
+
+	/** 原因例外を辿る最大深さ */
+	private static final int MAX_DEPTH = 16;
+
+	/** 一時的な障害を表すSQLState(前方一致) */
+	private final Set<String> transientStates;
+
+	/** コネクション障害を表すSQLState(前方一致) */
+	private final Set<String> connectionStates;
+
+	/** 一時的な障害を表すベンダーエラーコード */
+	private final Set<Integer> transientCodes;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 主要なデータベースの既定のSQLStateおよびエラーコードを登録します。
+	 * </p>
+	 */
+	public TransientExceptionClassifier() {
+		transientStates = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		connectionStates = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		transientCodes = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+		// transaction rollback (serialization failure, deadlock)
+		transientStates.add("40");
+		// PostgreSQL admin shutdown, crash shutdown, cannot connect now
+		transientStates.add("57P01");
+		transientStates.add("57P02");
+		transientStates.add("57P03");
+		// connection exception
+		connectionStates.add("08");
+
+		// MySQL lock wait timeout, deadlock
+		transientCodes.add(1205);
+		transientCodes.add(1213);
+		// Oracle deadlock, cannot serialize, end-of-file on communication channel, not connected
+		transientCodes.add(60);
+		transientCodes.add(8177);
+		transientCodes.add(3113);
+		transientCodes.add(3114);
+		transientCodes.add(3135);
+		// DB2 deadlock or timeout
+		transientCodes.add(-911);
+		transientCodes.add(-913);
+	}
+
+	/**
+	 * 一時的な障害を表すSQLStateを追加する。
+	 * 
+	 * @param state SQLState(前方一致)
+	 */
+	public void addTransientSQLState(final String state) {
+		transientStates.add(state);
+	}
+
+	/**
+	 * コネクション障害を表すSQLStateを追加する。
+	 * 
+	 * @param state SQLState(前方一致)
+	 */
+	public void addConnectionSQLState(final String state) {
+		connectionStates.add(state);
+	}
+
+	/**
+	 * 一時的な障害を表すベンダーエラーコードを追加する。
+	 * 
+	 * @param code エラーコード
+	 */
+	public void addTransientErrorCode(final int code) {
+		transientCodes.add(code);
+	}
+
+	/**
+	 * 例外が一時的な障害によるものか判断する。
+	 * 
+	 * @param throwable 例外
+	 * @return 一時的な障害の場合、<code>true</code>
+	 */
+	public boolean isTransient(final Throwable throwable) {
+		int depth = 0;
+		for (Throwable t = throwable; null != t && depth < MAX_DEPTH; t = next(t), depth++) {
+			if (t instanceof SQLTransientException || t instanceof SQLRecoverableException) {
+				return true;
+			}
+			if (t instanceof SQLException) {
+				SQLException ex = (SQLException) t;
+				String state = ex.getSQLState();
+				if (matches(transientStates, state) || matches(connectionStates, state)) {
+					return true;
+				}
+				if (0 != ex.getErrorCode() && transientCodes.contains(ex.getErrorCode())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 例外がコネクション障害によるものか判断する。
+	 * <p>
+	 * コネクション障害の場合、コネクションは再利用せずに破棄する必要があります。
+	 * </p>
+	 * 
+	 * @param throwable 例外
+	 * @return コネクション障害の場合、<code>true</code>
+	 */
+	public boolean isConnectionFailure(final Throwable throwable) {
+		int depth = 0;
+		for (Throwable t = throwable; null != t && depth < MAX_DEPTH; t = next(t), depth++) {
+			if (t instanceof SQLRecoverableException || t instanceof SQLTransientConnectionException) {
+				return true;
+			}
+			if (t instanceof SQLException && matches(connectionStates, ((SQLException) t).getSQLState())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 例外がトランザクションのロールバックを伴うものか判断する。
+	 * <p>
+	 * コミット時にこの例外が発生した場合、トランザクションは確実にロールバックされているため再実行しても安全です。
+	 * </p>
+	 * 
+	 * @param throwable 例外
+	 * @return ロールバックを伴う場合、<code>true</code>
+	 */
+	public boolean isRolledBack(final Throwable throwable) {
+		int depth = 0;
+		for (Throwable t = throwable; null != t && depth < MAX_DEPTH; t = next(t), depth++) {
+			if (t instanceof SQLException) {
+				String state = ((SQLException) t).getSQLState();
+				if (null != state && state.startsWith("40")) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 次に判定する例外を取得する。
+	 * 
+	 * @param throwable 例外
+	 * @return 次の例外
+	 */
+	private static Throwable next(final Throwable throwable) {
+		Throwable cause = throwable.getCause();
+		if (null == cause && throwable instanceof SQLException) {
+			cause = ((SQLException) throwable).getNextException();
+		}
+		return (cause == throwable) ? null : cause;
+	}
+
+	/**
+	 * SQLStateが前方一致するか判断する。
+	 * 
+	 * @param states SQLState一覧
+	 * @param state SQLState
+	 * @return 一致する場合、<code>true</code>
+	 */
+	private static boolean matches(final Set<String> states, final String state) {
+		if (null == state) {
+			return false;
+		}
+		for (String s : states) {
+			if (state.startsWith(s)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.scan;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * このクラスは、テーブル走査の進捗を保持するクラスです。
+ * <p>
+ * 主キーの範囲毎に、次に読み込むキーを保持します。走査が失敗した場合も処理済みの行までの進捗が残るため、
+ * 同じオブジェクトで再度走査することで中断した位置から再開できます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class KeysetCheckpoint implements Serializable {
+
+	/** serialVersionUID */
+	private static final long serialVersionUID = 5279634781602339142L;
+
+	/** 次に読み込むキー */
+	private final AtomicLongArray next;
+
+	/** 範囲の上限(この値を含む) */
+	private final long[] upper;
+
+	/** 完了フラグ */
+	private final boolean[] done;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 範囲 [min, max] を指定数で分割します。
+	 * </p>
+	 * 
+	 * @param min キーの最小値
+	 * @param max キーの最大値
+	 * @param partitions 分割数
+	 */
+	KeysetCheckpoint(final long min, final long max, final int partitions) {
+		// 範囲の幅は long に収まらない場合があるため BigInteger で計算する
+		BigInteger lower = BigInteger.valueOf(min);
+		BigInteger width = BigInteger.valueOf(max).subtract(lower).add(BigInteger.ONE);
+		int count = width.min(BigInteger.valueOf(Math.max(1, partitions))).intValue();
+		next = new AtomicLongArray(count);
+		upper = new long[count];
+		done = new boolean[count];
+
+		BigInteger total = BigInteger.valueOf(count);
+		for (int i = 0; i < count; i++) {
+			next.set(i, lower.add(width.multiply(BigInteger.valueOf(i)).divide(total)).longValue());
+			upper[i] = lower.add(width.multiply(BigInteger.valueOf(i + 1)).divide(total)).longValue() - 1;
+		}
+	}
+
+	/**
+	 * 空の進捗を生成する。
+	 * 
+	 * @return 進捗
+	 */
+	static KeysetCheckpoint empty() {
+		return new KeysetCheckpoint();
+	}
+
+	/**
+	 * コンストラクタ
+	 */
+	private KeysetCheckpoint() {
+		next = new AtomicLongArray(0);
+		upper = new long[0];
+		done = new boolean[0];
+	}
+
+	/**
+	 * 範囲の数を取得する。
+	 * 
+	 * @return 範囲の数
+	 */
+	public int getPartitions() {
+		return upper.length;
+	}
+
+	/**
+	 * 範囲の次に読み込むキーを取得する。
+	 * 
+	 * @param partition 範囲の番号
+	 * @return キー
+	 */
+	public long getNext(final int partition) {
+		return next.get(partition);
+	}
+
+	/**
+	 * 範囲の上限を取得する。
+	 * 
+	 * @param partition 範囲の番号
+	 * @return 上限(この値を含む)
+	 */
+	public long getUpper(final int partition) {
+		return upper[partition];
+	}
+
+	/**
+	 * 範囲の走査が完了しているか判断する。
+	 * 
+	 * @param partition 範囲の番号
+	 * @return 完了している場合、<code>true</code>
+	 */
+	public synchronized boolean isDone(final int partition) {
+		return done[partition];
+	}
+
+	/**
+	 * 全ての範囲の走査が完了しているか判断する。
+	 * 
+	 * @return 完了している場合、<code>true</code>
+	 */
+	public synchronized boolean isDone() {
+		for (int i = 0; i < done.length; i++) {
+			if (!done[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 行の処理完了を記録する。
+	 * 
+	 * @param partition 範囲の番号
+	 * @param key 処理したキー
+	 */
+	void processed(final int partition, final long key) {
+		if (key >= upper[partition]) {
+			complete(partition);
+		} else {
+			next.lazySet(partition, key + 1);
+		}
+	}
+
+	/**
+	 * 範囲の走査完了を記録する。
+	 * 
+	 * @param partition 範囲の番号
+	 */
+	synchronized void complete(final int partition) {
+		done[partition] = true;
+	}
+}
@@ -0,0 +1,318 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.scan;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+
+/**
+ * このクラスは、数値の主キーの範囲でテーブルを分割し、並列に走査するクラスです。
+ * <p>
+ * 各範囲は主キーの順にページ単位で読み込みます。ページの続きは前のページの最後のキーから検索するため(キーセットページング)、
+ * <code>OFFSET</code> を使用せず、読み込み位置に関わらず一定のコストで走査できます。範囲はフォーク/ジョインで分配し、
+ * それぞれプールから取得したコネクションで読み込みます。
+ * </p>
+ * <p>
+ * 走査の進捗は {@link KeysetCheckpoint} に記録します。走査が失敗した場合は、同じ進捗を指定して再度走査することで、
+ * 処理済みの行を除いて再開できます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class KeysetScanner extends LoggingObject {
+
+	/** 既定のページサイズ */
+	private static final int DEFAULT_PAGE_SIZE = 1000;
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** テーブル名 */
+	private final String table;
+
+	/** 主キーの列名 */
+	private final String keyColumn;
+
+	/** 取得する列 */
+	private String columns;
+
+	/** ページサイズ */
+	private int pageSize;
+
+	/** 分割数 */
+	private int partitions;
+
+	/** 並列数 */
+	private int parallelism;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param table テーブル名
+	 * @param keyColumn 主キーの列名
+	 */
+	public KeysetScanner(final DatabaseSource source, final String table, final String keyColumn) {
+		super(KeysetScanner.class);
+		this.source = source;
+		this.table = table;
+		this.keyColumn = keyColumn;
+		this.columns = "*";
+		this.pageSize = DEFAULT_PAGE_SIZE;
+		this.parallelism = (0 < source.getMaxActive()) ? source.getMaxActive() : Runtime.getRuntime().availableProcessors();
+		this.partitions = parallelism * 4;
+	}
+
+	/**
+	 * 取得する列を設定する。
+	 * <p>
+	 * 主キーの列を含めてください。
+	 * </p>
+	 * 
+	 * @param aColumns 取得する列(カンマ区切り)
+	 */
+	public void setColumns(final String aColumns) {
+		columns = aColumns;
+	}
+
+	/**
+	 * ページサイズを設定する。
+	 * 
+	 * @param aPageSize ページサイズ
+	 */
+	public void setPageSize(final int aPageSize) {
+		pageSize = aPageSize;
+	}
+
+	/**
+	 * 分割数を設定する。
+	 * 
+	 * @param aPartitions 分割数
+	 */
+	public void setPartitions(final int aPartitions) {
+		partitions = aPartitions;
+	}
+
+	/**
+	 * 並列数を設定する。
+	 * 
+	 * @param aParallelism 並列数
+	 */
+	public void setParallelism(final int aParallelism) {
+		parallelism = aParallelism;
+	}
+
+	/**
+	 * 主キーの最小値と最大値から走査の進捗を生成する。
+	 * 
+	 * @return 進捗
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public KeysetCheckpoint createCheckpoint() throws SQLException {
+		DatabaseConnection connection = source.getConnection();
+		try {
+			PreparedStatement ps = connection.getConnection().prepareStatement(
+					"SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + table);
+			try {
+				ResultSet rs = ps.executeQuery();
+				try {
+					if (rs.next()) {
+						long min = rs.getLong(1);
+						if (!rs.wasNull()) {
+							return new KeysetCheckpoint(min, rs.getLong(2), partitions);
+						}
+					}
+					return KeysetCheckpoint.empty();
+				} finally {
+					rs.close();
+				}
+			} finally {
+				ps.close();
+			}
+		} finally {
+			source.returnConnection(connection);
+		}
+	}
+
+	/**
+	 * テーブルを走査する。
+	 * 
+	 * @param handler 行の処理
+	 * @return 進捗
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public KeysetCheckpoint scan(final RowHandler handler) throws SQLException {
+		KeysetCheckpoint checkpoint = createCheckpoint();
+		scan(checkpoint, handler);
+		return checkpoint;
+	}
+
+	/**
+	 * 進捗の位置からテーブルを走査する。
+	 * <p>
+	 * 範囲の一つで例外が発生した場合も他の範囲の走査は継続し、全ての範囲が終了した後に最初の例外をスローします。
+	 * </p>
+	 * 
+	 * @param checkpoint 進捗
+	 * @param handler 行の処理
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public void scan(final KeysetCheckpoint checkpoint, final RowHandler handler) throws SQLException {
+		if (checkpoint.isDone()) {
+			return;
+		}
+
+		String sql = "SELECT " + columns + " FROM " + table + " WHERE " + keyColumn + " >= ? AND " + keyColumn + " <= ? ORDER BY "
+				+ keyColumn;
+		AtomicReference<SQLException> error = new AtomicReference<SQLException>();
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, checkpoint.getPartitions())));
+		try {
+			pool.invoke(new ScanTask(sql, checkpoint, handler, error, 0, checkpoint.getPartitions()));
+		} finally {
+			pool.shutdown();
+		}
+
+		SQLException ex = error.get();
+		if (null != ex) {
+			throw ex;
+		}
+	}
+
+	/**
+	 * 範囲を走査する。
+	 * 
+	 * @param sql SQL
+	 * @param checkpoint 進捗
+	 * @param partition 範囲の番号
+	 * @param handler 行の処理
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private void scan(final String sql, final KeysetCheckpoint checkpoint, final int partition, final RowHandler handler)
+			throws SQLException {
+		DatabaseConnection connection = source.getConnection();
+		try {
+			PreparedStatement ps = connection.getConnection().prepareStatement(sql);
+			try {
+				ps.setMaxRows(pageSize);
+				long upper = checkpoint.getUpper(partition);
+				while (!checkpoint.isDone(partition)) {
+					ps.setLong(1, checkpoint.getNext(partition));
+					ps.setLong(2, upper);
+					int rows = 0;
+					ResultSet rs = ps.executeQuery();
+					try {
+						while (rs.next()) {
+							long key = rs.getLong(keyColumn);
+							if (key > upper) {
+								break;
+							}
+							handler.handle(rs);
+							checkpoint.processed(partition, key);
+							rows++;
+						}
+					} finally {
+						rs.close();
+					}
+					if (rows < pageSize) {
+						checkpoint.complete(partition);
+					}
+				}
+			} finally {
+				ps.close();
+			}
+		} finally {
+			source.returnConnection(connection);
+		}
+	}
+
+	/**
+	 * このクラスは、範囲を分割して走査するタスククラスです。
+	 */
+	private final class ScanTask extends RecursiveAction {
+
+		/** serialVersionUID */
+		private static final long serialVersionUID = -3167582938117496247L;
+
+		/** SQL */
+		private final String sql;
+
+		/** 進捗 */
+		private final KeysetCheckpoint checkpoint;
+
+		/** 行の処理 */
+		private final RowHandler handler;
+
+		/** 最初に発生した例外 */
+		private final AtomicReference<SQLException> error;
+
+		/** 範囲の番号(開始) */
+		private final int from;
+
+		/** 範囲の番号(終了、この値を含まない) */
+		private final int to;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param sql SQL
+		 * @param checkpoint 進捗
+		 * @param handler 行の処理
+		 * @param error 最初に発生した例外
+		 * @param from 範囲の番号(開始)
+		 * @param to 範囲の番号(終了、この値を含まない)
+		 */
+		private ScanTask(final String sql, final KeysetCheckpoint checkpoint, final RowHandler handler,
+				final AtomicReference<SQLException> error, final int from, final int to) {
+			this.sql = sql;
+			this.checkpoint = checkpoint;
+			this.handler = handler;
+			this.error = error;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (1 < to - from) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ScanTask(sql, checkpoint, handler, error, from, middle), new ScanTask(sql, checkpoint, handler, error,
+						middle, to));
+			} else if (from < to && !checkpoint.isDone(from)) {
+				try {
+					scan(sql, checkpoint, from, handler);
+				} catch (SQLException ex) {
+					if (!error.compareAndSet(null, ex)) {
+						error.get().setNextException(ex);
+					}
+					warn("Keyset scan failed.[table=" + table + ", partition=" + from + ", next=" + checkpoint.getNext(from) + "] "
+							+ ex.getMessage());
+				}
+			}
+		}
+	}
+}
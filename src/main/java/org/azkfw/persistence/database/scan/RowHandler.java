@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.scan;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * このインターフェースは、走査した行の処理を定義したインターフェースです。
+ * <p>
+ * 複数のスレッドから同時に呼び出されるため、スレッドセーフに実装する必要があります。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface RowHandler {
+
+	/**
+	 * 行を処理する。
+	 * <p>
+	 * 結果セットのカーソル移動およびクローズは呼び出し元で行うため、このメソッド内で行ってはいけません。
+	 * </p>
+	 * 
+	 * @param rs 現在の行を指す結果セット
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public void handle(final ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,232 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.statistics;
+
+/**
+ * このクラスは、SQLを正規化したフィンガープリントを生成するクラスです。
+ * <p>
+ * リテラル(文字列および数値)を <code>?</code> に置換し、空白およびコメントを除去し、<code>IN (?, ?, ?)</code> のような値の列挙を
+ * <code>IN (?)</code> に集約します。 これにより、パラメータのみが異なるSQLを同一のSQLとして集計することができます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class SqlFingerprint {
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private SqlFingerprint() {
+
+	}
+
+	/**
+	 * SQLを正規化する。
+	 * 
+	 * @param sql SQL
+	 * @return フィンガープリント
+	 */
+	public static String normalize(final String sql) {
+		if (null == sql) {
+			return null;
+		}
+
+		int length = sql.length();
+		StringBuilder s = new StringBuilder(length);
+		boolean space = false;
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = true;
+				i++;
+			} else if ('-' == c && i + 1 < length && '-' == sql.charAt(i + 1)) {
+				// line comment
+				while (i < length && '\n' != sql.charAt(i)) {
+					i++;
+				}
+				space = true;
+			} else if ('/' == c && i + 1 < length && '*' == sql.charAt(i + 1)) {
+				// block comment
+				int end = sql.indexOf("*/", i + 2);
+				i = (-1 == end) ? length : end + 2;
+				space = true;
+			} else if ('\'' == c) {
+				// string literal
+				i++;
+				while (i < length) {
+					if ('\'' == sql.charAt(i)) {
+						if (i + 1 < length && '\'' == sql.charAt(i + 1)) {
+							i += 2;
+							continue;
+						}
+						break;
+					}
+					i++;
+				}
+				i++;
+				append(s, '?', space);
+				space = false;
+			} else if (isNumberStart(sql, i, s)) {
+				// numeric literal
+				i++;
+				while (i < length && isNumberPart(sql.charAt(i))) {
+					i++;
+				}
+				append(s, '?', space);
+				space = false;
+			} else {
+				append(s, c, space);
+				space = false;
+				i++;
+			}
+		}
+		return collapseLists(s);
+	}
+
+	/**
+	 * 文字を追加する。
+	 * 
+	 * @param s バッファ
+	 * @param c 文字
+	 * @param space 直前に空白が存在した場合、<code>true</code>
+	 */
+	private static void append(final StringBuilder s, final char c, final boolean space) {
+		if (space && 0 < s.length()) {
+			s.append(' ');
+		}
+		s.append(c);
+	}
+
+	/**
+	 * 数値リテラルの開始か判断する。
+	 * 
+	 * @param sql SQL
+	 * @param index 位置
+	 * @param s 正規化済みのバッファ
+	 * @return 数値リテラルの開始の場合、<code>true</code>
+	 */
+	private static boolean isNumberStart(final String sql, final int index, final StringBuilder s) {
+		char c = sql.charAt(index);
+		if (!Character.isDigit(c)) {
+			return false;
+		}
+		if (0 < s.length()) {
+			// 識別子の一部(TABLE1 等)は除外する
+			char prev = s.charAt(s.length() - 1);
+			if (0 < index && !Character.isWhitespace(sql.charAt(index - 1)) && (Character.isLetterOrDigit(prev) || '_' == prev || '$' == prev)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 数値リテラルの一部か判断する。
+	 * 
+	 * @param c 文字
+	 * @return 数値リテラルの一部の場合、<code>true</code>
+	 */
+	private static boolean isNumberPart(final char c) {
+		return Character.isDigit(c) || '.' == c || 'e' == c || 'E' == c;
+	}
+
+	/**
+	 * <code>IN</code> 句の値の列挙を集約する。
+	 * <p>
+	 * <code>IN (?, ?, ?)</code> を <code>IN (?)</code> に集約します。<code>VALUES (?, ?, ?)</code> 等の列挙は列数が意味を持つため集約しません。
+	 * </p>
+	 * 
+	 * @param s 正規化済みのバッファ
+	 * @return 集約したSQL
+	 */
+	private static String collapseLists(final StringBuilder s) {
+		if (-1 == s.indexOf("?")) {
+			return s.toString();
+		}
+
+		StringBuilder result = new StringBuilder(s.length());
+		int length = s.length();
+		int i = 0;
+		while (i < length) {
+			char c = s.charAt(i);
+			result.append(c);
+			i++;
+			if ('?' == c && isInListStart(result)) {
+				// ", ?" の繰り返しを読み飛ばす
+				int j = i;
+				while (true) {
+					int k = j;
+					if (k < length && ' ' == s.charAt(k)) {
+						k++;
+					}
+					if (k < length && ',' == s.charAt(k)) {
+						k++;
+					} else {
+						break;
+					}
+					if (k < length && ' ' == s.charAt(k)) {
+						k++;
+					}
+					if (k < length && '?' == s.charAt(k)) {
+						j = k + 1;
+					} else {
+						break;
+					}
+				}
+				i = j;
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * 末尾の <code>?</code> が <code>IN (</code> の直後か判断する。
+	 * 
+	 * @param s バッファ(末尾は <code>?</code>)
+	 * @return <code>IN</code> 句の先頭の場合、<code>true</code>
+	 */
+	private static boolean isInListStart(final StringBuilder s) {
+		int i = s.length() - 2;
+		if (0 <= i && ' ' == s.charAt(i)) {
+			i--;
+		}
+		if (0 > i || '(' != s.charAt(i)) {
+			return false;
+		}
+		i--;
+		if (0 <= i && ' ' == s.charAt(i)) {
+			i--;
+		}
+		if (1 > i || 'N' != Character.toUpperCase(s.charAt(i)) || 'I' != Character.toUpperCase(s.charAt(i - 1))) {
+			return false;
+		}
+		if (2 <= i) {
+			char prev = s.charAt(i - 2);
+			if (Character.isLetterOrDigit(prev) || '_' == prev || '$' == prev) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
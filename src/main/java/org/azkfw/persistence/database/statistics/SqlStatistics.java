@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.lang.LoggingObject;
+
+/**
+ * このクラスは、データベースソース単位でSQLの実行統計を収集するクラスです。
+ * <p>
+ * SQL文字列からフィンガープリントへの対応はキャッシュされるため、同一のSQLの2回目以降の記録ではSQLの正規化を行いません。
+ * 実行時間が閾値を超えたSQLはスロークエリとしてログに出力されます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class SqlStatistics extends LoggingObject {
+
+	/** SQL文字列キャッシュの既定の上限 */
+	private static final int DEFAULT_MAX_CACHE_SIZE = 4096;
+
+	/** 名前 */
+	private final String name;
+
+	/** SQL文字列単位の統計情報 */
+	private final ConcurrentMap<String, StatementStatistics> statements;
+
+	/** フィンガープリント単位の統計情報 */
+	private final ConcurrentMap<String, StatementStatistics> fingerprints;
+
+	/** SQL文字列キャッシュの上限 */
+	private final int maxCacheSize;
+
+	/** スロークエリの閾値(ナノ秒) */
+	private volatile long slowQueryThreshold;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name 名前
+	 */
+	public SqlStatistics(final String name) {
+		this(name, DEFAULT_MAX_CACHE_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name 名前
+	 * @param maxCacheSize SQL文字列キャッシュの上限
+	 */
+	public SqlStatistics(final String name, final int maxCacheSize) {
+		super(SqlStatistics.class);
+		this.name = name;
+		this.maxCacheSize = maxCacheSize;
+		statements = new ConcurrentHashMap<String, StatementStatistics>();
+		fingerprints = new ConcurrentHashMap<String, StatementStatistics>();
+		slowQueryThreshold = Long.MAX_VALUE;
+	}
+
+	/**
+	 * 名前を取得する。
+	 * 
+	 * @return 名前
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * スロークエリの閾値を設定する。
+	 * 
+	 * @param threshold 閾値(0以下の場合、スロークエリのログ出力を行わない)
+	 * @param unit 時間単位
+	 */
+	public void setSlowQueryThreshold(final long threshold, final TimeUnit unit) {
+		slowQueryThreshold = (0 >= threshold) ? Long.MAX_VALUE : unit.toNanos(threshold);
+	}
+
+	/**
+	 * スロークエリの閾値を取得する。
+	 * 
+	 * @param unit 時間単位
+	 * @return 閾値
+	 */
+	public long getSlowQueryThreshold(final TimeUnit unit) {
+		return (Long.MAX_VALUE == slowQueryThreshold) ? 0 : unit.convert(slowQueryThreshold, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * SQLの統計情報を取得する。
+	 * <p>
+	 * 統計情報が存在しない場合は生成します。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @return 統計情報
+	 */
+	public StatementStatistics getStatistics(final String sql) {
+		String key = (null == sql) ? "" : sql;
+		StatementStatistics statistics = statements.get(key);
+		if (null == statistics) {
+			String fingerprint = SqlFingerprint.normalize(key);
+			statistics = fingerprints.get(fingerprint);
+			if (null == statistics) {
+				StatementStatistics s = new StatementStatistics(fingerprint);
+				statistics = fingerprints.putIfAbsent(fingerprint, s);
+				if (null == statistics) {
+					statistics = s;
+				}
+			}
+			if (statements.size() < maxCacheSize) {
+				statements.putIfAbsent(key, statistics);
+			}
+		}
+		return statistics;
+	}
+
+	/**
+	 * SQLの実行を記録する。
+	 * 
+	 * @param sql SQL
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error エラーの場合、<code>true</code>
+	 * @return 統計情報
+	 */
+	public StatementStatistics record(final String sql, final long nanos, final boolean error) {
+		StatementStatistics statistics = getStatistics(sql);
+		statistics.record(nanos, error);
+		if (nanos >= slowQueryThreshold) {
+			statistics.recordSlow();
+			warn(String.format("Slow query.[source=%s, time=%dms, sql=%s]", name, TimeUnit.NANOSECONDS.toMillis(nanos), sql));
+		}
+		return statistics;
+	}
+
+	/**
+	 * 全ての統計情報を合計実行時間の降順で取得する。
+	 * 
+	 * @return 統計情報一覧
+	 */
+	public List<StatementStatistics> getStatementStatistics() {
+		List<StatementStatistics> list = new ArrayList<StatementStatistics>(fingerprints.values());
+		Collections.sort(list, new Comparator<StatementStatistics>() {
+			@Override
+			public int compare(final StatementStatistics o1, final StatementStatistics o2) {
+				long t1 = o1.getTotalTime(TimeUnit.NANOSECONDS);
+				long t2 = o2.getTotalTime(TimeUnit.NANOSECONDS);
+				return (t1 < t2) ? 1 : ((t1 == t2) ? 0 : -1);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * 統計情報をリセットする。
+	 */
+	public void reset() {
+		for (StatementStatistics statistics : fingerprints.values()) {
+			statistics.reset();
+		}
+	}
+}
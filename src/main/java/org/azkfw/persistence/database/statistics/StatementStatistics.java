@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.database.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * このクラスは、SQLフィンガープリント単位の統計情報を保持するクラスです。
+ * <p>
+ * 実行時間は2のべき乗(マイクロ秒)で区切られたヒストグラムに記録され、パーセンタイル値はヒストグラムから近似値として算出されます。
+ * 記録処理はオブジェクトの生成を行いません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class StatementStatistics {
+
+	/** ヒストグラムのバケット数 */
+	private static final int BUCKETS = 40;
+
+	/** フィンガープリント */
+	private final String fingerprint;
+
+	/** 実行回数 */
+	private final AtomicLong count = new AtomicLong();
+
+	/** エラー回数 */
+	private final AtomicLong errors = new AtomicLong();
+
+	/** スロークエリ回数 */
+	private final AtomicLong slows = new AtomicLong();
+
+	/** 合計実行時間(ナノ秒) */
+	private final AtomicLong totalTime = new AtomicLong();
+
+	/** 最大実行時間(ナノ秒) */
+	private final AtomicLong maxTime = new AtomicLong();
+
+	/** 取得行数 */
+	private final AtomicLong rows = new AtomicLong();
+
+	/** 実行時間のヒストグラム */
+	private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param fingerprint フィンガープリント
+	 */
+	public StatementStatistics(final String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * フィンガープリントを取得する。
+	 * 
+	 * @return フィンガープリント
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * 実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * エラー回数を取得する。
+	 * 
+	 * @return エラー回数
+	 */
+	public long getErrorCount() {
+		return errors.get();
+	}
+
+	/**
+	 * スロークエリ回数を取得する。
+	 * 
+	 * @return スロークエリ回数
+	 */
+	public long getSlowCount() {
+		return slows.get();
+	}
+
+	/**
+	 * 合計実行時間を取得する。
+	 * 
+	 * @param unit 時間単位
+	 * @return 合計実行時間
+	 */
+	public long getTotalTime(final TimeUnit unit) {
+		return unit.convert(totalTime.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 平均実行時間を取得する。
+	 * 
+	 * @param unit 時間単位
+	 * @return 平均実行時間
+	 */
+	public long getAverageTime(final TimeUnit unit) {
+		long c = count.get();
+		return (0 == c) ? 0 : unit.convert(totalTime.get() / c, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 最大実行時間を取得する。
+	 * 
+	 * @param unit 時間単位
+	 * @return 最大実行時間
+	 */
+	public long getMaxTime(final TimeUnit unit) {
+		return unit.convert(maxTime.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 取得行数を取得する。
+	 * 
+	 * @return 取得行数
+	 */
+	public long getRows() {
+		return rows.get();
+	}
+
+	/**
+	 * パーセンタイル値を取得する。
+	 * <p>
+	 * ヒストグラムのバケットの上限値を返すため、値は近似値となります。
+	 * </p>
+	 * 
+	 * @param percentile パーセンタイル(0.0～100.0)
+	 * @param unit 時間単位
+	 * @return 実行時間
+	 */
+	public long getPercentile(final double percentile, final TimeUnit unit) {
+		long total = 0;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = histogram.get(i);
+			total += counts[i];
+		}
+		if (0 == total) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+		long sum = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			sum += counts[i];
+			if (sum >= rank && 0 < counts[i]) {
+				long upper = Math.min(1L << i, TimeUnit.NANOSECONDS.toMicros(maxTime.get()));
+				return unit.convert(Math.max(1L, upper), TimeUnit.MICROSECONDS);
+			}
+		}
+		return unit.convert(maxTime.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 実行を記録する。
+	 * 
+	 * @param nanos 実行時間(ナノ秒)
+	 * @param error エラーの場合、<code>true</code>
+	 */
+	public void record(final long nanos, final boolean error) {
+		count.incrementAndGet();
+		if (error) {
+			errors.incrementAndGet();
+		}
+		totalTime.addAndGet(nanos);
+
+		long max;
+		while (nanos > (max = maxTime.get())) {
+			if (maxTime.compareAndSet(max, nanos)) {
+				break;
+			}
+		}
+
+		histogram.incrementAndGet(bucket(nanos));
+	}
+
+	/**
+	 * スロークエリを記録する。
+	 */
+	public void recordSlow() {
+		slows.incrementAndGet();
+	}
+
+	/**
+	 * 取得行数を記録する。
+	 * 
+	 * @param aRows 取得行数
+	 */
+	public void recordRows(final long aRows) {
+		if (0 < aRows) {
+			rows.addAndGet(aRows);
+		}
+	}
+
+	/**
+	 * 統計情報をリセットする。
+	 */
+	public void reset() {
+		count.set(0);
+		errors.set(0);
+		slows.set(0);
+		totalTime.set(0);
+		maxTime.set(0);
+		rows.set(0);
+		for (int i = 0; i < BUCKETS; i++) {
+			histogram.set(i, 0);
+		}
+	}
+
+	/**
+	 * 実行時間に対応するバケットを取得する。
+	 * 
+	 * @param nanos 実行時間(ナノ秒)
+	 * @return バケット
+	 */
+	private static int bucket(final long nanos) {
+		long micros = nanos / 1000;
+		if (1 >= micros) {
+			return 0;
+		}
+		int index = 64 - Long.numberOfLeadingZeros(micros - 1);
+		return Math.min(BUCKETS - 1, index);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d, errors=%d, slows=%d, total=%dms, avg=%dus, p99=%dus, max=%dus, rows=%d, sql=%s", getCount(), getErrorCount(), getSlowCount(),
+				getTotalTime(TimeUnit.MILLISECONDS), getAverageTime(TimeUnit.MICROSECONDS), getPercentile(99.0, TimeUnit.MICROSECONDS),
+				getMaxTime(TimeUnit.MICROSECONDS), getRows(), fingerprint);
+	}
+}
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.entity;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、変更されたフィールドを記録するエンティティの基底クラスです。
+ * <p>
+ * サブクラスのセッターで {@link #modified(String)} を呼び出すことで、変更されたフィールドを記録します。
+ * 対象は static, transient 以外のフィールドで、列名はフィールド名を大文字のスネークケースへ変換した名前とします。(例: userName → USER_NAME)
+ * </p>
+ * 
+ * <pre>
+ * public void setName(final String aName) {
+ * 	name = aName;
+ * 	modified(&quot;name&quot;);
+ * }
+ * </pre>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public abstract class AbstractTrackedEntity implements TrackedEntity {
+
+	/** クラス毎のフィールド情報 */
+	private static final ClassValue<Fields> FIELDS = new ClassValue<Fields>() {
+		@Override
+		protected Fields computeValue(final Class<?> type) {
+			return new Fields(type);
+		}
+	};
+
+	/** フィールド情報 */
+	private final transient Fields fields;
+
+	/** 変更されたフィールド */
+	private final transient BitSet modifiedFields;
+
+	/**
+	 * コンストラクタ
+	 */
+	protected AbstractTrackedEntity() {
+		fields = FIELDS.get(getClass());
+		modifiedFields = new BitSet(fields.size());
+	}
+
+	/**
+	 * フィールドの変更を記録する。
+	 * 
+	 * @param name フィールド名
+	 * @throws IllegalArgumentException フィールドが存在しない場合
+	 */
+	protected final void modified(final String name) {
+		modifiedFields.set(fields.indexOf(name));
+	}
+
+	/**
+	 * フィールドの変更を記録する。
+	 * 
+	 * @param field フィールド番号
+	 */
+	protected final void modified(final int field) {
+		modifiedFields.set(field);
+	}
+
+	/**
+	 * フィールド番号を取得する。
+	 * 
+	 * @param name フィールド名
+	 * @return フィールド番号
+	 * @throws IllegalArgumentException フィールドが存在しない場合
+	 */
+	protected final int getFieldIndex(final String name) {
+		return fields.indexOf(name);
+	}
+
+	@Override
+	public int getFieldCount() {
+		return fields.size();
+	}
+
+	@Override
+	public String getColumnName(final int field) {
+		return fields.columns[field];
+	}
+
+	@Override
+	public Object getFieldValue(final int field) {
+		try {
+			return fields.fields[field].get(this);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Override
+	public boolean isModified() {
+		return !modifiedFields.isEmpty();
+	}
+
+	@Override
+	public BitSet getModifiedFields() {
+		return (BitSet) modifiedFields.clone();
+	}
+
+	@Override
+	public void clearModifiedFields() {
+		modifiedFields.clear();
+	}
+
+	/**
+	 * このクラスは、エンティティのフィールド情報を保持するクラスです。
+	 */
+	private static final class Fields {
+
+		/** フィールド */
+		private final Field[] fields;
+
+		/** 列名 */
+		private final String[] columns;
+
+		/** フィールド名による検索表 */
+		private final Map<String, Integer> indexes;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param type エンティティのクラス
+		 */
+		private Fields(final Class<?> type) {
+			List<Field> list = new ArrayList<Field>();
+			indexes = new HashMap<String, Integer>();
+			for (Class<?> clazz = type; null != clazz && AbstractTrackedEntity.class != clazz; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+						continue;
+					}
+					// サブクラスのフィールドを優先する
+					if (indexes.containsKey(field.getName())) {
+						continue;
+					}
+					field.setAccessible(true);
+					indexes.put(field.getName(), Integer.valueOf(list.size()));
+					list.add(field);
+				}
+			}
+			fields = list.toArray(new Field[list.size()]);
+			columns = new String[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				columns[i] = toColumnName(fields[i].getName());
+			}
+		}
+
+		/**
+		 * フィールド数を取得する。
+		 * 
+		 * @return フィールド数
+		 */
+		private int size() {
+			return fields.length;
+		}
+
+		/**
+		 * フィールド番号を取得する。
+		 * 
+		 * @param name フィールド名
+		 * @return フィールド番号
+		 * @throws IllegalArgumentException フィールドが存在しない場合
+		 */
+		private int indexOf(final String name) {
+			Integer index = indexes.get(name);
+			if (null == index) {
+				throw new IllegalArgumentException("Field not found.[" + name + "]");
+			}
+			return index.intValue();
+		}
+
+		/**
+		 * フィールド名を列名へ変換する。
+		 * 
+		 * @param name フィールド名
+		 * @return 列名
+		 */
+		private static String toColumnName(final String name) {
+			StringBuilder s = new StringBuilder(name.length() + 4);
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if (Character.isUpperCase(c) && 0 < i && !Character.isUpperCase(name.charAt(i - 1))) {
+					s.append('_');
+				}
+				s.append(Character.toUpperCase(c));
+			}
+			return s.toString();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.entity;
+
+import java.util.BitSet;
+
+/**
+ * このインターフェースは、変更されたフィールドを記録するエンティティを表現するインターフェースです。
+ * <p>
+ * フィールドは 0 から {@link #getFieldCount()} - 1 までの番号で識別します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface TrackedEntity extends Entity {
+
+	/**
+	 * フィールド数を取得する。
+	 * 
+	 * @return フィールド数
+	 */
+	public int getFieldCount();
+
+	/**
+	 * フィールドに対応する列名を取得する。
+	 * 
+	 * @param field フィールド番号
+	 * @return 列名
+	 */
+	public String getColumnName(final int field);
+
+	/**
+	 * フィールドの値を取得する。
+	 * 
+	 * @param field フィールド番号
+	 * @return 値
+	 */
+	public Object getFieldValue(final int field);
+
+	/**
+	 * 変更されたフィールドがあるか判断する。
+	 * 
+	 * @return 変更されたフィールドがある場合、<code>true</code>
+	 */
+	public boolean isModified();
+
+	/**
+	 * 変更されたフィールドを取得する。
+	 * 
+	 * @return 変更されたフィールド番号の集合
+	 */
+	public BitSet getModifiedFields();
+
+	/**
+	 * 変更の記録を消去する。
+	 * <p>
+	 * データベースへの反映後に呼び出します。
+	 * </p>
+	 */
+	public void clearModifiedFields();
+}
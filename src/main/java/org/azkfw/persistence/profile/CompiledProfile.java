@@ -0,0 +1,356 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * このクラスは、{@link ProfileCompiler} でコンパイルしたバイナリ形式のプロファイルを読み込むクラスです。
+ * <p>
+ * ファイルはメモリマップして参照し、読み込み時にはヘッダーとインデックスの検証のみを行います。 キーの検索はインデックスの二分探索と文字列テーブル上での文字比較で行い、値の文字列は初めて参照された時にデコードしてキャッシュします。
+ * そのため、読み込みのコストは文字列テーブルのサイズに依存しません。
+ * </p>
+ * <p>
+ * このクラスは読み込み専用であり、複数のスレッドから同期なしで参照することができます。 値を変更するメソッドは {@link UnsupportedOperationException}
+ * をスローします。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class CompiledProfile implements Profile {
+
+	/** コンパイル済みファイルの拡張子 */
+	public static final String EXTENSION = ".compiled";
+
+	/** バッファ */
+	private final ByteBuffer buffer;
+
+	/** エントリ数 */
+	private final int count;
+
+	/** コンパイル元の更新日時 */
+	private final long sourceModified;
+
+	/** コンパイル元のサイズ */
+	private final long sourceLength;
+
+	/** デコード済みの値 */
+	private final String[] values;
+
+	/**
+	 * プロファイルを開く。
+	 * <p>
+	 * コンパイル済みファイルはiniファイルと同じディレクトリに拡張子 {@link #EXTENSION} を付けて配置します。
+	 * </p>
+	 * 
+	 * @param ini iniファイル
+	 * @param charset 文字コード
+	 * @return プロファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 * @see #open(File, File, Charset)
+	 */
+	public static Profile open(final File ini, final Charset charset) throws IOException {
+		return open(ini, new File(ini.getPath() + EXTENSION), charset);
+	}
+
+	/**
+	 * プロファイルを開く。
+	 * <p>
+	 * コンパイル済みファイルに記録されたコンパイル元の更新日時とサイズがiniファイルと一致する場合、コンパイル済みファイルを読み込みます。
+	 * 存在しない、一致しない、または破損している場合はiniファイルを読み込んで再コンパイルします。
+	 * 再コンパイルしたファイルを書き込めない場合は、iniファイルの内容をそのまま返します。
+	 * </p>
+	 * 
+	 * @param ini iniファイル
+	 * @param compiled コンパイル済みファイル
+	 * @param charset 文字コード
+	 * @return プロファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public static Profile open(final File ini, final File compiled, final Charset charset) throws IOException {
+		// 読み込み中に変更された場合は次回再コンパイルされるよう、読み込み前の状態を記録する
+		long modified = ini.lastModified();
+		long length = ini.length();
+		if (compiled.isFile()) {
+			try {
+				CompiledProfile profile = new CompiledProfile(compiled);
+				if (profile.sourceModified == modified && profile.sourceLength == length) {
+					return profile;
+				}
+			} catch (IOException ex) {
+				// 破損している場合、再コンパイルする
+			}
+		}
+
+		IniFile file = new IniFile();
+		new MappedIniFileReader(charset).read(ini, file);
+		try {
+			ProfileCompiler.compile(file, compiled, modified, length);
+		} catch (IOException ex) {
+			return ProfileSnapshot.of(file);
+		}
+		return new CompiledProfile(compiled);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param file コンパイル済みファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合、またはファイルの形式が不正な場合
+	 */
+	public CompiledProfile(final File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			if (size < ProfileCompiler.HEADER_SIZE || size > Integer.MAX_VALUE) {
+				throw new IOException("Invalid compiled profile size.[" + file + "]");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} finally {
+			raf.close();
+		}
+
+		if (ProfileCompiler.MAGIC != buffer.getInt(0)) {
+			throw new IOException("Not a compiled profile.[" + file + "]");
+		}
+		if (ProfileCompiler.VERSION != buffer.getInt(4)) {
+			throw new IOException("Unsupported compiled profile version.[" + file + "]");
+		}
+		count = buffer.getInt(8);
+		int tableOffset = buffer.getInt(12);
+		int length = buffer.getInt(16);
+		if (count < 0 || count > (buffer.capacity() - ProfileCompiler.HEADER_SIZE) / ProfileCompiler.ENTRY_SIZE
+				|| tableOffset != ProfileCompiler.HEADER_SIZE + ProfileCompiler.ENTRY_SIZE * count || length != buffer.capacity()) {
+			throw new IOException("Broken compiled profile.[" + file + "]");
+		}
+		sourceModified = buffer.getLong(20);
+		sourceLength = buffer.getLong(28);
+		for (int i = 0; i < count; i++) {
+			int entry = entry(i);
+			if (!isValidString(buffer.getInt(entry + 4), tableOffset, false) || !isValidString(buffer.getInt(entry + 8), tableOffset, false)
+					|| !isValidString(buffer.getInt(entry + 12), tableOffset, true)) {
+				throw new IOException("Broken compiled profile.[" + file + "]");
+			}
+		}
+		values = new String[count];
+	}
+
+	/**
+	 * 文字列テーブルの文字列の位置と長さが正しいか判断する。
+	 * 
+	 * @param offset 文字列の位置
+	 * @param tableOffset 文字列テーブルの位置
+	 * @param nullable <code>null</code>(位置が <code>-1</code>)を許容する場合、<code>true</code>
+	 * @return 正しい場合、<code>true</code>
+	 */
+	private boolean isValidString(final int offset, final int tableOffset, final boolean nullable) {
+		if (-1 == offset) {
+			return nullable;
+		}
+		int capacity = buffer.capacity();
+		if (offset < tableOffset || offset > capacity - 4) {
+			return false;
+		}
+		int length = buffer.getInt(offset);
+		return 0 <= length && length <= (capacity - offset - 4) / 2;
+	}
+
+	/**
+	 * エントリ数を取得する。
+	 * 
+	 * @return エントリ数
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * エントリの位置を取得する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @return エントリの位置。存在しない場合、<code>-1</code>
+	 */
+	private int indexOf(final String section, final String name) {
+		if (null == section || null == name) {
+			return -1;
+		}
+		int hash = ProfileCompiler.hash(section, name);
+
+		// 同じハッシュ値を持つ先頭のエントリを探す
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (buffer.getInt(entry(mid)) < hash) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int i = low; i < count; i++) {
+			int entry = entry(i);
+			if (hash != buffer.getInt(entry)) {
+				break;
+			}
+			if (matches(buffer.getInt(entry + 8), name) && matches(buffer.getInt(entry + 4), section)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int entry(final int index) {
+		return ProfileCompiler.HEADER_SIZE + ProfileCompiler.ENTRY_SIZE * index;
+	}
+
+	/**
+	 * 文字列テーブルの文字列と比較する。
+	 * 
+	 * @param offset 文字列の位置
+	 * @param s 文字列
+	 * @return 一致する場合、<code>true</code>
+	 */
+	private boolean matches(final int offset, final String s) {
+		int length = s.length();
+		if (length != buffer.getInt(offset)) {
+			return false;
+		}
+		int position = offset + 4;
+		for (int i = 0; i < length; i++, position += 2) {
+			if (s.charAt(i) != buffer.getChar(position)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * エントリの値を取得する。
+	 * 
+	 * @param index エントリの位置
+	 * @return 値
+	 */
+	private String getValue(final int index) {
+		String value = values[index];
+		if (null == value) {
+			int offset = buffer.getInt(entry(index) + 12);
+			if (-1 == offset) {
+				return null;
+			}
+			char[] chars = new char[buffer.getInt(offset)];
+			int position = offset + 4;
+			for (int i = 0; i < chars.length; i++, position += 2) {
+				chars[i] = buffer.getChar(position);
+			}
+			// 文字列は不変のため、同時にデコードされても問題ない
+			value = new String(chars);
+			values[index] = value;
+		}
+		return value;
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		int index = indexOf(section, name);
+		return (-1 == index) ? def : getValue(index);
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		int index = indexOf(section, name);
+		Integer value = (-1 == index) ? null : ProfileValues.toInteger(getValue(index));
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		int index = indexOf(section, name);
+		Long value = (-1 == index) ? null : ProfileValues.toLong(getValue(index));
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		int index = indexOf(section, name);
+		Float value = (-1 == index) ? null : ProfileValues.toFloat(getValue(index));
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		int index = indexOf(section, name);
+		Double value = (-1 == index) ? null : ProfileValues.toDouble(getValue(index));
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		int index = indexOf(section, name);
+		Boolean value = (-1 == index) ? null : ProfileValues.toBoolean(getValue(index));
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void remove(final String section, final String name) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+
+	@Override
+	public void remove(final String section) {
+		throw new UnsupportedOperationException("CompiledProfile is read-only.");
+	}
+}
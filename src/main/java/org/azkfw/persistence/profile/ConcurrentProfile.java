@@ -0,0 +1,412 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、複数のスレッドから安全に読み書きできるプロファイルクラスです。
+ * <p>
+ * 値は {@link ProfileSnapshot} として保持され、読み込みはロックを取得せずに現在のスナップショットを参照します。 書き込みは新しいスナップショットを生成して差し替える
+ * (コピーオンライト)ため、読み込み側が書き込み途中の状態を参照することはありません。
+ * </p>
+ * <p>
+ * 複数の値をまとめて変更する場合は {@link #edit()} で取得した {@link Editor} を使用してください。 {@link Editor#commit()}
+ * を呼び出すまで変更は公開されず、全ての変更が1回で公開されます。
+ * </p>
+ * <p>
+ * 変更が公開されると、登録されているリスナーに変更されたキーを通知します。 通知は変更が公開された順に1つずつ行われます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ConcurrentProfile extends LoggingObject implements ObservableProfile {
+
+	/** 書き込みロック */
+	private final Object lock = new Object();
+
+	/** 通知ロック */
+	private final Object notifyLock = new Object();
+
+	/** 未通知の変更(公開順) */
+	private final Queue<ProfileSnapshot[]> events = new ConcurrentLinkedQueue<ProfileSnapshot[]>();
+
+	/** リスナー */
+	private final List<ProfileListener> listeners = new CopyOnWriteArrayList<ProfileListener>();
+
+	/** スナップショット */
+	private volatile ProfileSnapshot snapshot;
+
+	/**
+	 * コンストラクタ
+	 */
+	public ConcurrentProfile() {
+		super(ConcurrentProfile.class);
+		snapshot = ProfileSnapshot.EMPTY;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param ini 初期値
+	 */
+	public ConcurrentProfile(final IniFile ini) {
+		super(ConcurrentProfile.class);
+		snapshot = ProfileSnapshot.of(ini);
+	}
+
+	/**
+	 * iniファイルを読み込む。
+	 * <p>
+	 * 読み込んだ値は既存の値にマージされ、1回で公開されます。
+	 * </p>
+	 * 
+	 * @param file iniファイル
+	 * @param charset 文字コード
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void read(final File file, final Charset charset) throws IOException {
+		IniFile ini = new IniFile();
+		new MappedIniFileReader(charset).read(file, ini);
+
+		Editor editor = edit();
+		for (String section : ini.getSections()) {
+			for (String name : ini.getNames(section)) {
+				editor.put(section, name, ini.get(section, name, (String) null));
+			}
+		}
+		editor.commit();
+	}
+
+	/**
+	 * 現在のスナップショットを取得する。
+	 * 
+	 * @return スナップショット
+	 */
+	public ProfileSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * 変更を開始する。
+	 * 
+	 * @return エディター
+	 */
+	public Editor edit() {
+		return new Editor();
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		edit().put(section, name, value).commit();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		put(section, name, Integer.toString(value));
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		put(section, name, Long.toString(value));
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		put(section, name, Float.toString(value));
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		put(section, name, Double.toString(value));
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		put(section, name, ((value) ? "true" : "false"));
+	}
+
+	@Override
+	public void remove(final String section, final String name) {
+		edit().remove(section, name).commit();
+	}
+
+	@Override
+	public void remove(final String section) {
+		edit().remove(section).commit();
+	}
+
+	@Override
+	public void addProfileListener(final ProfileListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeProfileListener(final ProfileListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * スナップショットを公開する。
+	 * <p>
+	 * 書き込みロックを取得した状態で呼び出されます。
+	 * </p>
+	 * 
+	 * @param oldSnapshot 変更前のスナップショット
+	 * @param newSnapshot 変更後のスナップショット
+	 */
+	protected void publish(final ProfileSnapshot oldSnapshot, final ProfileSnapshot newSnapshot) {
+		snapshot = newSnapshot;
+	}
+
+	/**
+	 * 公開済みの変更をリスナーへ通知する。
+	 * <p>
+	 * 変更は書き込みロック内で公開順にキューへ追加され、通知ロック内で先頭から取り出して通知するため、 リスナーは公開された順に変更を受け取ります。
+	 * リスナーで発生した例外はログに出力し、残りのリスナーと変更の通知を継続します。
+	 * </p>
+	 */
+	private void fireProfileChanged() {
+		synchronized (notifyLock) {
+			ProfileSnapshot[] event;
+			while (null != (event = events.poll())) {
+				if (listeners.isEmpty()) {
+					continue;
+				}
+				Set<ProfileKey> keys = event[0].diff(event[1]);
+				if (!keys.isEmpty()) {
+					for (ProfileListener listener : listeners) {
+						try {
+							listener.profileChanged(this, keys);
+						} catch (RuntimeException ex) {
+							error(String.format("Profile listener failed.[listener=%s, cause=%s]", listener, ex));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、プロファイルへの1件の変更内容を保持するクラスです。
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	private static final class Change {
+
+		/**
+		 * 変更種別
+		 */
+		private enum Type {
+			/** 値の設定 */
+			PUT,
+			/** 値の削除 */
+			REMOVE,
+			/** セクションの削除 */
+			REMOVE_SECTION
+		}
+
+		/** 変更種別 */
+		private final Type type;
+
+		/** セクション */
+		private final String section;
+
+		/** 名前 */
+		private final String name;
+
+		/** 値 */
+		private final String value;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param type 変更種別
+		 * @param section セクション
+		 * @param name 名前
+		 * @param value 値
+		 */
+		private Change(final Type type, final String section, final String name, final String value) {
+			this.type = type;
+			this.section = section;
+			this.name = name;
+			this.value = value;
+		}
+
+		/**
+		 * 変更をデータに適用する。
+		 * 
+		 * @param data データ
+		 */
+		private void apply(final Map<String, Map<String, String>> data) {
+			Map<String, String> map = data.get(section);
+			switch (type) {
+			case PUT:
+				if (null == map) {
+					map = new LinkedHashMap<String, String>();
+					data.put(section, map);
+				}
+				map.put(name, value);
+				break;
+			case REMOVE:
+				if (null != map) {
+					map.remove(name);
+				}
+				break;
+			case REMOVE_SECTION:
+				data.remove(section);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、プロファイルへの変更をまとめて公開するためのクラスです。
+	 * <p>
+	 * このクラスはスレッドセーフではありません。1つのスレッドから使用してください。
+	 * </p>
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	public final class Editor {
+
+		/** 変更内容 */
+		private final List<Change> changes;
+
+		/**
+		 * コンストラクタ
+		 */
+		private Editor() {
+			changes = new ArrayList<Change>();
+		}
+
+		/**
+		 * 値を設定する。
+		 * 
+		 * @param section セクション
+		 * @param name 名前
+		 * @param value 値
+		 * @return エディター
+		 */
+		public Editor put(final String section, final String name, final String value) {
+			changes.add(new Change(Change.Type.PUT, StringUtility.trim(section), StringUtility.trim(name), StringUtility.trim(value)));
+			return this;
+		}
+
+		/**
+		 * 値を削除する。
+		 * 
+		 * @param section セクション
+		 * @param name 名前
+		 * @return エディター
+		 */
+		public Editor remove(final String section, final String name) {
+			changes.add(new Change(Change.Type.REMOVE, section, name, null));
+			return this;
+		}
+
+		/**
+		 * セクションを削除する。
+		 * 
+		 * @param section セクション
+		 * @return エディター
+		 */
+		public Editor remove(final String section) {
+			changes.add(new Change(Change.Type.REMOVE_SECTION, section, null, null));
+			return this;
+		}
+
+		/**
+		 * 変更を公開する。
+		 * <p>
+		 * 変更内容は公開後にクリアされ、エディターは再利用することができます。
+		 * </p>
+		 */
+		public void commit() {
+			if (changes.isEmpty()) {
+				return;
+			}
+			synchronized (lock) {
+				ProfileSnapshot oldSnapshot = snapshot;
+				Map<String, Map<String, String>> data = oldSnapshot.toMap();
+				for (Change change : changes) {
+					change.apply(data);
+				}
+				ProfileSnapshot newSnapshot = new ProfileSnapshot(data);
+				publish(oldSnapshot, newSnapshot);
+				if (!listeners.isEmpty()) {
+					events.offer(new ProfileSnapshot[] { oldSnapshot, newSnapshot });
+				}
+			}
+			changes.clear();
+
+			fireProfileChanged();
+		}
+	}
+}
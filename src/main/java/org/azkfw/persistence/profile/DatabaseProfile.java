@@ -0,0 +1,626 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseConnectionManager;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.TransactionCallback;
+import org.azkfw.persistence.database.retry.RetryExecutor;
+import org.azkfw.persistence.database.retry.RetryPolicy;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、データベースのテーブルに値を保持するプロファイルクラスです。
+ * <p>
+ * 値は以下のテーブルに格納します。テーブル名は変更することができます。
+ * </p>
+ * 
+ * <pre>
+ * CREATE TABLE PROFILE (SECTION VARCHAR(255) NOT NULL, NAME VARCHAR(255) NOT NULL, VALUE VARCHAR(4000), PRIMARY KEY (SECTION, NAME));
+ * CREATE TABLE PROFILE_VERSION (VERSION BIGINT NOT NULL);
+ * INSERT INTO PROFILE_VERSION (VERSION) VALUES (0);
+ * </pre>
+ * <p>
+ * 値の取得はローカルに保持した {@link ProfileSnapshot} から行い、データベースへはアクセスしません。 {@link #refresh()}
+ * はバージョンテーブルのみを参照し、バージョンが変わっている場合のみ全件を再読み込みします。 {@link #start()} で定期的な更新を開始することができます。
+ * </p>
+ * <p>
+ * 値の変更は {@link Editor} にまとめて1つのトランザクションで反映し、バージョンを更新します。 {@link #put(String, String, String)}
+ * などのメソッドは1件毎にトランザクションを実行するため、複数の値を変更する場合は {@link #edit()} を使用してください。
+ * </p>
+ * <p>
+ * 値の設定は更新(UPDATE)を行い、行が存在しない場合のみ挿入(INSERT)します。 複数のノードが同じキーを同時に挿入した場合の一意制約違反(SQLState <code>23</code>)
+ * は一時的な障害として扱い、トランザクションを再実行します(再実行時は更新となります)。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class DatabaseProfile extends LoggingObject implements ObservableProfile, Closeable {
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** リトライ処理 */
+	private final RetryExecutor executor;
+
+	/** リスナー */
+	private final List<ProfileListener> listeners;
+
+	/** 再読み込みロック */
+	private final Object refreshLock = new Object();
+
+	/** テーブル名 */
+	private String table;
+
+	/** バージョンテーブル名 */
+	private String versionTable;
+
+	/** スナップショット */
+	private volatile ProfileSnapshot snapshot;
+
+	/** 読み込み済みのバージョン */
+	private long version;
+
+	/** ポーリング間隔(ミリ秒) */
+	private volatile long pollInterval;
+
+	/** ポーリングスレッド */
+	private Thread poller;
+
+	/** ポーリング中フラグ */
+	private volatile boolean running;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name データベースソース名
+	 * @throws SQLException データベースソースが存在しない場合
+	 */
+	public DatabaseProfile(final String name) throws SQLException {
+		this(DatabaseConnectionManager.getSource(name));
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 */
+	public DatabaseProfile(final DatabaseSource source) {
+		super(DatabaseProfile.class);
+		this.source = source;
+		RetryPolicy policy = new RetryPolicy();
+		// 同じキーの同時挿入による一意制約違反は、再実行すると更新になるため一時的な障害として扱う
+		policy.getClassifier().addTransientSQLState("23");
+		executor = new RetryExecutor(source, policy);
+		listeners = new CopyOnWriteArrayList<ProfileListener>();
+		table = "PROFILE";
+		versionTable = "PROFILE_VERSION";
+		snapshot = ProfileSnapshot.EMPTY;
+		version = Long.MIN_VALUE;
+		pollInterval = 5000;
+	}
+
+	/**
+	 * テーブル名を設定する。
+	 * 
+	 * @param table テーブル名
+	 * @param versionTable バージョンテーブル名
+	 */
+	public void setTable(final String table, final String versionTable) {
+		this.table = table;
+		this.versionTable = versionTable;
+	}
+
+	/**
+	 * ポーリング間隔を設定する。
+	 * 
+	 * @param interval ポーリング間隔
+	 * @param unit 時間単位
+	 */
+	public void setPollInterval(final long interval, final TimeUnit unit) {
+		pollInterval = Math.max(1, unit.toMillis(interval));
+	}
+
+	/**
+	 * 現在のスナップショットを取得する。
+	 * 
+	 * @return スナップショット
+	 */
+	public ProfileSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	@Override
+	public void addProfileListener(final ProfileListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeProfileListener(final ProfileListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * 定期的な更新を開始する。
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+
+		poller = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				poll();
+			}
+		}, "DatabaseProfile-" + table);
+		poller.setDaemon(true);
+		poller.start();
+	}
+
+	/**
+	 * 定期的な更新を停止する。
+	 */
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			running = false;
+			thread = poller;
+			poller = null;
+		}
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		stop();
+	}
+
+	/**
+	 * データベースから値を読み込む。
+	 * <p>
+	 * バージョンが変わっていない場合は何もしません。値が変更された場合、リスナーに通知します。
+	 * </p>
+	 * 
+	 * @return 値が変更された場合、<code>true</code>
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public boolean refresh() throws SQLException {
+		Set<ProfileKey> keys = null;
+		synchronized (refreshLock) {
+			DatabaseConnection connection = source.getConnection();
+			try {
+				Connection con = connection.getConnection();
+				long current = selectVersion(con);
+				if (current == version) {
+					return false;
+				}
+
+				Map<String, Map<String, String>> data = new LinkedHashMap<String, Map<String, String>>();
+				PreparedStatement ps = con.prepareStatement(String.format("SELECT SECTION, NAME, VALUE FROM %s ORDER BY SECTION, NAME",
+						table));
+				try {
+					ResultSet rs = ps.executeQuery();
+					while (rs.next()) {
+						String section = rs.getString(1);
+						Map<String, String> map = data.get(section);
+						if (null == map) {
+							map = new LinkedHashMap<String, String>();
+							data.put(section, map);
+						}
+						map.put(rs.getString(2), rs.getString(3));
+					}
+					rs.close();
+				} finally {
+					ps.close();
+				}
+				version = current;
+
+				ProfileSnapshot newSnapshot = new ProfileSnapshot(data);
+				keys = snapshot.diff(newSnapshot);
+				snapshot = newSnapshot;
+			} finally {
+				source.returnConnection(connection);
+			}
+		}
+
+		if (keys.isEmpty()) {
+			return false;
+		}
+		for (ProfileListener listener : listeners) {
+			try {
+				listener.profileChanged(this, keys);
+			} catch (RuntimeException ex) {
+				error(String.format("Profile listener failed.[table=%s, listener=%s, cause=%s]", table, listener, ex));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * バージョンを取得する。
+	 * 
+	 * @param con コネクション
+	 * @return バージョン
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private long selectVersion(final Connection con) throws SQLException {
+		Statement stmt = con.createStatement();
+		try {
+			ResultSet rs = stmt.executeQuery(String.format("SELECT VERSION FROM %s", versionTable));
+			long result = rs.next() ? rs.getLong(1) : 0L;
+			rs.close();
+			return result;
+		} finally {
+			stmt.close();
+		}
+	}
+
+	/**
+	 * 定期的に更新する。
+	 */
+	private void poll() {
+		while (running) {
+			try {
+				Thread.sleep(pollInterval);
+				refresh();
+			} catch (InterruptedException ex) {
+				// 停止
+			} catch (SQLException | RuntimeException ex) {
+				warn(String.format("Profile refresh failed.[table=%s, message=%s]", table, ex.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * 変更を開始する。
+	 * 
+	 * @return エディター
+	 */
+	public Editor edit() {
+		return new Editor();
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		return snapshot.get(section, name, def);
+	}
+
+	/**
+	 * 値を設定する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @param value 値
+	 * @throws IllegalStateException データベースへの反映に失敗した場合
+	 */
+	@Override
+	public void put(final String section, final String name, final String value) {
+		commit(edit().put(section, name, value));
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		put(section, name, (null == value) ? null : value.toString());
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		put(section, name, (null == value) ? null : value.toString());
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		put(section, name, (null == value) ? null : value.toString());
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		put(section, name, (null == value) ? null : value.toString());
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		put(section, name, (null == value) ? null : value.toString());
+	}
+
+	/**
+	 * 値を削除する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @throws IllegalStateException データベースへの反映に失敗した場合
+	 */
+	@Override
+	public void remove(final String section, final String name) {
+		commit(edit().remove(section, name));
+	}
+
+	/**
+	 * セクションを削除する。
+	 * 
+	 * @param section セクション
+	 * @throws IllegalStateException データベースへの反映に失敗した場合
+	 */
+	@Override
+	public void remove(final String section) {
+		commit(edit().remove(section));
+	}
+
+	private static void commit(final Editor editor) {
+		try {
+			editor.commit();
+		} catch (SQLException ex) {
+			throw new IllegalStateException("Could not update profile.", ex);
+		}
+	}
+
+	/**
+	 * このクラスは、プロファイルへの変更をまとめてデータベースへ反映するためのクラスです。
+	 * <p>
+	 * 同じキーへの変更は最後の変更のみが反映されます。 このクラスはスレッドセーフではありません。1つのスレッドから使用してください。
+	 * </p>
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	public final class Editor {
+
+		/** 削除するセクション */
+		private final Set<String> sections;
+
+		/** 変更する値(削除する場合は値なし) */
+		private final Map<ProfileKey, String[]> values;
+
+		/**
+		 * コンストラクタ
+		 */
+		private Editor() {
+			sections = new LinkedHashSet<String>();
+			values = new LinkedHashMap<ProfileKey, String[]>();
+		}
+
+		/**
+		 * 値を設定する。
+		 * 
+		 * @param section セクション
+		 * @param name 名前
+		 * @param value 値
+		 * @return エディター
+		 */
+		public Editor put(final String section, final String name, final String value) {
+			values.put(new ProfileKey(StringUtility.trim(section), StringUtility.trim(name)), new String[] { StringUtility.trim(value) });
+			return this;
+		}
+
+		/**
+		 * 値を削除する。
+		 * 
+		 * @param section セクション
+		 * @param name 名前
+		 * @return エディター
+		 */
+		public Editor remove(final String section, final String name) {
+			values.put(new ProfileKey(section, name), new String[0]);
+			return this;
+		}
+
+		/**
+		 * セクションを削除する。
+		 * 
+		 * @param section セクション
+		 * @return エディター
+		 */
+		public Editor remove(final String section) {
+			for (Iterator<ProfileKey> it = values.keySet().iterator(); it.hasNext();) {
+				if (section.equals(it.next().getSection())) {
+					it.remove();
+				}
+			}
+			sections.add(section);
+			return this;
+		}
+
+		/**
+		 * 変更をデータベースへ反映する。
+		 * <p>
+		 * 全ての変更を1つのトランザクションで反映した後、ローカルの値を再読み込みします。 変更内容は反映後にクリアされ、エディターは再利用することができます。
+		 * </p>
+		 * 
+		 * @throws SQLException SQL例外が発生した場合
+		 */
+		public void commit() throws SQLException {
+			if (sections.isEmpty() && values.isEmpty()) {
+				return;
+			}
+			// 削除と更新・挿入のみで構成されるため、再実行しても結果は変わらない
+			executor.execute(new TransactionCallback<Void>() {
+				@Override
+				public Void doInTransaction(final DatabaseConnection connection) throws SQLException {
+					apply(connection.getConnection());
+					return null;
+				}
+			}, true);
+			sections.clear();
+			values.clear();
+
+			refresh();
+		}
+
+		/**
+		 * 変更を実行する。
+		 * 
+		 * @param con コネクション
+		 * @throws SQLException SQL例外が発生した場合
+		 */
+		private void apply(final Connection con) throws SQLException {
+			if (!sections.isEmpty()) {
+				PreparedStatement ps = con.prepareStatement(String.format("DELETE FROM %s WHERE SECTION = ?", table));
+				try {
+					for (String section : sections) {
+						ps.setString(1, section);
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				} finally {
+					ps.close();
+				}
+			}
+
+			List<Map.Entry<ProfileKey, String[]>> updates = new ArrayList<Map.Entry<ProfileKey, String[]>>();
+			List<Map.Entry<ProfileKey, String[]>> deletes = new ArrayList<Map.Entry<ProfileKey, String[]>>();
+			for (Map.Entry<ProfileKey, String[]> entry : values.entrySet()) {
+				if (1 == entry.getValue().length) {
+					updates.add(entry);
+				} else {
+					deletes.add(entry);
+				}
+			}
+
+			if (!deletes.isEmpty()) {
+				PreparedStatement ps = con.prepareStatement(String.format("DELETE FROM %s WHERE SECTION = ? AND NAME = ?", table));
+				try {
+					for (Map.Entry<ProfileKey, String[]> entry : deletes) {
+						ps.setString(1, entry.getKey().getSection());
+						ps.setString(2, entry.getKey().getName());
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				} finally {
+					ps.close();
+				}
+			}
+
+			List<Map.Entry<ProfileKey, String[]>> inserts = new ArrayList<Map.Entry<ProfileKey, String[]>>();
+			if (!updates.isEmpty()) {
+				PreparedStatement ps = con.prepareStatement(String.format("UPDATE %s SET VALUE = ? WHERE SECTION = ? AND NAME = ?", table));
+				try {
+					for (Map.Entry<ProfileKey, String[]> entry : updates) {
+						bindUpdate(ps, entry);
+						ps.addBatch();
+					}
+					int[] counts = ps.executeBatch();
+					for (int i = 0; i < updates.size(); i++) {
+						Map.Entry<ProfileKey, String[]> entry = updates.get(i);
+						int count = (i < counts.length) ? counts[i] : Statement.SUCCESS_NO_INFO;
+						if (0 > count) {
+							// 件数を返さないドライバー(SUCCESS_NO_INFO)の場合、1件ずつ更新して確認する
+							bindUpdate(ps, entry);
+							count = ps.executeUpdate();
+						}
+						if (0 == count) {
+							inserts.add(entry);
+						}
+					}
+				} finally {
+					ps.close();
+				}
+			}
+
+			if (!inserts.isEmpty()) {
+				PreparedStatement ps = con.prepareStatement(String.format("INSERT INTO %s (SECTION, NAME, VALUE) VALUES (?, ?, ?)", table));
+				try {
+					for (Map.Entry<ProfileKey, String[]> entry : inserts) {
+						ps.setString(1, entry.getKey().getSection());
+						ps.setString(2, entry.getKey().getName());
+						ps.setString(3, entry.getValue()[0]);
+						ps.addBatch();
+					}
+					ps.executeBatch();
+				} finally {
+					ps.close();
+				}
+			}
+
+			Statement stmt = con.createStatement();
+			try {
+				stmt.executeUpdate(String.format("UPDATE %s SET VERSION = VERSION + 1", versionTable));
+			} finally {
+				stmt.close();
+			}
+		}
+
+		/**
+		 * 更新文にパラメータを設定する。
+		 * 
+		 * @param ps ステートメント
+		 * @param entry 変更内容
+		 * @throws SQLException SQL例外が発生した場合
+		 */
+		private void bindUpdate(final PreparedStatement ps, final Map.Entry<ProfileKey, String[]> entry) throws SQLException {
+			ps.setString(1, entry.getValue()[0]);
+			ps.setString(2, entry.getKey().getSection());
+			ps.setString(3, entry.getKey().getName());
+		}
+	}
+}
@@ -18,21 +18,38 @@
 package org.azkfw.persistence.profile;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.azkfw.util.StringUtility;
 
 /**
  * このクラスは、iniファイルの読み書きを行うクラスです。
+ * <p>
+ * セクションおよび名前は読み込み順(追加順)に保持され、コメント行と空行は直後のセクションまたは値に関連付けて保持されます。
+ * そのため、読み込んだファイルを書き出した場合も順序とコメントが維持されます。
+ * </p>
  * 
  * @since 1.2.0
  * @version 1.2.0 2014/07/07
@@ -43,11 +60,23 @@ public class IniFile implements Profile {
 	/** データ */
 	private Map<String, Map<String, String>> data;
 
+	/** コメント(名前が<code>null</code>のキーはセクションのコメント) */
+	private Map<ProfileKey, List<String>> comments;
+
+	/** ファイル末尾のコメント */
+	private List<String> footer;
+
+	/** 読み込み中のコメント */
+	private List<String> pending;
+
 	/**
 	 * コンストラクタ
 	 */
 	public IniFile() {
-		data = new HashMap<String, Map<String, String>>();
+		data = new LinkedHashMap<String, Map<String, String>>();
+		comments = new HashMap<ProfileKey, List<String>>();
+		footer = new ArrayList<String>();
+		pending = new ArrayList<String>();
 	}
 
 	/**
@@ -111,6 +140,7 @@ public class IniFile implements Profile {
 	 * @throws IOException IO操作に起因する問題が発生した場合
 	 */
 	public void read(final File file, final Charset charset) throws IOException {
+		beginRead();
 		BufferedReader reader = null;
 		try {
 			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), charset));
@@ -121,12 +151,15 @@ public class IniFile implements Profile {
 				line = StringUtility.trim(line);
 				if (StringUtility.isEmpty(line)) {
 					// empty
+					putComment(StringUtility.EMPTY);
 				} else if (line.startsWith(";")) {
 					// comment
+					putComment(line);
 				} else if (line.startsWith("[") && line.endsWith("]")) {
 					// section
 					String sec = line.substring(1, line.length() - 1);
 					section = StringUtility.trim(sec);
+					putSection(section);
 				} else {
 					int index = line.indexOf("=");
 					if (-1 == index) {
@@ -138,18 +171,12 @@ public class IniFile implements Profile {
 						value = StringUtility.trim(value);
 
 						if (null != section) {
-							Map<String, String> values = null;
-							if (data.containsKey(section)) {
-								values = data.get(section);
-							} else {
-								values = new HashMap<String, String>();
-								data.put(section, values);
-							}
-							values.put(name, value);
+							putValue(section, name, value);
 						}
 					}
 				}
 			}
+			putFooter();
 
 		} finally {
 			if (null != reader) {
@@ -229,28 +256,118 @@ public class IniFile implements Profile {
 		} catch (SecurityException ex) {
 		}
 
-		BufferedWriter writer = null;
+		File target = file.getAbsoluteFile();
+		File temp = createTempFile(target);
+		boolean success = false;
+		FileOutputStream stream = null;
 		try {
-			StringBuffer s = new StringBuffer();
-			for (String section : data.keySet()) {
-				s.append(String.format("[ %s ]", section));
-				s.append(lineSeparator);
-
-				Map<String, String> map = data.get(section);
-				for (String name : map.keySet()) {
-					String value = map.get(name);
-					s.append(String.format("%s = %s", name, value));
-					s.append(lineSeparator);
+			stream = new FileOutputStream(temp);
+			FileChannel channel = stream.getChannel();
+			CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			Writer writer = Channels.newWriter(channel, encoder, 8192);
+
+			for (Map.Entry<String, Map<String, String>> section : data.entrySet()) {
+				writeComments(writer, comments.get(new ProfileKey(section.getKey(), null)), lineSeparator);
+				writer.write("[ ");
+				writer.write(section.getKey());
+				writer.write(" ]");
+				writer.write(lineSeparator);
+
+				for (Map.Entry<String, String> entry : section.getValue().entrySet()) {
+					writeComments(writer, comments.get(new ProfileKey(section.getKey(), entry.getKey())), lineSeparator);
+					writer.write(String.valueOf(entry.getKey()));
+					writer.write(" = ");
+					writer.write(String.valueOf(entry.getValue()));
+					writer.write(lineSeparator);
 				}
 			}
+			writeComments(writer, footer, lineSeparator);
+
+			writer.flush();
+			channel.force(true);
+			stream.close();
+			stream = null;
+
+			move(temp, target);
+			success = true;
+
+		} finally {
+			if (null != stream) {
+				try {
+					stream.close();
+				} catch (IOException ex) {
+					// none
+				}
+			}
+			if (!success) {
+				temp.delete();
+			}
+		}
+	}
+
+	/**
+	 * コメントを書き出す。
+	 * 
+	 * @param writer ライター
+	 * @param lines コメント
+	 * @param lineSeparator 改行文字
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private static void writeComments(final Writer writer, final List<String> lines, final String lineSeparator) throws IOException {
+		if (null != lines) {
+			for (String line : lines) {
+				writer.write(line);
+				writer.write(lineSeparator);
+			}
+		}
+	}
 
-			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), charset));
-			writer.write(s.toString());
+	/**
+	 * 対象ファイルと同じディレクトリに一時ファイルを作成する。
+	 * <p>
+	 * {@link File#createTempFile(String, String, File)} は3文字未満の接頭辞を受け付けないため、短いファイル名は補完します。
+	 * </p>
+	 * 
+	 * @param target 対象ファイル
+	 * @return 一時ファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	static File createTempFile(final File target) throws IOException {
+		StringBuilder prefix = new StringBuilder(target.getName());
+		while (3 > prefix.length()) {
+			prefix.append('_');
+		}
+		return File.createTempFile(prefix.toString(), ".tmp", target.getParentFile());
+	}
 
+	/**
+	 * 一時ファイルを対象ファイルへ置き換える。
+	 * <p>
+	 * 可能な場合はアトミックに置き換え、ディレクトリの変更をディスクへ同期します。
+	 * </p>
+	 * 
+	 * @param temp 一時ファイル
+	 * @param target 対象ファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	static void move(final File temp, final File target) throws IOException {
+		try {
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		FileChannel directory = null;
+		try {
+			directory = FileChannel.open(target.getParentFile().toPath(), StandardOpenOption.READ);
+			directory.force(true);
+		} catch (IOException ex) {
+			// ディレクトリの同期に対応していないプラットフォーム
 		} finally {
-			if (null != writer) {
+			if (null != directory) {
 				try {
-					writer.close();
+					directory.close();
 				} catch (IOException ex) {
 					// none
 				}
@@ -258,6 +375,29 @@ public class IniFile implements Profile {
 		}
 	}
 
+	/**
+	 * セクション名の一覧を取得する。
+	 * 
+	 * @return セクション名の一覧(変更不可)
+	 */
+	public Set<String> getSections() {
+		return Collections.unmodifiableSet(data.keySet());
+	}
+
+	/**
+	 * セクション内の名前の一覧を取得する。
+	 * 
+	 * @param section セクション
+	 * @return 名前の一覧(変更不可)。セクションが存在しない場合、空の一覧
+	 */
+	public Set<String> getNames(final String section) {
+		Map<String, String> map = data.get(section);
+		if (null == map) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(map.keySet());
+	}
+
 	@Override
 	public String get(final String section, final String name, final String def) {
 		String value = def;
@@ -351,7 +491,7 @@ public class IniFile implements Profile {
 		if (data.containsKey(bufSection)) {
 			map = data.get(bufSection);
 		} else {
-			map = new HashMap<String, String>();
+			map = new LinkedHashMap<String, String>();
 			data.put(bufSection, map);
 		}
 		map.put(bufName, bufValue);
@@ -382,17 +522,110 @@ public class IniFile implements Profile {
 		put(section, name, ((value) ? "true" : "false"));
 	}
 
+	/**
+	 * 読み込みを開始する。
+	 * <p>
+	 * 値は既存の値にマージしますが、コメントは読み込むファイルの内容で作り直すため破棄します。
+	 * </p>
+	 */
+	void beginRead() {
+		comments.clear();
+		footer = new ArrayList<String>();
+		pending = new ArrayList<String>();
+	}
+
+	/**
+	 * 読み込んだ値を設定する。
+	 * <p>
+	 * {@link #put(String, String, String)} と異なり、値のトリムは行わない。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @param value 値
+	 */
+	void putValue(final String section, final String name, final String value) {
+		Map<String, String> values = data.get(section);
+		if (null == values) {
+			values = new LinkedHashMap<String, String>();
+			data.put(section, values);
+		}
+		values.put(name, value);
+		attachComments(new ProfileKey(section, name));
+	}
+
+	/**
+	 * 読み込んだセクションを設定する。
+	 * 
+	 * @param section セクション
+	 */
+	void putSection(final String section) {
+		if (!data.containsKey(section)) {
+			data.put(section, new LinkedHashMap<String, String>());
+		}
+		attachComments(new ProfileKey(section, null));
+	}
+
+	/**
+	 * 読み込んだコメント行(空行を含む)を設定する。
+	 * <p>
+	 * コメントは次に読み込まれるセクションまたは値に関連付けられます。
+	 * </p>
+	 * 
+	 * @param line コメント行
+	 */
+	void putComment(final String line) {
+		pending.add(line);
+	}
+
+	/**
+	 * 読み込みを終了する。
+	 * <p>
+	 * 関連付けられていないコメントをファイル末尾のコメントとします。
+	 * </p>
+	 */
+	void putFooter() {
+		if (!pending.isEmpty()) {
+			footer = pending;
+			pending = new ArrayList<String>();
+		}
+	}
+
+	/**
+	 * 読み込み中のコメントを関連付ける。
+	 * 
+	 * @param key キー
+	 */
+	private void attachComments(final ProfileKey key) {
+		if (!pending.isEmpty()) {
+			List<String> lines = comments.get(key);
+			if (null == lines) {
+				comments.put(key, pending);
+			} else {
+				lines.addAll(pending);
+			}
+			pending = new ArrayList<String>();
+		}
+	}
+
 	@Override
 	public void remove(final String section, final String name) {
 		if (data.containsKey(section)) {
 			Map<String, String> map = data.get(section);
 			map.remove(name);
+			comments.remove(new ProfileKey(section, name));
 		}
 	}
 
 	@Override
 	public void remove(final String section) {
 		data.remove(section);
+		for (Iterator<ProfileKey> it = comments.keySet().iterator(); it.hasNext();) {
+			ProfileKey key = it.next();
+			if (null == section ? null == key.getSection() : section.equals(key.getSection())) {
+				it.remove();
+			}
+		}
 	}
 
 }
@@ -0,0 +1,400 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * このクラスは、変更をジャーナルへ追記するiniファイルクラスです。
+ * <p>
+ * {@link #put(String, String, String)} および {@link #remove(String, String)} 等の変更は、iniファイルと同じディレクトリのジャーナルファイル(
+ * <code>&lt;iniファイル名&gt;.journal</code>)へ1レコードずつ追記されます。 そのため、変更の保存にかかるコストはファイルサイズではなく変更の大きさに比例します。
+ * </p>
+ * <p>
+ * {@link #read()} はiniファイルを読み込んだ後にジャーナルを再生します。 ジャーナルのレコード数が閾値に達すると、全体をiniファイルへ書き出し(
+ * {@link IniFile#write(File, Charset)})、ジャーナルを空にします(コンパクション)。 書き出し後、ジャーナルを空にする前に異常終了した場合でも、
+ * 再生は冪等であるため状態は変わりません。 また、書き込み途中で異常終了した末尾の不完全なレコードは再生時に無視されます。
+ * </p>
+ * <p>
+ * 変更はジャーナルへの追記が成功した後にメモリへ反映されるため、追記に失敗した変更がメモリ上にだけ残ることはありません。
+ * {@link #update(String, String, String)} 等は追記の失敗を {@link IOException} で通知します。 {@link Profile} から継承した
+ * {@link #put(String, String, String)} 等は検査例外を送出できないため、{@link IllegalStateException} で通知します。
+ * </p>
+ * <p>
+ * このクラスは {@link IniFile} と同様にスレッドセーフではありません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class JournaledIniFile extends IniFile implements Closeable {
+
+	/** ジャーナルの文字コード */
+	private static final Charset JOURNAL_CHARSET = Charset.forName("UTF-8");
+
+	/** iniファイル */
+	private final File file;
+
+	/** 文字コード */
+	private final Charset charset;
+
+	/** ジャーナルファイル */
+	private final File journal;
+
+	/** ジャーナルのチャネル */
+	private FileChannel channel;
+
+	/** ジャーナルのレコード数 */
+	private int records;
+
+	/** コンパクションを行うレコード数 */
+	private int compactionThreshold;
+
+	/** 追記毎にディスクへ同期する場合、<code>true</code> */
+	private boolean sync;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param file iniファイル
+	 * @param charset 文字コード
+	 */
+	public JournaledIniFile(final File file, final Charset charset) {
+		this.file = file.getAbsoluteFile();
+		this.charset = charset;
+		this.journal = new File(this.file.getParentFile(), this.file.getName() + ".journal");
+		compactionThreshold = 1000;
+		sync = false;
+	}
+
+	/**
+	 * ジャーナルファイルを取得する。
+	 * 
+	 * @return ジャーナルファイル
+	 */
+	public File getJournal() {
+		return journal;
+	}
+
+	/**
+	 * コンパクションを行うレコード数を設定する。
+	 * 
+	 * @param threshold レコード数(0以下の場合、自動でコンパクションを行わない)
+	 */
+	public void setCompactionThreshold(final int threshold) {
+		compactionThreshold = threshold;
+	}
+
+	/**
+	 * 追記毎にディスクへ同期するか設定する。
+	 * 
+	 * @param aSync 同期する場合、<code>true</code>
+	 */
+	public void setSync(final boolean aSync) {
+		sync = aSync;
+	}
+
+	/**
+	 * iniファイルを読み込み、ジャーナルを再生する。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void read() throws IOException {
+		if (file.exists()) {
+			read(file, charset);
+		}
+		records = 0;
+		if (journal.exists()) {
+			byte[] bytes = Files.readAllBytes(journal.toPath());
+			int length = replay(bytes);
+			if (length < bytes.length) {
+				// 書き込み途中のレコードを切り捨てる
+				FileChannel ch = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE);
+				try {
+					ch.truncate(length);
+					ch.force(true);
+				} finally {
+					ch.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * ジャーナルをiniファイルへ反映する。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void compact() throws IOException {
+		write(file, charset);
+		if (null != channel) {
+			channel.truncate(0);
+			channel.force(true);
+		} else if (journal.exists()) {
+			Files.write(journal.toPath(), new byte[0]);
+		}
+		records = 0;
+	}
+
+	/**
+	 * ジャーナルを閉じる。
+	 */
+	@Override
+	public void close() throws IOException {
+		if (null != channel) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * 値を設定する。
+	 * <p>
+	 * ジャーナルへ追記した後にメモリへ反映します。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @param value 値
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void update(final String section, final String name, final String value) throws IOException {
+		append('P', section, name, value);
+		super.put(section, name, value);
+		compactIfNeeded();
+	}
+
+	/**
+	 * 値を削除する。
+	 * <p>
+	 * ジャーナルへ追記した後にメモリへ反映します。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void delete(final String section, final String name) throws IOException {
+		append('R', section, name, null);
+		super.remove(section, name);
+		compactIfNeeded();
+	}
+
+	/**
+	 * セクションを削除する。
+	 * <p>
+	 * ジャーナルへ追記した後にメモリへ反映します。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void delete(final String section) throws IOException {
+		append('S', section, null, null);
+		super.remove(section);
+		compactIfNeeded();
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		try {
+			update(section, name, value);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to write journal.[" + journal + "]", ex);
+		}
+	}
+
+	@Override
+	public void remove(final String section, final String name) {
+		try {
+			delete(section, name);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to write journal.[" + journal + "]", ex);
+		}
+	}
+
+	@Override
+	public void remove(final String section) {
+		try {
+			delete(section);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to write journal.[" + journal + "]", ex);
+		}
+	}
+
+	/**
+	 * ジャーナルへレコードを追記する。
+	 * <p>
+	 * 追記に失敗した場合は書き込み途中のレコードを切り捨て、後続のレコードが壊れないようにします。
+	 * </p>
+	 * 
+	 * @param type 種別
+	 * @param section セクション
+	 * @param name 名前
+	 * @param value 値
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void append(final char type, final String section, final String name, final String value) throws IOException {
+		StringBuilder s = new StringBuilder();
+		s.append(type);
+		s.append('\t').append(escape(section));
+		if ('S' != type) {
+			s.append('\t').append(escape(name));
+		}
+		if ('P' == type) {
+			s.append('\t').append(escape(value));
+		}
+		s.append('\n');
+
+		if (null == channel) {
+			channel = FileChannel.open(journal.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		}
+		long position = channel.size();
+		boolean success = false;
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(s.toString().getBytes(JOURNAL_CHARSET));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (sync) {
+				channel.force(false);
+			}
+			success = true;
+		} finally {
+			if (!success) {
+				try {
+					channel.truncate(position);
+				} catch (IOException ex) {
+					// 再生時に不正なレコードとして無視される
+				}
+			}
+		}
+		records++;
+	}
+
+	/**
+	 * レコード数が閾値に達している場合、コンパクションを行う。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void compactIfNeeded() throws IOException {
+		if (0 < compactionThreshold && records >= compactionThreshold) {
+			compact();
+		}
+	}
+
+	/**
+	 * ジャーナルを再生する。
+	 * 
+	 * @param bytes ジャーナル
+	 * @return 再生した長さ(バイト)
+	 */
+	private int replay(final byte[] bytes) {
+		int start = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			if ('\n' == bytes[i]) {
+				String[] fields = new String(bytes, start, i - start, JOURNAL_CHARSET).split("\t", -1);
+				start = i + 1;
+
+				if (4 == fields.length && "P".equals(fields[0])) {
+					super.put(unescape(fields[1]), unescape(fields[2]), unescape(fields[3]));
+				} else if (3 == fields.length && "R".equals(fields[0])) {
+					super.remove(unescape(fields[1]), unescape(fields[2]));
+				} else if (2 == fields.length && "S".equals(fields[0])) {
+					super.remove(unescape(fields[1]));
+				} else {
+					// illegal
+					continue;
+				}
+				records++;
+			}
+		}
+		// 改行で終了していない末尾のレコードは書き込み途中のため無視する
+		return start;
+	}
+
+	/**
+	 * 文字列をエスケープする。
+	 * 
+	 * @param s 文字列
+	 * @return エスケープした文字列
+	 */
+	private static String escape(final String s) {
+		if (null == s) {
+			return "\\N";
+		}
+		StringBuilder buf = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if ('\\' == c) {
+				buf.append("\\\\");
+			} else if ('\t' == c) {
+				buf.append("\\t");
+			} else if ('\n' == c) {
+				buf.append("\\n");
+			} else if ('\r' == c) {
+				buf.append("\\r");
+			} else {
+				buf.append(c);
+			}
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * エスケープを解除する。
+	 * 
+	 * @param s エスケープした文字列
+	 * @return 文字列
+	 */
+	private static String unescape(final String s) {
+		if ("\\N".equals(s)) {
+			return null;
+		}
+		if (-1 == s.indexOf('\\')) {
+			return s;
+		}
+		StringBuilder buf = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if ('\\' == c && i + 1 < s.length()) {
+				char n = s.charAt(++i);
+				if ('t' == n) {
+					buf.append('\t');
+				} else if ('n' == n) {
+					buf.append('\n');
+				} else if ('r' == n) {
+					buf.append('\r');
+				} else {
+					buf.append(n);
+				}
+			} else {
+				buf.append(c);
+			}
+		}
+		return buf.toString();
+	}
+}
@@ -0,0 +1,320 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * このクラスは、複数のプロファイルを重ね合わせたプロファイルクラスです。
+ * <p>
+ * 値は先頭のレイヤーから順に検索し、最初に値が存在したレイヤーの値を返します。 例えば、ホスト固有の設定、環境の設定、既定値の順にレイヤーを指定します。
+ * 解決した値は数値および真偽値に変換してキャッシュするため、2回目以降の取得ではレイヤーを検索しません。
+ * </p>
+ * <p>
+ * {@link ObservableProfile} のレイヤーは変更時に自動的にキャッシュを破棄します。 それ以外のレイヤーを直接変更した場合は {@link #invalidate()}
+ * を呼び出してください。 値の設定および削除は先頭のレイヤーに対して行います。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class LayeredProfile implements ObservableProfile, Closeable {
+
+	/** 値が存在しないことを表す値 */
+	private static final String MISSING = new String();
+
+	/** 値が存在しないことを表すエントリ */
+	private static final Entry MISSING_ENTRY = new Entry(null);
+
+	/** レイヤー */
+	private final Profile[] layers;
+
+	/** リスナー */
+	private final List<ProfileListener> listeners;
+
+	/** レイヤーの変更を受け取るリスナー */
+	private final ProfileListener layerListener;
+
+	/** キャッシュ */
+	private volatile ConcurrentMap<String, ConcurrentMap<String, Entry>> cache;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param layers レイヤー(優先度の高い順)
+	 */
+	public LayeredProfile(final Profile... layers) {
+		if (0 == layers.length) {
+			throw new IllegalArgumentException("Layers is empty.");
+		}
+		this.layers = layers.clone();
+		listeners = new CopyOnWriteArrayList<ProfileListener>();
+		cache = new ConcurrentHashMap<String, ConcurrentMap<String, Entry>>();
+
+		layerListener = new ProfileListener() {
+			@Override
+			public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+				invalidate();
+				for (ProfileListener listener : listeners) {
+					listener.profileChanged(LayeredProfile.this, keys);
+				}
+			}
+		};
+		for (Profile layer : this.layers) {
+			if (layer instanceof ObservableProfile) {
+				((ObservableProfile) layer).addProfileListener(layerListener);
+			}
+		}
+	}
+
+	/**
+	 * レイヤー数を取得する。
+	 * 
+	 * @return レイヤー数
+	 */
+	public int getLayerCount() {
+		return layers.length;
+	}
+
+	/**
+	 * レイヤーを取得する。
+	 * 
+	 * @param index レイヤーの位置(0が最も優先度が高い)
+	 * @return レイヤー
+	 */
+	public Profile getLayer(final int index) {
+		return layers[index];
+	}
+
+	/**
+	 * キャッシュを破棄する。
+	 */
+	public void invalidate() {
+		// 解決中の値が破棄前のキャッシュへ格納されても参照されないよう、キャッシュごと差し替える
+		cache = new ConcurrentHashMap<String, ConcurrentMap<String, Entry>>();
+	}
+
+	/**
+	 * レイヤーからリスナーの登録を解除する。
+	 */
+	@Override
+	public void close() {
+		for (Profile layer : layers) {
+			if (layer instanceof ObservableProfile) {
+				((ObservableProfile) layer).removeProfileListener(layerListener);
+			}
+		}
+	}
+
+	@Override
+	public void addProfileListener(final ProfileListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeProfileListener(final ProfileListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * 値を解決する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @return エントリ
+	 */
+	private Entry resolve(final String section, final String name) {
+		if (null == section || null == name) {
+			return MISSING_ENTRY;
+		}
+		ConcurrentMap<String, ConcurrentMap<String, Entry>> cache = this.cache;
+		ConcurrentMap<String, Entry> map = cache.get(section);
+		if (null != map) {
+			Entry entry = map.get(name);
+			if (null != entry) {
+				return entry;
+			}
+		} else {
+			map = new ConcurrentHashMap<String, Entry>();
+			ConcurrentMap<String, Entry> current = cache.putIfAbsent(section, map);
+			if (null != current) {
+				map = current;
+			}
+		}
+
+		Entry entry = MISSING_ENTRY;
+		for (Profile layer : layers) {
+			String value = layer.get(section, name, MISSING);
+			if (MISSING != value) {
+				entry = new Entry(value);
+				break;
+			}
+		}
+		map.put(name, entry);
+		return entry;
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		Entry entry = resolve(section, name);
+		return (MISSING_ENTRY == entry) ? def : entry.value;
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		Integer value = resolve(section, name).integerValue;
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		Long value = resolve(section, name).longValue;
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		Float value = resolve(section, name).floatValue;
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		Double value = resolve(section, name).doubleValue;
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		Boolean value = resolve(section, name).booleanValue;
+		return (null == value) ? def : value;
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		layers[0].put(section, name, value);
+		invalidate();
+	}
+
+	/**
+	 * 値を削除する。
+	 * <p>
+	 * 先頭のレイヤーからのみ削除するため、下位のレイヤーに同じ値が存在する場合はその値が参照されるようになります。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 */
+	@Override
+	public void remove(final String section, final String name) {
+		layers[0].remove(section, name);
+		invalidate();
+	}
+
+	/**
+	 * セクションを削除する。
+	 * <p>
+	 * 先頭のレイヤーからのみ削除します。
+	 * </p>
+	 * 
+	 * @param section セクション
+	 */
+	@Override
+	public void remove(final String section) {
+		layers[0].remove(section);
+		invalidate();
+	}
+
+	/**
+	 * このクラスは、解決した値を保持するクラスです。
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	private static final class Entry {
+
+		/** 値 */
+		private final String value;
+
+		/** 整数値 */
+		private final Integer integerValue;
+
+		/** 整数値 */
+		private final Long longValue;
+
+		/** 浮動小数点数値 */
+		private final Float floatValue;
+
+		/** 浮動小数点数値 */
+		private final Double doubleValue;
+
+		/** 真偽値 */
+		private final Boolean booleanValue;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param value 値
+		 */
+		private Entry(final String value) {
+			this.value = value;
+			integerValue = ProfileValues.toInteger(value);
+			longValue = ProfileValues.toLong(value);
+			floatValue = ProfileValues.toFloat(value);
+			doubleValue = ProfileValues.toDouble(value);
+			booleanValue = ProfileValues.toBoolean(value);
+		}
+	}
+}
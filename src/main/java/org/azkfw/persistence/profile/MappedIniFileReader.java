@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、メモリマップドファイルを使用してiniファイルを読み込むクラスです。
+ * <p>
+ * ファイルをメモリにマップし、行・セクション・名前・値の境界をバイト列のまま走査します。 文字列へのデコードは最終的な名前と値に対してのみ行うため、
+ * {@link IniFile#read(File, Charset)} と比べて大きなファイルを高速に読み込むことができます。 解析結果は {@link IniFile#read(File, Charset)}
+ * と同一です。
+ * </p>
+ * <p>
+ * バイト単位の走査は、ASCIIの制御文字・空白・記号がマルチバイト文字の一部として現れない文字コードでのみ可能です。 それ以外の文字コード(UTF-16等)が指定された場合は
+ * {@link IniFile#read(File, Charset)} で読み込みます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class MappedIniFileReader {
+
+	/** バイト単位の走査が可能な文字コード */
+	private static final Set<String> SUPPORTED_CHARSETS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList("US-ASCII",
+			"UTF-8", "ISO-8859-1", "ISO-8859-2", "ISO-8859-5", "ISO-8859-7", "ISO-8859-9", "ISO-8859-15", "windows-1250", "windows-1251",
+			"windows-1252", "windows-1253", "windows-1254", "windows-1257", "Shift_JIS", "windows-31j", "EUC-JP", "EUC-KR", "GBK",
+			"GB2312", "Big5")));
+
+	/** 文字コード */
+	private final Charset charset;
+
+	/** デコーダー */
+	private CharsetDecoder decoder;
+
+	/** バイトバッファ */
+	private byte[] bytes;
+
+	/** 文字バッファ */
+	private char[] chars;
+
+	/**
+	 * コンストラクタ
+	 */
+	public MappedIniFileReader() {
+		this(Charset.forName(System.getProperty("file.encoding")));
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param charset 文字コード
+	 */
+	public MappedIniFileReader(final Charset charset) {
+		this.charset = charset;
+		bytes = new byte[256];
+		chars = new char[256];
+	}
+
+	/**
+	 * 文字コードがバイト単位の走査に対応しているか判断する。
+	 * 
+	 * @param charset 文字コード
+	 * @return 対応している場合、<code>true</code>
+	 */
+	public static boolean isSupported(final Charset charset) {
+		return SUPPORTED_CHARSETS.contains(charset.name());
+	}
+
+	/**
+	 * iniファイルを読み込む。
+	 * <p>
+	 * 読み込んだ値は引数のiniファイルオブジェクトへ追加されます。
+	 * </p>
+	 * 
+	 * @param file iniファイル
+	 * @param ini 読み込み先
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public synchronized void read(final File file, final IniFile ini) throws IOException {
+		if (!isSupported(charset) || Integer.MAX_VALUE < file.length()) {
+			ini.read(file, charset);
+			return;
+		}
+
+		decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		FileInputStream stream = null;
+		try {
+			stream = new FileInputStream(file);
+			FileChannel channel = stream.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			parse(buffer, ini);
+		} finally {
+			if (null != stream) {
+				try {
+					stream.close();
+				} catch (IOException ex) {
+					// none
+				}
+			}
+		}
+	}
+
+	/**
+	 * バッファを解析する。
+	 * 
+	 * @param buffer バッファ
+	 * @param ini 読み込み先
+	 */
+	private void parse(final ByteBuffer buffer, final IniFile ini) {
+		ini.beginRead();
+		String section = null;
+
+		int limit = buffer.limit();
+		int pos = 0;
+		while (pos < limit) {
+			// line
+			int end = pos;
+			byte b;
+			while (end < limit && '\n' != (b = buffer.get(end)) && '\r' != b) {
+				end++;
+			}
+			int next = end + 1;
+			if (next < limit && '\r' == buffer.get(end) && '\n' == buffer.get(next)) {
+				next++;
+			}
+
+			// trim
+			while (pos < end && isSpace(buffer.get(pos))) {
+				pos++;
+			}
+			while (pos < end && isSpace(buffer.get(end - 1))) {
+				end--;
+			}
+
+			if (pos == end) {
+				// empty
+				ini.putComment(StringUtility.EMPTY);
+			} else if (';' == buffer.get(pos)) {
+				// comment
+				ini.putComment(decode(buffer, pos, end));
+			} else if ('[' == buffer.get(pos)) {
+				// 閉じ括弧はマルチバイト文字の一部となる可能性があるため、デコード後に判定する
+				String line = decode(buffer, pos, end);
+				if (line.endsWith("]")) {
+					// section
+					section = StringUtility.trim(line.substring(1, line.length() - 1));
+					ini.putSection(section);
+				} else if (null != section) {
+					int index = line.indexOf("=");
+					if (-1 != index) {
+						String name = StringUtility.trim(line.substring(0, index));
+						String value = StringUtility.trim(line.substring(index + 1));
+						ini.putValue(section, name, value);
+					}
+				}
+			} else if (null != section) {
+				int index = pos;
+				while (index < end && '=' != buffer.get(index)) {
+					index++;
+				}
+				if (index < end) {
+					String name = StringUtility.trim(decode(buffer, pos, trimEnd(buffer, pos, index)));
+					String value = StringUtility.trim(decode(buffer, trimStart(buffer, index + 1, end), end));
+					ini.putValue(section, name, value);
+				}
+			}
+
+			pos = next;
+		}
+		ini.putFooter();
+	}
+
+	/**
+	 * 範囲の先頭の空白を除いた開始位置を取得する。
+	 * 
+	 * @param buffer バッファ
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @return 開始位置
+	 */
+	private static int trimStart(final ByteBuffer buffer, final int start, final int end) {
+		int pos = start;
+		while (pos < end && isSpace(buffer.get(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * 範囲の末尾の空白を除いた終了位置を取得する。
+	 * 
+	 * @param buffer バッファ
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @return 終了位置
+	 */
+	private static int trimEnd(final ByteBuffer buffer, final int start, final int end) {
+		int pos = end;
+		while (pos > start && isSpace(buffer.get(pos - 1))) {
+			pos--;
+		}
+		return pos;
+	}
+
+	/**
+	 * 空白(制御文字を含む)か判断する。
+	 * 
+	 * @param b バイト
+	 * @return 空白の場合、<code>true</code>
+	 */
+	private static boolean isSpace(final byte b) {
+		return 0 <= b && ' ' >= b;
+	}
+
+	/**
+	 * 範囲をデコードする。
+	 * <p>
+	 * ASCII文字のみで構成される場合はデコーダーを使用せずに変換します。
+	 * </p>
+	 * 
+	 * @param buffer バッファ
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @return 文字列
+	 */
+	private String decode(final ByteBuffer buffer, final int start, final int end) {
+		int length = end - start;
+		if (0 == length) {
+			return StringUtility.EMPTY;
+		}
+		if (bytes.length < length) {
+			bytes = new byte[Math.max(length, bytes.length * 2)];
+		}
+
+		boolean ascii = true;
+		for (int i = 0; i < length; i++) {
+			byte b = buffer.get(start + i);
+			bytes[i] = b;
+			ascii &= (0 <= b);
+		}
+
+		if (ascii) {
+			if (chars.length < length) {
+				chars = new char[Math.max(length, chars.length * 2)];
+			}
+			for (int i = 0; i < length; i++) {
+				chars[i] = (char) bytes[i];
+			}
+			return new String(chars, 0, length);
+		}
+
+		int capacity = (int) (length * (double) decoder.maxCharsPerByte()) + 1;
+		if (chars.length < capacity) {
+			chars = new char[Math.max(capacity, chars.length * 2)];
+		}
+		CharBuffer out = CharBuffer.wrap(chars);
+		decoder.reset();
+		decoder.decode(ByteBuffer.wrap(bytes, 0, length), out, true);
+		decoder.flush(out);
+		return new String(chars, 0, out.position());
+	}
+}
@@ -0,0 +1,358 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.persistence.PersistenceServiceException;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、プロファイルのセクションを型付きの設定オブジェクトに割り当てるクラスです。
+ * <p>
+ * インターフェースを指定した場合は、各メソッドが値を返すプロキシを生成します。 クラスを指定した場合は、引数なしのコンストラクタで生成したインスタンスのフィールドに値を設定します。
+ * 値の変換は割り当て時に全て行うため、設定オブジェクトの参照時に文字列の解析は行われません。 変換できない値が存在する場合は割り当て時に例外をスローします。
+ * </p>
+ * <p>
+ * 参照の速度が求められる場合はクラスを指定してください。 クラスの設定オブジェクトの参照は通常のフィールドの読み込みですが、インターフェースのプロキシは
+ * メソッドの呼び出し毎に {@link InvocationHandler} を経由したディスパッチとメソッドをキーとした検索、プリミティブ型のアンボクシングが発生し、
+ * フィールドの読み込みより大幅に遅くなります。 インターフェースを使用する場合、頻繁に呼び出される箇所では取得した値をローカル変数等に保持してください。
+ * </p>
+ * <p>
+ * 対応する型は {@link String}, <code>int</code>, <code>long</code>, <code>float</code>, <code>double</code>, <code>boolean</code>
+ * (およびそのラッパークラス)と列挙型です。 値が存在しない場合、{@link ProfileProperty#def()} の既定値を使用します。 既定値も存在しない場合、クラスのフィールドは初期値のまま、
+ * インターフェースのメソッドは <code>null</code> を返します(プリミティブ型の場合は例外)。
+ * </p>
+ * 
+ * <pre>
+ * &#064;ProfileSection(&quot;pool&quot;)
+ * public class PoolConfig {
+ * 	&#064;ProfileProperty(value = &quot;size&quot;, def = &quot;10&quot;)
+ * 	public int size;
+ * }
+ * 
+ * ProfileBinding&lt;PoolConfig&gt; binding = ProfileBinder.bind(profile, PoolConfig.class);
+ * int size = binding.get().size;
+ * </pre>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class ProfileBinder {
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ProfileBinder() {
+
+	}
+
+	/**
+	 * 設定オブジェクトを割り当てる。
+	 * <p>
+	 * セクションは型に指定された {@link ProfileSection} から取得します。
+	 * </p>
+	 * 
+	 * @param profile プロファイル
+	 * @param type 設定オブジェクトの型
+	 * @return バインディング
+	 * @throws PersistenceServiceException 割り当てに失敗した場合
+	 */
+	public static <T> ProfileBinding<T> bind(final Profile profile, final Class<T> type) throws PersistenceServiceException {
+		ProfileSection section = type.getAnnotation(ProfileSection.class);
+		if (null == section) {
+			throw new PersistenceServiceException("Not found ProfileSection annotation.[" + type.getName() + "]");
+		}
+		return bind(profile, section.value(), type);
+	}
+
+	/**
+	 * 設定オブジェクトを割り当てる。
+	 * <p>
+	 * プロファイルが {@link ObservableProfile} の場合、プロファイルの変更時に再割り当てを行います。
+	 * </p>
+	 * 
+	 * @param profile プロファイル
+	 * @param section セクション
+	 * @param type 設定オブジェクトの型
+	 * @return バインディング
+	 * @throws PersistenceServiceException 割り当てに失敗した場合
+	 */
+	public static <T> ProfileBinding<T> bind(final Profile profile, final String section, final Class<T> type)
+			throws PersistenceServiceException {
+		return new ProfileBinding<T>(profile, section, type, inspect(type));
+	}
+
+	/**
+	 * 設定オブジェクトの型からプロパティを取得する。
+	 * 
+	 * @param type 設定オブジェクトの型
+	 * @return プロパティ
+	 * @throws PersistenceServiceException 対応していない型の場合
+	 */
+	static List<Property> inspect(final Class<?> type) throws PersistenceServiceException {
+		List<Property> properties = new ArrayList<Property>();
+		if (type.isInterface()) {
+			for (Method method : type.getMethods()) {
+				if (0 != method.getParameterTypes().length || void.class == method.getReturnType()) {
+					throw new PersistenceServiceException("Unsupported method.[" + method + "]");
+				}
+				String name = method.getName();
+				if (name.startsWith("get") && name.length() > 3) {
+					name = decapitalize(name.substring(3));
+				} else if (name.startsWith("is") && name.length() > 2) {
+					name = decapitalize(name.substring(2));
+				}
+				properties.add(new Property(method, method.getReturnType(), name, method.getAnnotation(ProfileProperty.class)));
+			}
+		} else {
+			try {
+				type.getDeclaredConstructor();
+			} catch (NoSuchMethodException ex) {
+				throw new PersistenceServiceException("Not found default constructor.[" + type.getName() + "]", ex);
+			}
+			for (Class<?> clazz = type; null != clazz && Object.class != clazz; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+						continue;
+					}
+					field.setAccessible(true);
+					properties.add(new Property(field, field.getType(), field.getName(), field.getAnnotation(ProfileProperty.class)));
+				}
+			}
+		}
+		for (Property property : properties) {
+			if (!isSupported(property.type)) {
+				throw new PersistenceServiceException("Unsupported type.[" + property.member + "]");
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * 設定オブジェクトを生成する。
+	 * 
+	 * @param profile プロファイル
+	 * @param section セクション
+	 * @param type 設定オブジェクトの型
+	 * @param properties プロパティ
+	 * @return 設定オブジェクト
+	 * @throws PersistenceServiceException 値の変換に失敗した場合
+	 */
+	static <T> T create(final Profile profile, final String section, final Class<T> type, final List<Property> properties)
+			throws PersistenceServiceException {
+		if (type.isInterface()) {
+			Map<Method, Object> values = new HashMap<Method, Object>();
+			for (Property property : properties) {
+				values.put((Method) property.member, property.resolve(profile, section));
+			}
+			Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new BoundInvocationHandler(type,
+					section, values));
+			return type.cast(proxy);
+		} else {
+			try {
+				Constructor<T> constructor = type.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				T instance = constructor.newInstance();
+				for (Property property : properties) {
+					Object value = property.resolve(profile, section);
+					if (null != value) {
+						((Field) property.member).set(instance, value);
+					}
+				}
+				return instance;
+			} catch (ReflectiveOperationException ex) {
+				throw new PersistenceServiceException("Could not create instance.[" + type.getName() + "]", ex);
+			}
+		}
+	}
+
+	private static String decapitalize(final String s) {
+		return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+	}
+
+	private static boolean isSupported(final Class<?> type) {
+		return String.class == type || type.isEnum() || Integer.class == type || int.class == type || Long.class == type
+				|| long.class == type || Float.class == type || float.class == type || Double.class == type
+				|| double.class == type || Boolean.class == type || boolean.class == type;
+	}
+
+	/**
+	 * 値を変換する。
+	 * 
+	 * @param value 値
+	 * @param type 変換後の型
+	 * @return 変換結果
+	 * @throws IllegalArgumentException 変換できない場合
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object convert(final String value, final Class<?> type) {
+		if (String.class == type) {
+			return value;
+		} else if (Integer.class == type || int.class == type) {
+			return Integer.valueOf(value);
+		} else if (Long.class == type || long.class == type) {
+			return Long.valueOf(value);
+		} else if (Float.class == type || float.class == type) {
+			return Float.valueOf(value);
+		} else if (Double.class == type || double.class == type) {
+			return Double.valueOf(value);
+		} else if (Boolean.class == type || boolean.class == type) {
+			Boolean b = ProfileValues.toBoolean(value);
+			if (null == b) {
+				throw new IllegalArgumentException("Not a boolean value.");
+			}
+			return b;
+		} else {
+			return Enum.valueOf((Class<? extends Enum>) type, value);
+		}
+	}
+
+	/**
+	 * このクラスは、設定オブジェクトのプロパティを表すクラスです。
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	static final class Property {
+
+		/** フィールドまたはメソッド */
+		private final Object member;
+
+		/** 型 */
+		private final Class<?> type;
+
+		/** 名前 */
+		private final String name;
+
+		/** 既定値 */
+		private final String def;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param member フィールドまたはメソッド
+		 * @param type 型
+		 * @param name 名前
+		 * @param annotation アノテーション
+		 */
+		private Property(final Object member, final Class<?> type, final String name, final ProfileProperty annotation) {
+			this.member = member;
+			this.type = type;
+			if (null != annotation) {
+				this.name = StringUtility.isNotEmpty(annotation.value()) ? annotation.value() : name;
+				this.def = ProfileProperty.NONE.equals(annotation.def()) ? null : annotation.def();
+			} else {
+				this.name = name;
+				this.def = null;
+			}
+		}
+
+		/**
+		 * プロファイルから値を取得して変換する。
+		 * 
+		 * @param profile プロファイル
+		 * @param section セクション
+		 * @return 値。値および既定値が存在しない場合、<code>null</code>
+		 * @throws PersistenceServiceException 値の変換に失敗した場合
+		 */
+		private Object resolve(final Profile profile, final String section) throws PersistenceServiceException {
+			String value = profile.get(section, name, (String) null);
+			if (null == value || (String.class != type && 0 == value.length())) {
+				value = def;
+			}
+			if (null == value) {
+				if (type.isPrimitive() && member instanceof Method) {
+					throw new PersistenceServiceException(String.format("Required value is not defined.[%s.%s]", section, name));
+				}
+				return null;
+			}
+			try {
+				return convert(value, type);
+			} catch (IllegalArgumentException ex) {
+				throw new PersistenceServiceException(String.format("Invalid value.[%s.%s=%s, type=%s]", section, name, value,
+						type.getSimpleName()), ex);
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、インターフェースの設定オブジェクトのメソッド呼び出しを処理するクラスです。
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	private static final class BoundInvocationHandler implements InvocationHandler {
+
+		/** 設定オブジェクトの型 */
+		private final Class<?> type;
+
+		/** セクション */
+		private final String section;
+
+		/** 値 */
+		private final Map<Method, Object> values;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param type 設定オブジェクトの型
+		 * @param section セクション
+		 * @param values 値
+		 */
+		private BoundInvocationHandler(final Class<?> type, final String section, final Map<Method, Object> values) {
+			this.type = type;
+			this.section = section;
+			this.values = Collections.unmodifiableMap(values);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			Object value = values.get(method);
+			if (null != value || values.containsKey(method)) {
+				return value;
+			}
+			String name = method.getName();
+			if ("toString".equals(name) && null == args) {
+				return String.format("%s[%s]%s", type.getSimpleName(), section, values.values());
+			} else if ("hashCode".equals(name) && null == args) {
+				return System.identityHashCode(proxy);
+			} else if ("equals".equals(name) && null != args && 1 == args.length) {
+				return proxy == args[0];
+			}
+			throw new UnsupportedOperationException(method.toString());
+		}
+	}
+}
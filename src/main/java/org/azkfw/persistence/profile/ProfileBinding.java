@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Set;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.PersistenceServiceException;
+
+/**
+ * このクラスは、プロファイルのセクションに割り当てた設定オブジェクトを保持するクラスです。
+ * <p>
+ * プロファイルが {@link ObservableProfile} の場合、セクションの値が変更されると設定オブジェクトを再生成して差し替えます。
+ * 再生成に失敗した場合はエラーを出力し、変更前の設定オブジェクトを保持し続けます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * @param <T> 設定オブジェクトの型
+ * @see ProfileBinder
+ */
+public final class ProfileBinding<T> extends LoggingObject implements Closeable {
+
+	/** プロファイル */
+	private final Profile profile;
+
+	/** セクション */
+	private final String section;
+
+	/** 設定オブジェクトの型 */
+	private final Class<T> type;
+
+	/** プロパティ */
+	private final List<ProfileBinder.Property> properties;
+
+	/** プロファイルの変更を受け取るリスナー */
+	private final ProfileListener listener;
+
+	/** 設定オブジェクト */
+	private volatile T instance;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param profile プロファイル
+	 * @param section セクション
+	 * @param type 設定オブジェクトの型
+	 * @param properties プロパティ
+	 * @throws PersistenceServiceException 割り当てに失敗した場合
+	 */
+	ProfileBinding(final Profile profile, final String section, final Class<T> type, final List<ProfileBinder.Property> properties)
+			throws PersistenceServiceException {
+		super(ProfileBinding.class);
+		this.profile = profile;
+		this.section = section;
+		this.type = type;
+		this.properties = properties;
+		instance = ProfileBinder.create(profile, section, type, properties);
+
+		if (profile instanceof ObservableProfile) {
+			listener = new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					for (ProfileKey key : keys) {
+						if (section.equals(key.getSection())) {
+							rebind();
+							break;
+						}
+					}
+				}
+			};
+			((ObservableProfile) profile).addProfileListener(listener);
+		} else {
+			listener = null;
+		}
+	}
+
+	/**
+	 * セクションを取得する。
+	 * 
+	 * @return セクション
+	 */
+	public String getSection() {
+		return section;
+	}
+
+	/**
+	 * 設定オブジェクトを取得する。
+	 * 
+	 * @return 設定オブジェクト
+	 */
+	public T get() {
+		return instance;
+	}
+
+	/**
+	 * 設定オブジェクトを再生成する。
+	 * 
+	 * @return 再生成した場合、<code>true</code>。失敗した場合、<code>false</code>
+	 */
+	public boolean rebind() {
+		try {
+			instance = ProfileBinder.create(profile, section, type, properties);
+			return true;
+		} catch (PersistenceServiceException ex) {
+			error(String.format("Rebind failed, keeping previous configuration.[section=%s, type=%s, message=%s]", section,
+					type.getName(), ex.getMessage()));
+			return false;
+		}
+	}
+
+	/**
+	 * プロファイルからリスナーの登録を解除する。
+	 */
+	@Override
+	public void close() {
+		if (null != listener) {
+			((ObservableProfile) profile).removeProfileListener(listener);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、iniファイルをバイナリ形式のプロファイルへコンパイルするクラスです。
+ * <p>
+ * バイナリ形式は以下の構成です(ビッグエンディアン)。
+ * </p>
+ * 
+ * <pre>
+ * ヘッダー     : マジックナンバー(int), バージョン(int), エントリ数(int), 文字列テーブルの位置(int), ファイルサイズ(int),
+ *                コンパイル元の更新日時(long), コンパイル元のサイズ(long)
+ * インデックス : エントリ数 * { ハッシュ値(int), セクションの位置(int), 名前の位置(int), 値の位置(int) } ※ハッシュ値の昇順
+ * 文字列テーブル : { 文字数(int), 文字(UTF-16) } の繰り返し
+ * </pre>
+ * <p>
+ * 値の位置が <code>-1</code> の場合、値は <code>null</code> です。 コンパイル元の更新日時とサイズは、コンパイル済みファイルが最新か判断するために使用します。
+ * コンパイルしたファイルは {@link CompiledProfile} で読み込みます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class ProfileCompiler {
+
+	/** マジックナンバー */
+	static final int MAGIC = 0x415A4B50;
+
+	/** バージョン */
+	static final int VERSION = 2;
+
+	/** ヘッダーのサイズ */
+	static final int HEADER_SIZE = 36;
+
+	/** インデックスのエントリサイズ */
+	static final int ENTRY_SIZE = 16;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ProfileCompiler() {
+
+	}
+
+	/**
+	 * iniファイルをコンパイルする。
+	 * <p>
+	 * 出力は一時ファイルへ書き出した後、アトミックに置き換えます。
+	 * </p>
+	 * 
+	 * @param ini iniファイル
+	 * @param output 出力ファイル
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public static void compile(final IniFile ini, final File output) throws IOException {
+		compile(ini, output, -1L, -1L);
+	}
+
+	/**
+	 * iniファイルをコンパイルする。
+	 * <p>
+	 * 出力は一時ファイルへ書き出した後、アトミックに置き換えます。
+	 * </p>
+	 * 
+	 * @param ini iniファイル
+	 * @param output 出力ファイル
+	 * @param sourceModified コンパイル元の更新日時(不明な場合、<code>-1</code>)
+	 * @param sourceLength コンパイル元のサイズ(不明な場合、<code>-1</code>)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public static void compile(final IniFile ini, final File output, final long sourceModified, final long sourceLength) throws IOException {
+		ProfileSnapshot snapshot = ProfileSnapshot.of(ini);
+		int count = snapshot.size();
+
+		// index
+		List<int[]> entries = new ArrayList<int[]>(count);
+		Map<String, Integer> offsets = new HashMap<String, Integer>();
+		List<String> strings = new ArrayList<String>();
+		int tableSize = 0;
+		for (int i = 0; i < count; i++) {
+			int[] entry = new int[4];
+			entry[0] = hash(snapshot.getSection(i), snapshot.getName(i));
+			for (int j = 1; j <= 3; j++) {
+				String s = (1 == j) ? snapshot.getSection(i) : ((2 == j) ? snapshot.getName(i) : snapshot.getValue(i));
+				if (null == s) {
+					entry[j] = -1;
+					continue;
+				}
+				Integer offset = offsets.get(s);
+				if (null == offset) {
+					offset = tableSize;
+					offsets.put(s, offset);
+					strings.add(s);
+					tableSize += 4 + s.length() * 2;
+				}
+				entry[j] = offset;
+			}
+			entries.add(entry);
+		}
+		Collections.sort(entries, new Comparator<int[]>() {
+			@Override
+			public int compare(final int[] o1, final int[] o2) {
+				return (o1[0] < o2[0]) ? -1 : ((o1[0] == o2[0]) ? 0 : 1);
+			}
+		});
+
+		int tableOffset = HEADER_SIZE + ENTRY_SIZE * count;
+		ByteBuffer buffer = ByteBuffer.allocate(tableOffset + tableSize);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(count);
+		buffer.putInt(tableOffset);
+		buffer.putInt(tableOffset + tableSize);
+		buffer.putLong(sourceModified);
+		buffer.putLong(sourceLength);
+		for (int[] entry : entries) {
+			buffer.putInt(entry[0]);
+			for (int j = 1; j <= 3; j++) {
+				buffer.putInt((-1 == entry[j]) ? -1 : tableOffset + entry[j]);
+			}
+		}
+		for (String s : strings) {
+			buffer.putInt(s.length());
+			for (int i = 0; i < s.length(); i++) {
+				buffer.putChar(s.charAt(i));
+			}
+		}
+		buffer.flip();
+
+		File target = output.getAbsoluteFile();
+		File temp = IniFile.createTempFile(target);
+		boolean success = false;
+		FileOutputStream stream = null;
+		try {
+			stream = new FileOutputStream(temp);
+			FileChannel channel = stream.getChannel();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+			stream.close();
+			stream = null;
+
+			IniFile.move(temp, target);
+			success = true;
+		} finally {
+			if (null != stream) {
+				try {
+					stream.close();
+				} catch (IOException ex) {
+					// none
+				}
+			}
+			if (!success) {
+				temp.delete();
+			}
+		}
+	}
+
+	/**
+	 * ハッシュ値を算出する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @return ハッシュ値
+	 */
+	static int hash(final String section, final String name) {
+		return section.hashCode() * 31 + name.hashCode();
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+/**
+ * このクラスは、プロファイルの値を特定するキー(セクション, 名前)を表すクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class ProfileKey {
+
+	/** セクション */
+	private final String section;
+
+	/** 名前 */
+	private final String name;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 */
+	public ProfileKey(final String section, final String name) {
+		this.section = section;
+		this.name = name;
+	}
+
+	/**
+	 * セクションを取得する。
+	 * 
+	 * @return セクション
+	 */
+	public String getSection() {
+		return section;
+	}
+
+	/**
+	 * 名前を取得する。
+	 * 
+	 * @return 名前
+	 */
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public int hashCode() {
+		return ((null == section) ? 0 : section.hashCode()) * 31 + ((null == name) ? 0 : name.hashCode());
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ProfileKey)) {
+			return false;
+		}
+		ProfileKey key = (ProfileKey) obj;
+		return equals(section, key.section) && equals(name, key.name);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] %s", section, name);
+	}
+
+	private static boolean equals(final String s1, final String s2) {
+		return (null == s1) ? null == s2 : s1.equals(s2);
+	}
+}
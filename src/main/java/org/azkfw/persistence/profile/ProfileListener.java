@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.util.Set;
+
+/**
+ * このインターフェースは、プロファイルの変更通知を受け取るリスナーを定義したインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface ProfileListener {
+
+	/**
+	 * プロファイルが変更された時に呼び出される。
+	 * <p>
+	 * 変更は既に公開されているため、このメソッド内でプロファイルから変更後の値を取得することができます。
+	 * </p>
+	 * 
+	 * @param profile プロファイル
+	 * @param keys 追加・変更・削除された値のキー
+	 */
+	public void profileChanged(final Profile profile, final Set<ProfileKey> keys);
+}
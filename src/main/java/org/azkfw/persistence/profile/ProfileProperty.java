@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * このアノテーションは、設定オブジェクトのフィールドまたはメソッドに対応するプロファイルの値を指定するアノテーションです。
+ * <p>
+ * アノテーションを指定しない場合、フィールド名またはメソッド名(<code>get</code>, <code>is</code> を除く)を名前とします。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * @see ProfileBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface ProfileProperty {
+
+	/** 既定値が指定されていないことを表す値 */
+	String NONE = "\u0000";
+
+	/**
+	 * 名前を取得する。
+	 * 
+	 * @return 名前。空文字の場合、フィールド名またはメソッド名
+	 */
+	String value() default "";
+
+	/**
+	 * 既定値を取得する。
+	 * 
+	 * @return 既定値
+	 */
+	String def() default NONE;
+}
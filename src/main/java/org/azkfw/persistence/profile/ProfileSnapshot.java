@@ -0,0 +1,336 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * このクラスは、読み込み専用のプロファイルのスナップショットを表すクラスです。
+ * <p>
+ * (セクション, 名前)をキーとするオープンアドレス法のハッシュテーブルに値を保持し、数値および真偽値は生成時に変換してキャッシュします。
+ * そのため、値の取得時に文字列の解析やオブジェクトの生成は行われません。
+ * </p>
+ * <p>
+ * このクラスは不変であり、複数のスレッドから同期なしで参照することができます。 値を変更するメソッドは {@link UnsupportedOperationException}
+ * をスローします。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class ProfileSnapshot implements Profile {
+
+	/** 空のスナップショット */
+	static final ProfileSnapshot EMPTY = new ProfileSnapshot(new LinkedHashMap<String, Map<String, String>>());
+
+	/** セクション */
+	private final String[] sections;
+
+	/** 名前 */
+	private final String[] names;
+
+	/** 値 */
+	private final String[] values;
+
+	/** 整数値 */
+	private final Integer[] integers;
+
+	/** 整数値 */
+	private final Long[] longs;
+
+	/** 浮動小数点数値 */
+	private final Float[] floats;
+
+	/** 浮動小数点数値 */
+	private final Double[] doubles;
+
+	/** 真偽値 */
+	private final Boolean[] booleans;
+
+	/** ハッシュテーブル(エントリの位置 + 1。0は空き) */
+	private final int[] table;
+
+	/** ハッシュテーブルのマスク */
+	private final int mask;
+
+	/**
+	 * iniファイルからスナップショットを生成する。
+	 * 
+	 * @param ini iniファイル
+	 * @return スナップショット
+	 */
+	public static ProfileSnapshot of(final IniFile ini) {
+		Map<String, Map<String, String>> data = new LinkedHashMap<String, Map<String, String>>();
+		for (String section : ini.getSections()) {
+			Map<String, String> map = new LinkedHashMap<String, String>();
+			for (String name : ini.getNames(section)) {
+				map.put(name, ini.get(section, name, (String) null));
+			}
+			data.put(section, map);
+		}
+		return new ProfileSnapshot(data);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param data データ
+	 */
+	ProfileSnapshot(final Map<String, Map<String, String>> data) {
+		int size = 0;
+		for (Map<String, String> map : data.values()) {
+			size += map.size();
+		}
+
+		sections = new String[size];
+		names = new String[size];
+		values = new String[size];
+		integers = new Integer[size];
+		longs = new Long[size];
+		floats = new Float[size];
+		doubles = new Double[size];
+		booleans = new Boolean[size];
+
+		int capacity = 2;
+		while (capacity < size * 2) {
+			capacity <<= 1;
+		}
+		table = new int[capacity];
+		mask = capacity - 1;
+
+		int index = 0;
+		for (Map.Entry<String, Map<String, String>> section : data.entrySet()) {
+			for (Map.Entry<String, String> entry : section.getValue().entrySet()) {
+				String value = entry.getValue();
+				sections[index] = section.getKey();
+				names[index] = entry.getKey();
+				values[index] = value;
+				integers[index] = ProfileValues.toInteger(value);
+				longs[index] = ProfileValues.toLong(value);
+				floats[index] = ProfileValues.toFloat(value);
+				doubles[index] = ProfileValues.toDouble(value);
+				booleans[index] = ProfileValues.toBoolean(value);
+
+				int slot = hash(section.getKey(), entry.getKey()) & mask;
+				while (0 != table[slot]) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = index + 1;
+				index++;
+			}
+		}
+	}
+
+	/**
+	 * エントリ数を取得する。
+	 * 
+	 * @return エントリ数
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * スナップショットの内容をコピーする。
+	 * 
+	 * @return データ
+	 */
+	Map<String, Map<String, String>> toMap() {
+		Map<String, Map<String, String>> data = new LinkedHashMap<String, Map<String, String>>();
+		for (int i = 0; i < values.length; i++) {
+			Map<String, String> map = data.get(sections[i]);
+			if (null == map) {
+				map = new LinkedHashMap<String, String>();
+				data.put(sections[i], map);
+			}
+			map.put(names[i], values[i]);
+		}
+		return data;
+	}
+
+	/**
+	 * 別のスナップショットとの差分を取得する。
+	 * 
+	 * @param other 比較対象のスナップショット
+	 * @return 追加・変更・削除された値のキー
+	 */
+	Set<ProfileKey> diff(final ProfileSnapshot other) {
+		Set<ProfileKey> keys = new HashSet<ProfileKey>();
+		for (int i = 0; i < values.length; i++) {
+			int index = other.indexOf(sections[i], names[i]);
+			if (-1 == index || !equals(values[i], other.values[index])) {
+				keys.add(new ProfileKey(sections[i], names[i]));
+			}
+		}
+		for (int i = 0; i < other.values.length; i++) {
+			if (-1 == indexOf(other.sections[i], other.names[i])) {
+				keys.add(new ProfileKey(other.sections[i], other.names[i]));
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * エントリのセクションを取得する。
+	 * 
+	 * @param index エントリの位置
+	 * @return セクション
+	 */
+	String getSection(final int index) {
+		return sections[index];
+	}
+
+	/**
+	 * エントリの名前を取得する。
+	 * 
+	 * @param index エントリの位置
+	 * @return 名前
+	 */
+	String getName(final int index) {
+		return names[index];
+	}
+
+	/**
+	 * エントリの値を取得する。
+	 * 
+	 * @param index エントリの位置
+	 * @return 値
+	 */
+	String getValue(final int index) {
+		return values[index];
+	}
+
+	/**
+	 * エントリの位置を取得する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @return エントリの位置。存在しない場合、<code>-1</code>
+	 */
+	int indexOf(final String section, final String name) {
+		if (null == section || null == name) {
+			return -1;
+		}
+		int slot = hash(section, name) & mask;
+		int entry;
+		while (0 != (entry = table[slot])) {
+			int index = entry - 1;
+			if (name.equals(names[index]) && section.equals(sections[index])) {
+				return index;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private static boolean equals(final String s1, final String s2) {
+		return (null == s1) ? null == s2 : s1.equals(s2);
+	}
+
+	/**
+	 * ハッシュ値を算出する。
+	 * 
+	 * @param section セクション
+	 * @param name 名前
+	 * @return ハッシュ値
+	 */
+	private static int hash(final String section, final String name) {
+		int h = section.hashCode() * 31 + name.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		int index = indexOf(section, name);
+		return (-1 == index) ? def : values[index];
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		int index = indexOf(section, name);
+		return (-1 == index || null == integers[index]) ? def : integers[index];
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		int index = indexOf(section, name);
+		return (-1 == index || null == longs[index]) ? def : longs[index];
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		int index = indexOf(section, name);
+		return (-1 == index || null == floats[index]) ? def : floats[index];
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		int index = indexOf(section, name);
+		return (-1 == index || null == doubles[index]) ? def : doubles[index];
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		int index = indexOf(section, name);
+		return (-1 == index || null == booleans[index]) ? def : booleans[index];
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void remove(final String section, final String name) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+
+	@Override
+	public void remove(final String section) {
+		throw new UnsupportedOperationException("ProfileSnapshot is read-only.");
+	}
+}
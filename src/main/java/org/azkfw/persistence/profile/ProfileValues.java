@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、プロファイルの値の変換を行うユーティリティクラスです。
+ * <p>
+ * 変換規則は {@link IniFile} と同一です。値が空の場合や変換できない場合は <code>null</code> を返します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class ProfileValues {
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ProfileValues() {
+
+	}
+
+	/**
+	 * 値を整数に変換する。
+	 * 
+	 * @param s 値
+	 * @return 変換結果
+	 */
+	public static Integer toInteger(final String s) {
+		if (StringUtility.isNotEmpty(s)) {
+			try {
+				return Integer.valueOf(s);
+			} catch (NumberFormatException ex) {
+				// none
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 値を整数に変換する。
+	 * 
+	 * @param s 値
+	 * @return 変換結果
+	 */
+	public static Long toLong(final String s) {
+		if (StringUtility.isNotEmpty(s)) {
+			try {
+				return Long.valueOf(s);
+			} catch (NumberFormatException ex) {
+				// none
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 値を浮動小数点数に変換する。
+	 * 
+	 * @param s 値
+	 * @return 変換結果
+	 */
+	public static Float toFloat(final String s) {
+		if (StringUtility.isNotEmpty(s)) {
+			try {
+				return Float.valueOf(s);
+			} catch (NumberFormatException ex) {
+				// none
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 値を浮動小数点数に変換する。
+	 * 
+	 * @param s 値
+	 * @return 変換結果
+	 */
+	public static Double toDouble(final String s) {
+		if (StringUtility.isNotEmpty(s)) {
+			try {
+				return Double.valueOf(s);
+			} catch (NumberFormatException ex) {
+				// none
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 値を真偽値に変換する。
+	 * <p>
+	 * <code>true</code>, <code>on</code>, <code>1</code> を真、<code>false</code>, <code>off</code>, <code>0</code> を偽とします。
+	 * </p>
+	 * 
+	 * @param s 値
+	 * @return 変換結果
+	 */
+	public static Boolean toBoolean(final String s) {
+		if (StringUtility.isNotEmpty(s)) {
+			String buf = s.toLowerCase();
+			if ("true".equals(buf) || "on".equals(buf) || "1".equals(buf)) {
+				return Boolean.TRUE;
+			} else if ("false".equals(buf) || "off".equals(buf) || "0".equals(buf)) {
+				return Boolean.FALSE;
+			}
+		}
+		return null;
+	}
+}
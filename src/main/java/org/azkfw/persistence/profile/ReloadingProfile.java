@@ -0,0 +1,390 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.lang.LoggingObject;
+
+/**
+ * このクラスは、iniファイルの変更を検知して自動的に再読み込みを行うプロファイルクラスです。
+ * <p>
+ * {@link #start()} を呼び出すと監視スレッドが起動し、{@link WatchService} でファイルの変更を監視します。 {@link WatchService}
+ * が利用できない場合や通知が欠落した場合に備え、ファイルの更新日時とサイズの定期的な確認(ポーリング)も行います。
+ * </p>
+ * <p>
+ * 再読み込みは監視スレッドで行われ、読み込み完了後にスナップショットを差し替えます。 値の取得は常に差し替え前または差し替え後のスナップショットを参照するため、
+ * 再読み込み中に値の取得が待たされることはありません。 値が変更された場合、登録されたリスナーに変更されたキーが通知されます。
+ * リスナーで発生した実行時例外はログに出力され、監視は継続されます。
+ * </p>
+ * <p>
+ * ファイルが正となるため、このクラスは値の変更をサポートしません。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ReloadingProfile extends LoggingObject implements ObservableProfile {
+
+	/** ファイルの書き込み完了を待つ時間(ミリ秒) */
+	private static final long SETTLE_INTERVAL = 100;
+
+	/** iniファイル */
+	private final File file;
+
+	/** 文字コード */
+	private final Charset charset;
+
+	/** リスナー */
+	private final List<ProfileListener> listeners;
+
+	/** スナップショット */
+	private volatile ProfileSnapshot snapshot;
+
+	/** ポーリング間隔(ミリ秒) */
+	private volatile long pollInterval;
+
+	/** 読み込み時のファイルの更新日時 */
+	private long lastModified;
+
+	/** 読み込み時のファイルのサイズ */
+	private long length;
+
+	/** 監視スレッド */
+	private Thread watcher;
+
+	/** 監視サービス */
+	private volatile WatchService watchService;
+
+	/** 監視中フラグ */
+	private volatile boolean running;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 生成時にファイルを読み込みます。
+	 * </p>
+	 * 
+	 * @param file iniファイル
+	 * @param charset 文字コード
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public ReloadingProfile(final File file, final Charset charset) throws IOException {
+		super(ReloadingProfile.class);
+		this.file = file.getAbsoluteFile();
+		this.charset = charset;
+		listeners = new CopyOnWriteArrayList<ProfileListener>();
+		pollInterval = 5000;
+		snapshot = ProfileSnapshot.EMPTY;
+		reload();
+	}
+
+	/**
+	 * iniファイルを取得する。
+	 * 
+	 * @return iniファイル
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * ポーリング間隔を設定する。
+	 * 
+	 * @param interval ポーリング間隔
+	 * @param unit 時間単位
+	 */
+	public void setPollInterval(final long interval, final TimeUnit unit) {
+		pollInterval = Math.max(1, unit.toMillis(interval));
+	}
+
+	/**
+	 * 現在のスナップショットを取得する。
+	 * 
+	 * @return スナップショット
+	 */
+	public ProfileSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	@Override
+	public void addProfileListener(final ProfileListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeProfileListener(final ProfileListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * ファイルの監視を開始する。
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			Path directory = file.getParentFile().toPath();
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException | UnsupportedOperationException ex) {
+			// ポーリングのみで監視する
+			closeWatchService();
+		}
+
+		watcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watch();
+			}
+		}, "ReloadingProfile-" + file.getName());
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * ファイルの監視を停止する。
+	 */
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			running = false;
+			closeWatchService();
+			thread = watcher;
+			watcher = null;
+		}
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * ファイルを再読み込みする。
+	 * <p>
+	 * 値が変更された場合、リスナーに通知します。
+	 * </p>
+	 * 
+	 * @return 値が変更された場合、<code>true</code>
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public boolean reload() throws IOException {
+		Set<ProfileKey> keys = null;
+		synchronized (file) {
+			long modified = file.lastModified();
+			long size = file.length();
+
+			IniFile ini = new IniFile();
+			new MappedIniFileReader(charset).read(file, ini);
+			ProfileSnapshot newSnapshot = ProfileSnapshot.of(ini);
+
+			lastModified = modified;
+			length = size;
+
+			ProfileSnapshot oldSnapshot = snapshot;
+			keys = oldSnapshot.diff(newSnapshot);
+			if (keys.isEmpty()) {
+				return false;
+			}
+			snapshot = newSnapshot;
+		}
+
+		for (ProfileListener listener : listeners) {
+			try {
+				listener.profileChanged(this, keys);
+			} catch (RuntimeException ex) {
+				error(String.format("Profile listener failed.[file=%s, listener=%s, cause=%s]", file.getPath(), listener, ex));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * ファイルを監視する。
+	 */
+	private void watch() {
+		while (running) {
+			try {
+				boolean changed = false;
+
+				WatchService service = watchService;
+				if (null != service) {
+					WatchKey key = service.poll(pollInterval, TimeUnit.MILLISECONDS);
+					if (null != key) {
+						for (WatchEvent<?> event : key.pollEvents()) {
+							Object context = event.context();
+							if (context instanceof Path && file.getName().equals(((Path) context).getFileName().toString())) {
+								changed = true;
+							}
+						}
+						key.reset();
+					}
+				} else {
+					Thread.sleep(pollInterval);
+				}
+
+				if (changed || isModified()) {
+					awaitSettled();
+					reload();
+				}
+			} catch (InterruptedException | ClosedWatchServiceException ex) {
+				break;
+			} catch (IOException | RuntimeException ex) {
+				// 書き込み途中などで読み込めない場合は次回の確認で再読み込みする
+				warn(String.format("Profile reload failed.[file=%s, cause=%s]", file.getPath(), ex));
+			}
+		}
+	}
+
+	/**
+	 * ファイルが読み込み時から変更されているか判断する。
+	 * 
+	 * @return 変更されている場合、<code>true</code>
+	 */
+	private boolean isModified() {
+		synchronized (file) {
+			return file.lastModified() != lastModified || file.length() != length;
+		}
+	}
+
+	/**
+	 * ファイルの書き込みが完了するまで待機する。
+	 * 
+	 * @throws InterruptedException 割り込みが発生した場合
+	 */
+	private void awaitSettled() throws InterruptedException {
+		long modified = file.lastModified();
+		long size = file.length();
+		while (true) {
+			Thread.sleep(SETTLE_INTERVAL);
+			long m = file.lastModified();
+			long s = file.length();
+			if (m == modified && s == size) {
+				break;
+			}
+			modified = m;
+			size = s;
+		}
+	}
+
+	/**
+	 * 監視サービスを閉じる。
+	 */
+	private void closeWatchService() {
+		if (null != watchService) {
+			try {
+				watchService.close();
+			} catch (IOException ex) {
+				// none
+			}
+			watchService = null;
+		}
+	}
+
+	@Override
+	public String get(final String section, final String name, final String def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Integer get(final String section, final String name, final Integer def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Long get(final String section, final String name, final Long def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Float get(final String section, final String name, final Float def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Double get(final String section, final String name, final Double def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public Boolean get(final String section, final String name, final Boolean def) {
+		return snapshot.get(section, name, def);
+	}
+
+	@Override
+	public void put(final String section, final String name, final String value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Integer value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Long value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Float value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Double value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void put(final String section, final String name, final Boolean value) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void remove(final String section, final String name) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+
+	@Override
+	public void remove(final String section) {
+		throw new UnsupportedOperationException("ReloadingProfile is read-only.");
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.azkfw.persistence.codec.BinaryCodec;
+import org.azkfw.persistence.codec.Codec;
+
+/**
+ * このクラスは、{@link Codec} を使用してセッションの属性を変換するシリアライザークラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class CodecSessionSerializer implements SessionSerializer {
+
+	/** コーデック */
+	private final Codec codec;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * {@link BinaryCodec} を使用します。
+	 * </p>
+	 */
+	public CodecSessionSerializer() {
+		this(new BinaryCodec());
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param codec コーデック
+	 */
+	public CodecSessionSerializer(final Codec codec) {
+		this.codec = codec;
+	}
+
+	@Override
+	public byte[] serialize(final Map<String, Object> attributes) throws IOException {
+		return codec.encode(attributes);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> deserialize(final byte[] data) throws IOException {
+		Object value = codec.decode(data);
+		if (!(value instanceof Map)) {
+			throw new IOException("Not a session data.");
+		}
+		return new HashMap<String, Object>((Map<String, Object>) value);
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.store.Store;
+
+/**
+ * このクラスは、{@link ConcurrentSessionStore} が管理するセッションクラスです。
+ * <p>
+ * 属性は {@link ConcurrentHashMap} に保持するため、複数のスレッドから同期なしで読み書きすることができます。 属性へのアクセス毎に最終アクセス日時を更新し、有効期限を延長します。
+ * </p>
+ * <p>
+ * 無効化されたセッションの属性は参照できません。 <code>null</code> を設定した場合は属性を削除します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ConcurrentSession implements Store<String, Object> {
+
+	/** セッションを管理するストア */
+	private final ConcurrentSessionStore store;
+
+	/** セッションID */
+	private final String id;
+
+	/** 属性 */
+	private final ConcurrentHashMap<String, Object> attributes;
+
+	/** 作成日時 */
+	private final long creationTime;
+
+	/** 推定使用メモリ(バイト) */
+	private final AtomicLong memory;
+
+	/** 最終アクセス日時 */
+	private volatile long lastAccessedTime;
+
+	/** 有効期間(ミリ秒) */
+	private volatile long timeToLive;
+
+	/** 有効フラグ */
+	private volatile boolean valid;
+
+	/** 有効期限の管理上の登録位置 */
+	private final AtomicLong wheelPosition = new AtomicLong(ExpiryWheel.UNSCHEDULED);
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param store セッションを管理するストア
+	 * @param id セッションID
+	 * @param timeToLive 有効期間(ミリ秒)。0以下の場合、無期限
+	 */
+	protected ConcurrentSession(final ConcurrentSessionStore store, final String id, final long timeToLive) {
+		this.store = store;
+		this.id = id;
+		this.timeToLive = timeToLive;
+		attributes = new ConcurrentHashMap<String, Object>(8, 0.75f, 2);
+		creationTime = System.currentTimeMillis();
+		lastAccessedTime = creationTime;
+		memory = new AtomicLong(estimate(id, null));
+		valid = true;
+	}
+
+	/**
+	 * セッションIDを取得する。
+	 * 
+	 * @return セッションID
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * 作成日時を取得する。
+	 * 
+	 * @return 作成日時(ミリ秒)
+	 */
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * 最終アクセス日時を取得する。
+	 * 
+	 * @return 最終アクセス日時(ミリ秒)
+	 */
+	public long getLastAccessedTime() {
+		return lastAccessedTime;
+	}
+
+	/**
+	 * 有効期間を設定する。
+	 * 
+	 * @param duration 有効期間。0以下の場合、無期限
+	 * @param unit 時間単位
+	 */
+	public void setTimeToLive(final long duration, final TimeUnit unit) {
+		timeToLive = unit.toMillis(duration);
+		if (0 < timeToLive) {
+			store.schedule(this);
+		}
+	}
+
+	/**
+	 * 有効期間を取得する。
+	 * 
+	 * @return 有効期間(ミリ秒)。0以下の場合、無期限
+	 */
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * 有効期限を取得する。
+	 * 
+	 * @return 有効期限(ミリ秒)。無期限の場合、{@link Long#MAX_VALUE}
+	 */
+	public long getExpiryTime() {
+		long ttl = timeToLive;
+		return (0 < ttl) ? lastAccessedTime + ttl : Long.MAX_VALUE;
+	}
+
+	/**
+	 * セッションが有効か判断する。
+	 * 
+	 * @return 有効な場合、<code>true</code>
+	 */
+	public boolean isValid() {
+		return valid && getExpiryTime() > System.currentTimeMillis();
+	}
+
+	/**
+	 * セッションを無効化する。
+	 */
+	public void invalidate() {
+		store.invalidate(id);
+	}
+
+	/**
+	 * 属性名の一覧を取得する。
+	 * 
+	 * @return 属性名
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(attributes.keySet());
+	}
+
+	/**
+	 * 推定使用メモリを取得する。
+	 * 
+	 * @return 推定使用メモリ(バイト)
+	 */
+	public long getMemoryUsage() {
+		return memory.get();
+	}
+
+	/**
+	 * 最終アクセス日時を更新する。
+	 */
+	protected void touch() {
+		lastAccessedTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * 属性を変更した時に呼び出される。
+	 * 
+	 * @param key 属性名
+	 */
+	protected void changed(final String key) {
+
+	}
+
+	/**
+	 * 有効期限の管理上の登録位置を取得する。
+	 * 
+	 * @return 登録位置
+	 */
+	AtomicLong getWheelPosition() {
+		return wheelPosition;
+	}
+
+	/**
+	 * 属性を取得する。
+	 * 
+	 * @return 属性
+	 */
+	Map<String, Object> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * 永続化された属性を復元する。
+	 * <p>
+	 * ストアに登録する前に呼び出します。変更として扱いません。
+	 * </p>
+	 * 
+	 * @param values 属性
+	 */
+	void restore(final Map<String, Object> values) {
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			if (null != entry.getValue()) {
+				attributes.put(entry.getKey(), entry.getValue());
+				memory.addAndGet(estimate(entry.getKey(), entry.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * セッションを破棄済みにする。
+	 * 
+	 * @return 有効だった場合、<code>true</code>
+	 */
+	synchronized boolean destroy() {
+		if (!valid) {
+			return false;
+		}
+		valid = false;
+		return true;
+	}
+
+	@Override
+	public Object get(final String key) {
+		if (!valid) {
+			return null;
+		}
+		touch();
+		return attributes.get(key);
+	}
+
+	@Override
+	public void put(final String key, final Object value) {
+		if (null == value) {
+			remove(key);
+			return;
+		}
+		if (!valid) {
+			throw new IllegalStateException("Session is invalidated.[" + id + "]");
+		}
+		touch();
+		Object old = attributes.put(key, value);
+		long delta = estimate(key, value) - ((null == old) ? 0 : estimate(key, old));
+		account(delta);
+		changed(key);
+	}
+
+	@Override
+	public boolean containsKey(final String key) {
+		if (!valid) {
+			return false;
+		}
+		touch();
+		return attributes.containsKey(key);
+	}
+
+	@Override
+	public void remove(final String key) {
+		if (!valid) {
+			return;
+		}
+		touch();
+		Object old = attributes.remove(key);
+		if (null != old) {
+			account(-estimate(key, old));
+			changed(key);
+		}
+	}
+
+	@Override
+	public void clear() {
+		if (!valid) {
+			return;
+		}
+		touch();
+		for (String key : attributes.keySet()) {
+			remove(key);
+		}
+	}
+
+	/**
+	 * 使用メモリを加算する。
+	 * 
+	 * @param delta 増減量(バイト)
+	 */
+	void account(final long delta) {
+		if (0 != delta) {
+			memory.addAndGet(delta);
+			store.account(this, delta);
+		}
+	}
+
+	/**
+	 * 属性の使用メモリを推定する。
+	 * 
+	 * @param key 属性名
+	 * @param value 値
+	 * @return 推定使用メモリ(バイト)
+	 */
+	static long estimate(final String key, final Object value) {
+		long size = 64 + 2L * key.length();
+		if (null == value) {
+			return size;
+		} else if (value instanceof String) {
+			return size + 40 + 2L * ((String) value).length();
+		} else if (value instanceof byte[]) {
+			return size + 16 + ((byte[]) value).length;
+		} else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+			return size + 16;
+		}
+		return size + 64;
+	}
+}
@@ -0,0 +1,418 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.lang.LoggingObject;
+
+/**
+ * このクラスは、多数のセッションを複数のスレッドから並行して扱うためのセッションストアクラスです。
+ * <p>
+ * セッションは {@link ConcurrentHashMap} で管理し、セッションおよび属性の参照・更新でロックを取得しません。 取得したセッションは
+ * {@link SessionSupport#setSession(org.azkfw.store.Store)} に設定することができます。
+ * </p>
+ * <p>
+ * 有効期限はタイミングホイールで管理し、期限切れの検出で全セッションを走査しません。 {@link #start()} で定期的な破棄を開始するか、{@link #expire()}
+ * を呼び出してください。 推定使用メモリが上限を超えた場合は、有効期限の近いセッションから破棄します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ConcurrentSessionStore extends LoggingObject {
+
+	/** セッション */
+	private final ConcurrentHashMap<String, ConcurrentSession> sessions;
+
+	/** 有効期限の管理 */
+	private final ExpiryWheel<ConcurrentSession> wheel;
+
+	/** 1スロットの時間(ミリ秒) */
+	private final long tickDuration;
+
+	/** 推定使用メモリ(バイト) */
+	private final AtomicLong memory;
+
+	/** 使用メモリの上限(バイト) */
+	private volatile long maxMemory;
+
+	/** 既定の有効期間(ミリ秒) */
+	private volatile long defaultTimeToLive;
+
+	/** 破棄スレッド */
+	private Thread expirer;
+
+	/** 実行中フラグ */
+	private volatile boolean running;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 1秒単位で有効期限を管理します。
+	 * </p>
+	 */
+	public ConcurrentSessionStore() {
+		this(1000, 512);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param tickDuration 有効期限の精度(ミリ秒)
+	 * @param wheelSize タイミングホイールのスロット数
+	 */
+	public ConcurrentSessionStore(final long tickDuration, final int wheelSize) {
+		super(ConcurrentSessionStore.class);
+		this.tickDuration = Math.max(1, tickDuration);
+		sessions = new ConcurrentHashMap<String, ConcurrentSession>(1024, 0.75f, Runtime.getRuntime().availableProcessors() * 4);
+		wheel = new ExpiryWheel<ConcurrentSession>(this.tickDuration, wheelSize) {
+			@Override
+			protected long getExpiryTime(final ConcurrentSession session) {
+				return session.getExpiryTime();
+			}
+
+			@Override
+			protected boolean isValid(final ConcurrentSession session) {
+				return sessions.get(session.getId()) == session;
+			}
+
+			@Override
+			protected AtomicLong getPosition(final ConcurrentSession session) {
+				return session.getWheelPosition();
+			}
+		};
+		memory = new AtomicLong();
+		maxMemory = Long.MAX_VALUE;
+		defaultTimeToLive = TimeUnit.MINUTES.toMillis(30);
+	}
+
+	/**
+	 * 既定の有効期間を設定する。
+	 * 
+	 * @param duration 有効期間。0以下の場合、無期限
+	 * @param unit 時間単位
+	 */
+	public void setDefaultTimeToLive(final long duration, final TimeUnit unit) {
+		defaultTimeToLive = unit.toMillis(duration);
+	}
+
+	/**
+	 * 使用メモリの上限を設定する。
+	 * <p>
+	 * 使用メモリは属性の型と文字列長から推定した値です。
+	 * </p>
+	 * 
+	 * @param bytes 上限(バイト)。0以下の場合、無制限
+	 */
+	public void setMaxMemory(final long bytes) {
+		maxMemory = (0 < bytes) ? bytes : Long.MAX_VALUE;
+		evict(null);
+	}
+
+	/**
+	 * 推定使用メモリを取得する。
+	 * 
+	 * @return 推定使用メモリ(バイト)
+	 */
+	public long getMemoryUsage() {
+		return memory.get();
+	}
+
+	/**
+	 * セッション数を取得する。
+	 * 
+	 * @return セッション数
+	 */
+	public int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * セッションを作成する。
+	 * <p>
+	 * 新しいセッションIDは永続化されていないため、{@link #load(String)} は呼び出しません。
+	 * </p>
+	 * 
+	 * @return セッション
+	 */
+	public ConcurrentSession createSession() {
+		String id = UUID.randomUUID().toString();
+		return register(id, newSession(id, defaultTimeToLive));
+	}
+
+	/**
+	 * セッションを取得する。
+	 * 
+	 * @param id セッションID
+	 * @return セッション。存在しない場合、<code>null</code>
+	 */
+	public ConcurrentSession getSession(final String id) {
+		return getSession(id, false);
+	}
+
+	/**
+	 * セッションを取得する。
+	 * 
+	 * @param id セッションID
+	 * @param create 存在しない場合に作成する場合、<code>true</code>
+	 * @return セッション。存在せず作成しない場合、<code>null</code>
+	 */
+	public ConcurrentSession getSession(final String id, final boolean create) {
+		ConcurrentSession session = sessions.get(id);
+		if (null != session) {
+			if (session.isValid()) {
+				session.touch();
+				return session;
+			}
+			remove(session, false);
+		}
+		session = load(id);
+		if (null == session) {
+			if (!create) {
+				return null;
+			}
+			session = newSession(id, defaultTimeToLive);
+		}
+		return register(id, session);
+	}
+
+	/**
+	 * セッションをストアへ登録する。
+	 * 
+	 * @param id セッションID
+	 * @param session セッション
+	 * @return 登録したセッション。既に登録されていた場合、登録済みのセッション
+	 */
+	private ConcurrentSession register(final String id, final ConcurrentSession session) {
+		// 公開前のセッションは他のスレッドから変更されないため、公開前に加算して二重計上を防ぐ
+		long usage = session.getMemoryUsage();
+		memory.addAndGet(usage);
+		ConcurrentSession current = sessions.putIfAbsent(id, session);
+		if (null != current) {
+			memory.addAndGet(-usage);
+			current.touch();
+			return current;
+		}
+		wheel.schedule(session);
+		if (maxMemory < memory.get()) {
+			evict(session);
+		}
+		return session;
+	}
+
+	/**
+	 * セッションを無効化する。
+	 * 
+	 * @param id セッションID
+	 */
+	public void invalidate(final String id) {
+		ConcurrentSession session = sessions.get(id);
+		if (null != session) {
+			remove(session, false);
+		}
+	}
+
+	/**
+	 * 全てのセッションを無効化する。
+	 */
+	public void clear() {
+		for (ConcurrentSession session : sessions.values()) {
+			remove(session, false);
+		}
+	}
+
+	/**
+	 * 有効期限の切れたセッションを破棄する。
+	 * 
+	 * @return 破棄したセッション数
+	 */
+	public int expire() {
+		List<ConcurrentSession> expired = wheel.advance(System.currentTimeMillis());
+		int count = 0;
+		for (ConcurrentSession session : expired) {
+			if (remove(session, false)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 定期的な破棄を開始する。
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+
+		expirer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (running) {
+					try {
+						Thread.sleep(tickDuration);
+						expire();
+					} catch (InterruptedException ex) {
+						// 停止
+					} catch (RuntimeException ex) {
+						error(String.format("Session expiration failed.[message=%s]", ex.getMessage()));
+					}
+				}
+			}
+		}, "ConcurrentSessionStore");
+		expirer.setDaemon(true);
+		expirer.start();
+	}
+
+	/**
+	 * 定期的な破棄を停止する。
+	 */
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			running = false;
+			thread = expirer;
+			expirer = null;
+		}
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * セッションを生成する。
+	 * 
+	 * @param id セッションID
+	 * @param timeToLive 有効期間(ミリ秒)
+	 * @return セッション
+	 */
+	protected ConcurrentSession newSession(final String id, final long timeToLive) {
+		return new ConcurrentSession(this, id, timeToLive);
+	}
+
+	/**
+	 * ストアに存在しないセッションを読み込む。
+	 * <p>
+	 * 永続化を行うサブクラスで実装します。
+	 * </p>
+	 * 
+	 * @param id セッションID
+	 * @return セッション。存在しない場合、<code>null</code>
+	 */
+	protected ConcurrentSession load(final String id) {
+		return null;
+	}
+
+	/**
+	 * セッションがストアから削除された時に呼び出される。
+	 * 
+	 * @param session セッション
+	 * @param evicted 使用メモリの上限により破棄された場合、<code>true</code>。無効化または有効期限切れの場合、<code>false</code>
+	 */
+	protected void removed(final ConcurrentSession session, final boolean evicted) {
+
+	}
+
+	/**
+	 * セッションを削除する。
+	 * 
+	 * @param session セッション
+	 * @param evicted 使用メモリの上限により破棄する場合、<code>true</code>
+	 * @return 削除した場合、<code>true</code>
+	 */
+	private boolean remove(final ConcurrentSession session, final boolean evicted) {
+		if (!sessions.remove(session.getId(), session)) {
+			return false;
+		}
+		if (session.destroy()) {
+			memory.addAndGet(-session.getMemoryUsage());
+			removed(session, evicted);
+		}
+		return true;
+	}
+
+	/**
+	 * セッションを有効期限の管理に登録する。
+	 * 
+	 * @param session セッション
+	 */
+	void schedule(final ConcurrentSession session) {
+		if (sessions.get(session.getId()) == session) {
+			wheel.schedule(session);
+		}
+	}
+
+	/**
+	 * 使用メモリを加算する。
+	 * 
+	 * @param session セッション
+	 * @param delta 増減量(バイト)
+	 */
+	void account(final ConcurrentSession session, final long delta) {
+		if (sessions.get(session.getId()) != session) {
+			return;
+		}
+		if (maxMemory < memory.addAndGet(delta)) {
+			evict(session);
+		}
+	}
+
+	/**
+	 * 使用メモリが上限を下回るまでセッションを破棄する。
+	 * 
+	 * @param current 変更中のセッション(破棄しない)
+	 */
+	private void evict(final ConcurrentSession current) {
+		while (maxMemory < memory.get()) {
+			ConcurrentSession session = wheel.poll(current);
+			if (null == session) {
+				session = any(current);
+				if (null == session) {
+					return;
+				}
+			}
+			if (remove(session, true)) {
+				debug(String.format("Session evicted.[id=%s]", session.getId()));
+			}
+		}
+	}
+
+	private ConcurrentSession any(final ConcurrentSession current) {
+		for (Iterator<ConcurrentSession> it = sessions.values().iterator(); it.hasNext();) {
+			ConcurrentSession session = it.next();
+			if (session != current) {
+				return session;
+			}
+		}
+		return null;
+	}
+}
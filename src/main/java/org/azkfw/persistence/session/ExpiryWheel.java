@@ -0,0 +1,331 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * このクラスは、有効期限の管理を行う2階層のタイミングホイールです。
+ * <p>
+ * 下位のホイールは1スロットが1ティック、上位のホイールは1スロットが下位のホイール1周分の時間を表します。 1周以内に期限を迎える要素は下位のホイールに、それ以降の要素は上位のホイールに登録し、
+ * 上位のスロットは対応する時間になった時に下位のホイールへ展開します。 {@link #advance(long)} は現在時刻までのスロットのみを走査するため、要素数に関係なく一定のコストで期限切れの要素を検出できます。
+ * </p>
+ * <p>
+ * 要素の有効期限は登録後に延長されることを前提としており、スロットの走査時に有効期限が過ぎていない要素は新しい有効期限のスロットへ再登録します。 そのため、要素へのアクセス毎に再登録する必要はありません。
+ * 要素毎に登録位置を保持し、既に有効期限以前の位置に登録されている要素は再登録しないため、同じ要素が重複して登録されることはありません。 位置が変わった古い登録はスロットの走査時に破棄されます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ * @param <E> 要素の型
+ */
+abstract class ExpiryWheel<E> {
+
+	/** 未登録を表す位置 */
+	static final long UNSCHEDULED = Long.MIN_VALUE;
+
+	/** 1スロットの時間(ミリ秒) */
+	private final long tickDuration;
+
+	/** 下位のスロット */
+	private final Queue<E>[] wheel;
+
+	/** 上位のスロット */
+	private final Queue<E>[] overflow;
+
+	/** スロット数 */
+	private final int size;
+
+	/** スロットのマスク */
+	private final int mask;
+
+	/** 走査済みのティック */
+	private volatile long tick;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param tickDuration 1スロットの時間(ミリ秒)
+	 * @param size スロット数(2のべき乗に切り上げます)
+	 */
+	ExpiryWheel(final long tickDuration, final int size) {
+		this(tickDuration, size, System.currentTimeMillis());
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param tickDuration 1スロットの時間(ミリ秒)
+	 * @param size スロット数(2のべき乗に切り上げます)
+	 * @param start 開始時刻(ミリ秒)
+	 */
+	@SuppressWarnings("unchecked")
+	ExpiryWheel(final long tickDuration, final int size, final long start) {
+		int capacity = 2;
+		while (capacity < size) {
+			capacity <<= 1;
+		}
+		this.tickDuration = Math.max(1, tickDuration);
+		this.size = capacity;
+		wheel = new Queue[capacity];
+		overflow = new Queue[capacity];
+		for (int i = 0; i < capacity; i++) {
+			wheel[i] = new ConcurrentLinkedQueue<E>();
+			overflow[i] = new ConcurrentLinkedQueue<E>();
+		}
+		mask = capacity - 1;
+		tick = start / this.tickDuration;
+	}
+
+	/**
+	 * 要素の有効期限を取得する。
+	 * 
+	 * @param element 要素
+	 * @return 有効期限(ミリ秒)。無期限の場合、{@link Long#MAX_VALUE}
+	 */
+	protected abstract long getExpiryTime(final E element);
+
+	/**
+	 * 要素が有効か判断する。
+	 * <p>
+	 * 無効な要素はスロットの走査時に破棄されます。
+	 * </p>
+	 * 
+	 * @param element 要素
+	 * @return 有効な場合、<code>true</code>
+	 */
+	protected abstract boolean isValid(final E element);
+
+	/**
+	 * 要素の登録位置を取得する。
+	 * <p>
+	 * 要素毎に、このホイール専用の領域を {@link #UNSCHEDULED} で初期化して返してください。
+	 * </p>
+	 * 
+	 * @param element 要素
+	 * @return 登録位置
+	 */
+	protected abstract AtomicLong getPosition(final E element);
+
+	/**
+	 * 要素を登録する。
+	 * <p>
+	 * 既に有効期限以前の位置に登録されている場合は何もしません。
+	 * </p>
+	 * 
+	 * @param element 要素
+	 */
+	void schedule(final E element) {
+		AtomicLong position = getPosition(element);
+		while (true) {
+			long time = getExpiryTime(element);
+			if (Long.MAX_VALUE == time) {
+				return;
+			}
+			long current = position.get();
+			long now = tick;
+			long target = Math.max(time / tickDuration, now + 1);
+			if (isScheduled(current, target, now)) {
+				return;
+			}
+
+			long next;
+			Queue<E> slot;
+			if (target - now <= mask) {
+				next = target;
+				slot = wheel[(int) (target & mask)];
+			} else {
+				long c = Math.min(target / size, now / size + mask);
+				next = -(c + 1);
+				slot = overflow[(int) (c & mask)];
+			}
+			if (position.compareAndSet(current, next)) {
+				slot.offer(element);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 現在時刻までのスロットを走査する。
+	 * 
+	 * @param now 現在時刻(ミリ秒)
+	 * @return 有効期限が過ぎた要素
+	 */
+	synchronized List<E> advance(final long now) {
+		List<E> expired = new ArrayList<E>();
+		long current = now / tickDuration;
+		long from = tick + 1;
+		if (from > current) {
+			return expired;
+		}
+
+		// 1周以上経過した場合でも各スロットの走査は1回で十分
+		long start = Math.max(from, current - mask);
+		if (start > from) {
+			// 読み飛ばすティックで展開するはずだった上位のスロットを先に展開する
+			// 再登録された要素が後続の同じスロットの走査で破棄されないよう、ティックは展開する位置まで進める
+			long last = (start - 1) / size;
+			for (long c = Math.max((from + mask) / size, last - mask); c <= last; c++) {
+				tick = c * size;
+				drain(overflow[(int) (c & mask)], c, true, now, expired);
+			}
+			tick = start - 1;
+		}
+		for (long t = start; t <= current; t++) {
+			tick = t;
+			if (0 == (t & mask)) {
+				drain(overflow[(int) ((t / size) & mask)], t / size, true, now, expired);
+			}
+			drain(wheel[(int) (t & mask)], t, false, now, expired);
+		}
+		return expired;
+	}
+
+	/**
+	 * 最も有効期限の近い要素を取得する。
+	 * <p>
+	 * 下位のホイールを現在時刻から順に探索し、存在しない場合は上位のホイールを探索します。 上位のホイールでは同じスロット内の順序を考慮しないため、結果は近似的なLRUとなります。
+	 * 登録後に有効期限が延長された要素は再登録して探索を続けます。 要素は登録されたままのため、呼び出し側で無効化してください。
+	 * </p>
+	 * 
+	 * @param exclude 除外する要素(<code>null</code>可)
+	 * @return 要素。存在しない場合、<code>null</code>
+	 */
+	E poll(final E exclude) {
+		long now = tick;
+		for (long t = now + 1; t <= now + mask; t++) {
+			for (Iterator<E> it = wheel[(int) (t & mask)].iterator(); it.hasNext();) {
+				E element = it.next();
+				AtomicLong position = getPosition(element);
+				long m = position.get();
+				if (!isEntry(m, t, false) || !isValid(element)) {
+					it.remove();
+					continue;
+				}
+				if (element == exclude) {
+					continue;
+				}
+				if (getExpiryTime(element) / tickDuration > t) {
+					// 有効期限が延長されている
+					it.remove();
+					if (position.compareAndSet(m, UNSCHEDULED)) {
+						schedule(element);
+					}
+					continue;
+				}
+				return element;
+			}
+		}
+		long base = now / size;
+		for (long c = base + 1; c <= base + mask; c++) {
+			for (Iterator<E> it = overflow[(int) (c & mask)].iterator(); it.hasNext();) {
+				E element = it.next();
+				if (!isEntry(getPosition(element).get(), c, true) || !isValid(element)) {
+					it.remove();
+					continue;
+				}
+				if (element != exclude) {
+					return element;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * スロットの要素を取り出して処理する。
+	 * <p>
+	 * 取り出した要素は登録を解除し、有効期限が過ぎていれば結果へ追加、過ぎていなければ再登録します。 再登録した要素が同じスロットに戻っても繰り返し処理しないよう、先に全て取り出します。
+	 * </p>
+	 * 
+	 * @param slot スロット
+	 * @param t スロットのティック(上位の場合は上位のティック)
+	 * @param upper 上位のスロットの場合、<code>true</code>
+	 * @param now 現在時刻(ミリ秒)
+	 * @param expired 有効期限が過ぎた要素
+	 */
+	private void drain(final Queue<E> slot, final long t, final boolean upper, final long now, final List<E> expired) {
+		E element = slot.poll();
+		if (null == element) {
+			return;
+		}
+		List<E> elements = new ArrayList<E>();
+		do {
+			elements.add(element);
+		} while (null != (element = slot.poll()));
+
+		for (E e : elements) {
+			AtomicLong position = getPosition(e);
+			long m = position.get();
+			if (!isEntry(m, t, upper) || !isValid(e) || !position.compareAndSet(m, UNSCHEDULED)) {
+				continue;
+			}
+			long time = getExpiryTime(e);
+			if (time <= now) {
+				expired.add(e);
+			} else if (Long.MAX_VALUE != time) {
+				schedule(e);
+			}
+		}
+	}
+
+	/**
+	 * 登録位置がスロットの登録か判断する。
+	 * <p>
+	 * 走査が遅れた場合に備え、同じスロットの過去のティックの登録も対象とします。
+	 * </p>
+	 * 
+	 * @param position 登録位置
+	 * @param t スロットのティック(上位の場合は上位のティック)
+	 * @param upper 上位のスロットの場合、<code>true</code>
+	 * @return スロットの登録の場合、<code>true</code>
+	 */
+	private boolean isEntry(final long position, final long t, final boolean upper) {
+		if (UNSCHEDULED == position || (upper == (0 <= position))) {
+			return false;
+		}
+		long p = upper ? -position - 1 : position;
+		return p <= t && 0 == ((p ^ t) & mask);
+	}
+
+	/**
+	 * 有効期限以前の位置に登録済みか判断する。
+	 * 
+	 * @param position 登録位置
+	 * @param target 有効期限のティック
+	 * @param now 走査済みのティック
+	 * @return 登録済みの場合、<code>true</code>
+	 */
+	private boolean isScheduled(final long position, final long target, final long now) {
+		if (UNSCHEDULED == position) {
+			return false;
+		}
+		if (0 <= position) {
+			return now < position && position <= target;
+		}
+		long c = -position - 1;
+		return now / size < c && c * size <= target;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * このクラスは、Java標準のシリアライズを使用するシリアライザークラスです。
+ * <p>
+ * 属性の値は {@link java.io.Serializable} を実装している必要があります。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class JavaSessionSerializer implements SessionSerializer {
+
+	@Override
+	public byte[] serialize(final Map<String, Object> attributes) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+		ObjectOutputStream stream = new ObjectOutputStream(buffer);
+		try {
+			stream.writeObject(new HashMap<String, Object>(attributes));
+		} finally {
+			stream.close();
+		}
+		return buffer.toByteArray();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> deserialize(final byte[] data) throws IOException {
+		ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(data));
+		try {
+			return (Map<String, Object>) stream.readObject();
+		} catch (ClassNotFoundException ex) {
+			throw new IOException(ex);
+		} finally {
+			stream.close();
+		}
+	}
+}
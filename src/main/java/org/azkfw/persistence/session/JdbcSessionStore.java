@@ -0,0 +1,518 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseConnectionManager;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.TransactionCallback;
+import org.azkfw.persistence.database.retry.RetryExecutor;
+
+/**
+ * このクラスは、セッションをデータベースに永続化するセッションストアクラスです。
+ * <p>
+ * セッションはローカルに保持し、属性の変更時には変更済みとして記録するのみでデータベースへはアクセスしません。 変更済みのセッションは一定間隔、または
+ * {@link #flush(String)} の呼び出し時(リクエストの終了時など)にまとめてデータベースへ書き込みます。 ローカルに存在しないセッションは取得時にデータベースから読み込みます。
+ * </p>
+ * <p>
+ * セッションは以下のテーブルに格納します。テーブル名は変更することができます。
+ * </p>
+ * 
+ * <pre>
+ * CREATE TABLE SESSION_STORE (ID VARCHAR(64) NOT NULL PRIMARY KEY, DATA BLOB, LAST_ACCESSED BIGINT NOT NULL, TTL BIGINT NOT NULL);
+ * </pre>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class JdbcSessionStore extends ConcurrentSessionStore {
+
+	/** データベースソース */
+	private final DatabaseSource source;
+
+	/** リトライ処理 */
+	private final RetryExecutor executor;
+
+	/** シリアライザー */
+	private final SessionSerializer serializer;
+
+	/** 変更済みのセッション */
+	private final ConcurrentHashMap<String, PersistentSession> dirty;
+
+	/** 削除するセッション(セッションID, 最終アクセス日時) */
+	private final ConcurrentHashMap<String, Long> deleted;
+
+	/** テーブル名 */
+	private volatile String table;
+
+	/** 1回のバッチで書き込むセッション数 */
+	private volatile int batchSize;
+
+	/** 書き込み間隔(ミリ秒) */
+	private volatile long flushInterval;
+
+	/** 書き込みスレッド */
+	private Thread flusher;
+
+	/** 書き込み中フラグ */
+	private volatile boolean flushing;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param name データベースソース名
+	 * @throws SQLException データベースソースが存在しない場合
+	 */
+	public JdbcSessionStore(final String name) throws SQLException {
+		this(DatabaseConnectionManager.getSource(name), new JavaSessionSerializer());
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param source データベースソース
+	 * @param serializer シリアライザー
+	 */
+	public JdbcSessionStore(final DatabaseSource source, final SessionSerializer serializer) {
+		this.source = source;
+		this.serializer = serializer;
+		executor = new RetryExecutor(source);
+		dirty = new ConcurrentHashMap<String, PersistentSession>();
+		deleted = new ConcurrentHashMap<String, Long>();
+		table = "SESSION_STORE";
+		batchSize = 100;
+		flushInterval = 1000;
+	}
+
+	/**
+	 * テーブル名を設定する。
+	 * 
+	 * @param table テーブル名
+	 */
+	public void setTable(final String table) {
+		this.table = table;
+	}
+
+	/**
+	 * 1回のバッチで書き込むセッション数を設定する。
+	 * 
+	 * @param size セッション数
+	 */
+	public void setBatchSize(final int size) {
+		batchSize = Math.max(1, size);
+	}
+
+	/**
+	 * 書き込み間隔を設定する。
+	 * 
+	 * @param interval 書き込み間隔
+	 * @param unit 時間単位
+	 */
+	public void setFlushInterval(final long interval, final TimeUnit unit) {
+		flushInterval = Math.max(1, unit.toMillis(interval));
+	}
+
+	/**
+	 * 書き込み待ちのセッション数を取得する。
+	 * 
+	 * @return セッション数
+	 */
+	public int getDirtyCount() {
+		return dirty.size();
+	}
+
+	/**
+	 * 定期的な破棄および書き込みを開始する。
+	 */
+	@Override
+	public synchronized void start() {
+		super.start();
+		if (flushing) {
+			return;
+		}
+		flushing = true;
+
+		flusher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (flushing) {
+					try {
+						Thread.sleep(flushInterval);
+						flush();
+					} catch (InterruptedException ex) {
+						// 停止
+					} catch (SQLException ex) {
+						warn(String.format("Session flush failed.[table=%s, message=%s]", table, ex.getMessage()));
+					}
+				}
+			}
+		}, "JdbcSessionStore-" + table);
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * 定期的な破棄および書き込みを停止し、変更済みのセッションを書き込む。
+	 */
+	@Override
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			flushing = false;
+			thread = flusher;
+			flusher = null;
+		}
+		if (null != thread) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		super.stop();
+
+		try {
+			flush();
+		} catch (SQLException ex) {
+			error(String.format("Session flush failed.[table=%s, message=%s]", table, ex.getMessage()));
+		}
+	}
+
+	/**
+	 * 指定したセッションが変更済みの場合、データベースへ書き込む。
+	 * 
+	 * @param id セッションID
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public void flush(final String id) throws SQLException {
+		PersistentSession session = dirty.remove(id);
+		if (null != session) {
+			List<PersistentSession> sessions = new ArrayList<PersistentSession>(1);
+			sessions.add(session);
+			write(sessions);
+		}
+	}
+
+	/**
+	 * 変更済みのセッションをデータベースへ書き込む。
+	 * 
+	 * @return 書き込んだセッション数
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	public int flush() throws SQLException {
+		if (!deleted.isEmpty()) {
+			delete();
+		}
+
+		int count = 0;
+		List<PersistentSession> sessions = new ArrayList<PersistentSession>(batchSize);
+		for (Iterator<PersistentSession> it = dirty.values().iterator(); it.hasNext();) {
+			PersistentSession session = it.next();
+			// 書き込み中に変更された場合は再度登録される
+			if (dirty.remove(session.getId(), session)) {
+				sessions.add(session);
+			}
+			if (sessions.size() >= batchSize) {
+				count += write(sessions);
+				sessions.clear();
+			}
+		}
+		if (!sessions.isEmpty()) {
+			count += write(sessions);
+		}
+		return count;
+	}
+
+	/**
+	 * セッションを書き込む。
+	 * 
+	 * @param sessions セッション
+	 * @return 書き込んだセッション数
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private int write(final List<PersistentSession> sessions) throws SQLException {
+		final List<Object[]> rows = new ArrayList<Object[]>(sessions.size());
+		for (PersistentSession session : sessions) {
+			long accessed = session.getLastAccessedTime();
+			try {
+				byte[] data = serializer.serialize(new HashMap<String, Object>(session.getAttributes()));
+				rows.add(new Object[] { session.getId(), data, accessed, session.getTimeToLive() });
+				session.persistedTime = accessed;
+			} catch (IOException ex) {
+				error(String.format("Session serialize failed, skipped.[id=%s, message=%s]", session.getId(), ex.getMessage()));
+			}
+		}
+		if (rows.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			executor.execute(new TransactionCallback<Void>() {
+				@Override
+				public Void doInTransaction(final DatabaseConnection connection) throws SQLException {
+					upsert(connection.getConnection(), rows);
+					return null;
+				}
+			}, true);
+		} catch (SQLException ex) {
+			for (PersistentSession session : sessions) {
+				session.persistedTime = 0;
+				// 無効化されたセッション以外は再度書き込む
+				if (!deleted.containsKey(session.getId())) {
+					dirty.putIfAbsent(session.getId(), session);
+				}
+			}
+			throw ex;
+		}
+		return rows.size();
+	}
+
+	/**
+	 * セッションを更新または追加する。
+	 * 
+	 * @param con コネクション
+	 * @param rows セッション
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private void upsert(final Connection con, final List<Object[]> rows) throws SQLException {
+		List<Object[]> inserts = new ArrayList<Object[]>();
+		PreparedStatement ps = con.prepareStatement(String.format("UPDATE %s SET DATA = ?, LAST_ACCESSED = ?, TTL = ? WHERE ID = ?",
+				table));
+		try {
+			for (Object[] row : rows) {
+				bindUpdate(ps, row);
+				ps.addBatch();
+			}
+			int[] counts = ps.executeBatch();
+			for (int i = 0; i < rows.size(); i++) {
+				int count = (i < counts.length) ? counts[i] : Statement.SUCCESS_NO_INFO;
+				if (0 > count) {
+					// 件数を返さないドライバー(SUCCESS_NO_INFO)の場合、1件ずつ更新して確認する
+					bindUpdate(ps, rows.get(i));
+					count = ps.executeUpdate();
+				}
+				if (0 == count) {
+					inserts.add(rows.get(i));
+				}
+			}
+		} finally {
+			ps.close();
+		}
+		if (inserts.isEmpty()) {
+			return;
+		}
+		ps = con.prepareStatement(String.format("INSERT INTO %s (ID, DATA, LAST_ACCESSED, TTL) VALUES (?, ?, ?, ?)", table));
+		try {
+			for (Object[] row : inserts) {
+				ps.setString(1, (String) row[0]);
+				ps.setBytes(2, (byte[]) row[1]);
+				ps.setLong(3, (Long) row[2]);
+				ps.setLong(4, (Long) row[3]);
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		} finally {
+			ps.close();
+		}
+	}
+
+	/**
+	 * 更新文にセッションを設定する。
+	 * 
+	 * @param ps 更新文
+	 * @param row セッション
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private void bindUpdate(final PreparedStatement ps, final Object[] row) throws SQLException {
+		ps.setBytes(1, (byte[]) row[1]);
+		ps.setLong(2, (Long) row[2]);
+		ps.setLong(3, (Long) row[3]);
+		ps.setString(4, (String) row[0]);
+	}
+
+	/**
+	 * 無効化されたセッションを削除する。
+	 * <p>
+	 * 他のノードでアクセスされたセッションは削除しません。
+	 * </p>
+	 * 
+	 * @throws SQLException SQL例外が発生した場合
+	 */
+	private void delete() throws SQLException {
+		final Map<String, Long> rows = new HashMap<String, Long>();
+		for (Iterator<Map.Entry<String, Long>> it = deleted.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, Long> entry = it.next();
+			rows.put(entry.getKey(), entry.getValue());
+			it.remove();
+		}
+		try {
+			executor.execute(new TransactionCallback<Void>() {
+				@Override
+				public Void doInTransaction(final DatabaseConnection connection) throws SQLException {
+					PreparedStatement ps = connection.getConnection().prepareStatement(
+							String.format("DELETE FROM %s WHERE ID = ? AND LAST_ACCESSED <= ?", table));
+					try {
+						for (Map.Entry<String, Long> entry : rows.entrySet()) {
+							ps.setString(1, entry.getKey());
+							ps.setLong(2, entry.getValue());
+							ps.addBatch();
+						}
+						ps.executeBatch();
+					} finally {
+						ps.close();
+					}
+					return null;
+				}
+			}, true);
+		} catch (SQLException ex) {
+			for (Map.Entry<String, Long> entry : rows.entrySet()) {
+				deleted.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+			throw ex;
+		}
+	}
+
+	@Override
+	protected ConcurrentSession newSession(final String id, final long timeToLive) {
+		deleted.remove(id);
+		return new PersistentSession(id, timeToLive);
+	}
+
+	/**
+	 * セッションをデータベースから読み込む。
+	 * 
+	 * @param id セッションID
+	 * @return セッション。存在しない場合、<code>null</code>
+	 * @throws IllegalStateException 読み込みに失敗した場合
+	 */
+	@Override
+	protected ConcurrentSession load(final String id) {
+		// 書き込み前に破棄されたセッション
+		PersistentSession evicted = dirty.remove(id);
+		if (null != evicted) {
+			PersistentSession session = new PersistentSession(id, evicted.getTimeToLive());
+			session.restore(evicted.getAttributes());
+			dirty.put(id, session);
+			return session;
+		}
+		if (deleted.containsKey(id)) {
+			return null;
+		}
+
+		try {
+			DatabaseConnection connection = source.getConnection();
+			try {
+				PreparedStatement ps = connection.getConnection().prepareStatement(
+						String.format("SELECT DATA, LAST_ACCESSED, TTL FROM %s WHERE ID = ?", table));
+				try {
+					ps.setString(1, id);
+					ResultSet rs = ps.executeQuery();
+					try {
+						if (!rs.next()) {
+							return null;
+						}
+						byte[] data = rs.getBytes(1);
+						long accessed = rs.getLong(2);
+						long ttl = rs.getLong(3);
+						if (0 < ttl && accessed + ttl <= System.currentTimeMillis()) {
+							return null;
+						}
+						PersistentSession session = new PersistentSession(id, ttl);
+						if (null != data) {
+							session.restore(serializer.deserialize(data));
+						}
+						session.persistedTime = session.getLastAccessedTime();
+						return session;
+					} finally {
+						rs.close();
+					}
+				} finally {
+					ps.close();
+				}
+			} finally {
+				source.returnConnection(connection);
+			}
+		} catch (SQLException | IOException ex) {
+			throw new IllegalStateException("Could not load session.[" + id + "]", ex);
+		}
+	}
+
+	@Override
+	protected void removed(final ConcurrentSession session, final boolean evicted) {
+		if (evicted) {
+			// 変更済みの場合は書き込みまで保持する
+			return;
+		}
+		dirty.remove(session.getId(), session);
+		deleted.put(session.getId(), session.getLastAccessedTime());
+	}
+
+	/**
+	 * このクラスは、変更を記録するセッションクラスです。
+	 * 
+	 * @since 1.7.0
+	 * @version 1.7.0 2026/10/19
+	 * @author Kawakicchi
+	 */
+	private final class PersistentSession extends ConcurrentSession {
+
+		/** データベースに書き込んだ最終アクセス日時 */
+		private volatile long persistedTime;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param id セッションID
+		 * @param timeToLive 有効期間(ミリ秒)
+		 */
+		private PersistentSession(final String id, final long timeToLive) {
+			super(JdbcSessionStore.this, id, timeToLive);
+		}
+
+		@Override
+		protected void touch() {
+			super.touch();
+			// 他のノードで有効期限切れとならないよう、有効期間の半分を過ぎたら最終アクセス日時を書き込む
+			long ttl = getTimeToLive();
+			if (0 < ttl && getLastAccessedTime() - persistedTime > ttl / 2) {
+				dirty.put(getId(), this);
+			}
+		}
+
+		@Override
+		protected void changed(final String key) {
+			dirty.put(getId(), this);
+		}
+	}
+}
@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.store.Store;
+
+/**
+ * このクラスは、{@link OffHeapSessionStore} が管理するセッションクラスです。
+ * <p>
+ * 属性はヒープ外のメモリにシリアライズして保持し、初めて参照された時にデシリアライズします。 一定時間アクセスのないセッションはストアにより再びヒープ外へ書き出され、ヒープ上の属性は破棄されます。
+ * </p>
+ * <p>
+ * 属性の操作はセッション毎に同期します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public final class OffHeapSession implements Store<String, Object> {
+
+	/** セッションを管理するストア */
+	private final OffHeapSessionStore store;
+
+	/** セッションID */
+	private final String id;
+
+	/** 作成日時 */
+	private final long creationTime;
+
+	/** 最終アクセス日時 */
+	private volatile long lastAccessedTime;
+
+	/** 有効期間(ミリ秒) */
+	private volatile long timeToLive;
+
+	/** 有効フラグ */
+	private volatile boolean valid;
+
+	/** ヒープ上の属性(ヒープ外にのみ存在する場合、<code>null</code>) */
+	private volatile Map<String, Object> attributes;
+
+	/** ヒープ上の属性が変更されているか */
+	private boolean dirty;
+
+	/** ヒープ外のブロックのハンドル */
+	private long handle;
+
+	/** ヒープ外のデータの長さ */
+	private int length;
+
+	/** 有効期限の管理上の登録位置 */
+	private final AtomicLong expiryPosition = new AtomicLong(ExpiryWheel.UNSCHEDULED);
+
+	/** ヒープ外への書き出しの管理上の登録位置 */
+	private final AtomicLong passivationPosition = new AtomicLong(ExpiryWheel.UNSCHEDULED);
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param store セッションを管理するストア
+	 * @param id セッションID
+	 * @param timeToLive 有効期間(ミリ秒)。0以下の場合、無期限
+	 */
+	OffHeapSession(final OffHeapSessionStore store, final String id, final long timeToLive) {
+		this.store = store;
+		this.id = id;
+		this.timeToLive = timeToLive;
+		creationTime = System.currentTimeMillis();
+		lastAccessedTime = creationTime;
+		valid = true;
+		handle = SlabAllocator.NONE;
+	}
+
+	/**
+	 * セッションIDを取得する。
+	 * 
+	 * @return セッションID
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * 作成日時を取得する。
+	 * 
+	 * @return 作成日時(ミリ秒)
+	 */
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * 最終アクセス日時を取得する。
+	 * 
+	 * @return 最終アクセス日時(ミリ秒)
+	 */
+	public long getLastAccessedTime() {
+		return lastAccessedTime;
+	}
+
+	/**
+	 * 有効期間を設定する。
+	 * 
+	 * @param duration 有効期間。0以下の場合、無期限
+	 * @param unit 時間単位
+	 */
+	public void setTimeToLive(final long duration, final TimeUnit unit) {
+		timeToLive = unit.toMillis(duration);
+		if (0 < timeToLive) {
+			store.scheduleExpiry(this);
+		}
+	}
+
+	/**
+	 * 有効期限を取得する。
+	 * 
+	 * @return 有効期限(ミリ秒)。無期限の場合、{@link Long#MAX_VALUE}
+	 */
+	public long getExpiryTime() {
+		long ttl = timeToLive;
+		return (0 < ttl) ? lastAccessedTime + ttl : Long.MAX_VALUE;
+	}
+
+	/**
+	 * セッションが有効か判断する。
+	 * 
+	 * @return 有効な場合、<code>true</code>
+	 */
+	public boolean isValid() {
+		return valid && getExpiryTime() > System.currentTimeMillis();
+	}
+
+	/**
+	 * 属性がヒープ上に展開されているか判断する。
+	 * 
+	 * @return 展開されている場合、<code>true</code>
+	 */
+	public boolean isActive() {
+		return null != attributes;
+	}
+
+	/**
+	 * セッションを無効化する。
+	 */
+	public void invalidate() {
+		store.invalidate(id);
+	}
+
+	@Override
+	public synchronized Object get(final String key) {
+		Map<String, Object> map = activate();
+		return (null == map) ? null : map.get(key);
+	}
+
+	@Override
+	public synchronized void put(final String key, final Object value) {
+		if (null == value) {
+			remove(key);
+			return;
+		}
+		Map<String, Object> map = activate();
+		if (null == map) {
+			throw new IllegalStateException("Session is invalidated.[" + id + "]");
+		}
+		map.put(key, value);
+		dirty = true;
+	}
+
+	@Override
+	public synchronized boolean containsKey(final String key) {
+		Map<String, Object> map = activate();
+		return (null != map) && map.containsKey(key);
+	}
+
+	@Override
+	public synchronized void remove(final String key) {
+		Map<String, Object> map = activate();
+		if (null != map && null != map.remove(key)) {
+			dirty = true;
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		Map<String, Object> map = activate();
+		if (null != map && !map.isEmpty()) {
+			map.clear();
+			dirty = true;
+		}
+	}
+
+	/**
+	 * 属性をヒープ上に展開する。
+	 * 
+	 * @return 属性。無効化されている場合、<code>null</code>
+	 */
+	private Map<String, Object> activate() {
+		if (!valid) {
+			return null;
+		}
+		lastAccessedTime = System.currentTimeMillis();
+		Map<String, Object> map = attributes;
+		if (null == map) {
+			if (SlabAllocator.NONE == handle) {
+				map = new HashMap<String, Object>();
+			} else {
+				try {
+					map = store.getSerializer().deserialize(store.getAllocator().read(handle, length));
+				} catch (IOException ex) {
+					throw new IllegalStateException("Could not deserialize session.[" + id + "]", ex);
+				}
+			}
+			attributes = map;
+			store.schedulePassivation(this);
+		}
+		return map;
+	}
+
+	/**
+	 * 属性をヒープ外へ書き出し、ヒープ上の属性を破棄する。
+	 * 
+	 * @return 書き出した場合、またはスラブに収まらない場合、0。ヒープ外メモリが不足している場合、割り当てられなかった長さ
+	 * @throws IOException シリアライズに失敗した場合
+	 */
+	synchronized int passivate() throws IOException {
+		Map<String, Object> map = attributes;
+		if (null == map || !valid) {
+			return 0;
+		}
+		if (dirty) {
+			byte[] data = store.getSerializer().serialize(map);
+			if (data.length > store.getAllocator().getMaxLength()) {
+				// スラブに収まらないためヒープ上に保持する
+				return 0;
+			}
+			long block = store.getAllocator().allocate(data.length);
+			if (SlabAllocator.NONE == block) {
+				return data.length;
+			}
+			store.getAllocator().write(block, data);
+			release();
+			handle = block;
+			length = data.length;
+			dirty = false;
+		}
+		attributes = null;
+		return 0;
+	}
+
+	/**
+	 * セッションを破棄すると、指定した長さのヒープ外メモリが割り当て可能になるか判断する。
+	 * 
+	 * @param required 割り当てる長さ
+	 * @return 割り当て可能になる場合、<code>true</code>
+	 */
+	synchronized boolean isReclaimable(final int required) {
+		return valid && SlabAllocator.NONE != handle && store.getAllocator().isReclaimable(handle, length, required);
+	}
+
+	/**
+	 * 有効期限の管理上の登録位置を取得する。
+	 * 
+	 * @return 登録位置
+	 */
+	AtomicLong getExpiryPosition() {
+		return expiryPosition;
+	}
+
+	/**
+	 * ヒープ外への書き出しの管理上の登録位置を取得する。
+	 * 
+	 * @return 登録位置
+	 */
+	AtomicLong getPassivationPosition() {
+		return passivationPosition;
+	}
+
+	/**
+	 * セッションを破棄済みにし、ヒープ外のブロックを解放する。
+	 * 
+	 * @return 有効だった場合、<code>true</code>
+	 */
+	synchronized boolean destroy() {
+		if (!valid) {
+			return false;
+		}
+		valid = false;
+		attributes = null;
+		release();
+		return true;
+	}
+
+	private void release() {
+		if (SlabAllocator.NONE != handle) {
+			store.getAllocator().free(handle, length);
+			handle = SlabAllocator.NONE;
+			length = 0;
+		}
+	}
+}
@@ -0,0 +1,407 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.lang.LoggingObject;
+
+/**
+ * このクラスは、セッションの属性をヒープ外のメモリに保持するセッションストアクラスです。
+ * <p>
+ * ヒープ上にはセッションIDと管理情報のみを保持し、属性はシリアライズしてダイレクトバッファのスラブに格納します。 属性は初めて参照された時にデシリアライズし、一定時間(
+ * {@link #setPassivationDelay(long, TimeUnit)})アクセスがなければ再びヒープ外へ書き出します。 そのため、アイドル状態のセッションが多数存在してもヒープサイズとGC時間は増加しません。
+ * </p>
+ * <p>
+ * 有効期限が切れたセッションのブロックは解放され、再利用されます。 ヒープ外のメモリが上限に達した場合は、有効期限の近いセッションから破棄します。 スラブより大きいセッションはヒープ上に保持し続けます。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class OffHeapSessionStore extends LoggingObject {
+
+	/** セッション */
+	private final ConcurrentHashMap<String, OffHeapSession> sessions;
+
+	/** 有効期限の管理 */
+	private final ExpiryWheel<OffHeapSession> expiryWheel;
+
+	/** ヒープ外への書き出しの管理 */
+	private final ExpiryWheel<OffHeapSession> passivationWheel;
+
+	/** ヒープ外メモリの割り当て */
+	private final SlabAllocator allocator;
+
+	/** シリアライザー */
+	private final SessionSerializer serializer;
+
+	/** 1スロットの時間(ミリ秒) */
+	private final long tickDuration;
+
+	/** 既定の有効期間(ミリ秒) */
+	private volatile long defaultTimeToLive;
+
+	/** ヒープ外へ書き出すまでの時間(ミリ秒) */
+	private volatile long passivationDelay;
+
+	/** 破棄スレッド */
+	private Thread expirer;
+
+	/** 実行中フラグ */
+	private volatile boolean running;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 1MBのスラブを最大256MBまで確保します。
+	 * </p>
+	 */
+	public OffHeapSessionStore() {
+		this(new JavaSessionSerializer(), 1 << 20, 256L << 20);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param serializer シリアライザー
+	 * @param slabSize スラブのサイズ(バイト)
+	 * @param maxMemory ヒープ外メモリの上限(バイト)
+	 */
+	public OffHeapSessionStore(final SessionSerializer serializer, final int slabSize, final long maxMemory) {
+		super(OffHeapSessionStore.class);
+		this.serializer = serializer;
+		allocator = new SlabAllocator(slabSize, maxMemory);
+		tickDuration = 1000;
+		sessions = new ConcurrentHashMap<String, OffHeapSession>(1024, 0.75f, Runtime.getRuntime().availableProcessors() * 4);
+		expiryWheel = new ExpiryWheel<OffHeapSession>(tickDuration, 512) {
+			@Override
+			protected long getExpiryTime(final OffHeapSession session) {
+				return session.getExpiryTime();
+			}
+
+			@Override
+			protected boolean isValid(final OffHeapSession session) {
+				return sessions.get(session.getId()) == session;
+			}
+
+			@Override
+			protected AtomicLong getPosition(final OffHeapSession session) {
+				return session.getExpiryPosition();
+			}
+		};
+		passivationWheel = new ExpiryWheel<OffHeapSession>(tickDuration, 64) {
+			@Override
+			protected long getExpiryTime(final OffHeapSession session) {
+				return session.isActive() ? session.getLastAccessedTime() + passivationDelay : Long.MAX_VALUE;
+			}
+
+			@Override
+			protected boolean isValid(final OffHeapSession session) {
+				return sessions.get(session.getId()) == session;
+			}
+
+			@Override
+			protected AtomicLong getPosition(final OffHeapSession session) {
+				return session.getPassivationPosition();
+			}
+		};
+		defaultTimeToLive = TimeUnit.MINUTES.toMillis(30);
+		passivationDelay = TimeUnit.SECONDS.toMillis(10);
+	}
+
+	/**
+	 * 既定の有効期間を設定する。
+	 * 
+	 * @param duration 有効期間。0以下の場合、無期限
+	 * @param unit 時間単位
+	 */
+	public void setDefaultTimeToLive(final long duration, final TimeUnit unit) {
+		defaultTimeToLive = unit.toMillis(duration);
+	}
+
+	/**
+	 * アクセスのないセッションをヒープ外へ書き出すまでの時間を設定する。
+	 * 
+	 * @param delay 時間
+	 * @param unit 時間単位
+	 */
+	public void setPassivationDelay(final long delay, final TimeUnit unit) {
+		passivationDelay = Math.max(0, unit.toMillis(delay));
+	}
+
+	/**
+	 * セッション数を取得する。
+	 * 
+	 * @return セッション数
+	 */
+	public int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * 使用中のヒープ外メモリを取得する。
+	 * 
+	 * @return 使用中のメモリ(バイト)
+	 */
+	public long getMemoryUsage() {
+		return allocator.getUsed();
+	}
+
+	/**
+	 * 確保済みのヒープ外メモリを取得する。
+	 * 
+	 * @return 確保済みのメモリ(バイト)
+	 */
+	public long getMemoryCapacity() {
+		return allocator.getCapacity();
+	}
+
+	/**
+	 * セッションを作成する。
+	 * 
+	 * @return セッション
+	 */
+	public OffHeapSession createSession() {
+		return getSession(UUID.randomUUID().toString(), true);
+	}
+
+	/**
+	 * セッションを取得する。
+	 * 
+	 * @param id セッションID
+	 * @return セッション。存在しない場合、<code>null</code>
+	 */
+	public OffHeapSession getSession(final String id) {
+		return getSession(id, false);
+	}
+
+	/**
+	 * セッションを取得する。
+	 * <p>
+	 * 属性は参照されるまでデシリアライズしません。
+	 * </p>
+	 * 
+	 * @param id セッションID
+	 * @param create 存在しない場合に作成する場合、<code>true</code>
+	 * @return セッション。存在せず作成しない場合、<code>null</code>
+	 */
+	public OffHeapSession getSession(final String id, final boolean create) {
+		OffHeapSession session = sessions.get(id);
+		if (null != session) {
+			if (session.isValid()) {
+				return session;
+			}
+			remove(session);
+		}
+		if (!create) {
+			return null;
+		}
+		session = new OffHeapSession(this, id, defaultTimeToLive);
+		OffHeapSession current = sessions.putIfAbsent(id, session);
+		if (null != current) {
+			return current;
+		}
+		expiryWheel.schedule(session);
+		return session;
+	}
+
+	/**
+	 * セッションを無効化する。
+	 * 
+	 * @param id セッションID
+	 */
+	public void invalidate(final String id) {
+		OffHeapSession session = sessions.get(id);
+		if (null != session) {
+			remove(session);
+		}
+	}
+
+	/**
+	 * 全てのセッションを無効化する。
+	 */
+	public void clear() {
+		for (OffHeapSession session : sessions.values()) {
+			remove(session);
+		}
+	}
+
+	/**
+	 * 有効期限の切れたセッションを破棄し、アクセスのないセッションをヒープ外へ書き出す。
+	 * 
+	 * @return 破棄したセッション数
+	 */
+	public int expire() {
+		long now = System.currentTimeMillis();
+		int count = 0;
+		for (OffHeapSession session : expiryWheel.advance(now)) {
+			if (remove(session)) {
+				count++;
+			}
+		}
+		for (OffHeapSession session : passivationWheel.advance(now)) {
+			passivate(session);
+		}
+		return count;
+	}
+
+	/**
+	 * 全てのセッションをヒープ外へ書き出す。
+	 */
+	public void passivateAll() {
+		for (OffHeapSession session : sessions.values()) {
+			passivate(session);
+		}
+	}
+
+	/**
+	 * 定期的な破棄および書き出しを開始する。
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+
+		expirer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (running) {
+					try {
+						Thread.sleep(tickDuration);
+						expire();
+					} catch (InterruptedException ex) {
+						// 停止
+					} catch (RuntimeException ex) {
+						error(String.format("Session expiration failed.[message=%s]", ex.getMessage()));
+					}
+				}
+			}
+		}, "OffHeapSessionStore");
+		expirer.setDaemon(true);
+		expirer.start();
+	}
+
+	/**
+	 * 定期的な破棄および書き出しを停止する。
+	 */
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			running = false;
+			thread = expirer;
+			expirer = null;
+		}
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * セッションをヒープ外へ書き出す。
+	 * <p>
+	 * ヒープ外メモリが不足する場合は、有効期限の近いセッションを破棄して再試行します。 破棄しても必要なサイズのブロックが空かないセッション(ヒープ上のセッションや、隣接するブロックが使用中のセッション)は破棄せず、
+	 * 書き出しを見送ります。
+	 * </p>
+	 * 
+	 * @param session セッション
+	 */
+	private void passivate(final OffHeapSession session) {
+		try {
+			int required;
+			while (0 < (required = session.passivate())) {
+				OffHeapSession victim = expiryWheel.poll(session);
+				if (null == victim || !victim.isReclaimable(required)) {
+					// 書き出せないためヒープ上に保持する
+					passivationWheel.schedule(session);
+					return;
+				}
+				if (remove(victim)) {
+					debug(String.format("Session evicted.[id=%s]", victim.getId()));
+				}
+			}
+		} catch (IOException ex) {
+			warn(String.format("Session serialize failed, kept on heap.[id=%s, message=%s]", session.getId(), ex.getMessage()));
+			passivationWheel.schedule(session);
+		}
+	}
+
+	/**
+	 * セッションを削除する。
+	 * 
+	 * @param session セッション
+	 * @return 削除した場合、<code>true</code>
+	 */
+	private boolean remove(final OffHeapSession session) {
+		if (!sessions.remove(session.getId(), session)) {
+			return false;
+		}
+		session.destroy();
+		return true;
+	}
+
+	/**
+	 * シリアライザーを取得する。
+	 * 
+	 * @return シリアライザー
+	 */
+	SessionSerializer getSerializer() {
+		return serializer;
+	}
+
+	/**
+	 * ヒープ外メモリの割り当てを取得する。
+	 * 
+	 * @return ヒープ外メモリの割り当て
+	 */
+	SlabAllocator getAllocator() {
+		return allocator;
+	}
+
+	/**
+	 * セッションを有効期限の管理に登録する。
+	 * 
+	 * @param session セッション
+	 */
+	void scheduleExpiry(final OffHeapSession session) {
+		if (sessions.get(session.getId()) == session) {
+			expiryWheel.schedule(session);
+		}
+	}
+
+	/**
+	 * セッションをヒープ外への書き出しの管理に登録する。
+	 * 
+	 * @param session セッション
+	 */
+	void schedulePassivation(final OffHeapSession session) {
+		passivationWheel.schedule(session);
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * このインターフェースは、セッションの属性を永続化用のバイト列に変換するシリアライザーを定義したインターフェースです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public interface SessionSerializer {
+
+	/**
+	 * 属性をバイト列に変換する。
+	 * 
+	 * @param attributes 属性
+	 * @return バイト列
+	 * @throws IOException 変換に失敗した場合
+	 */
+	public byte[] serialize(final Map<String, Object> attributes) throws IOException;
+
+	/**
+	 * バイト列から属性を復元する。
+	 * 
+	 * @param data バイト列
+	 * @return 属性
+	 * @throws IOException 復元に失敗した場合
+	 */
+	public Map<String, Object> deserialize(final byte[] data) throws IOException;
+}
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.persistence.session;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * このクラスは、ヒープ外のメモリ(ダイレクトバッファ)をブロック単位で割り当てるクラスです。
+ * <p>
+ * メモリは固定サイズのスラブ単位で確保し、スラブを2のべき乗のサイズクラスのブロックに分割して割り当てます(バディ方式)。 空きブロックが存在しないサイズクラスは、より大きい空きブロックを分割して割り当てます。
+ * 解放されたブロックは隣接する同じサイズの空きブロック(バディ)と結合するため、小さいブロックとして使われたメモリも大きいブロックとして再利用できます。
+ * 確保したスラブはプロセスの終了まで解放しません。
+ * </p>
+ * <p>
+ * 空きブロックのリストは、空きブロック自体の先頭16バイトに前後のハンドルを書き込んで管理します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+final class SlabAllocator {
+
+	/** 最小のブロックサイズ(2のべき乗の指数) */
+	private static final int MIN_SHIFT = 6;
+
+	/** 割り当てに失敗したことを表すハンドル */
+	static final long NONE = -1L;
+
+	/** スラブのサイズ */
+	private final int slabSize;
+
+	/** スラブの最大数 */
+	private final int maxSlabs;
+
+	/** 最大のサイズクラス(スラブ全体) */
+	private final int top;
+
+	/** スラブ */
+	private volatile ByteBuffer[] slabs;
+
+	/** 空きブロックの状態(スラブ毎、最小ブロック単位。空きブロックの先頭はサイズクラス + 1、それ以外は0) */
+	private byte[][] states;
+
+	/** 空きブロックのリストの先頭(サイズクラス毎) */
+	private final long[] heads;
+
+	/** 使用中のメモリ(バイト) */
+	private long used;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param slabSize スラブのサイズ(2のべき乗に切り上げます)
+	 * @param maxMemory 確保するメモリの上限(バイト)
+	 */
+	SlabAllocator(final int slabSize, final long maxMemory) {
+		int size = 1 << MIN_SHIFT;
+		while (size < slabSize) {
+			size <<= 1;
+		}
+		this.slabSize = size;
+		maxSlabs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemory / size));
+		top = Integer.numberOfTrailingZeros(size) - MIN_SHIFT;
+		slabs = new ByteBuffer[0];
+		states = new byte[0][];
+		heads = new long[top + 1];
+		Arrays.fill(heads, NONE);
+	}
+
+	/**
+	 * 割り当て可能な最大サイズを取得する。
+	 * 
+	 * @return 最大サイズ(バイト)
+	 */
+	int getMaxLength() {
+		return slabSize;
+	}
+
+	/**
+	 * 確保済みのメモリを取得する。
+	 * 
+	 * @return 確保済みのメモリ(バイト)
+	 */
+	long getCapacity() {
+		return (long) slabs.length * slabSize;
+	}
+
+	/**
+	 * 使用中のメモリを取得する。
+	 * 
+	 * @return 使用中のメモリ(バイト)
+	 */
+	synchronized long getUsed() {
+		return used;
+	}
+
+	/**
+	 * ブロックを割り当てる。
+	 * 
+	 * @param length 長さ
+	 * @return ハンドル。割り当てられない場合、{@link #NONE}
+	 */
+	synchronized long allocate(final int length) {
+		if (length > slabSize) {
+			return NONE;
+		}
+		int cls = sizeClass(length);
+		int k = cls;
+		while (k <= top && NONE == heads[k]) {
+			k++;
+		}
+		long handle;
+		if (k > top) {
+			if (slabs.length >= maxSlabs) {
+				return NONE;
+			}
+			ByteBuffer[] buffers = new ByteBuffer[slabs.length + 1];
+			System.arraycopy(slabs, 0, buffers, 0, slabs.length);
+			buffers[slabs.length] = ByteBuffer.allocateDirect(slabSize);
+			byte[][] blocks = new byte[states.length + 1][];
+			System.arraycopy(states, 0, blocks, 0, states.length);
+			blocks[states.length] = new byte[slabSize >> MIN_SHIFT];
+			states = blocks;
+			slabs = buffers;
+			handle = (long) (slabs.length - 1) << 32;
+			k = top;
+		} else {
+			handle = heads[k];
+			unlink(handle, k);
+		}
+		// 大きいブロックを分割し、後ろ半分を空きブロックにする
+		while (k > cls) {
+			k--;
+			push(handle + (1 << (k + MIN_SHIFT)), k);
+		}
+		used += 1 << (cls + MIN_SHIFT);
+		return handle;
+	}
+
+	/**
+	 * ブロックを解放する。
+	 * 
+	 * @param handle ハンドル
+	 * @param length 割り当て時の長さ
+	 */
+	synchronized void free(final long handle, final int length) {
+		int cls = sizeClass(length);
+		used -= 1 << (cls + MIN_SHIFT);
+		long block = handle;
+		while (cls < top) {
+			long buddy = block ^ (1 << (cls + MIN_SHIFT));
+			if (cls + 1 != state(buddy)) {
+				break;
+			}
+			unlink(buddy, cls);
+			block = Math.min(block, buddy);
+			cls++;
+		}
+		push(block, cls);
+	}
+
+	/**
+	 * ブロックを解放すると、指定した長さのブロックが割り当て可能になるか判断する。
+	 * <p>
+	 * 解放するブロックのサイズクラスが必要なサイズクラス以上の場合、または結合により必要なサイズクラスの空きブロックになる場合に割り当て可能と判断します。
+	 * </p>
+	 * 
+	 * @param handle ハンドル
+	 * @param length 割り当て時の長さ
+	 * @param required 割り当てる長さ
+	 * @return 割り当て可能になる場合、<code>true</code>
+	 */
+	synchronized boolean isReclaimable(final long handle, final int length, final int required) {
+		if (required > slabSize) {
+			return false;
+		}
+		int target = sizeClass(required);
+		long block = handle;
+		for (int cls = sizeClass(length); cls < target; cls++) {
+			long buddy = block ^ (1 << (cls + MIN_SHIFT));
+			if (cls + 1 != state(buddy)) {
+				return false;
+			}
+			block = Math.min(block, buddy);
+		}
+		return true;
+	}
+
+	/**
+	 * ブロックに書き込む。
+	 * 
+	 * @param handle ハンドル
+	 * @param data データ
+	 */
+	void write(final long handle, final byte[] data) {
+		ByteBuffer buffer = slabs[(int) (handle >>> 32)].duplicate();
+		buffer.position((int) handle);
+		buffer.put(data);
+	}
+
+	/**
+	 * ブロックから読み込む。
+	 * 
+	 * @param handle ハンドル
+	 * @param length 長さ
+	 * @return データ
+	 */
+	byte[] read(final long handle, final int length) {
+		ByteBuffer buffer = slabs[(int) (handle >>> 32)].duplicate();
+		buffer.position((int) handle);
+		byte[] data = new byte[length];
+		buffer.get(data);
+		return data;
+	}
+
+	/**
+	 * 空きブロックをリストの先頭へ追加する。
+	 * 
+	 * @param handle ハンドル
+	 * @param cls サイズクラス
+	 */
+	private void push(final long handle, final int cls) {
+		ByteBuffer slab = slabs[(int) (handle >>> 32)];
+		int position = (int) handle;
+		long next = heads[cls];
+		slab.putLong(position, next);
+		slab.putLong(position + 8, NONE);
+		if (NONE != next) {
+			slabs[(int) (next >>> 32)].putLong((int) next + 8, handle);
+		}
+		heads[cls] = handle;
+		states[(int) (handle >>> 32)][position >> MIN_SHIFT] = (byte) (cls + 1);
+	}
+
+	/**
+	 * 空きブロックをリストから削除する。
+	 * 
+	 * @param handle ハンドル
+	 * @param cls サイズクラス
+	 */
+	private void unlink(final long handle, final int cls) {
+		ByteBuffer slab = slabs[(int) (handle >>> 32)];
+		int position = (int) handle;
+		long next = slab.getLong(position);
+		long prev = slab.getLong(position + 8);
+		if (NONE == prev) {
+			heads[cls] = next;
+		} else {
+			slabs[(int) (prev >>> 32)].putLong((int) prev, next);
+		}
+		if (NONE != next) {
+			slabs[(int) (next >>> 32)].putLong((int) next + 8, prev);
+		}
+		states[(int) (handle >>> 32)][position >> MIN_SHIFT] = 0;
+	}
+
+	/**
+	 * ブロックの状態を取得する。
+	 * 
+	 * @param handle ハンドル
+	 * @return 空きブロックの場合、サイズクラス + 1。それ以外の場合、0
+	 */
+	private int state(final long handle) {
+		return states[(int) (handle >>> 32)][((int) handle) >> MIN_SHIFT];
+	}
+
+	private static int sizeClass(final int length) {
+		int n = Math.max(length, 1 << MIN_SHIFT) - 1;
+		return (32 - Integer.numberOfLeadingZeros(n)) - MIN_SHIFT;
+	}
+}
@@ -0,0 +1,211 @@
+package org.azkfw.persistence.codec;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.entity.Entity;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link BinaryCodec}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class BinaryCodecTest extends AbstractTestCase {
+
+	public static class UserEntity implements Entity {
+
+		private long id;
+
+		private String name;
+
+		private Date created;
+
+		private List<String> roles;
+
+		@Override
+		public boolean isEmpty() {
+			return null == name;
+		}
+	}
+
+	public static class AccountV1 implements Entity {
+
+		private int id;
+
+		private String name;
+
+		private String legacy;
+
+		@Override
+		public boolean isEmpty() {
+			return null == name;
+		}
+	}
+
+	public static class AccountV2 implements Entity {
+
+		private long id;
+
+		private String name;
+
+		private String email;
+
+		private int level = 3;
+
+		@Override
+		public boolean isEmpty() {
+			return null == name;
+		}
+	}
+
+	public static class Point implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private int x;
+
+		private int y;
+	}
+
+	@Test
+	public void testValues() {
+		BinaryCodec codec = new BinaryCodec();
+		try {
+			Object[] values = new Object[] { null, Boolean.TRUE, Integer.valueOf(-1), Long.valueOf(Long.MAX_VALUE),
+					Short.valueOf((short) 3), Byte.valueOf((byte) -2), Character.valueOf('あ'), Float.valueOf(0.5f),
+					Double.valueOf(-0.25), "ABC", "日本語𠮷", new BigDecimal("123.45"), new Date(123456789L),
+					new Timestamp(123456789L), TimeUnit.SECONDS };
+			for (Object value : values) {
+				assertEquals(value, codec.decode(codec.encode(value)));
+			}
+			assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, (byte[]) codec.decode(codec.encode(new byte[] { 1, 2, 3 }))));
+
+			Map<String, Object> map = new HashMap<String, Object>();
+			map.put("list", Arrays.asList("a", Integer.valueOf(1), null));
+			map.put("nested", new HashMap<String, Object>(map));
+			assertEquals(map, codec.decode(codec.encode(map)));
+
+			// Java標準のシリアライズより小さい
+			assertTrue(codec.encode(Integer.valueOf(1)).length < 4);
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testEntity() {
+		BinaryCodec codec = new BinaryCodec();
+		try {
+			UserEntity user = new UserEntity();
+			user.id = 10;
+			user.name = "kawakicchi";
+			user.created = new Date(1000L);
+			user.roles = new ArrayList<String>(Arrays.asList("admin", "user"));
+
+			UserEntity result = (UserEntity) codec.decode(codec.encode(user));
+			assertEquals(10, result.id);
+			assertEquals("kawakicchi", result.name);
+			assertEquals(user.created, result.created);
+			assertEquals(user.roles, result.roles);
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testSchemaChange() {
+		BinaryCodec codec = new BinaryCodec();
+		try {
+			AccountV1 account = new AccountV1();
+			account.id = 10;
+			account.name = "kawakicchi";
+			account.legacy = "removed";
+
+			// クラス名のみ書き換えて、フィールド構成の異なるクラスとして復元する
+			byte[] data = codec.encode(account);
+			byte[] from = AccountV1.class.getName().getBytes(StandardCharsets.UTF_8);
+			byte[] to = AccountV2.class.getName().getBytes(StandardCharsets.UTF_8);
+			int index = indexOf(data, from);
+			assertTrue(0 <= index);
+			System.arraycopy(to, 0, data, index, to.length);
+
+			AccountV2 result = (AccountV2) codec.decode(data);
+			// int から long へ拡張される
+			assertEquals(10L, result.id);
+			assertEquals("kawakicchi", result.name);
+			// 格納されていないフィールドは初期値のまま
+			assertNull(result.email);
+			assertEquals(3, result.level);
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testClassLoader() {
+		final Set<String> names = new HashSet<String>();
+		ClassLoader loader = new ClassLoader(BinaryCodecTest.class.getClassLoader()) {
+			@Override
+			protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+				names.add(name);
+				return super.loadClass(name, resolve);
+			}
+		};
+		BinaryCodec codec = new BinaryCodec(loader);
+		try {
+			Point point = new Point();
+			point.x = 1;
+			point.y = 2;
+			Point result = (Point) codec.decode(codec.encode(point));
+			assertEquals(1, result.x);
+			assertEquals(2, result.y);
+			// シリアライズされた値も指定したクラスローダーで読み込む
+			assertTrue(names.contains(Point.class.getName()));
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testUnsupported() {
+		try {
+			new BinaryCodec().encode(new Object());
+			fail();
+		} catch (IOException ex) {
+			// success
+		}
+	}
+
+	private static int indexOf(final byte[] data, final byte[] target) {
+		for (int i = 0; i + target.length <= data.length; i++) {
+			boolean match = true;
+			for (int j = 0; j < target.length && match; j++) {
+				match = (data[i + j] == target[j]);
+			}
+			if (match) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
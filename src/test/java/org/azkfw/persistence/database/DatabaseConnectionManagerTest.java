@@ -0,0 +1,162 @@
+package org.azkfw.persistence.database;
+
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.PersistenceServiceException;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DatabaseConnectionManager}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class DatabaseConnectionManagerTest extends AbstractTestCase {
+
+	@Test
+	public void testLoadSources() {
+		Properties p = new Properties();
+		p.setProperty("database.sources", "sourceA, sourceB");
+		p.setProperty("database.sourceA.driver", StubDriver.class.getName());
+		p.setProperty("database.sourceA.uri", StubDriver.URL + "a");
+		p.setProperty("database.sourceA.pool.maxActive", "4");
+		p.setProperty("database.sourceB.dirver", StubDriver.class.getName());
+		p.setProperty("database.sourceB.uri", StubDriver.URL + "b");
+		p.setProperty("database.sourceB.statistics", "true");
+		p.setProperty("database.sourceB.validate", "false");
+
+		try {
+			DatabaseConnectionManager.load(p);
+
+			DatabaseSource a = DatabaseConnectionManager.getSource("sourceA");
+			assertNotNull(a);
+			assertEquals("sourceA", a.getName());
+			assertNull(a.getStatistics());
+			DatabaseConnection connection = a.getConnection();
+			a.returnConnection(connection);
+
+			DatabaseSource b = DatabaseConnectionManager.getSource("sourceB");
+			assertNotNull(b);
+			assertNotNull(b.getStatistics());
+		} catch (PersistenceServiceException | ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+
+		try {
+			DatabaseConnectionManager.load(p);
+			fail();
+		} catch (PersistenceServiceException ex) {
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testLoadSourcesFailure() {
+		Properties p = new Properties();
+		p.setProperty("database.sources", "sourceC,sourceD");
+		p.setProperty("database.sourceC.driver", StubDriver.class.getName());
+		p.setProperty("database.sourceC.uri", StubDriver.URL + "c");
+		p.setProperty("database.sourceD.driver", "org.azkfw.persistence.database.NotFoundDriver");
+		p.setProperty("database.sourceD.uri", StubDriver.URL + "d");
+
+		try {
+			DatabaseConnectionManager.load(p);
+			fail();
+		} catch (ClassNotFoundException ex) {
+		} catch (PersistenceServiceException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+
+		try {
+			assertNull(DatabaseConnectionManager.getSource("sourceC"));
+			assertNull(DatabaseConnectionManager.getSource("sourceD"));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testLoadSourcesInterrupted() {
+		Properties p = new Properties();
+		p.setProperty("database.sources", "sourceE,sourceF");
+		p.setProperty("database.sourceE.driver", StubDriver.class.getName());
+		p.setProperty("database.sourceE.uri", StubDriver.URL + "e");
+		p.setProperty("database.sourceF.driver", StubDriver.class.getName());
+		p.setProperty("database.sourceF.uri", StubDriver.URL + "f");
+
+		Thread.currentThread().interrupt();
+		try {
+			DatabaseConnectionManager.load(p);
+			fail();
+		} catch (PersistenceServiceException ex) {
+			assertTrue(ex.getCause() instanceof InterruptedException);
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+		// 割り込み状態は維持される
+		assertTrue(Thread.interrupted());
+
+		try {
+			assertNull(DatabaseConnectionManager.getSource("sourceE"));
+			assertNull(DatabaseConnectionManager.getSource("sourceF"));
+
+			// 中断したロードは登録されないため、再度ロードできる
+			DatabaseConnectionManager.load(p);
+			assertNotNull(DatabaseConnectionManager.getSource("sourceE"));
+			assertNotNull(DatabaseConnectionManager.getSource("sourceF"));
+		} catch (PersistenceServiceException | ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testLazy() {
+		Properties p = new Properties();
+		p.setProperty("database.driver", StubDriver.class.getName());
+		p.setProperty("database.uri", StubDriver.URL + "lazy");
+		p.setProperty("database.pool.initialSize", "2");
+		p.setProperty("database.lazy", "true");
+
+		try {
+			DatabaseSource source = new DatabaseSource("lazy");
+			source.load(p);
+			assertTrue(source.isLazy());
+			assertFalse(source.isInitialized());
+
+			DatabaseConnection connection = source.getConnection();
+			assertTrue(source.isInitialized());
+			source.returnConnection(connection);
+			source.close();
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+
+		p.setProperty("database.driver", "org.azkfw.persistence.database.NotFoundDriver");
+		try {
+			DatabaseSource source = new DatabaseSource("lazy");
+			source.load(p);
+			assertFalse(source.isInitialized());
+			try {
+				source.getConnection();
+				fail();
+			} catch (SQLException ex) {
+				assertTrue(ex.getCause() instanceof ClassNotFoundException);
+			}
+			assertFalse(source.isInitialized());
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
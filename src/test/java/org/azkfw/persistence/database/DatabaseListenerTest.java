@@ -0,0 +1,149 @@
+package org.azkfw.persistence.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DatabaseListener}の通知のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class DatabaseListenerTest extends AbstractTestCase {
+
+	@Test
+	public void testNotify() {
+		final List<String> events = new ArrayList<String>();
+		DatabaseListener listener = new DatabaseListenerAdapter() {
+			@Override
+			public void connectionBorrowed(final DatabaseSource source, final DatabaseConnection connection) {
+				events.add("borrow:" + source.getName());
+			}
+
+			@Override
+			public void connectionReturned(final DatabaseSource source, final DatabaseConnection connection) {
+				events.add("return");
+			}
+
+			@Override
+			public void statementExecuting(final DatabaseSource source, final Statement statement, final String sql) {
+				events.add("executing:" + sql);
+			}
+
+			@Override
+			public void statementExecuted(final DatabaseSource source, final Statement statement, final String sql, final long nanos,
+					final Throwable error) {
+				events.add("executed:" + sql);
+			}
+
+			@Override
+			public void committed(final DatabaseSource source, final Connection connection, final long nanos, final Throwable error) {
+				events.add("commit");
+			}
+		};
+
+		try {
+			DatabaseSource source = new DatabaseSource("test");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "test", "user", "password");
+			source.addListener(listener);
+
+			DatabaseConnection connection = source.getConnection();
+			PreparedStatement ps = connection.getConnection().prepareStatement("SELECT * FROM T WHERE ID = ?");
+			ResultSet rs = ps.executeQuery();
+			while (rs.next()) {
+			}
+			rs.close();
+			ps.close();
+			connection.getConnection().commit();
+			source.returnConnection(connection);
+
+			assertEquals(5, events.size());
+			assertEquals("borrow:test", events.get(0));
+			assertEquals("executing:SELECT * FROM T WHERE ID = ?", events.get(1));
+			assertEquals("executed:SELECT * FROM T WHERE ID = ?", events.get(2));
+			assertEquals("commit", events.get(3));
+			assertEquals("return", events.get(4));
+
+			source.removeListener(listener);
+			events.clear();
+			connection = source.getConnection();
+			connection.getConnection().commit();
+			source.returnConnection(connection);
+			assertEquals(0, events.size());
+
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testListenerError() {
+		final List<String> events = new ArrayList<String>();
+		DatabaseListener failure = new DatabaseListenerAdapter() {
+			@Override
+			public void connectionBorrowed(final DatabaseSource source, final DatabaseConnection connection) {
+				throw new IllegalStateException("borrow");
+			}
+
+			@Override
+			public void connectionReturned(final DatabaseSource source, final DatabaseConnection connection) {
+				throw new IllegalStateException("return");
+			}
+		};
+		DatabaseListener listener = new DatabaseListenerAdapter() {
+			@Override
+			public void connectionBorrowed(final DatabaseSource source, final DatabaseConnection connection) {
+				events.add("borrow");
+			}
+
+			@Override
+			public void connectionReturned(final DatabaseSource source, final DatabaseConnection connection) {
+				events.add("return");
+			}
+		};
+
+		StubDriver.reset();
+		try {
+			DatabaseSource source = new DatabaseSource("test");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "test", "user", "password");
+			source.addListener(failure);
+			source.addListener(listener);
+
+			DatabaseConnection connection = source.getConnection(false);
+			assertNotNull(connection);
+			source.returnConnection(connection, false);
+			assertEquals(1, StubDriver.getCount("close"));
+
+			connection = source.getConnection();
+			source.invalidateConnection(connection);
+
+			assertEquals(4, events.size());
+			assertEquals("borrow", events.get(0));
+			assertEquals("return", events.get(1));
+			assertEquals("borrow", events.get(2));
+			assertEquals("return", events.get(3));
+
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			StubDriver.reset();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package org.azkfw.persistence.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.entity.AbstractTrackedEntity;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link EntityUpdater}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class EntityUpdaterTest extends AbstractTestCase {
+
+	public static class UserEntity extends AbstractTrackedEntity {
+		private long userId;
+		private String userName;
+		private String mailAddress;
+		private int age;
+
+		@Override
+		public boolean isEmpty() {
+			return null == userName;
+		}
+
+		public void setUserId(final long aUserId) {
+			userId = aUserId;
+			modified("userId");
+		}
+
+		public void setUserName(final String aUserName) {
+			userName = aUserName;
+			modified("userName");
+		}
+
+		public void setMailAddress(final String aMailAddress) {
+			mailAddress = aMailAddress;
+			modified("mailAddress");
+		}
+
+		public void setAge(final int aAge) {
+			age = aAge;
+			modified("age");
+		}
+	}
+
+	@Test
+	public void testUpdate() {
+		final List<String> sqls = new ArrayList<String>();
+		try {
+			DatabaseSource source = new DatabaseSource("updater");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "updater", "user", "password");
+			source.addListener(new DatabaseListenerAdapter() {
+				@Override
+				public void statementExecuting(final DatabaseSource source, final Statement statement, final String sql) {
+					sqls.add(sql);
+				}
+			});
+
+			UserEntity entity = new UserEntity();
+			assertEquals(4, entity.getFieldCount());
+			assertFalse(entity.isModified());
+
+			EntityUpdater updater = new EntityUpdater("USER", "USER_ID");
+			DatabaseConnection connection = source.getConnection();
+
+			assertEquals(0, updater.update(connection, entity));
+			entity.setUserId(10);
+			assertEquals(0, updater.update(connection, entity));
+			assertEquals(0, sqls.size());
+			// キーのみの変更は更新せずに記録を消去する
+			assertFalse(entity.isModified());
+
+			entity.setMailAddress("user@example.com");
+			entity.setAge(20);
+			assertEquals(1, updater.update(connection, entity));
+			assertEquals(1, sqls.size());
+			assertEquals("UPDATE USER SET MAIL_ADDRESS = ?, AGE = ? WHERE USER_ID = ?", sqls.get(0));
+			assertFalse(entity.isModified());
+
+			entity.setUserName("name");
+			assertEquals(1, updater.update(connection, entity));
+			assertEquals("UPDATE USER SET USER_NAME = ? WHERE USER_ID = ?", sqls.get(1));
+
+			assertEquals(0, updater.update(connection, entity));
+			assertEquals(2, sqls.size());
+
+			// 対象の行が存在しない場合は変更の記録を残す
+			StubDriver.reset();
+			StubDriver.enqueue("executeUpdate", 0);
+			entity.setAge(30);
+			assertEquals(0, updater.update(connection, entity));
+			assertTrue(entity.isModified());
+			assertEquals(1, updater.update(connection, entity));
+			assertEquals("UPDATE USER SET AGE = ? WHERE USER_ID = ?", sqls.get(3));
+			assertFalse(entity.isModified());
+
+			source.returnConnection(connection);
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package org.azkfw.persistence.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * このクラスは、テスト用のインプロセスJDBCドライバーです。
+ * <p>
+ * 接続URLは <code>jdbc:stub:</code> で始まる必要があります。 SELECTは3行を返し、更新系のSQLは1を返します。
+ * </p>
+ * <p>
+ * {@link #enqueue(String, Object)} でメソッド毎に次の呼び出し結果を指定できます。例外を指定した場合はスローし、
+ * executeQuery に Long を指定した場合はその値を返す1行の結果を返します。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class StubDriver implements Driver {
+
+	/** 接続URLの接頭辞 */
+	public static final String URL = "jdbc:stub:";
+
+	/** 指定された呼び出し結果 */
+	private static final ConcurrentMap<String, Queue<Object>> SCRIPT = new ConcurrentHashMap<String, Queue<Object>>();
+
+	/** 呼び出し回数 */
+	private static final ConcurrentMap<String, AtomicInteger> CALLS = new ConcurrentHashMap<String, AtomicInteger>();
+
+	static {
+		try {
+			DriverManager.registerDriver(new StubDriver());
+		} catch (SQLException ex) {
+			throw new ExceptionInInitializerError(ex);
+		}
+	}
+
+	/**
+	 * 次の呼び出し結果を指定する。
+	 * 
+	 * @param method メソッド名
+	 * @param result 結果、またはスローする例外
+	 */
+	public static void enqueue(final String method, final Object result) {
+		SCRIPT.putIfAbsent(method, new ConcurrentLinkedQueue<Object>());
+		SCRIPT.get(method).add(result);
+	}
+
+	/**
+	 * 呼び出し回数を取得する。
+	 * 
+	 * @param method メソッド名
+	 * @return 呼び出し回数
+	 */
+	public static int getCount(final String method) {
+		AtomicInteger count = CALLS.get(method);
+		return (null == count) ? 0 : count.get();
+	}
+
+	/**
+	 * 指定した呼び出し結果と呼び出し回数を消去する。
+	 */
+	public static void reset() {
+		SCRIPT.clear();
+		CALLS.clear();
+	}
+
+	private static Object scripted(final String method, final Object def) throws Throwable {
+		CALLS.putIfAbsent(method, new AtomicInteger());
+		CALLS.get(method).incrementAndGet();
+
+		Queue<Object> queue = SCRIPT.get(method);
+		Object result = (null == queue) ? null : queue.poll();
+		if (null == result) {
+			return def;
+		}
+		if (result instanceof Throwable) {
+			throw (Throwable) result;
+		}
+		return result;
+	}
+
+	@Override
+	public Connection connect(final String url, final Properties info) throws SQLException {
+		if (!acceptsURL(url)) {
+			return null;
+		}
+		return (Connection) proxy(Connection.class, new InvocationHandler() {
+			private boolean autoCommit = true;
+
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				String name = method.getName();
+				if ("prepareStatement".equals(name)) {
+					return statement(PreparedStatement.class);
+				} else if ("createStatement".equals(name)) {
+					return statement(Statement.class);
+				} else if ("getAutoCommit".equals(name)) {
+					return autoCommit;
+				} else if ("setAutoCommit".equals(name)) {
+					autoCommit = (Boolean) args[0];
+				} else if ("isValid".equals(name) || "isClosed".equals(name)) {
+					return "isValid".equals(name);
+				} else if ("commit".equals(name) || "rollback".equals(name) || "close".equals(name)) {
+					return scripted(name, null);
+				}
+				return null;
+			}
+		});
+	}
+
+	private static Object statement(final Class<?> type) {
+		return proxy(type, new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				String name = method.getName();
+				if ("executeQuery".equals(name)) {
+					Object result = scripted(name, null);
+					return (result instanceof Long) ? resultSet(1, (Long) result) : resultSet(3, null);
+				} else if ("executeUpdate".equals(name)) {
+					return scripted(name, 1);
+				} else if ("execute".equals(name)) {
+					return false;
+				} else if ("executeBatch".equals(name)) {
+					return scripted(name, new int[0]);
+				} else if ("cancel".equals(name)) {
+					return scripted(name, null);
+				}
+				return null;
+			}
+		});
+	}
+
+	private static Object resultSet(final int rows, final Long value) {
+		return proxy(ResultSet.class, new InvocationHandler() {
+			private int row;
+
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				String name = method.getName();
+				if ("next".equals(name)) {
+					return ++row <= rows;
+				} else if ("getLong".equals(name)) {
+					return (null != value) ? value : (long) row;
+				} else if ("getInt".equals(name)) {
+					return row;
+				} else if ("getString".equals(name)) {
+					return Integer.toString(row);
+				} else if ("wasNull".equals(name)) {
+					return false;
+				}
+				return null;
+			}
+		});
+	}
+
+	private static Object proxy(final Class<?> type, final InvocationHandler handler) {
+		return Proxy.newProxyInstance(StubDriver.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	@Override
+	public boolean acceptsURL(final String url) throws SQLException {
+		return null != url && url.startsWith(URL);
+	}
+
+	@Override
+	public DriverPropertyInfo[] getPropertyInfo(final String url, final Properties info) throws SQLException {
+		return new DriverPropertyInfo[0];
+	}
+
+	@Override
+	public int getMajorVersion() {
+		return 1;
+	}
+
+	@Override
+	public int getMinorVersion() {
+		return 0;
+	}
+
+	@Override
+	public boolean jdbcCompliant() {
+		return false;
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+}
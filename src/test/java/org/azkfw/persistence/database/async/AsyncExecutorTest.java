@@ -0,0 +1,199 @@
+package org.azkfw.persistence.database.async;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.ResultSetHandler;
+import org.azkfw.persistence.database.StubDriver;
+import org.azkfw.persistence.database.TransactionCallback;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link AsyncExecutor}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class AsyncExecutorTest extends AbstractTestCase {
+
+	@Test
+	public void testQuery() {
+		try {
+			DatabaseSource source = new DatabaseSource("async");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "async", "user", "password");
+			AsyncExecutor executor = new AsyncExecutor(source, 2);
+
+			final List<String> results = new ArrayList<String>();
+			final CountDownLatch latch = new CountDownLatch(1);
+			QueryFuture<List<String>> future = executor.query("SELECT NAME FROM T WHERE ID > ?", new Object[] { 0 },
+					new ResultSetHandler<List<String>>() {
+						@Override
+						public List<String> handle(final ResultSet rs) throws SQLException {
+							List<String> list = new ArrayList<String>();
+							while (rs.next()) {
+								list.add(rs.getString(1));
+							}
+							return list;
+						}
+					});
+			future.addCallback(new QueryCallback<List<String>>() {
+				@Override
+				public void onSuccess(final List<String> result) {
+					results.addAll(result);
+					latch.countDown();
+				}
+
+				@Override
+				public void onFailure(final Throwable error) {
+					latch.countDown();
+				}
+			});
+			assertEquals(3, future.get().size());
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertEquals(3, results.size());
+
+			assertEquals(Integer.valueOf(1), executor.update("UPDATE T SET NAME = ?", "name").get());
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		} catch (ClassNotFoundException | InterruptedException | ExecutionException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testCancel() {
+		StubDriver.reset();
+		try {
+			DatabaseSource source = new DatabaseSource("async");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "async", "user", "password");
+			AsyncExecutor executor = new AsyncExecutor(source, 1);
+
+			final CountDownLatch started = new CountDownLatch(1);
+			final CountDownLatch release = new CountDownLatch(1);
+			QueryFuture<Integer> future = executor.query("SELECT NAME FROM T", null, new ResultSetHandler<Integer>() {
+				@Override
+				public Integer handle(final ResultSet rs) throws SQLException {
+					started.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException ex) {
+						// キャンセル
+					}
+					return 0;
+				}
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			// 中断を指定しない場合、実行中のステートメントは中断しない
+			assertTrue(future.cancel(false));
+			assertEquals(0, StubDriver.getCount("cancel"));
+			assertFalse(future.cancel(true));
+			assertEquals(0, StubDriver.getCount("cancel"));
+			release.countDown();
+
+			final CountDownLatch restarted = new CountDownLatch(1);
+			final CountDownLatch released = new CountDownLatch(1);
+			future = executor.query("SELECT NAME FROM T", null, new ResultSetHandler<Integer>() {
+				@Override
+				public Integer handle(final ResultSet rs) throws SQLException {
+					restarted.countDown();
+					try {
+						released.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException ex) {
+						// キャンセル
+					}
+					return 0;
+				}
+			});
+			assertTrue(restarted.await(5, TimeUnit.SECONDS));
+
+			// 実行中のステートメントを中断する
+			assertTrue(future.cancel(true));
+			assertEquals(1, StubDriver.getCount("cancel"));
+			released.countDown();
+
+			// 完了したステートメントは中断しない
+			QueryFuture<Integer> done = executor.update("UPDATE T SET NAME = ?", "name");
+			assertEquals(Integer.valueOf(1), done.get());
+			assertFalse(done.cancel(true));
+			assertEquals(1, StubDriver.getCount("cancel"));
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		} catch (ClassNotFoundException | InterruptedException | ExecutionException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			StubDriver.reset();
+		}
+	}
+
+	@Test
+	public void testSaturation() {
+		try {
+			DatabaseSource source = new DatabaseSource("async");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "async", "user", "password");
+			AsyncExecutor executor = new AsyncExecutor(source, 1, 1);
+
+			final CountDownLatch started = new CountDownLatch(1);
+			final CountDownLatch release = new CountDownLatch(1);
+			QueryFuture<String> running = executor.execute(new TransactionCallback<String>() {
+				@Override
+				public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						throw new SQLException(ex);
+					}
+					return "done";
+				}
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			QueryFuture<Integer> queued = executor.update("UPDATE T SET NAME = ?", "name");
+			try {
+				executor.update("UPDATE T SET NAME = ?", "name");
+				fail();
+			} catch (RejectedExecutionException ex) {
+			}
+
+			final List<Throwable> errors = new ArrayList<Throwable>();
+			queued.addCallback(new QueryCallback<Integer>() {
+				@Override
+				public void onSuccess(final Integer result) {
+				}
+
+				@Override
+				public void onFailure(final Throwable error) {
+					errors.add(error);
+				}
+			});
+			assertTrue(queued.cancel(true));
+			assertEquals(1, errors.size());
+			assertTrue(errors.get(0) instanceof CancellationException);
+
+			release.countDown();
+			assertEquals("done", running.get());
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		} catch (ClassNotFoundException | InterruptedException | ExecutionException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
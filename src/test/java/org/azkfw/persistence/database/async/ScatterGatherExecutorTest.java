@@ -0,0 +1,144 @@
+package org.azkfw.persistence.database.async;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnectionManager;
+import org.azkfw.persistence.database.ResultSetHandler;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ScatterGatherExecutor}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ScatterGatherExecutorTest extends AbstractTestCase {
+
+	private static final List<String> TENANTS = Arrays.asList("tenant1", "tenant2", "tenant3");
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		for (String name : TENANTS) {
+			if (null == DatabaseConnectionManager.getSource(name)) {
+				DatabaseConnectionManager.load(name, StubDriver.class.getName(), StubDriver.URL + name, "user", "password");
+			}
+		}
+	}
+
+	@Test
+	public void testQuery() {
+		ScatterGatherExecutor executor = new ScatterGatherExecutor(2);
+		try {
+			final List<String> partial = new ArrayList<String>();
+			ScatterGatherResult<List<String>> result = executor.query(TENANTS, "SELECT NAME FROM T ORDER BY NAME", null,
+					new ResultSetHandler<List<String>>() {
+						@Override
+						public List<String> handle(final ResultSet rs) throws SQLException {
+							List<String> list = new ArrayList<String>();
+							while (rs.next()) {
+								list.add(rs.getString(1));
+							}
+							return list;
+						}
+					}, 5, TimeUnit.SECONDS, new ScatterCallback<List<String>>() {
+						@Override
+						public void onResult(final String name, final List<String> result) {
+							partial.add(name);
+						}
+
+						@Override
+						public void onFailure(final String name, final Throwable error) {
+						}
+					});
+
+			assertTrue(result.isComplete());
+			assertEquals(3, partial.size());
+			assertEquals(TENANTS, new ArrayList<String>(result.getResults().keySet()));
+
+			List<String> merged = ScatterGatherResult.merge(result.getResults().values(), new Comparator<String>() {
+				@Override
+				public int compare(final String o1, final String o2) {
+					return o1.compareTo(o2);
+				}
+			});
+			assertEquals(Arrays.asList("1", "1", "1", "2", "2", "2", "3", "3", "3"), merged);
+
+			Integer count = result.aggregate(Integer.valueOf(0), new Aggregator<List<String>, Integer>() {
+				@Override
+				public Integer aggregate(final Integer accumulated, final String name, final List<String> result) {
+					return Integer.valueOf(accumulated.intValue() + result.size());
+				}
+			});
+			assertEquals(Integer.valueOf(9), count);
+		} catch (SQLException | InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testTimeout() {
+		StubDriver.reset();
+		ScatterGatherExecutor executor = new ScatterGatherExecutor(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		try {
+			ScatterGatherResult<String> result = executor.query(TENANTS, "SELECT NAME FROM T", null, new ResultSetHandler<String>() {
+				@Override
+				public String handle(final ResultSet rs) throws SQLException {
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						throw new SQLException(ex);
+					}
+					return "done";
+				}
+			}, 100, TimeUnit.MILLISECONDS);
+
+			assertFalse(result.isComplete());
+			assertEquals(0, result.getResults().size());
+			assertEquals(TENANTS, result.getTimeouts());
+			// 実行中のステートメントのみ中断される
+			assertEquals(1, StubDriver.getCount("cancel"));
+		} catch (SQLException | InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			release.countDown();
+			executor.shutdown();
+			StubDriver.reset();
+		}
+	}
+
+	@Test
+	public void testUnknownSource() {
+		ScatterGatherExecutor executor = new ScatterGatherExecutor(1);
+		try {
+			executor.query(Arrays.asList("unknown"), "SELECT NAME FROM T", null, new ResultSetHandler<String>() {
+				@Override
+				public String handle(final ResultSet rs) throws SQLException {
+					return null;
+				}
+			}, 1, TimeUnit.SECONDS);
+			fail();
+		} catch (SQLException ex) {
+		} catch (InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
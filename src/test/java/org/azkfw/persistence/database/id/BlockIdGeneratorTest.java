@@ -0,0 +1,192 @@
+package org.azkfw.persistence.database.id;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link BlockIdGenerator}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class BlockIdGeneratorTest extends AbstractTestCase {
+
+	private DatabaseSource createSource() throws ClassNotFoundException {
+		DatabaseSource source = new DatabaseSource("id");
+		source.load(StubDriver.class.getName(), StubDriver.URL + "id", "user", "password");
+		return source;
+	}
+
+	@Test
+	public void testNext() {
+		final AtomicLong sequence = new AtomicLong(1);
+		final AtomicInteger allocations = new AtomicInteger();
+		BlockAllocator allocator = new BlockAllocator() {
+			@Override
+			public int getBlockSize() {
+				return 50;
+			}
+
+			@Override
+			public long allocate(final DatabaseConnection connection) throws SQLException {
+				allocations.incrementAndGet();
+				return sequence.getAndAdd(50);
+			}
+		};
+
+		try {
+			final BlockIdGenerator generator = new BlockIdGenerator(createSource(), allocator);
+			assertEquals(1, generator.next());
+			assertEquals(2, generator.next());
+			assertEquals(1, allocations.get());
+
+			final Set<Long> ids = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+			// ワーカースレッドでの失敗はメインスレッドで検証する
+			final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+			List<Thread> threads = new ArrayList<Thread>();
+			for (int i = 0; i < 4; i++) {
+				Thread thread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							for (int j = 0; j < 1000; j++) {
+								long id = generator.next();
+								if (!ids.add(Long.valueOf(id))) {
+									failures.add(new AssertionError("Duplicate id.[" + id + "]"));
+								}
+							}
+						} catch (SQLException | RuntimeException ex) {
+							failures.add(ex);
+						}
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertEquals(failures.toString(), 0, failures.size());
+			assertEquals(4000, ids.size());
+			assertTrue(allocations.get() >= 4002 / 50);
+
+			generator.shutdown();
+		} catch (ClassNotFoundException | SQLException | InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testSequence() {
+		StubDriver.reset();
+		try {
+			DatabaseSource source = createSource();
+
+			BlockIdGenerator generator = new BlockIdGenerator(source, new SequenceBlockAllocator("SELECT nextval('seq')", 20, true));
+			assertEquals(20, generator.next());
+			assertEquals(21, generator.next());
+			generator.shutdown();
+
+			StubDriver.enqueue("executeQuery", Long.valueOf(1));
+			StubDriver.enqueue("executeQuery", Long.valueOf(21));
+			generator = new BlockIdGenerator(source, new SequenceBlockAllocator("SELECT nextval('seq')", 20, false));
+			assertEquals(1, generator.next());
+			generator.shutdown();
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			StubDriver.reset();
+		}
+	}
+
+	@Test
+	public void testSequenceIncrement() {
+		StubDriver.reset();
+		try {
+			DatabaseSource source = createSource();
+			DatabaseConnection connection = source.getConnection();
+			try {
+				SequenceBlockAllocator allocator = new SequenceBlockAllocator("SELECT nextval('seq')", 20, false);
+				// 最初の予約で続けて取得した値の差を確認する
+				StubDriver.enqueue("executeQuery", Long.valueOf(1));
+				StubDriver.enqueue("executeQuery", Long.valueOf(61));
+				StubDriver.enqueue("executeQuery", Long.valueOf(81));
+				StubDriver.enqueue("executeQuery", Long.valueOf(82));
+				// 他のノードの予約で値が飛んでもブロックのサイズの倍数であれば一致とみなす
+				assertEquals(1, allocator.allocate(connection));
+				assertEquals(2, StubDriver.getCount("executeQuery"));
+				// 確認後は1回のみ取得する
+				assertEquals(81, allocator.allocate(connection));
+				assertEquals(82, allocator.allocate(connection));
+				assertEquals(4, StubDriver.getCount("executeQuery"));
+
+				// シーケンスの増分がブロックのサイズと一致しない場合は最初のブロックも払い出さない
+				allocator = new SequenceBlockAllocator("SELECT nextval('seq')", 20, false);
+				StubDriver.enqueue("executeQuery", Long.valueOf(1));
+				StubDriver.enqueue("executeQuery", Long.valueOf(2));
+				StubDriver.enqueue("executeQuery", Long.valueOf(3));
+				StubDriver.enqueue("executeQuery", Long.valueOf(4));
+				try {
+					allocator.allocate(connection);
+					fail();
+				} catch (SQLException ex) {
+					assertTrue(ex.getMessage().startsWith("Sequence increment does not match block size."));
+				}
+				try {
+					allocator.allocate(connection);
+					fail();
+				} catch (SQLException ex) {
+					// 以降も失敗する
+				}
+			} finally {
+				source.returnConnection(connection);
+			}
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			StubDriver.reset();
+		}
+	}
+
+	@Test
+	public void testInsertRace() {
+		StubDriver.reset();
+		try {
+			BlockIdGenerator generator = new BlockIdGenerator(createSource(), new TableBlockAllocator("order", 50));
+
+			// 同時登録で一意制約違反となり、トランザクションの中断により更新し直せない場合は再実行する
+			StubDriver.enqueue("executeUpdate", 0);
+			StubDriver.enqueue("executeUpdate", new SQLException("duplicate key", "23505"));
+			StubDriver.enqueue("executeUpdate", new SQLException("transaction aborted", "25P02"));
+			StubDriver.enqueue("executeQuery", Long.valueOf(101));
+			assertEquals(51, generator.next());
+			assertEquals(4, StubDriver.getCount("executeUpdate"));
+			assertEquals(1, StubDriver.getCount("executeQuery"));
+			assertEquals(1, StubDriver.getCount("rollback"));
+			assertEquals(1, StubDriver.getCount("commit"));
+
+			generator.shutdown();
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			StubDriver.reset();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package org.azkfw.persistence.database.id;
+
+import java.sql.SQLException;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link TableBlockAllocator}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class TableBlockAllocatorTest extends AbstractTestCase {
+
+	private DatabaseSource source;
+
+	private DatabaseConnection connection;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StubDriver.reset();
+		source = new DatabaseSource("id");
+		source.load(StubDriver.class.getName(), StubDriver.URL + "id", "user", "password");
+		connection = source.getConnection();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		source.returnConnection(connection);
+		StubDriver.reset();
+		super.tearDown();
+	}
+
+	@Test
+	public void testAllocate() {
+		TableBlockAllocator allocator = new TableBlockAllocator("order", 50);
+		try {
+			// 更新後の次に払い出すIDからブロックの先頭を求める
+			StubDriver.enqueue("executeQuery", Long.valueOf(151));
+			assertEquals(101, allocator.allocate(connection));
+			assertEquals(1, StubDriver.getCount("executeUpdate"));
+			assertEquals(1, StubDriver.getCount("executeQuery"));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testInsert() {
+		TableBlockAllocator allocator = new TableBlockAllocator("order", 50);
+		allocator.setInitialValue(1000);
+		try {
+			// 行が存在しない場合は初期値で登録する
+			StubDriver.enqueue("executeUpdate", 0);
+			assertEquals(1000, allocator.allocate(connection));
+			assertEquals(2, StubDriver.getCount("executeUpdate"));
+			assertEquals(0, StubDriver.getCount("executeQuery"));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testInsertRace() {
+		TableBlockAllocator allocator = new TableBlockAllocator("order", 50);
+		try {
+			// 他のノードが同時に登録した場合は更新し直す
+			StubDriver.enqueue("executeUpdate", 0);
+			StubDriver.enqueue("executeUpdate", new SQLException("duplicate key", "23505"));
+			StubDriver.enqueue("executeUpdate", 1);
+			StubDriver.enqueue("executeQuery", Long.valueOf(101));
+			assertEquals(51, allocator.allocate(connection));
+			assertEquals(3, StubDriver.getCount("executeUpdate"));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+
+		SQLException duplicate = new SQLException("duplicate key", "23505");
+		try {
+			// 更新し直しても行が存在しない場合は登録の例外をスローする
+			StubDriver.enqueue("executeUpdate", 0);
+			StubDriver.enqueue("executeUpdate", duplicate);
+			StubDriver.enqueue("executeUpdate", 0);
+			allocator.allocate(connection);
+			fail();
+		} catch (SQLException ex) {
+			assertSame(duplicate, ex);
+		}
+
+		duplicate = new SQLException("duplicate key", "23505");
+		SQLException aborted = new SQLException("transaction aborted", "25P02");
+		try {
+			// トランザクションが中断された場合は更新の例外を連結して呼び出し元へ再試行を委ねる
+			StubDriver.enqueue("executeUpdate", 0);
+			StubDriver.enqueue("executeUpdate", duplicate);
+			StubDriver.enqueue("executeUpdate", aborted);
+			allocator.allocate(connection);
+			fail();
+		} catch (SQLException ex) {
+			assertSame(duplicate, ex);
+			assertSame(aborted, ex.getNextException());
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package org.azkfw.persistence.database.loader;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseListenerAdapter;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.azkfw.persistence.entity.Entity;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link BatchLoader}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class BatchLoaderTest extends AbstractTestCase {
+
+	public static class UserEntity implements Entity {
+		private long id;
+		private String name;
+
+		@Override
+		public boolean isEmpty() {
+			return null == name;
+		}
+	}
+
+	private final AtomicInteger queries = new AtomicInteger();
+
+	private final List<String> sqls = new ArrayList<String>();
+
+	private BatchLoader<Long, UserEntity> createLoader() throws ClassNotFoundException {
+		DatabaseSource source = new DatabaseSource("loader");
+		source.load(StubDriver.class.getName(), StubDriver.URL + "loader", "user", "password");
+		source.addListener(new DatabaseListenerAdapter() {
+			@Override
+			public void statementExecuting(final DatabaseSource source, final Statement statement, final String sql) {
+				queries.incrementAndGet();
+				synchronized (sqls) {
+					sqls.add(sql);
+				}
+			}
+		});
+
+		return new BatchLoader<Long, UserEntity>(source, new EntityBatchFunction<Long, UserEntity>("SELECT * FROM USER", "ID") {
+			@Override
+			protected Long getKey(final ResultSet rs) throws SQLException {
+				return Long.valueOf(rs.getLong("ID"));
+			}
+
+			@Override
+			protected UserEntity toEntity(final ResultSet rs) throws SQLException {
+				UserEntity entity = new UserEntity();
+				entity.id = rs.getLong("ID");
+				entity.name = rs.getString("NAME");
+				return entity;
+			}
+		});
+	}
+
+	@Test
+	public void testScope() {
+		try {
+			BatchLoader<Long, UserEntity> loader = createLoader();
+			loader.setMaxBatchSize(2);
+
+			LoadScope<Long, UserEntity> scope = loader.openScope();
+			scope.load(Long.valueOf(1));
+			scope.load(Long.valueOf(2));
+			scope.load(Long.valueOf(4));
+			assertEquals(0, queries.get());
+
+			UserEntity entity = scope.get(Long.valueOf(1));
+			assertEquals(2, queries.get());
+			assertEquals(1, entity.id);
+			assertEquals("SELECT * FROM USER WHERE ID IN (?,?)", sqls.get(0));
+			assertEquals("SELECT * FROM USER WHERE ID IN (?)", sqls.get(1));
+			assertNull(scope.get(Long.valueOf(4)));
+
+			assertSame(entity, scope.get(Long.valueOf(1)));
+			assertEquals(2, queries.get());
+
+			Map<Long, UserEntity> entities = scope.getAll(Arrays.asList(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3)));
+			assertEquals(3, queries.get());
+			assertEquals(3, entities.size());
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testWindow() {
+		try {
+			final BatchLoader<Long, UserEntity> loader = createLoader();
+			loader.setWindow(500);
+
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<UserEntity> results = new ArrayList<UserEntity>();
+			List<Thread> threads = new ArrayList<Thread>();
+			for (int i = 1; i <= 3; i++) {
+				final Long key = Long.valueOf(i);
+				Thread thread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							UserEntity entity = loader.load(key);
+							synchronized (results) {
+								results.add(entity);
+							}
+						} catch (InterruptedException | SQLException ex) {
+							ex.printStackTrace();
+						}
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			start.countDown();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+
+			assertEquals(1, queries.get());
+			assertEquals(3, results.size());
+			// パラメータ数は2のべき乗に切り上げる
+			assertEquals("SELECT * FROM USER WHERE ID IN (?,?,?,?)", sqls.get(0));
+
+			loader.setWindow(0);
+			assertNotNull(loader.load(Long.valueOf(2)));
+			assertEquals(2, queries.get());
+		} catch (ClassNotFoundException | SQLException | InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testError() {
+		try {
+			DatabaseSource source = new DatabaseSource("loader");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "loader", "user", "password");
+			final BatchLoader<Long, String> loader = new BatchLoader<Long, String>(source, new BatchFunction<Long, String>() {
+				@Override
+				public Map<Long, String> load(final DatabaseConnection connection, final List<Long> keys) throws SQLException {
+					throw new Error("load error");
+				}
+			});
+			loader.setWindow(500);
+
+			final CountDownLatch start = new CountDownLatch(1);
+			final CountDownLatch finished = new CountDownLatch(3);
+			final List<Throwable> errors = new ArrayList<Throwable>();
+			for (int i = 1; i <= 3; i++) {
+				final Long key = Long.valueOf(i);
+				Thread thread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							loader.load(key);
+						} catch (Throwable ex) {
+							synchronized (errors) {
+								errors.add(ex);
+							}
+						} finally {
+							finished.countDown();
+						}
+					}
+				});
+				thread.setDaemon(true);
+				thread.start();
+			}
+			start.countDown();
+
+			// 読み込みを行ったスレッド以外も待ち続けずに失敗する
+			assertTrue(finished.await(5, TimeUnit.SECONDS));
+			assertEquals(3, errors.size());
+			for (Throwable error : errors) {
+				assertTrue(error instanceof Error);
+			}
+		} catch (ClassNotFoundException | InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
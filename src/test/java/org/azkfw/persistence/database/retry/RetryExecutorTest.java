@@ -0,0 +1,170 @@
+package org.azkfw.persistence.database.retry;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.azkfw.persistence.database.TransactionCallback;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link RetryExecutor}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class RetryExecutorTest extends AbstractTestCase {
+
+	private RetryExecutor executor;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StubDriver.reset();
+
+		DatabaseSource source = new DatabaseSource("retry");
+		source.load(StubDriver.class.getName(), StubDriver.URL + "retry", "user", "password");
+		RetryPolicy policy = new RetryPolicy();
+		policy.setMaxAttempts(3);
+		policy.setInitialInterval(1);
+		executor = new RetryExecutor(source, policy);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		StubDriver.reset();
+		super.tearDown();
+	}
+
+	@Test
+	public void testRetry() {
+		final AtomicInteger attempts = new AtomicInteger();
+		try {
+			String result = executor.execute(new TransactionCallback<String>() {
+				@Override
+				public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+					if (3 > attempts.incrementAndGet()) {
+						throw new SQLException("deadlock", "40P01");
+					}
+					return "ok";
+				}
+			});
+			assertEquals("ok", result);
+			assertEquals(3, attempts.get());
+			assertEquals(2, StubDriver.getCount("rollback"));
+			assertEquals(1, StubDriver.getCount("commit"));
+			assertEquals(2, executor.getStatistics().getRetryCount());
+			assertEquals(1, executor.getStatistics().getRecoveryCount());
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testNotTransient() {
+		final AtomicInteger attempts = new AtomicInteger();
+		try {
+			executor.execute(new TransactionCallback<String>() {
+				@Override
+				public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+					attempts.incrementAndGet();
+					throw new SQLException("unique", "23505");
+				}
+			});
+			fail();
+		} catch (SQLException ex) {
+			assertEquals("23505", ex.getSQLState());
+		}
+		assertEquals(1, attempts.get());
+		assertEquals(1, StubDriver.getCount("rollback"));
+		assertEquals(1, executor.getStatistics().getFailureCount());
+	}
+
+	@Test
+	public void testExhausted() {
+		final AtomicInteger attempts = new AtomicInteger();
+		try {
+			executor.execute(new TransactionCallback<String>() {
+				@Override
+				public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+					attempts.incrementAndGet();
+					throw new SQLException("deadlock", "40001");
+				}
+			});
+			fail();
+		} catch (SQLException ex) {
+			assertEquals("40001", ex.getSQLState());
+		}
+		assertEquals(3, attempts.get());
+		assertEquals(1, executor.getStatistics().getExhaustionCount());
+	}
+
+	@Test
+	public void testCommitFailure() {
+		final AtomicInteger attempts = new AtomicInteger();
+		TransactionCallback<String> callback = new TransactionCallback<String>() {
+			@Override
+			public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+				attempts.incrementAndGet();
+				return "ok";
+			}
+		};
+
+		// コミット結果が不明な場合、冪等でなければ再実行しない
+		StubDriver.enqueue("commit", new SQLException("connection reset", "08006"));
+		try {
+			executor.execute(callback);
+			fail();
+		} catch (SQLException ex) {
+			assertEquals("08006", ex.getSQLState());
+		}
+		assertEquals(1, attempts.get());
+
+		// 冪等な場合は再実行する
+		attempts.set(0);
+		StubDriver.enqueue("commit", new SQLException("connection reset", "08006"));
+		try {
+			assertEquals("ok", executor.execute(callback, true));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+		assertEquals(2, attempts.get());
+
+		// ロールバック済みの場合は冪等でなくても再実行する
+		attempts.set(0);
+		StubDriver.enqueue("commit", new SQLException("serialization", "40001"));
+		try {
+			assertEquals("ok", executor.execute(callback));
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void testError() {
+		try {
+			executor.execute(new TransactionCallback<String>() {
+				@Override
+				public String doInTransaction(final DatabaseConnection connection) throws SQLException {
+					throw new AssertionError("error");
+				}
+			});
+			fail();
+		} catch (AssertionError ex) {
+			assertEquals("error", ex.getMessage());
+		} catch (SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+		assertEquals(1, StubDriver.getCount("rollback"));
+		assertEquals(0, StubDriver.getCount("commit"));
+	}
+}
@@ -0,0 +1,66 @@
+package org.azkfw.persistence.database.retry;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link RetryPolicy}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class RetryPolicyTest extends AbstractTestCase {
+
+	@Test
+	public void testDelay() {
+		RetryPolicy policy = new RetryPolicy();
+		policy.setInitialInterval(100);
+		policy.setMaxInterval(1000);
+		policy.setMultiplier(2.0);
+		policy.setJitter(0.0);
+
+		assertEquals(100, policy.getDelay(1));
+		assertEquals(200, policy.getDelay(2));
+		assertEquals(400, policy.getDelay(3));
+		assertEquals(800, policy.getDelay(4));
+		assertEquals(1000, policy.getDelay(5));
+		assertEquals(1000, policy.getDelay(30));
+	}
+
+	@Test
+	public void testJitter() {
+		RetryPolicy policy = new RetryPolicy();
+		policy.setInitialInterval(100);
+		policy.setMaxInterval(1000);
+		policy.setMultiplier(2.0);
+		policy.setJitter(0.5);
+
+		boolean varied = false;
+		long first = policy.getDelay(3);
+		for (int i = 0; i < 1000; i++) {
+			long delay = policy.getDelay(3);
+			assertTrue(200 <= delay && delay <= 400);
+			varied |= (delay != first);
+
+			delay = policy.getDelay(10);
+			assertTrue(500 <= delay && delay <= 1000);
+		}
+		assertTrue(varied);
+	}
+
+	@Test
+	public void testValidation() {
+		RetryPolicy policy = new RetryPolicy();
+		try {
+			policy.setMaxAttempts(0);
+			fail();
+		} catch (IllegalArgumentException ex) {
+		}
+		try {
+			policy.setJitter(1.5);
+			fail();
+		} catch (IllegalArgumentException ex) {
+		}
+	}
+}
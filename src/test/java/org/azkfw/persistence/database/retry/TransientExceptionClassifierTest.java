@@ -0,0 +1,94 @@
+package org.azkfw.persistence.database.retry;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransactionRollbackException;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link TransientExceptionClassifier}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class TransientExceptionClassifierTest extends AbstractTestCase {
+
+	@Test
+	public void testSQLState() {
+		TransientExceptionClassifier classifier = new TransientExceptionClassifier();
+
+		// serialization failure, deadlock
+		assertTrue(classifier.isTransient(new SQLException("serialization", "40001")));
+		assertTrue(classifier.isTransient(new SQLException("deadlock", "40P01")));
+		assertTrue(classifier.isRolledBack(new SQLException("deadlock", "40P01")));
+		assertFalse(classifier.isConnectionFailure(new SQLException("deadlock", "40P01")));
+
+		// connection exception
+		assertTrue(classifier.isTransient(new SQLException("connection", "08006")));
+		assertTrue(classifier.isConnectionFailure(new SQLException("connection", "08006")));
+		assertFalse(classifier.isRolledBack(new SQLException("connection", "08006")));
+
+		// admin shutdown
+		assertTrue(classifier.isTransient(new SQLException("shutdown", "57P01")));
+
+		// unique violation, syntax error
+		assertFalse(classifier.isTransient(new SQLException("unique", "23505")));
+		assertFalse(classifier.isTransient(new SQLException("syntax", "42601")));
+		assertFalse(classifier.isTransient(new SQLException("unknown")));
+
+		classifier.addTransientSQLState("23505");
+		assertTrue(classifier.isTransient(new SQLException("unique", "23505")));
+	}
+
+	@Test
+	public void testErrorCode() {
+		TransientExceptionClassifier classifier = new TransientExceptionClassifier();
+
+		// MySQL deadlock, Oracle cannot serialize, DB2 deadlock
+		assertTrue(classifier.isTransient(new SQLException("deadlock", "HY000", 1213)));
+		assertTrue(classifier.isTransient(new SQLException("serialize", "72000", 8177)));
+		assertTrue(classifier.isTransient(new SQLException("deadlock", "57033", -911)));
+		assertFalse(classifier.isTransient(new SQLException("duplicate", "HY000", 1062)));
+
+		classifier.addTransientErrorCode(1062);
+		assertTrue(classifier.isTransient(new SQLException("duplicate", "HY000", 1062)));
+	}
+
+	@Test
+	public void testType() {
+		TransientExceptionClassifier classifier = new TransientExceptionClassifier();
+
+		assertTrue(classifier.isTransient(new SQLTransactionRollbackException("rollback")));
+		assertTrue(classifier.isTransient(new SQLRecoverableException("recoverable")));
+		assertTrue(classifier.isConnectionFailure(new SQLRecoverableException("recoverable")));
+		assertFalse(classifier.isTransient(new IllegalStateException("state")));
+		assertFalse(classifier.isTransient(null));
+	}
+
+	@Test
+	public void testChain() {
+		TransientExceptionClassifier classifier = new TransientExceptionClassifier();
+
+		// 原因例外
+		SQLException wrapper = new SQLException("wrapper", "HY000", new SQLException("deadlock", "40001"));
+		assertTrue(classifier.isTransient(wrapper));
+		assertTrue(classifier.isRolledBack(wrapper));
+		assertTrue(classifier.isTransient(new RuntimeException(new SQLException("connection", "08001"))));
+
+		// 次の例外
+		SQLException batch = new SQLException("batch", "HY000");
+		batch.setNextException(new SQLException("connection", "08003"));
+		assertTrue(classifier.isTransient(batch));
+		assertTrue(classifier.isConnectionFailure(batch));
+
+		// 循環した連鎖
+		SQLException first = new SQLException("first", "HY000");
+		SQLException second = new SQLException("second", "HY000");
+		first.setNextException(second);
+		second.setNextException(first);
+		assertFalse(classifier.isTransient(first));
+	}
+}
@@ -0,0 +1,89 @@
+package org.azkfw.persistence.database.scan;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link KeysetScanner}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class KeysetScannerTest extends AbstractTestCase {
+
+	@Test
+	public void testCheckpoint() {
+		KeysetCheckpoint checkpoint = new KeysetCheckpoint(1, 10, 4);
+		assertEquals(4, checkpoint.getPartitions());
+		assertEquals(1, checkpoint.getNext(0));
+		assertEquals(10, checkpoint.getUpper(3));
+		for (int i = 1; i < 4; i++) {
+			assertEquals(checkpoint.getUpper(i - 1) + 1, checkpoint.getNext(i));
+			assertTrue(checkpoint.getNext(i) <= checkpoint.getUpper(i));
+		}
+
+		checkpoint = new KeysetCheckpoint(5, 7, 8);
+		assertEquals(3, checkpoint.getPartitions());
+		assertEquals(5, checkpoint.getUpper(0));
+		assertEquals(7, checkpoint.getUpper(2));
+
+		checkpoint = new KeysetCheckpoint(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+		assertEquals(3, checkpoint.getPartitions());
+		assertEquals(Long.MIN_VALUE, checkpoint.getNext(0));
+		assertEquals(Long.MAX_VALUE, checkpoint.getUpper(2));
+		assertEquals(checkpoint.getUpper(0) + 1, checkpoint.getNext(1));
+
+		checkpoint.processed(0, checkpoint.getNext(0));
+		assertEquals(Long.MIN_VALUE + 1, checkpoint.getNext(0));
+		assertFalse(checkpoint.isDone(0));
+		checkpoint.processed(0, checkpoint.getUpper(0));
+		assertTrue(checkpoint.isDone(0));
+		assertFalse(checkpoint.isDone());
+	}
+
+	@Test
+	public void testResume() {
+		try {
+			DatabaseSource source = new DatabaseSource("scan");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "scan", "user", "password");
+
+			KeysetScanner scanner = new KeysetScanner(source, "T", "ID");
+			scanner.setPageSize(10);
+			KeysetCheckpoint checkpoint = scanner.createCheckpoint();
+			assertEquals(1, checkpoint.getPartitions());
+
+			final AtomicInteger count = new AtomicInteger();
+			try {
+				scanner.scan(checkpoint, new RowHandler() {
+					@Override
+					public void handle(final ResultSet rs) throws SQLException {
+						throw new SQLException("failure");
+					}
+				});
+				fail();
+			} catch (SQLException ex) {
+				assertEquals("failure", ex.getMessage());
+			}
+			assertFalse(checkpoint.isDone());
+
+			scanner.scan(checkpoint, new RowHandler() {
+				@Override
+				public void handle(final ResultSet rs) throws SQLException {
+					count.incrementAndGet();
+				}
+			});
+			assertTrue(checkpoint.isDone());
+			assertEquals(1, count.get());
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
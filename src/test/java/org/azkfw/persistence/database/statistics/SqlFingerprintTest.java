@@ -0,0 +1,45 @@
+package org.azkfw.persistence.database.statistics;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link SqlFingerprint}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class SqlFingerprintTest extends AbstractTestCase {
+
+	@Test
+	public void testLiteral() {
+		assertEquals("SELECT * FROM T WHERE ID = ? AND NAME = ?", SqlFingerprint.normalize("SELECT * FROM T WHERE ID = 10 AND NAME = 'a''b'"));
+		assertEquals("SELECT * FROM T WHERE ID = ?", SqlFingerprint.normalize("SELECT * FROM T WHERE ID = 1.5e3"));
+		assertEquals("SELECT COL1 FROM TABLE1 WHERE ID=?", SqlFingerprint.normalize("SELECT COL1 FROM TABLE1 WHERE ID=2"));
+		assertNull(SqlFingerprint.normalize(null));
+	}
+
+	@Test
+	public void testWhitespaceAndComment() {
+		assertEquals("SELECT * FROM T WHERE ID = ?",
+				SqlFingerprint.normalize("  SELECT  *\n -- comment 1\n\tFROM /* comment */ T\r\n WHERE ID = ?"));
+		assertEquals(SqlFingerprint.normalize("SELECT * FROM T WHERE ID = 1"), SqlFingerprint.normalize("SELECT *   FROM T WHERE ID = 2"));
+	}
+
+	@Test
+	public void testInList() {
+		assertEquals("SELECT * FROM T WHERE ID IN (?)", SqlFingerprint.normalize("SELECT * FROM T WHERE ID IN (1, 2, 3)"));
+		assertEquals("SELECT * FROM T WHERE ID in(?)", SqlFingerprint.normalize("SELECT * FROM T WHERE ID in(?,?)"));
+		assertEquals("SELECT * FROM T WHERE ID NOT IN ( ? )", SqlFingerprint.normalize("SELECT * FROM T WHERE ID NOT IN ( 'a' , 'b' )"));
+		assertEquals(SqlFingerprint.normalize("DELETE FROM T WHERE ID IN (1)"), SqlFingerprint.normalize("DELETE FROM T WHERE ID IN (1, 2, 3, 4)"));
+	}
+
+	@Test
+	public void testValues() {
+		assertEquals("INSERT INTO T (A, B, C) VALUES (?, ?, ?)", SqlFingerprint.normalize("INSERT INTO T (A, B, C) VALUES (1, 'x', 3)"));
+		assertFalse(SqlFingerprint.normalize("INSERT INTO T VALUES (?, ?)").equals(SqlFingerprint.normalize("INSERT INTO T VALUES (?, ?, ?)")));
+		assertEquals("SELECT * FROM T WHERE F(?, ?) = ? AND MIN_IN (?, ?) = ?",
+				SqlFingerprint.normalize("SELECT * FROM T WHERE F(1, 2) = 3 AND MIN_IN (1, 2) = 3"));
+	}
+}
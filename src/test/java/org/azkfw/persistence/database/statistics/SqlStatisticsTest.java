@@ -0,0 +1,101 @@
+package org.azkfw.persistence.database.statistics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link SqlStatistics}のユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class SqlStatisticsTest extends AbstractTestCase {
+
+	@Test
+	public void testRecord() {
+		SqlStatistics statistics = new SqlStatistics("test");
+		statistics.record("SELECT * FROM T WHERE ID = 1", TimeUnit.MILLISECONDS.toNanos(2), false);
+		statistics.record("SELECT * FROM T WHERE ID = 2", TimeUnit.MILLISECONDS.toNanos(4), true);
+		StatementStatistics s = statistics.record("SELECT  *  FROM T WHERE ID = 3", TimeUnit.MILLISECONDS.toNanos(6), false);
+		s.recordRows(10);
+		s.recordRows(-1);
+
+		assertSame(s, statistics.getStatistics("SELECT * FROM T WHERE ID = 1"));
+		assertEquals("SELECT * FROM T WHERE ID = ?", s.getFingerprint());
+		assertEquals(3, s.getCount());
+		assertEquals(1, s.getErrorCount());
+		assertEquals(12, s.getTotalTime(TimeUnit.MILLISECONDS));
+		assertEquals(4, s.getAverageTime(TimeUnit.MILLISECONDS));
+		assertEquals(6, s.getMaxTime(TimeUnit.MILLISECONDS));
+		assertEquals(10, s.getRows());
+	}
+
+	@Test
+	public void testPercentile() {
+		StatementStatistics s = new StatementStatistics("SELECT ?");
+		assertEquals(0, s.getPercentile(50.0, TimeUnit.MICROSECONDS));
+
+		for (int i = 0; i < 99; i++) {
+			s.record(TimeUnit.MICROSECONDS.toNanos(100), false);
+		}
+		s.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+		// 100us はバケット(64us, 128us]に属する
+		assertEquals(128, s.getPercentile(50.0, TimeUnit.MICROSECONDS));
+		assertEquals(128, s.getPercentile(99.0, TimeUnit.MICROSECONDS));
+		// 上限は最大実行時間で切り詰める
+		assertEquals(10000, s.getPercentile(99.9, TimeUnit.MICROSECONDS));
+		assertEquals(10000, s.getPercentile(100.0, TimeUnit.MICROSECONDS));
+
+		StatementStatistics small = new StatementStatistics("SELECT ?");
+		small.record(500, false);
+		assertEquals(1, small.getPercentile(50.0, TimeUnit.MICROSECONDS));
+	}
+
+	@Test
+	public void testSlowQuery() {
+		SqlStatistics statistics = new SqlStatistics("test");
+		assertEquals(0, statistics.getSlowQueryThreshold(TimeUnit.MILLISECONDS));
+		statistics.record("SELECT 1", TimeUnit.SECONDS.toNanos(100), false);
+		assertEquals(0, statistics.getStatistics("SELECT 1").getSlowCount());
+
+		statistics.setSlowQueryThreshold(100, TimeUnit.MILLISECONDS);
+		assertEquals(100, statistics.getSlowQueryThreshold(TimeUnit.MILLISECONDS));
+		statistics.record("SELECT 1", TimeUnit.MILLISECONDS.toNanos(99), false);
+		statistics.record("SELECT 2", TimeUnit.MILLISECONDS.toNanos(100), false);
+		StatementStatistics s = statistics.record("SELECT 3", TimeUnit.MILLISECONDS.toNanos(150), true);
+		assertEquals(2, s.getSlowCount());
+		assertEquals(4, s.getCount());
+
+		statistics.setSlowQueryThreshold(0, TimeUnit.MILLISECONDS);
+		statistics.record("SELECT 1", TimeUnit.SECONDS.toNanos(100), false);
+		assertEquals(2, s.getSlowCount());
+	}
+
+	@Test
+	public void testSortAndReset() {
+		SqlStatistics statistics = new SqlStatistics("test", 1);
+		statistics.record("SELECT * FROM A WHERE ID = 1", 1000, false);
+		statistics.record("SELECT * FROM B WHERE ID = 1", 5000, false);
+		statistics.record("SELECT * FROM C WHERE ID = 1", 3000, false);
+		statistics.record("SELECT * FROM A WHERE ID = 2", 1000, false);
+
+		List<StatementStatistics> list = statistics.getStatementStatistics();
+		assertEquals(3, list.size());
+		assertEquals("SELECT * FROM B WHERE ID = ?", list.get(0).getFingerprint());
+		assertEquals("SELECT * FROM C WHERE ID = ?", list.get(1).getFingerprint());
+		assertEquals("SELECT * FROM A WHERE ID = ?", list.get(2).getFingerprint());
+		assertEquals(2, list.get(2).getCount());
+
+		statistics.reset();
+		for (StatementStatistics s : statistics.getStatementStatistics()) {
+			assertEquals(0, s.getCount());
+			assertEquals(0, s.getTotalTime(TimeUnit.NANOSECONDS));
+			assertEquals(0, s.getPercentile(99.0, TimeUnit.NANOSECONDS));
+		}
+	}
+}
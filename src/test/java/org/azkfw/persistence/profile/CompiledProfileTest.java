@@ -0,0 +1,146 @@
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link CompiledProfile}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class CompiledProfileTest extends AbstractTestCase {
+
+	@Test
+	public void testGetType() {
+		File file = null;
+		try {
+			IniFile ini = new IniFile();
+			ini.read(getResourceAsFile("IniFiles/type.ini"), Charset.forName("UTF8"));
+
+			file = File.createTempFile("compiled", CompiledProfile.EXTENSION);
+			ProfileCompiler.compile(ini, file);
+			CompiledProfile profile = new CompiledProfile(file);
+
+			assertEquals(11, profile.size());
+
+			// String
+			assertEquals("ABC", profile.get("string", "value1", "DEFAULT"));
+			assertEquals("DEFAULT", profile.get("string", "none", "DEFAULT"));
+			assertEquals("DEFAULT", profile.get("none", "value1", "DEFAULT"));
+
+			// Integer
+			assertEquals(Integer.valueOf(1), profile.get("integer", "value1", Integer.valueOf(-1)));
+			assertEquals(Integer.valueOf(-1), profile.get("string", "value1", Integer.valueOf(-1)));
+
+			// Long
+			assertEquals(Long.valueOf(2), profile.get("long", "value1", Long.valueOf(-1)));
+
+			// Float
+			assertEquals(Float.valueOf(0.1f), profile.get("float", "value1", Float.valueOf(-1)));
+
+			// Double
+			assertEquals(Double.valueOf(0.2), profile.get("double", "value1", Double.valueOf(-1)));
+
+			// Boolean
+			assertTrue(profile.get("boolean", "value1", Boolean.FALSE));
+			assertFalse(profile.get("boolean", "value2", Boolean.TRUE));
+			assertNull(profile.get("string", "value1", (Boolean) null));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testOpen() {
+		File file = null;
+		File compiled = null;
+		try {
+			file = File.createTempFile("compiled", ".ini");
+			compiled = new File(file.getPath() + CompiledProfile.EXTENSION);
+			write(file, "[global]\nname = 日本語\n");
+
+			Profile profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertTrue(profile instanceof CompiledProfile);
+			assertTrue(compiled.isFile());
+			assertEquals("日本語", profile.get("global", "name", ""));
+
+			// iniファイルが新しい場合、再コンパイルされる
+			write(file, "[global]\nname = changed\n");
+			file.setLastModified(compiled.lastModified() + 2000);
+			profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertEquals("changed", profile.get("global", "name", ""));
+
+			// 破損している場合、再コンパイルされる
+			write(compiled, "broken");
+			compiled.setLastModified(file.lastModified() + 2000);
+			profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertEquals("changed", profile.get("global", "name", ""));
+
+			// iniファイルの更新日時が古くなった場合(バックアップからの復元等)も再コンパイルされる
+			write(file, "[global]\nname = restored\n");
+			file.setLastModified(compiled.lastModified() - 10000);
+			profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertEquals("restored", profile.get("global", "name", ""));
+
+			// 変更されていない場合、コンパイル済みファイルを読み込む
+			long modified = compiled.lastModified();
+			Thread.sleep(10);
+			profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertTrue(profile instanceof CompiledProfile);
+			assertEquals(modified, compiled.lastModified());
+
+			// 途中で切り詰められている場合、再コンパイルされる
+			RandomAccessFile raf = new RandomAccessFile(compiled, "rw");
+			try {
+				raf.setLength(raf.length() - 4);
+			} finally {
+				raf.close();
+			}
+			try {
+				new CompiledProfile(compiled);
+				fail();
+			} catch (IOException ex) {
+			}
+			profile = CompiledProfile.open(file, Charset.forName("UTF8"));
+			assertEquals("restored", profile.get("global", "name", ""));
+
+		} catch (InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+			if (null != compiled) {
+				compiled.delete();
+			}
+		}
+	}
+
+	private static void write(final File file, final String text) throws IOException {
+		OutputStream stream = new FileOutputStream(file);
+		try {
+			stream.write(text.getBytes("UTF-8"));
+		} finally {
+			stream.close();
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package org.azkfw.persistence.profile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ConcurrentProfile}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ConcurrentProfileTest extends AbstractTestCase {
+
+	@Test
+	public void testRead() {
+		ConcurrentProfile profile = new ConcurrentProfile();
+		try {
+			profile.read(getResourceAsFile("IniFiles/type.ini"), Charset.forName("UTF8"));
+
+			assertEquals("ABC", profile.get("string", "value1", "DEFAULT"));
+			assertEquals(Integer.valueOf(1), profile.get("integer", "value1", Integer.valueOf(-1)));
+			assertTrue(profile.get("boolean", "value3", Boolean.FALSE));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testEdit() {
+		ConcurrentProfile profile = new ConcurrentProfile();
+		profile.put(" global ", " name ", " value ");
+		assertEquals("value", profile.get("global", "name", ""));
+
+		ConcurrentProfile.Editor editor = profile.edit();
+		editor.put("global", "a", "1").put("global", "b", "2").remove("global", "name");
+		assertEquals("DEFAULT", profile.get("global", "a", "DEFAULT"));
+		editor.commit();
+		assertEquals(Integer.valueOf(1), profile.get("global", "a", Integer.valueOf(-1)));
+		assertEquals(Integer.valueOf(2), profile.get("global", "b", Integer.valueOf(-1)));
+		assertEquals("DEFAULT", profile.get("global", "name", "DEFAULT"));
+
+		profile.remove("global");
+		assertEquals(0, profile.getSnapshot().size());
+	}
+
+	@Test
+	public void testAtomicPublish() throws InterruptedException {
+		final ConcurrentProfile profile = new ConcurrentProfile();
+		profile.edit().put("global", "a", "0").put("global", "b", "0").commit();
+
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger errors = new AtomicInteger();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (running.get()) {
+						ProfileSnapshot snapshot = profile.getSnapshot();
+						if (!snapshot.get("global", "a", "").equals(snapshot.get("global", "b", ""))) {
+							errors.incrementAndGet();
+						}
+					}
+				}
+			});
+			readers[i].start();
+		}
+
+		for (int i = 1; i <= 2000; i++) {
+			profile.edit().put("global", "a", Integer.toString(i)).put("global", "b", Integer.toString(i)).commit();
+		}
+		running.set(false);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+
+		assertEquals(0, errors.get());
+		assertEquals(Integer.valueOf(2000), profile.get("global", "a", Integer.valueOf(-1)));
+	}
+
+	@Test
+	public void testListenerOrder() throws InterruptedException {
+		final List<String> published = Collections.synchronizedList(new ArrayList<String>());
+		final List<String> notified = Collections.synchronizedList(new ArrayList<String>());
+		final ConcurrentProfile profile = new ConcurrentProfile() {
+			@Override
+			protected void publish(final ProfileSnapshot oldSnapshot, final ProfileSnapshot newSnapshot) {
+				super.publish(oldSnapshot, newSnapshot);
+				for (ProfileKey key : oldSnapshot.diff(newSnapshot)) {
+					published.add(key.getName());
+				}
+			}
+		};
+		profile.addProfileListener(new ProfileListener() {
+			@Override
+			public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+				for (ProfileKey key : keys) {
+					notified.add(key.getName());
+				}
+			}
+		});
+
+		Thread[] writers = new Thread[4];
+		for (int i = 0; i < writers.length; i++) {
+			final int no = i;
+			writers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 500; j++) {
+						profile.put("global", no + "-" + j, "value");
+					}
+				}
+			});
+			writers[i].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		assertEquals(2000, published.size());
+		assertEquals(published, notified);
+	}
+
+	@Test
+	public void testListenerError() {
+		final List<String> notified = new ArrayList<String>();
+		ConcurrentProfile profile = new ConcurrentProfile();
+		profile.addProfileListener(new ProfileListener() {
+			@Override
+			public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+				throw new IllegalStateException("listener");
+			}
+		});
+		profile.addProfileListener(new ProfileListener() {
+			@Override
+			public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+				for (ProfileKey key : keys) {
+					notified.add(key.getName());
+				}
+			}
+		});
+
+		profile.put("global", "a", "1");
+		profile.edit().put("global", "b", "2").commit();
+		profile.remove("global", "a");
+
+		assertEquals("DEFAULT", profile.get("global", "a", "DEFAULT"));
+		assertEquals("2", profile.get("global", "b", "DEFAULT"));
+		assertEquals(3, notified.size());
+		assertEquals("a", notified.get(0));
+		assertEquals("b", notified.get(1));
+		assertEquals("a", notified.get(2));
+	}
+}
@@ -0,0 +1,145 @@
+package org.azkfw.persistence.profile;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DatabaseProfile}クラスのユニットテストを行うクラスです。
+ * <p>
+ * {@link StubDriver} は全ての検索で3行(各列の値は行番号)を返すため、バージョンは常に1となります。
+ * </p>
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class DatabaseProfileTest extends AbstractTestCase {
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StubDriver.reset();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		StubDriver.reset();
+		super.tearDown();
+	}
+
+	@Test
+	public void testRefresh() {
+		try {
+			DatabaseSource source = new DatabaseSource("profile");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "profile", "user", "password");
+
+			DatabaseProfile profile = new DatabaseProfile(source);
+			final Set<ProfileKey> changed = new HashSet<ProfileKey>();
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					changed.addAll(keys);
+				}
+			});
+
+			assertTrue(profile.refresh());
+			assertEquals(3, changed.size());
+			assertEquals(Integer.valueOf(2), profile.get("2", "2", Integer.valueOf(-1)));
+			assertEquals("DEFAULT", profile.get("2", "3", "DEFAULT"));
+
+			// バージョンが変わっていない場合は再読み込みしない
+			assertFalse(profile.refresh());
+
+			profile.edit().put("global", "name", "value").remove("1", "1").remove("3").commit();
+
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testUpsert() {
+		try {
+			DatabaseSource source = new DatabaseSource("profile");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "profile", "user", "password");
+			DatabaseProfile profile = new DatabaseProfile(source);
+
+			// UPDATE: 1件更新, 0件(未登録), 件数不明
+			StubDriver.enqueue("executeBatch", new int[] { 1, 0, Statement.SUCCESS_NO_INFO });
+			// 件数不明の行を1件ずつ更新した結果: 0件(未登録)
+			StubDriver.enqueue("executeUpdate", 0);
+			profile.edit().put("global", "a", "1").put("global", "b", "2").put("global", "c", "3").commit();
+
+			// UPDATE, INSERT(2件)
+			assertEquals(2, StubDriver.getCount("executeBatch"));
+			// 件数不明の行の確認, バージョンの更新
+			assertEquals(2, StubDriver.getCount("executeUpdate"));
+
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testInsertRace() {
+		try {
+			DatabaseSource source = new DatabaseSource("profile");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "profile", "user", "password");
+			DatabaseProfile profile = new DatabaseProfile(source);
+
+			// 1回目: UPDATE 0件, 他のノードが先に挿入したため INSERT が一意制約違反
+			StubDriver.enqueue("executeBatch", new int[] { 0 });
+			StubDriver.enqueue("executeBatch", new SQLException("duplicate key", "23505"));
+			// 2回目: UPDATE 1件
+			StubDriver.enqueue("executeBatch", new int[] { 1 });
+			profile.edit().put("global", "name", "value").commit();
+
+			assertEquals(3, StubDriver.getCount("executeBatch"));
+			assertEquals(1, StubDriver.getCount("rollback"));
+			assertEquals(1, StubDriver.getCount("commit"));
+
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testListenerFailure() {
+		try {
+			DatabaseSource source = new DatabaseSource("profile");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "profile", "user", "password");
+
+			DatabaseProfile profile = new DatabaseProfile(source);
+			final Set<ProfileKey> changed = new HashSet<ProfileKey>();
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					throw new IllegalStateException("listener failure");
+				}
+			});
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					changed.addAll(keys);
+				}
+			});
+
+			assertTrue(profile.refresh());
+			assertEquals(3, changed.size());
+
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package org.azkfw.persistence.profile;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 
 import org.azkfw.persistence.AbstractTestCase;
 import org.junit.Test;
@@ -48,6 +50,102 @@ public class IniFileTest extends AbstractTestCase {
 		}
 	}
 
+	@Test
+	public void testWriteOrder() {
+		File file = null;
+		try {
+			String ls = System.getProperty("line.separator");
+			file = File.createTempFile("order", ".ini");
+			Files.write(file.toPath(), ("; header\n[ z ]\nb = 2\n; about a\na = 1\n\n[ y ]\nc = 3\n; footer\n").getBytes("UTF-8"));
+
+			IniFile ini = new IniFile();
+			ini.read(file, Charset.forName("UTF8"));
+			ini.put("z", "d", "4");
+			ini.remove("y", "c");
+			ini.write(file, Charset.forName("UTF8"));
+
+			String expected = "; header" + ls + "[ z ]" + ls + "b = 2" + ls + "; about a" + ls + "a = 1" + ls + "d = 4" + ls + ls + "[ y ]" + ls
+					+ "; footer" + ls;
+			assertEquals(expected, new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+
+			IniFile mapped = new IniFile();
+			new MappedIniFileReader(Charset.forName("UTF8")).read(file, mapped);
+			mapped.write(file, Charset.forName("UTF8"));
+			assertEquals(expected, new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testReread() {
+		File file = null;
+		try {
+			String ls = System.getProperty("line.separator");
+			file = File.createTempFile("reread", ".ini");
+			Files.write(file.toPath(), ("; header\n[ z ]\n; about a\na = 1\n; footer\n").getBytes("UTF-8"));
+			String expected = "; header" + ls + "[ z ]" + ls + "; about a" + ls + "a = 1" + ls + "; footer" + ls;
+
+			IniFile ini = new IniFile();
+			ini.read(file, Charset.forName("UTF8"));
+			ini.read(file, Charset.forName("UTF8"));
+			new MappedIniFileReader(Charset.forName("UTF8")).read(file, ini);
+			ini.write(file, Charset.forName("UTF8"));
+			assertEquals(expected, new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testWriteShortName() {
+		File dir = null;
+		File file = null;
+		File compiled = null;
+		try {
+			dir = Files.createTempDirectory("short").toFile();
+			file = new File(dir, "a");
+			compiled = new File(dir, "b");
+
+			IniFile ini = new IniFile();
+			ini.put("global", "name", "value");
+			ini.write(file, Charset.forName("UTF8"));
+			ProfileCompiler.compile(ini, compiled);
+
+			IniFile result = new IniFile();
+			result.read(file, Charset.forName("UTF8"));
+			assertEquals("value", result.get("global", "name", ""));
+			assertTrue(compiled.isFile());
+			assertEquals(2, dir.list().length);
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+			if (null != compiled) {
+				compiled.delete();
+			}
+			if (null != dir) {
+				dir.delete();
+			}
+		}
+	}
+
 	@Test
 	public void testGetType() {
 		IniFile ini = new IniFile();
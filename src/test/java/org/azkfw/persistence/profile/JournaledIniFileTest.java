@@ -0,0 +1,172 @@
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link JournaledIniFile}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class JournaledIniFileTest extends AbstractTestCase {
+
+	@Test
+	public void testJournal() {
+		File file = null;
+		JournaledIniFile ini = null;
+		try {
+			file = File.createTempFile("journaled", ".ini");
+			long length = file.length();
+
+			ini = new JournaledIniFile(file, Charset.forName("UTF8"));
+			ini.setCompactionThreshold(0);
+			ini.read();
+			ini.put("global", "name", "a\tb\\c");
+			ini.put("global", "count", Integer.valueOf(10));
+			ini.put("other", "value", "x");
+			ini.remove("global", "count");
+			ini.remove("other");
+			ini.close();
+
+			assertEquals(length, file.length());
+
+			JournaledIniFile replayed = new JournaledIniFile(file, Charset.forName("UTF8"));
+			replayed.read();
+			assertEquals("a\tb\\c", replayed.get("global", "name", ""));
+			assertEquals("DEFAULT", replayed.get("global", "count", "DEFAULT"));
+			assertEquals("DEFAULT", replayed.get("other", "value", "DEFAULT"));
+
+			replayed.compact();
+			replayed.close();
+			assertEquals(0, replayed.getJournal().length());
+
+			IniFile compacted = new IniFile();
+			compacted.read(file, Charset.forName("UTF8"));
+			assertEquals("a\tb\\c", compacted.get("global", "name", ""));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+				new File(file.getPath() + ".journal").delete();
+			}
+		}
+	}
+
+	@Test
+	public void testTornRecord() {
+		File file = null;
+		try {
+			file = File.createTempFile("journaled", ".ini");
+
+			OutputStream stream = new FileOutputStream(file.getPath() + ".journal");
+			try {
+				stream.write("P\tglobal\tname\tvalue\nP\tglobal\ttorn\tval".getBytes("UTF-8"));
+			} finally {
+				stream.close();
+			}
+
+			JournaledIniFile ini = new JournaledIniFile(file, Charset.forName("UTF8"));
+			ini.read();
+			assertEquals("value", ini.get("global", "name", ""));
+			assertEquals("DEFAULT", ini.get("global", "torn", "DEFAULT"));
+
+			ini.put("global", "next", "value");
+			ini.close();
+			JournaledIniFile replayed = new JournaledIniFile(file, Charset.forName("UTF8"));
+			replayed.read();
+			assertEquals("value", replayed.get("global", "next", ""));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+				new File(file.getPath() + ".journal").delete();
+			}
+		}
+	}
+
+	@Test
+	public void testCompactionThreshold() {
+		File file = null;
+		JournaledIniFile ini = null;
+		try {
+			file = File.createTempFile("journaled", ".ini");
+
+			ini = new JournaledIniFile(file, Charset.forName("UTF8"));
+			ini.setCompactionThreshold(3);
+			ini.read();
+			ini.put("global", "a", "1");
+			ini.put("global", "b", "2");
+			assertTrue(0 < ini.getJournal().length());
+			ini.put("global", "c", "3");
+			assertEquals(0, ini.getJournal().length());
+			ini.close();
+
+			IniFile compacted = new IniFile();
+			compacted.read(file, Charset.forName("UTF8"));
+			assertEquals("3", compacted.get("global", "c", ""));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+				new File(file.getPath() + ".journal").delete();
+			}
+		}
+	}
+
+	@Test
+	public void testAppendFailure() {
+		File file = null;
+		File journal = null;
+		try {
+			file = File.createTempFile("journaled", ".ini");
+			journal = new File(file.getPath() + ".journal");
+
+			JournaledIniFile ini = new JournaledIniFile(file, Charset.forName("UTF8"));
+			ini.read();
+			// ジャーナルをディレクトリにして追記を失敗させる
+			assertTrue(journal.mkdir());
+			try {
+				ini.update("global", "name", "value");
+				fail();
+			} catch (IOException ex) {
+			}
+			assertEquals("DEFAULT", ini.get("global", "name", "DEFAULT"));
+
+			try {
+				ini.put("global", "name", "value");
+				fail();
+			} catch (IllegalStateException ex) {
+				assertTrue(ex.getCause() instanceof IOException);
+			}
+			assertEquals("DEFAULT", ini.get("global", "name", "DEFAULT"));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+			if (null != journal) {
+				journal.delete();
+			}
+		}
+	}
+}
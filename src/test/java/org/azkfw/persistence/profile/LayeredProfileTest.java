@@ -0,0 +1,78 @@
+package org.azkfw.persistence.profile;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link LayeredProfile}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class LayeredProfileTest extends AbstractTestCase {
+
+	@Test
+	public void testGet() {
+		IniFile defaults = new IniFile();
+		defaults.put("pool", "size", "10");
+		defaults.put("pool", "timeout", "30");
+		defaults.put("pool", "validation", "true");
+
+		IniFile host = new IniFile();
+		host.put("pool", "size", "20");
+		host.put("pool", "timeout", "abc");
+
+		LayeredProfile profile = new LayeredProfile(host, defaults);
+		assertEquals(Integer.valueOf(20), profile.get("pool", "size", Integer.valueOf(-1)));
+		assertEquals("20", profile.get("pool", "size", ""));
+		assertEquals(Boolean.TRUE, profile.get("pool", "validation", Boolean.FALSE));
+		assertEquals("DEFAULT", profile.get("pool", "none", "DEFAULT"));
+		assertEquals("DEFAULT", profile.get("none", "size", "DEFAULT"));
+
+		// 上位のレイヤーの値が優先され、変換できない場合は既定値となる
+		assertEquals(Integer.valueOf(-1), profile.get("pool", "timeout", Integer.valueOf(-1)));
+
+		// レイヤーを直接変更した場合は明示的に破棄する
+		host.remove("pool", "size");
+		assertEquals(Integer.valueOf(20), profile.get("pool", "size", Integer.valueOf(-1)));
+		profile.invalidate();
+		assertEquals(Integer.valueOf(10), profile.get("pool", "size", Integer.valueOf(-1)));
+
+		// 先頭のレイヤーに書き込む
+		profile.put("pool", "size", Integer.valueOf(5));
+		assertEquals("5", host.get("pool", "size", ""));
+		assertEquals("10", defaults.get("pool", "size", ""));
+		assertEquals(Integer.valueOf(5), profile.get("pool", "size", Integer.valueOf(-1)));
+	}
+
+	@Test
+	public void testObservableLayer() {
+		IniFile defaults = new IniFile();
+		defaults.put("pool", "size", "10");
+
+		ConcurrentProfile host = new ConcurrentProfile();
+		LayeredProfile profile = new LayeredProfile(host, defaults);
+
+		final Set<ProfileKey> changed = new HashSet<ProfileKey>();
+		profile.addProfileListener(new ProfileListener() {
+			@Override
+			public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+				changed.addAll(keys);
+			}
+		});
+
+		assertEquals(Integer.valueOf(10), profile.get("pool", "size", Integer.valueOf(-1)));
+
+		host.put("pool", "size", "20");
+		assertEquals(Integer.valueOf(20), profile.get("pool", "size", Integer.valueOf(-1)));
+		assertTrue(changed.contains(new ProfileKey("pool", "size")));
+
+		profile.close();
+		host.put("pool", "size", "30");
+		assertEquals(Integer.valueOf(20), profile.get("pool", "size", Integer.valueOf(-1)));
+	}
+}
@@ -0,0 +1,103 @@
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link MappedIniFileReader}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class MappedIniFileReaderTest extends AbstractTestCase {
+
+	@Test
+	public void testRead() {
+		try {
+			IniFile ini = new IniFile();
+			new MappedIniFileReader(Charset.forName("SJIS")).read(getResourceAsFile("IniFiles/SJIS.ini"), ini);
+			assertEquals("SJIS", ini.get("global", "文字コード", ""));
+			assertEquals("あああああ", ini.get("global", "メッセージ", ""));
+
+			ini = new IniFile();
+			new MappedIniFileReader(Charset.forName("UTF8")).read(getResourceAsFile("IniFiles/UTF8.ini"), ini);
+			assertEquals("UTF8", ini.get("global", "文字コード", ""));
+			assertEquals("あああああ", ini.get("global", "メッセージ", ""));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testGetType() {
+		try {
+			IniFile expected = new IniFile();
+			expected.read(getResourceAsFile("IniFiles/type.ini"), Charset.forName("UTF8"));
+			IniFile actual = new IniFile();
+			new MappedIniFileReader(Charset.forName("UTF8")).read(getResourceAsFile("IniFiles/type.ini"), actual);
+
+			String[][] keys = { { "string", "value1" }, { "integer", "value1" }, { "long", "value1" }, { "float", "value1" },
+					{ "double", "value1" }, { "boolean", "value1" }, { "boolean", "value2" }, { "boolean", "value3" },
+					{ "boolean", "value4" }, { "boolean", "value5" }, { "boolean", "value6" } };
+			for (String[] key : keys) {
+				assertEquals(expected.get(key[0], key[1], "DEFAULT"), actual.get(key[0], key[1], "DEFAULT"));
+			}
+			assertEquals(Integer.valueOf(1), actual.get("integer", "value1", Integer.valueOf(-1)));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testSyntax() {
+		File file = null;
+		try {
+			file = File.createTempFile("mapped", ".ini");
+			String text = "ignored = before section\r\n" + "; comment = value\r\n" + "  [  sec 1 ]  \r\n" + "\tname = value = 2 \r\n"
+					+ "illegal line\n" + "empty =\n" + " = noname\r" + "[broken = value\n" + "[日本語]\n" + "キー = 値\n" + "last=1";
+			write(file, text, "SJIS");
+
+			IniFile expected = new IniFile();
+			expected.read(file, Charset.forName("SJIS"));
+			IniFile actual = new IniFile();
+			new MappedIniFileReader(Charset.forName("SJIS")).read(file, actual);
+
+			String[][] keys = { { "sec 1", "name" }, { "sec 1", "empty" }, { "sec 1", "" }, { "sec 1", "[broken" }, { "日本語", "キー" },
+					{ "日本語", "last" }, { "sec 1", "ignored" }, { "sec 1", "; comment" } };
+			for (String[] key : keys) {
+				assertEquals(expected.get(key[0], key[1], "DEFAULT"), actual.get(key[0], key[1], "DEFAULT"));
+			}
+			assertEquals("value = 2", actual.get("sec 1", "name", "DEFAULT"));
+			assertEquals("値", actual.get("日本語", "キー", "DEFAULT"));
+			assertEquals("DEFAULT", actual.get("sec 1", "ignored", "DEFAULT"));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	private static void write(final File file, final String text, final String charset) throws IOException {
+		OutputStream stream = new FileOutputStream(file);
+		try {
+			stream.write(text.getBytes(charset));
+		} finally {
+			stream.close();
+		}
+	}
+}
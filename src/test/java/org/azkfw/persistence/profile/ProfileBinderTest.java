@@ -0,0 +1,108 @@
+package org.azkfw.persistence.profile;
+
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.PersistenceServiceException;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ProfileBinder}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ProfileBinderTest extends AbstractTestCase {
+
+	@ProfileSection("pool")
+	public static interface PoolConfig {
+
+		@ProfileProperty(def = "10")
+		int getSize();
+
+		@ProfileProperty(value = "timeout_unit", def = "SECONDS")
+		TimeUnit getTimeoutUnit();
+
+		boolean isValidation();
+
+		String getName();
+	}
+
+	public static class ServerConfig {
+
+		private String host;
+
+		private int port = 80;
+
+		@ProfileProperty(value = "keep_alive", def = "true")
+		private boolean keepAlive;
+	}
+
+	@Test
+	public void testBindInterface() {
+		IniFile ini = new IniFile();
+		ini.put("pool", "size", "20");
+		ini.put("pool", "validation", "on");
+
+		try {
+			PoolConfig config = ProfileBinder.bind(ini, PoolConfig.class).get();
+			assertEquals(20, config.getSize());
+			assertEquals(TimeUnit.SECONDS, config.getTimeoutUnit());
+			assertTrue(config.isValidation());
+			assertNull(config.getName());
+
+			ini.put("pool", "size", "abc");
+			try {
+				ProfileBinder.bind(ini, PoolConfig.class);
+				fail();
+			} catch (PersistenceServiceException ex) {
+				// success
+			}
+		} catch (PersistenceServiceException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testBindClass() {
+		IniFile ini = new IniFile();
+		ini.put("server", "host", "localhost");
+
+		try {
+			ServerConfig config = ProfileBinder.bind(ini, "server", ServerConfig.class).get();
+			assertEquals("localhost", config.host);
+			assertEquals(80, config.port);
+			assertTrue(config.keepAlive);
+		} catch (PersistenceServiceException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testRebind() {
+		ConcurrentProfile profile = new ConcurrentProfile();
+		profile.edit().put("pool", "size", "20").put("pool", "validation", "off").commit();
+
+		try {
+			ProfileBinding<PoolConfig> binding = ProfileBinder.bind(profile, PoolConfig.class);
+			assertEquals(20, binding.get().getSize());
+
+			profile.put("pool", "size", "30");
+			assertEquals(30, binding.get().getSize());
+
+			// 変換できない場合、変更前の設定オブジェクトを保持する
+			profile.put("pool", "size", "abc");
+			assertEquals(30, binding.get().getSize());
+
+			binding.close();
+			profile.put("pool", "size", "40");
+			assertEquals(30, binding.get().getSize());
+		} catch (PersistenceServiceException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
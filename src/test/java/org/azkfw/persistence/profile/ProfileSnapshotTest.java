@@ -0,0 +1,77 @@
+package org.azkfw.persistence.profile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ProfileSnapshot}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ProfileSnapshotTest extends AbstractTestCase {
+
+	@Test
+	public void testGetType() {
+		IniFile ini = new IniFile();
+		try {
+			ini.read(getResourceAsFile("IniFiles/type.ini"), Charset.forName("UTF8"));
+			ProfileSnapshot snapshot = ProfileSnapshot.of(ini);
+
+			assertEquals(11, snapshot.size());
+
+			// String
+			assertEquals("ABC", snapshot.get("string", "value1", "DEFAULT"));
+			assertEquals("DEFAULT", snapshot.get("string", "none", "DEFAULT"));
+			assertEquals("DEFAULT", snapshot.get("none", "value1", "DEFAULT"));
+
+			// Integer
+			assertEquals(Integer.valueOf(1), snapshot.get("integer", "value1", Integer.valueOf(-1)));
+			assertSame(snapshot.get("integer", "value1", (Integer) null), snapshot.get("integer", "value1", (Integer) null));
+			assertEquals(Integer.valueOf(-1), snapshot.get("string", "value1", Integer.valueOf(-1)));
+
+			// Long
+			assertEquals(Long.valueOf(2), snapshot.get("long", "value1", Long.valueOf(-1)));
+
+			// Float
+			assertEquals(Float.valueOf(0.1f), snapshot.get("float", "value1", Float.valueOf(-1)));
+
+			// Double
+			assertEquals(Double.valueOf(0.2), snapshot.get("double", "value1", Double.valueOf(-1)));
+
+			// Boolean
+			assertTrue(snapshot.get("boolean", "value1", Boolean.FALSE));
+			assertFalse(snapshot.get("boolean", "value2", Boolean.TRUE));
+			assertTrue(snapshot.get("boolean", "value3", Boolean.FALSE));
+			assertFalse(snapshot.get("boolean", "value4", Boolean.TRUE));
+			assertTrue(snapshot.get("boolean", "value5", Boolean.FALSE));
+			assertFalse(snapshot.get("boolean", "value6", Boolean.TRUE));
+			assertNull(snapshot.get("string", "value1", (Boolean) null));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testReadOnly() {
+		IniFile ini = new IniFile();
+		ini.put("global", "name", "value");
+		ProfileSnapshot snapshot = ProfileSnapshot.of(ini);
+
+		ini.put("global", "name", "changed");
+		assertEquals("value", snapshot.get("global", "name", ""));
+
+		try {
+			snapshot.put("global", "name", "changed");
+			fail();
+		} catch (UnsupportedOperationException ex) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package org.azkfw.persistence.profile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ReloadingProfile}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ReloadingProfileTest extends AbstractTestCase {
+
+	@Test
+	public void testReload() {
+		File file = null;
+		try {
+			file = File.createTempFile("reloading", ".ini");
+			write(file, "[pool]\nsize = 10\ntimeout = 30\n");
+
+			ReloadingProfile profile = new ReloadingProfile(file, Charset.forName("UTF8"));
+			assertEquals(Integer.valueOf(10), profile.get("pool", "size", Integer.valueOf(-1)));
+
+			final Set<ProfileKey> changed = new HashSet<ProfileKey>();
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					changed.addAll(keys);
+				}
+			});
+
+			assertFalse(profile.reload());
+
+			write(file, "[pool]\nsize = 20\ntimeout = 30\nmin = 1\n");
+			assertTrue(profile.reload());
+			assertEquals(Integer.valueOf(20), profile.get("pool", "size", Integer.valueOf(-1)));
+			assertEquals(2, changed.size());
+			assertTrue(changed.contains(new ProfileKey("pool", "size")));
+			assertTrue(changed.contains(new ProfileKey("pool", "min")));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testWatch() {
+		File file = null;
+		ReloadingProfile profile = null;
+		try {
+			file = File.createTempFile("reloading", ".ini");
+			write(file, "[pool]\nsize = 10\n");
+
+			profile = new ReloadingProfile(file, Charset.forName("UTF8"));
+			profile.setPollInterval(50, TimeUnit.MILLISECONDS);
+
+			final CountDownLatch latch = new CountDownLatch(1);
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					latch.countDown();
+				}
+			});
+			profile.start();
+
+			write(file, "[pool]\nsize = 200\n");
+			file.setLastModified(file.lastModified() + 2000);
+
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertEquals(Integer.valueOf(200), profile.get("pool", "size", Integer.valueOf(-1)));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} catch (InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != profile) {
+				profile.stop();
+			}
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testListenerFailure() {
+		File file = null;
+		ReloadingProfile profile = null;
+		try {
+			file = File.createTempFile("reloading", ".ini");
+			write(file, "[pool]\nsize = 10\n");
+
+			profile = new ReloadingProfile(file, Charset.forName("UTF8"));
+			profile.setPollInterval(50, TimeUnit.MILLISECONDS);
+
+			final CountDownLatch latch = new CountDownLatch(2);
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					throw new IllegalStateException("listener failure");
+				}
+			});
+			profile.addProfileListener(new ProfileListener() {
+				@Override
+				public void profileChanged(final Profile profile, final Set<ProfileKey> keys) {
+					latch.countDown();
+				}
+			});
+			profile.start();
+
+			write(file, "[pool]\nsize = 20\n");
+			file.setLastModified(file.lastModified() + 2000);
+			while (!Integer.valueOf(20).equals(profile.get("pool", "size", Integer.valueOf(-1)))) {
+				Thread.sleep(10);
+			}
+
+			// 例外発生後も監視スレッドは継続する
+			write(file, "[pool]\nsize = 300\n");
+			file.setLastModified(file.lastModified() + 4000);
+
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertEquals(Integer.valueOf(300), profile.get("pool", "size", Integer.valueOf(-1)));
+
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		} catch (InterruptedException ex) {
+			ex.printStackTrace();
+			fail();
+		} finally {
+			if (null != profile) {
+				profile.stop();
+			}
+			if (null != file) {
+				file.delete();
+			}
+		}
+	}
+
+	private static void write(final File file, final String text) throws IOException {
+		OutputStream stream = new FileOutputStream(file);
+		try {
+			stream.write(text.getBytes("UTF-8"));
+		} finally {
+			stream.close();
+		}
+	}
+}
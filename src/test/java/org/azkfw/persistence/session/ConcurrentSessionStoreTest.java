@@ -0,0 +1,122 @@
+package org.azkfw.persistence.session;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ConcurrentSessionStore}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ConcurrentSessionStoreTest extends AbstractTestCase {
+
+	@Test
+	public void testSession() {
+		ConcurrentSessionStore store = new ConcurrentSessionStore();
+		assertNull(store.getSession("s1"));
+
+		ConcurrentSession session = store.getSession("s1", true);
+		session.put("user", "kawakicchi");
+		session.put("count", Integer.valueOf(1));
+		assertSame(session, store.getSession("s1"));
+		assertEquals("kawakicchi", store.getSession("s1").get("user"));
+		assertTrue(session.containsKey("count"));
+
+		long memory = store.getMemoryUsage();
+		session.remove("user");
+		assertTrue(store.getMemoryUsage() < memory);
+
+		session.invalidate();
+		assertNull(store.getSession("s1"));
+		assertNull(session.get("count"));
+		assertEquals(0, store.size());
+		assertEquals(0, store.getMemoryUsage());
+	}
+
+	@Test
+	public void testExpire() {
+		ConcurrentSessionStore store = new ConcurrentSessionStore(10, 64);
+		store.setDefaultTimeToLive(50, TimeUnit.MILLISECONDS);
+
+		ConcurrentSession s1 = store.getSession("s1", true);
+		ConcurrentSession s2 = store.getSession("s2", true);
+		s2.setTimeToLive(0, TimeUnit.MILLISECONDS);
+		try {
+			for (int i = 0; i < 5; i++) {
+				Thread.sleep(20);
+				// アクセスすると有効期限が延長される
+				s1.get("dummy");
+			}
+			assertEquals(0, store.expire());
+
+			Thread.sleep(100);
+			assertEquals(1, store.expire());
+			assertNull(store.getSession("s1"));
+			assertSame(s2, store.getSession("s2"));
+		} catch (InterruptedException ex) {
+			fail();
+		}
+	}
+
+	@Test
+	public void testEvict() {
+		ConcurrentSessionStore store = new ConcurrentSessionStore();
+		for (int i = 0; i < 100; i++) {
+			store.getSession("s" + i, true).put("data", new byte[1024]);
+		}
+		assertEquals(100, store.size());
+
+		store.setMaxMemory(50 * 1024);
+		assertTrue(store.getMemoryUsage() <= 50 * 1024);
+		assertTrue(store.size() < 50);
+		assertNotNull(store.getSession("s99"));
+
+		store.getSession("s100", true).put("data", new byte[1024]);
+		assertTrue(store.getMemoryUsage() <= 50 * 1024);
+		assertNotNull(store.getSession("s100"));
+	}
+
+	@Test
+	public void testConcurrentCreate() {
+		final ConcurrentSessionStore store = new ConcurrentSessionStore();
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException ex) {
+						return;
+					}
+					for (int j = 0; j < 1000; j++) {
+						store.getSession("s" + j, true);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		start.countDown();
+		try {
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		} catch (InterruptedException ex) {
+			fail();
+		}
+
+		// 同時に作成されたセッションが二重に計上されない
+		long usage = 0;
+		for (int j = 0; j < 1000; j++) {
+			usage += store.getSession("s" + j).getMemoryUsage();
+		}
+		assertEquals(1000, store.size());
+		assertEquals(usage, store.getMemoryUsage());
+	}
+}
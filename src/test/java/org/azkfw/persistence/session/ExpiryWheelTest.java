@@ -0,0 +1,136 @@
+package org.azkfw.persistence.session;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ExpiryWheel}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class ExpiryWheelTest extends AbstractTestCase {
+
+	private static final long BASE = 1000000L;
+
+	private static final class Item {
+		private final String name;
+		private final AtomicLong position = new AtomicLong(ExpiryWheel.UNSCHEDULED);
+		private volatile long expiry;
+		private volatile boolean valid = true;
+
+		private Item(final String name, final long expiry) {
+			this.name = name;
+			this.expiry = expiry;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static ExpiryWheel<Item> wheel() {
+		// 1秒 × 4スロット(下位の1周は4秒、上位の1スロットは4秒)
+		return new ExpiryWheel<Item>(1000, 4, BASE) {
+			@Override
+			protected long getExpiryTime(final Item item) {
+				return item.expiry;
+			}
+
+			@Override
+			protected boolean isValid(final Item item) {
+				return item.valid;
+			}
+
+			@Override
+			protected AtomicLong getPosition(final Item item) {
+				return item.position;
+			}
+		};
+	}
+
+	@Test
+	public void testAdvance() {
+		ExpiryWheel<Item> wheel = wheel();
+		Item near = new Item("near", BASE + 2500);
+		Item far = new Item("far", BASE + 10500);
+		Item farthest = new Item("farthest", BASE + 100000);
+		wheel.schedule(near);
+		wheel.schedule(far);
+		wheel.schedule(farthest);
+
+		assertTrue(wheel.advance(BASE + 1999).isEmpty());
+		assertEquals("[near]", wheel.advance(BASE + 3000).toString());
+		// 上位のスロットから展開される
+		assertTrue(wheel.advance(BASE + 10000).isEmpty());
+		assertEquals("[far]", wheel.advance(BASE + 11000).toString());
+		// 1周以上遅れた場合
+		assertTrue(wheel.advance(BASE + 60000).isEmpty());
+		assertEquals("[farthest]", wheel.advance(BASE + 100000).toString());
+		assertTrue(wheel.advance(BASE + 200000).isEmpty());
+	}
+
+	@Test
+	public void testDeduplicate() {
+		ExpiryWheel<Item> wheel = wheel();
+		Item item = new Item("item", BASE + 2500);
+		for (int i = 0; i < 10; i++) {
+			wheel.schedule(item);
+		}
+		assertEquals("[item]", wheel.advance(BASE + 3000).toString());
+		assertTrue(wheel.advance(BASE + 20000).isEmpty());
+
+		// 延長された場合は再登録せず、走査時に移動する
+		item.expiry = BASE + 21500;
+		wheel.schedule(item);
+		item.expiry = BASE + 23500;
+		for (int i = 0; i < 10; i++) {
+			wheel.schedule(item);
+		}
+		assertTrue(wheel.advance(BASE + 22000).isEmpty());
+		List<Item> expired = wheel.advance(BASE + 30000);
+		assertEquals("[item]", expired.toString());
+
+		// 短縮された場合は前の位置へ登録し直す
+		item.expiry = BASE + 90000;
+		wheel.schedule(item);
+		item.expiry = BASE + 31500;
+		wheel.schedule(item);
+		assertEquals("[item]", wheel.advance(BASE + 32000).toString());
+		assertTrue(wheel.advance(BASE + 100000).isEmpty());
+	}
+
+	@Test
+	public void testPoll() {
+		ExpiryWheel<Item> wheel = wheel();
+		assertNull(wheel.poll(null));
+
+		Item x = new Item("x", BASE + 2500);
+		Item y = new Item("y", BASE + 1500);
+		Item z = new Item("z", BASE + 50000);
+		Item forever = new Item("forever", Long.MAX_VALUE);
+		wheel.schedule(x);
+		wheel.schedule(y);
+		wheel.schedule(z);
+		wheel.schedule(forever);
+
+		assertSame(y, wheel.poll(null));
+		assertSame(x, wheel.poll(y));
+
+		// 延長された要素は再登録される
+		y.expiry = BASE + 3500;
+		assertSame(x, wheel.poll(null));
+
+		x.valid = false;
+		assertSame(y, wheel.poll(null));
+		y.valid = false;
+		// 上位のホイールから探索する
+		assertSame(z, wheel.poll(null));
+		assertNull(wheel.poll(z));
+	}
+}
@@ -0,0 +1,143 @@
+package org.azkfw.persistence.session;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.azkfw.persistence.database.DatabaseSource;
+import org.azkfw.persistence.database.StubDriver;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link JdbcSessionStore}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class JdbcSessionStoreTest extends AbstractTestCase {
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StubDriver.reset();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		StubDriver.reset();
+		super.tearDown();
+	}
+
+	@Test
+	public void testFlush() {
+		try {
+			DatabaseSource source = new DatabaseSource("session");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "session", "user", "password");
+			JdbcSessionStore store = new JdbcSessionStore(source, new JavaSessionSerializer());
+
+			ConcurrentSession s1 = store.getSession("s1", true);
+			ConcurrentSession s2 = store.getSession("s2", true);
+			s1.put("user", "kawakicchi");
+			s2.put("user", "azuki");
+			assertEquals(2, store.getDirtyCount());
+
+			store.flush("s1");
+			assertEquals(1, store.getDirtyCount());
+			assertEquals(1, store.flush());
+			assertEquals(0, store.getDirtyCount());
+
+			// 変更のない参照では書き込まない
+			s1.get("user");
+			assertEquals(0, store.getDirtyCount());
+
+			s2.invalidate();
+			assertEquals(0, store.flush());
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testCreateSession() {
+		try {
+			DatabaseSource source = new DatabaseSource("session");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "session", "user", "password");
+			JdbcSessionStore store = new JdbcSessionStore(source, new JavaSessionSerializer());
+
+			// 新しいセッションはデータベースから読み込まない
+			ConcurrentSession session = store.createSession();
+			assertNotNull(session);
+			assertSame(session, store.getSession(session.getId()));
+			assertEquals(0, StubDriver.getCount("executeQuery"));
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testFlushNoInfo() {
+		try {
+			DatabaseSource source = new DatabaseSource("session");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "session", "user", "password");
+			JdbcSessionStore store = new JdbcSessionStore(source, new JavaSessionSerializer());
+
+			store.createSession().put("user", "kawakicchi");
+			store.createSession().put("user", "azuki");
+
+			// 件数を返さないドライバーでは1件ずつ更新して、存在しないセッションを追加する
+			StubDriver.enqueue("executeBatch", new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO });
+			StubDriver.enqueue("executeUpdate", 1);
+			StubDriver.enqueue("executeUpdate", 0);
+			StubDriver.enqueue("executeBatch", new int[] { 1 });
+			assertEquals(2, store.flush());
+			assertEquals(2, StubDriver.getCount("executeBatch"));
+			assertEquals(2, StubDriver.getCount("executeUpdate"));
+		} catch (ClassNotFoundException | SQLException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testEvictBeforeFlush() {
+		try {
+			DatabaseSource source = new DatabaseSource("session");
+			source.load(StubDriver.class.getName(), StubDriver.URL + "session", "user", "password");
+			JdbcSessionStore store = new JdbcSessionStore(source, new JavaSessionSerializer());
+			store.setMaxMemory(2048);
+
+			store.getSession("s1", true).put("data", new byte[1024]);
+			store.getSession("s2", true).put("data", new byte[1024]);
+			assertEquals(1, store.size());
+
+			// 書き込み前に破棄されたセッションは変更内容から復元される
+			ConcurrentSession s1 = store.getSession("s1");
+			assertNotNull(s1);
+			assertEquals(1024, ((byte[]) s1.get("data")).length);
+		} catch (ClassNotFoundException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+
+	@Test
+	public void testSerializer() {
+		try {
+			Map<String, Object> attributes = new HashMap<String, Object>();
+			attributes.put("user", "kawakicchi");
+			attributes.put("count", Integer.valueOf(3));
+
+			SessionSerializer serializer = new JavaSessionSerializer();
+			assertEquals(attributes, serializer.deserialize(serializer.serialize(attributes)));
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			fail();
+		}
+	}
+}
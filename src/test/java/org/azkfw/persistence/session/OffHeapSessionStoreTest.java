@@ -0,0 +1,95 @@
+package org.azkfw.persistence.session;
+
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link OffHeapSessionStore}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class OffHeapSessionStoreTest extends AbstractTestCase {
+
+	@Test
+	public void testPassivate() {
+		OffHeapSessionStore store = new OffHeapSessionStore();
+
+		OffHeapSession session = store.getSession("s1", true);
+		session.put("user", "kawakicchi");
+		session.put("count", Integer.valueOf(1));
+		assertTrue(session.isActive());
+		assertEquals(0, store.getMemoryUsage());
+
+		store.passivateAll();
+		assertFalse(session.isActive());
+		assertTrue(0 < store.getMemoryUsage());
+
+		// 参照時にデシリアライズされる
+		assertEquals("kawakicchi", store.getSession("s1").get("user"));
+		assertTrue(session.isActive());
+		session.put("count", Integer.valueOf(2));
+		store.passivateAll();
+		assertEquals(Integer.valueOf(2), session.get("count"));
+
+		session.invalidate();
+		assertNull(store.getSession("s1"));
+		assertEquals(0, store.getMemoryUsage());
+	}
+
+	@Test
+	public void testReuse() {
+		OffHeapSessionStore store = new OffHeapSessionStore(new JavaSessionSerializer(), 4096, 4096);
+		store.setDefaultTimeToLive(1, TimeUnit.HOURS);
+
+		for (int i = 0; i < 20; i++) {
+			store.getSession("s" + i, true).put("data", new byte[500]);
+			store.passivateAll();
+		}
+		// 上限を超えたセッションは破棄される
+		assertTrue(store.size() < 20);
+		assertEquals(4096, store.getMemoryCapacity());
+		assertNotNull(store.getSession("s19"));
+
+		store.clear();
+		assertEquals(0, store.getMemoryUsage());
+		store.getSession("s", true).put("data", new byte[500]);
+		store.passivateAll();
+		assertEquals(4096, store.getMemoryCapacity());
+		assertEquals(1024, store.getMemoryUsage());
+	}
+
+	@Test
+	public void testPassivateLarge() {
+		OffHeapSessionStore store = new OffHeapSessionStore(new JavaSessionSerializer(), 4096, 4096);
+		store.setDefaultTimeToLive(1, TimeUnit.HOURS);
+
+		// 256バイトのブロックで上限まで使用する
+		for (int i = 0; i < 16; i++) {
+			store.getSession("s" + i, true).put("data", new byte[64]);
+			store.passivateAll();
+		}
+		assertEquals(4096, store.getMemoryUsage());
+
+		// 小さいセッションを破棄しても大きいブロックは空かないため、破棄せずにヒープ上に保持する
+		OffHeapSession large = store.getSession("large", true);
+		large.put("data", new byte[1500]);
+		store.passivateAll();
+		assertTrue(large.isActive());
+		assertEquals(17, store.size());
+		assertEquals(4096, store.getMemoryUsage());
+
+		// 隣接する空きブロックは結合されて大きいブロックとして再利用される
+		for (int i = 0; i < 8; i++) {
+			store.invalidate("s" + i);
+		}
+		assertEquals(2048, store.getMemoryUsage());
+		store.passivateAll();
+		assertFalse(large.isActive());
+		assertEquals(4096, store.getMemoryUsage());
+		assertEquals(1500, ((byte[]) large.get("data")).length);
+	}
+}
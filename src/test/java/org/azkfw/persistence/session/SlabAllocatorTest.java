@@ -0,0 +1,69 @@
+package org.azkfw.persistence.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.azkfw.persistence.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link SlabAllocator}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.7.0
+ * @version 1.7.0 2026/10/19
+ * @author Kawakicchi
+ */
+public class SlabAllocatorTest extends AbstractTestCase {
+
+	@Test
+	public void testMerge() {
+		SlabAllocator allocator = new SlabAllocator(4096, 8192);
+		Random random = new Random(0);
+		List<long[]> blocks = new ArrayList<long[]>();
+		for (int n = 0; n < 10000; n++) {
+			if (blocks.isEmpty() || random.nextBoolean()) {
+				int length = 1 + random.nextInt(1024);
+				long handle = allocator.allocate(length);
+				if (SlabAllocator.NONE != handle) {
+					allocator.write(handle, new byte[] { (byte) n });
+					blocks.add(new long[] { handle, length, (byte) n });
+				}
+			} else {
+				long[] block = blocks.remove(random.nextInt(blocks.size()));
+				// 他のブロックの割り当てや解放で内容が壊れていない
+				assertEquals((byte) block[2], allocator.read(block[0], 1)[0]);
+				allocator.free(block[0], (int) block[1]);
+			}
+		}
+		for (long[] block : blocks) {
+			allocator.free(block[0], (int) block[1]);
+		}
+		assertEquals(0, allocator.getUsed());
+
+		// 全て解放するとスラブ単位のブロックに結合される
+		assertTrue(SlabAllocator.NONE != allocator.allocate(4096));
+		assertTrue(SlabAllocator.NONE != allocator.allocate(4096));
+		assertEquals(SlabAllocator.NONE, allocator.allocate(64));
+		assertEquals(8192, allocator.getCapacity());
+	}
+
+	@Test
+	public void testReclaimable() {
+		SlabAllocator allocator = new SlabAllocator(1024, 1024);
+		long a = allocator.allocate(256);
+		long b = allocator.allocate(256);
+		long c = allocator.allocate(512);
+		assertEquals(SlabAllocator.NONE, allocator.allocate(512));
+
+		assertTrue(allocator.isReclaimable(c, 512, 512));
+		assertTrue(allocator.isReclaimable(a, 256, 256));
+		assertFalse(allocator.isReclaimable(a, 256, 512));
+
+		allocator.free(b, 256);
+		assertTrue(allocator.isReclaimable(a, 256, 512));
+		assertFalse(allocator.isReclaimable(a, 256, 1024));
+		allocator.free(a, 256);
+		assertEquals(a, allocator.allocate(512));
+	}
+}